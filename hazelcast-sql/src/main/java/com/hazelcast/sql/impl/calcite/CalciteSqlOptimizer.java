@@ -18,8 +18,8 @@ package com.hazelcast.sql.impl.calcite;
 
 import com.hazelcast.cluster.memberselector.MemberSelectors;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
-import com.hazelcast.partition.Partition;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.QueryUtils;
 import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
 import com.hazelcast.sql.impl.calcite.opt.OptUtils;
 import com.hazelcast.sql.impl.calcite.opt.logical.LogicalRules;
@@ -41,8 +41,6 @@ import org.apache.calcite.plan.volcano.VolcanoPlanner;
 import org.apache.calcite.rel.RelNode;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -167,17 +165,7 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
      */
     private Plan createImdgPlan(PhysicalRel rel) {
         // Get partition mapping.
-        Collection<Partition> parts = nodeEngine.getHazelcastInstance().getPartitionService().getPartitions();
-
-        int partCnt = parts.size();
-
-        LinkedHashMap<UUID, PartitionIdSet> partMap = new LinkedHashMap<>();
-
-        for (Partition part : parts) {
-            UUID ownerId = part.getOwner().getUuid();
-
-            partMap.computeIfAbsent(ownerId, (key) -> new PartitionIdSet(partCnt)).add(part.getPartitionId());
-        }
+        Map<UUID, PartitionIdSet> partMap = QueryUtils.getPartitionMap(nodeEngine);
 
         // Assign IDs to nodes.
         NodeIdVisitor idVisitor = new NodeIdVisitor();
@@ -186,6 +174,7 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
 
         // Create the plan.
         PlanCreateVisitor visitor = new PlanCreateVisitor(
+            nodeEngine,
             nodeEngine.getLocalMember().getUuid(),
             partMap,
             relIdMap
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.compiler;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.compiler.CompiledExpression;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCodeGenerator;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
+import org.codehaus.janino.SimpleCompiler;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Expression compiler which compiles the source produced by {@link ExpressionCodeGenerator} with Janino.
+ * <p>
+ * Compiled classes are cached by their source code, so that the same expression tree is compiled only once. If the
+ * compilation fails, the original expression is returned and evaluated by the interpreter. The failure is cached and
+ * logged once as well, so that the source which can't be compiled is not compiled again on every query.
+ */
+public class JaninoExpressionCompiler implements ExpressionCompiler {
+    /** Name of the generated class. Every class is loaded by its own class loader, so the name could be reused. */
+    static final String CLASS_NAME = "GeneratedExpression";
+
+    /** Maximum number of cached sources, both compiled and failed. */
+    static final int MAX_CACHED_SOURCES = 1024;
+
+    /** Cached in place of a constructor for the source which failed to compile. */
+    private static final Object FAILED = new Object();
+
+    private final ILogger logger;
+
+    /** Constructors of the compiled classes or {@link #FAILED}, by the source. */
+    private final ConcurrentHashMap<String, Object> constructors = new ConcurrentHashMap<>();
+
+    public JaninoExpressionCompiler(NodeEngine nodeEngine) {
+        this(nodeEngine.getLogger(JaninoExpressionCompiler.class));
+    }
+
+    public JaninoExpressionCompiler(ILogger logger) {
+        this.logger = logger;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Expression<T> compile(Expression<T> expression) {
+        if (expression instanceof CompiledExpression) {
+            return expression;
+        }
+
+        ExpressionCodeGenerator generator = new ExpressionCodeGenerator(CLASS_NAME);
+
+        String source = generator.generate(expression);
+        Expression<?>[] refs = generator.getRefs();
+
+        // Nothing to compile, the whole tree would be interpreted anyway.
+        if (refs.length == 1 && refs[0] == expression) {
+            return expression;
+        }
+
+        Object constructor = constructors.get(source);
+
+        if (constructor == FAILED) {
+            return expression;
+        }
+
+        try {
+            if (constructor == null) {
+                constructor = cook(source);
+
+                cache(source, constructor);
+            }
+
+            return (Expression<T>) ((Constructor<?>) constructor).newInstance(expression, refs);
+        } catch (Exception e) {
+            // Only the thread which caches the failure logs it.
+            if (cache(source, FAILED) != FAILED) {
+                logger.warning("Failed to compile the expression, it will be interpreted: " + expression, e);
+            }
+
+            return expression;
+        }
+    }
+
+    /**
+     * Caches the given constructor or {@link #FAILED} for the given source.
+     *
+     * @return the value previously cached for the source, if any, {@code null} otherwise.
+     */
+    private Object cache(String source, Object constructor) {
+        if (constructors.size() >= MAX_CACHED_SOURCES) {
+            constructors.clear();
+        }
+
+        return constructors.put(source, constructor);
+    }
+
+    int getCachedSourceCount() {
+        return constructors.size();
+    }
+
+    /**
+     * Compiles the given source and returns the constructor of the generated class. Overridden by tests.
+     */
+    Constructor<?> cook(String source) throws Exception {
+        SimpleCompiler compiler = new SimpleCompiler();
+
+        compiler.setParentClassLoader(CompiledExpression.class.getClassLoader());
+        compiler.cook(source);
+
+        Class<?> clazz = compiler.getClassLoader().loadClass(CLASS_NAME);
+
+        return clazz.getConstructor(Expression.class, Expression[].class);
+    }
+}
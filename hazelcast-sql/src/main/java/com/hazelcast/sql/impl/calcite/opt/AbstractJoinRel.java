@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt;
+
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base class for joins. Only equi-joins are supported, so the condition is fully described by the pairs of key columns.
+ */
+public abstract class AbstractJoinRel extends Join implements HazelcastRelNode {
+    protected AbstractJoinRel(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        JoinRelType joinType
+    ) {
+        super(cluster, traitSet, left, right, condition, Collections.emptySet(), joinType);
+    }
+
+    /**
+     * @return Indexes of key columns in the left input.
+     */
+    public List<Integer> getLeftKeys() {
+        return analyzeCondition().leftKeys;
+    }
+
+    /**
+     * @return Indexes of key columns in the right input.
+     */
+    public List<Integer> getRightKeys() {
+        return analyzeCondition().rightKeys;
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.calcite.opt;
 
 import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
 import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
 import org.apache.calcite.plan.Convention;
 import org.apache.calcite.plan.ConventionTraitDef;
 import org.apache.calcite.plan.HazelcastRelOptCluster;
@@ -165,6 +166,7 @@ public final class OptUtils {
 
     /**
      * Get possible physical rels from the given subset. Every returned input is guaranteed to have a unique trait set.
+     * Rels with {@link DistributionType#REPLICATED} distribution are skipped.
      *
      * @param subset Subset.
      * @return Physical rels.
@@ -182,6 +184,11 @@ public final class OptUtils {
                     continue;
                 }
 
+                // Replicated inputs are created by join rules for their own use, and are not shared with other rules.
+                if (getDistribution(rel).getType() == DistributionType.REPLICATED) {
+                    continue;
+                }
+
                 if (traitSets.add(rel.getTraitSet())) {
                     res.add(convert(subset, rel.getTraitSet()));
                 }
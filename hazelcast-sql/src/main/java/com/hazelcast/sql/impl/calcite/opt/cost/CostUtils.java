@@ -30,6 +30,12 @@ public final class CostUtils {
     /** CPU multiplier applied to normal scan. */
     public static final double TABLE_SCAN_CPU_MULTIPLIER = 1.0d;
 
+    /** CPU multiplier applied to index scan. Accounts for the index lookup and random access to the returned entries. */
+    public static final double INDEX_SCAN_CPU_MULTIPLIER = 1.2d;
+
+    /** CPU multiplier applied to lookup by keys. Accounts for the serialization of the keys and random access to the entries. */
+    public static final double KEY_LOOKUP_CPU_MULTIPLIER = 1.2d;
+
     /** Multiplier for the CPU part of the cost. Assumes 1ns per item. */
     public static final double CPU_COST_MULTIPLIER = 1.0d;
 
@@ -73,6 +79,21 @@ public final class CostUtils {
         return rowCount * expressionCount;
     }
 
+    /**
+     * Get the CPU cost of a sort. When the number of returned rows is limited, only the top rows are maintained in a
+     * bounded heap, so the cost grows with the logarithm of the limit rather than of the input size.
+     *
+     * @param inputRows Number of input rows.
+     * @param limit Maximum number of rows to maintain, or negative value if all rows are sorted.
+     * @param fieldCount Number of sort fields.
+     * @return CPU cost.
+     */
+    public static double getSortCpu(double inputRows, long limit, int fieldCount) {
+        double sortedRows = limit >= 0 ? Math.min(inputRows, limit) : inputRows;
+
+        return inputRows * log2(Math.max(sortedRows, 2d)) * Math.max(fieldCount, 1);
+    }
+
     public static int getEstimatedRowWidth(RelNode rel) {
         int res = 0;
 
@@ -82,4 +103,8 @@ public final class CostUtils {
 
         return res;
     }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.calcite.rel.RelNode;
 
 import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.ANY;
 import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.PARTITIONED;
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.REPLICATED;
 import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.ROOT;
 
 /**
@@ -38,6 +39,9 @@ public class DistributionTraitDef extends RelTraitDef<DistributionTrait> {
     /** Consume the whole stream on a single node. */
     private final DistributionTrait traitRoot;
 
+    /** Full copy of the stream on every node. */
+    private final DistributionTrait traitReplicated;
+
     /** Distribution without any restriction. */
     private final DistributionTrait traitAny;
 
@@ -49,6 +53,7 @@ public class DistributionTraitDef extends RelTraitDef<DistributionTrait> {
 
         traitPartitionedUnknown = createTrait(PARTITIONED);
         traitRoot = createTrait(ROOT);
+        traitReplicated = createTrait(REPLICATED);
         traitAny = createTrait(ANY);
     }
 
@@ -64,6 +69,10 @@ public class DistributionTraitDef extends RelTraitDef<DistributionTrait> {
         return traitRoot;
     }
 
+    public DistributionTrait getTraitReplicated() {
+        return traitReplicated;
+    }
+
     @Override
     public Class<DistributionTrait> getTraitClass() {
         return DistributionTrait.class;
@@ -96,6 +105,11 @@ public class DistributionTraitDef extends RelTraitDef<DistributionTrait> {
             return null;
         }
 
+        if (currentType == REPLICATED) {
+            // Replicated data set is consumed only by the join which requested it.
+            return null;
+        }
+
         if (rel.getConvention() != HazelcastConventions.PHYSICAL) {
             // Only physical nodes could be converted.
             return null;
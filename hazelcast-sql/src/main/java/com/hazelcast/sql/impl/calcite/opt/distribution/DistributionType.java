@@ -31,6 +31,11 @@ public enum DistributionType {
      */
     PARTITIONED,
 
+    /**
+     * Every node has a full copy of the data set. Produced by broadcast exchanges, and consumed only by joins.
+     */
+    REPLICATED,
+
     /**
      * Data set is located on the root node.
      */
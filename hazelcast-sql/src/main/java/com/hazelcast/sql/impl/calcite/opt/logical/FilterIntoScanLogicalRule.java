@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.logical;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptRuleOperand;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexUtil;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pushes the filter into the map scan, so that it could be evaluated during the scan, possibly with the help of an index.
+ * <p>
+ * The filter is pushed either directly into the scan, or through a project located between the filter and the scan.
+ */
+public final class FilterIntoScanLogicalRule extends RelOptRule {
+    /** Filter located directly above the scan. */
+    public static final RelOptRule INSTANCE = new FilterIntoScanLogicalRule(
+        operand(FilterLogicalRel.class, operand(MapScanLogicalRel.class, none())),
+        FilterIntoScanLogicalRule.class.getSimpleName()
+    );
+
+    /** Filter located above the project over the scan. */
+    public static final RelOptRule INSTANCE_PROJECT = new FilterIntoScanLogicalRule(
+        operand(FilterLogicalRel.class, operand(ProjectLogicalRel.class, operand(MapScanLogicalRel.class, none()))),
+        FilterIntoScanLogicalRule.class.getSimpleName() + "(Project)"
+    );
+
+    private FilterIntoScanLogicalRule(RelOptRuleOperand operand, String description) {
+        super(operand, description);
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        FilterLogicalRel filter = call.rel(0);
+
+        if (call.rels.length == 2) {
+            MapScanLogicalRel scan = call.rel(1);
+
+            call.transformTo(pushFilter(scan, filter.getCondition()));
+        } else {
+            ProjectLogicalRel project = call.rel(1);
+            MapScanLogicalRel scan = call.rel(2);
+
+            RexNode condition = RelOptUtil.pushPastProject(filter.getCondition(), project);
+
+            MapScanLogicalRel newScan = pushFilter(scan, condition);
+
+            call.transformTo(project.copy(project.getTraitSet(), Arrays.asList(newScan)));
+        }
+    }
+
+    /**
+     * Create a new scan with the given condition added to the filter of the original scan.
+     *
+     * @param scan Original scan.
+     * @param condition Condition referring to the fields of the scan.
+     * @return New scan.
+     */
+    private static MapScanLogicalRel pushFilter(MapScanLogicalRel scan, RexNode condition) {
+        // The filter of the scan refers to the fields of the table rather than to the projected fields.
+        List<Integer> projects = scan.getProjects();
+
+        RexNode tableCondition = condition.accept(new RexShuttle() {
+            @Override
+            public RexNode visitInputRef(RexInputRef inputRef) {
+                return new RexInputRef(projects.get(inputRef.getIndex()), inputRef.getType());
+            }
+        });
+
+        RexNode newFilter = scan.getFilter() == null
+            ? tableCondition
+            : RexUtil.composeConjunction(scan.getCluster().getRexBuilder(), Arrays.asList(scan.getFilter(), tableCondition));
+
+        return new MapScanLogicalRel(
+            scan.getCluster(),
+            scan.getTraitSet(),
+            scan.getTable(),
+            scan.getProjects(),
+            newFilter
+        );
+    }
+}
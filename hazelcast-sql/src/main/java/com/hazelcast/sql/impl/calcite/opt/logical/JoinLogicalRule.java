@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.logical;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import org.apache.calcite.plan.Convention;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.convert.ConverterRule;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.logical.LogicalJoin;
+
+/**
+ * Converts abstract join to logical join. Only inner and left outer equi-joins are supported.
+ */
+public final class JoinLogicalRule extends ConverterRule {
+    public static final RelOptRule INSTANCE = new JoinLogicalRule();
+
+    private JoinLogicalRule() {
+        super(
+            LogicalJoin.class,
+            Convention.NONE,
+            HazelcastConventions.LOGICAL,
+            JoinLogicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public RelNode convert(RelNode rel) {
+        LogicalJoin join = (LogicalJoin) rel;
+
+        if (join.getJoinType() != JoinRelType.INNER && join.getJoinType() != JoinRelType.LEFT) {
+            throw QueryException.error(join.getJoinType() + " join is not supported");
+        }
+
+        JoinInfo joinInfo = join.analyzeCondition();
+
+        if (!joinInfo.isEqui() || joinInfo.leftKeys.isEmpty()) {
+            throw QueryException.error("Only equi-joins with column references on both sides are supported: "
+                + join.getCondition());
+        }
+
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            int leftKey = joinInfo.leftKeys.get(i);
+            int rightKey = joinInfo.rightKeys.get(i);
+
+            if (join.getLeft().getRowType().getFieldList().get(leftKey).getType().getSqlTypeName()
+                != join.getRight().getRowType().getFieldList().get(rightKey).getType().getSqlTypeName()) {
+                throw QueryException.error("Join keys must have the same type: " + join.getCondition());
+            }
+        }
+
+        return new JoinLogicalRel(
+            join.getCluster(),
+            OptUtils.toLogicalConvention(join.getTraitSet()),
+            OptUtils.toLogicalInput(join.getLeft()),
+            OptUtils.toLogicalInput(join.getRight()),
+            join.getCondition(),
+            join.getJoinType()
+        );
+    }
+}
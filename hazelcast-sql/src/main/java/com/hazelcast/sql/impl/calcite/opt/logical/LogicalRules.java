@@ -32,7 +32,14 @@ public final class LogicalRules {
             // Convert Calcite node into Hazelcast nodes.
             MapScanLogicalRule.INSTANCE,
             FilterLogicalRule.INSTANCE,
-            ProjectLogicalRule.INSTANCE
+            ProjectLogicalRule.INSTANCE,
+            AggregateLogicalRule.INSTANCE,
+            SortLogicalRule.INSTANCE,
+            JoinLogicalRule.INSTANCE,
+
+            // Push filters into scans.
+            FilterIntoScanLogicalRule.INSTANCE,
+            FilterIntoScanLogicalRule.INSTANCE_PROJECT
         );
     }
 }
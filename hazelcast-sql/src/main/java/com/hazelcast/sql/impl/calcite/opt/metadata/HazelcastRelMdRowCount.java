@@ -16,9 +16,11 @@
 
 package com.hazelcast.sql.impl.calcite.opt.metadata;
 
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdRowCount;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.util.BuiltInMethod;
 
 /**
@@ -33,6 +35,10 @@ public final class HazelcastRelMdRowCount extends RelMdRowCount {
         // No-op.
     }
 
-    // Empty at the moment, will be extended in the future.
-    // Now it serves as an example of how to wire up a metadata handler into Calcite.
+    /**
+     * Sort-merge exchange applies the fetch of the sort, so the generic single-input estimation is not applicable.
+     */
+    public Double getRowCount(SortMergeExchangePhysicalRel rel, RelMetadataQuery mq) {
+        return rel.estimateRowCount(mq);
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
+import com.hazelcast.sql.impl.calcite.opt.logical.AggregateLogicalRel;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.ImmutableIntList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This rule converts logical aggregate into physical aggregate.
+ * <p>
+ * If the input is already located on a single member, the aggregation is performed in one step. Otherwise, the
+ * aggregation is split into two phases: the local phase collects input rows on every member, then intermediate
+ * collectors are sent to the root member where the final phase merges them and produces results. Only collectors
+ * of distinct groups are transferred over the network, instead of all input rows.
+ */
+public final class AggregatePhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new AggregatePhysicalRule();
+
+    private AggregatePhysicalRule() {
+        super(
+            OptUtils.parentChild(AggregateLogicalRel.class, RelNode.class, HazelcastConventions.LOGICAL),
+            AggregatePhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        AggregateLogicalRel logicalAgg = call.rel(0);
+        RelNode input = logicalAgg.getInput();
+
+        RelNode convertedInput = OptUtils.toPhysicalInput(input);
+
+        Collection<RelNode> physicalInputs = OptUtils.getPhysicalRelsFromSubset(convertedInput);
+
+        for (RelNode physicalInput : physicalInputs) {
+            call.transformTo(createAggregate(logicalAgg, physicalInput));
+        }
+    }
+
+    private static RelNode createAggregate(AggregateLogicalRel logicalAgg, RelNode physicalInput) {
+        DistributionTraitDef distributionTraitDef = OptUtils.getDistributionDef(physicalInput);
+        DistributionType inputDistributionType = OptUtils.getDistribution(physicalInput).getType();
+
+        if (inputDistributionType == DistributionType.ROOT || distributionTraitDef.getMemberCount() == 1) {
+            return new AggregatePhysicalRel(
+                logicalAgg.getCluster(),
+                physicalInput.getTraitSet(),
+                physicalInput,
+                logicalAgg.getGroupSet(),
+                logicalAgg.getGroupSets(),
+                logicalAgg.getAggCallList(),
+                AggregatePhase.COMPLETE
+            );
+        }
+
+        AggregatePhysicalRel localAgg = new AggregatePhysicalRel(
+            logicalAgg.getCluster(),
+            physicalInput.getTraitSet(),
+            physicalInput,
+            logicalAgg.getGroupSet(),
+            logicalAgg.getGroupSets(),
+            logicalAgg.getAggCallList(),
+            AggregatePhase.LOCAL
+        );
+
+        RelNode exchange = OptUtils.toPhysicalInput(localAgg, distributionTraitDef.getTraitRoot());
+
+        // The local aggregate emits group key columns first, followed by one intermediate column per aggregate call.
+        int groupCount = logicalAgg.getGroupCount();
+
+        List<AggregateCall> finalAggCalls = new ArrayList<>(logicalAgg.getAggCallList().size());
+
+        for (int i = 0; i < logicalAgg.getAggCallList().size(); i++) {
+            AggregateCall aggCall = logicalAgg.getAggCallList().get(i);
+
+            finalAggCalls.add(aggCall.copy(ImmutableIntList.of(groupCount + i), -1, aggCall.getCollation()));
+        }
+
+        ImmutableBitSet finalGroupSet = ImmutableBitSet.range(groupCount);
+
+        return new AggregatePhysicalRel(
+            logicalAgg.getCluster(),
+            exchange.getTraitSet(),
+            exchange,
+            finalGroupSet,
+            null,
+            finalAggCalls,
+            AggregatePhase.FINAL
+        );
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.AbstractJoinRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+/**
+ * Physical hash join. The right input is used to build the hash table, the left input probes it.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: none, since the hash table does not preserve the order of the right input</li>
+ *     <li><b>Distribution</b>: derived from the left input</li>
+ * </ul>
+ */
+public class HashJoinPhysicalRel extends AbstractJoinRel implements PhysicalRel {
+    public HashJoinPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        JoinRelType joinType
+    ) {
+        super(cluster, traitSet, left, right, condition, joinType);
+    }
+
+    @Override
+    public final Join copy(
+        RelTraitSet traitSet,
+        RexNode conditionExpr,
+        RelNode left,
+        RelNode right,
+        JoinRelType joinType,
+        boolean semiJoinDone
+    ) {
+        return new HashJoinPhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) left).visit(visitor);
+        ((PhysicalRel) right).visit(visitor);
+
+        visitor.onHashJoin(this);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double leftRows = mq.getRowCount(getLeft());
+        double rightRows = mq.getRowCount(getRight());
+
+        double rows = mq.getRowCount(this);
+        double cpu = leftRows + rightRows;
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
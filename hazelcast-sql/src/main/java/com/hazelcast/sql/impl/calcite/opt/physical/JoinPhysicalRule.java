@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.AbstractMapScanRel;
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
+import com.hazelcast.sql.impl.calcite.opt.logical.JoinLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Filter;
+import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.Util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This rule converts logical join into physical hash join. The right input is always used as the build side.
+ * <p>
+ * If both inputs are located on a single member, the join is performed there. If only one input is located on a single
+ * member, the other input is collected on that member too. If both inputs are partitioned, then:
+ * <ul>
+ *     <li>If the inputs are scans of maps joined on their keys, the matching entries are already located on the same
+ *     member, and the join is performed without exchanges</li>
+ *     <li>Otherwise two alternatives are produced: the right input is sent to all members with
+ *     {@link BroadcastExchangePhysicalRel}, or both inputs are repartitioned on the join keys with
+ *     {@link UnicastExchangePhysicalRel}. The former is cheaper when the right input is small.</li>
+ * </ul>
+ */
+public final class JoinPhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new JoinPhysicalRule();
+
+    private JoinPhysicalRule() {
+        super(
+            operand(
+                JoinLogicalRel.class,
+                HazelcastConventions.LOGICAL,
+                some(operand(RelNode.class, any()), operand(RelNode.class, any()))
+            ),
+            JoinPhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        JoinLogicalRel logicalJoin = call.rel(0);
+
+        Collection<RelNode> physicalLefts = OptUtils.getPhysicalRelsFromSubset(OptUtils.toPhysicalInput(logicalJoin.getLeft()));
+        Collection<RelNode> physicalRights =
+            OptUtils.getPhysicalRelsFromSubset(OptUtils.toPhysicalInput(logicalJoin.getRight()));
+
+        for (RelNode physicalLeft : physicalLefts) {
+            for (RelNode physicalRight : physicalRights) {
+                for (RelNode join : createJoins(logicalJoin, physicalLeft, physicalRight)) {
+                    call.transformTo(join);
+                }
+            }
+        }
+    }
+
+    private static List<RelNode> createJoins(JoinLogicalRel logicalJoin, RelNode left, RelNode right) {
+        DistributionTraitDef distributionTraitDef = OptUtils.getDistributionDef(left);
+        DistributionType leftType = OptUtils.getDistribution(left).getType();
+        DistributionType rightType = OptUtils.getDistribution(right).getType();
+
+        if (distributionTraitDef.getMemberCount() == 1
+            || leftType == DistributionType.ROOT && rightType == DistributionType.ROOT) {
+            return Collections.singletonList(createJoin(logicalJoin, left.getTraitSet(), left, right));
+        }
+
+        if (leftType == DistributionType.ROOT || rightType == DistributionType.ROOT) {
+            RelNode rootLeft = OptUtils.toPhysicalInput(left, distributionTraitDef.getTraitRoot());
+            RelNode rootRight = OptUtils.toPhysicalInput(right, distributionTraitDef.getTraitRoot());
+
+            return Collections.singletonList(createJoin(logicalJoin, rootLeft.getTraitSet(), rootLeft, rootRight));
+        }
+
+        assert leftType == DistributionType.PARTITIONED && rightType == DistributionType.PARTITIONED;
+
+        if (isCollocated(logicalJoin, left, right)) {
+            return Collections.singletonList(createJoin(logicalJoin, left.getTraitSet(), left, right));
+        }
+
+        List<RelNode> res = new ArrayList<>(2);
+
+        // Broadcast the right input.
+        BroadcastExchangePhysicalRel broadcastRight = new BroadcastExchangePhysicalRel(
+            logicalJoin.getCluster(),
+            OptUtils.toPhysicalConvention(right.getTraitSet(), distributionTraitDef.getTraitReplicated()),
+            right
+        );
+
+        res.add(createJoin(logicalJoin, left.getTraitSet(), left, broadcastRight));
+
+        // Repartition both inputs on the join keys.
+        UnicastExchangePhysicalRel unicastLeft = new UnicastExchangePhysicalRel(
+            logicalJoin.getCluster(),
+            left.getTraitSet(),
+            left,
+            logicalJoin.getLeftKeys()
+        );
+
+        UnicastExchangePhysicalRel unicastRight = new UnicastExchangePhysicalRel(
+            logicalJoin.getCluster(),
+            right.getTraitSet(),
+            right,
+            logicalJoin.getRightKeys()
+        );
+
+        res.add(createJoin(logicalJoin, left.getTraitSet(), unicastLeft, unicastRight));
+
+        return res;
+    }
+
+    private static HashJoinPhysicalRel createJoin(JoinLogicalRel logicalJoin, RelTraitSet traitSet, RelNode left, RelNode right) {
+        return new HashJoinPhysicalRel(
+            logicalJoin.getCluster(),
+            traitSet,
+            left,
+            right,
+            logicalJoin.getCondition(),
+            logicalJoin.getJoinType()
+        );
+    }
+
+    /**
+     * Check whether the matching rows of the inputs are located on the same member. This is the case when a pair of join
+     * keys refers to the distribution fields of the scanned maps.
+     */
+    private static boolean isCollocated(JoinLogicalRel logicalJoin, RelNode left, RelNode right) {
+        List<Integer> leftKeys = logicalJoin.getLeftKeys();
+        List<Integer> rightKeys = logicalJoin.getRightKeys();
+
+        for (int i = 0; i < leftKeys.size(); i++) {
+            if (isDistributionField(left, leftKeys.get(i)) && isDistributionField(right, rightKeys.get(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Check whether the given field of the node is the distribution field of a partitioned map. Only projects and filters
+     * over a map scan are analyzed, because other operators may move rows away from the owner of the entry.
+     */
+    private static boolean isDistributionField(RelNode rel, int index) {
+        while (true) {
+            if (rel instanceof RelSubset) {
+                RelSubset subset = (RelSubset) rel;
+
+                rel = Util.first(subset.getBest(), subset.getOriginal());
+            } else if (rel instanceof Filter) {
+                rel = ((Filter) rel).getInput();
+            } else if (rel instanceof Project) {
+                RexNode project = ((Project) rel).getProjects().get(index);
+
+                if (!(project instanceof RexInputRef)) {
+                    return false;
+                }
+
+                index = ((RexInputRef) project).getIndex();
+                rel = ((Project) rel).getInput();
+            } else if (rel instanceof AbstractMapScanRel) {
+                AbstractMapScanRel scan = (AbstractMapScanRel) rel;
+                AbstractMapTable map = scan.getMap();
+
+                return map instanceof PartitionedMapTable
+                    && ((PartitionedMapTable) map).getDistributionFieldOrdinal() == scan.getProjects().get(index);
+            } else {
+                return false;
+            }
+        }
+    }
+}
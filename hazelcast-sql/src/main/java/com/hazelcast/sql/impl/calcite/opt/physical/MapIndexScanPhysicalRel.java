@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Physical scan over partitioned map which uses an index to find the matching entries.
+ * <p>
+ * The original filter is split into two parts: the part evaluated by the index lookup, and the remainder which is
+ * evaluated on the entries returned from the index. The original filter is still kept to estimate the row count.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: empty, as entries are not guaranteed to be returned in index order</li>
+ *     <li><b>Distribution</b>: PARTITIONED</li>
+ * </ul>
+ */
+@SuppressWarnings("checkstyle:ParameterNumber")
+public class MapIndexScanPhysicalRel extends AbstractMapScanPhysicalRel {
+    /** Index. */
+    private final MapTableIndex index;
+
+    /** Filter for the index lookup. */
+    private final IndexFilter indexFilter;
+
+    /** Part of the original filter which is evaluated by the index. */
+    private final RexNode indexExp;
+
+    /** Part of the original filter which is evaluated on the entries returned from the index. */
+    private final RexNode remainderExp;
+
+    public MapIndexScanPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelOptTable table,
+        List<Integer> projects,
+        RexNode filter,
+        MapTableIndex index,
+        IndexFilter indexFilter,
+        RexNode indexExp,
+        RexNode remainderExp
+    ) {
+        super(cluster, traitSet, table, projects, filter);
+
+        this.index = index;
+        this.indexFilter = indexFilter;
+        this.indexExp = indexExp;
+        this.remainderExp = remainderExp;
+    }
+
+    public MapTableIndex getIndex() {
+        return index;
+    }
+
+    public IndexFilter getIndexFilter() {
+        return indexFilter;
+    }
+
+    public RexNode getIndexExp() {
+        return indexExp;
+    }
+
+    public RexNode getRemainderExp() {
+        return remainderExp;
+    }
+
+    @Override
+    public final RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new MapIndexScanPhysicalRel(
+            getCluster(),
+            traitSet,
+            getTable(),
+            projects,
+            filter,
+            index,
+            indexFilter,
+            indexExp,
+            remainderExp
+        );
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        visitor.onMapIndexScan(this);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("index", index.getName())
+            .item("indexExp", indexExp)
+            .itemIf("remainderExp", remainderExp, remainderExp != null);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        // Only the entries returned from the index are scanned.
+        double scanRowCount = CostUtils.adjustFilteredRowCount(table.getRowCount(), mq.getSelectivity(this, indexExp));
+
+        return computeSelfCost(
+            planner,
+            mq,
+            scanRowCount,
+            remainderExp,
+            getProjects().size(),
+            CostUtils.INDEX_SCAN_CPU_MULTIPLIER
+        );
+    }
+}
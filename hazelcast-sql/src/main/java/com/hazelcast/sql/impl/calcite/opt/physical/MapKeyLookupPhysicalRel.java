@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Physical lookup of partitioned map entries by their keys.
+ * <p>
+ * The original filter is split into two parts: equality of the key with one or several literals, which is evaluated by
+ * the lookup, and the remainder which is evaluated on the returned entries. The fragment with the lookup is deployed
+ * only to the owners of the partitions of the keys.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: empty</li>
+ *     <li><b>Distribution</b>: PARTITIONED</li>
+ * </ul>
+ */
+public class MapKeyLookupPhysicalRel extends AbstractMapScanPhysicalRel {
+    /** Keys to look up. */
+    private final List<Object> keys;
+
+    /** Part of the original filter which is evaluated by the lookup. */
+    private final RexNode keyExp;
+
+    /** Part of the original filter which is evaluated on the entries returned from the lookup. */
+    private final RexNode remainderExp;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public MapKeyLookupPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelOptTable table,
+        List<Integer> projects,
+        RexNode filter,
+        List<Object> keys,
+        RexNode keyExp,
+        RexNode remainderExp
+    ) {
+        super(cluster, traitSet, table, projects, filter);
+
+        this.keys = keys;
+        this.keyExp = keyExp;
+        this.remainderExp = remainderExp;
+    }
+
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+    public RexNode getKeyExp() {
+        return keyExp;
+    }
+
+    public RexNode getRemainderExp() {
+        return remainderExp;
+    }
+
+    @Override
+    public final RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new MapKeyLookupPhysicalRel(
+            getCluster(),
+            traitSet,
+            getTable(),
+            projects,
+            filter,
+            keys,
+            keyExp,
+            remainderExp
+        );
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        visitor.onMapKeyLookup(this);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("keys", keys)
+            .itemIf("remainderExp", remainderExp, remainderExp != null);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        // Only the entries with the given keys are accessed.
+        return computeSelfCost(
+            planner,
+            mq,
+            Math.min(keys.size(), table.getRowCount()),
+            remainderExp,
+            getProjects().size(),
+            CostUtils.KEY_LOOKUP_CPU_MULTIPLIER
+        );
+    }
+}
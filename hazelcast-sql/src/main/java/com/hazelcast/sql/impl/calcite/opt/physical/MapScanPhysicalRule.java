@@ -20,11 +20,20 @@ import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
 import com.hazelcast.sql.impl.calcite.opt.OptUtils;
 import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
 import com.hazelcast.sql.impl.calcite.opt.logical.MapScanLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.index.IndexCandidate;
+import com.hazelcast.sql.impl.calcite.opt.physical.index.IndexResolver;
+import com.hazelcast.sql.impl.calcite.opt.physical.index.KeyLookupCandidate;
+import com.hazelcast.sql.impl.calcite.opt.physical.index.KeyLookupResolver;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+
+import java.util.List;
 
 /**
- * Convert logical map scan to physical map scan.
+ * Convert logical map scan to physical map scan, to index scans for the indexes matching the filter, and to lookup by
+ * keys if the filter restricts the key to a set of literals.
  */
 public final class MapScanPhysicalRule extends RelOptRule {
     public static final RelOptRule INSTANCE = new MapScanPhysicalRule();
@@ -42,12 +51,69 @@ public final class MapScanPhysicalRule extends RelOptRule {
 
         DistributionTrait distribution = OptUtils.getDistributionDef(scan).getTraitPartitionedUnknown();
 
+        RelTraitSet traitSet = OptUtils.toPhysicalConvention(scan.getTraitSet(), distribution);
+
         call.transformTo(new MapScanPhysicalRel(
             scan.getCluster(),
-            OptUtils.toPhysicalConvention(scan.getTraitSet(), distribution),
+            traitSet,
             scan.getTable(),
             scan.getProjects(),
             scan.getFilter()
         ));
+
+        // Index scans and key lookups are chosen over the full scan by the cost model.
+        if (scan.getMap() instanceof PartitionedMapTable) {
+            PartitionedMapTable map = (PartitionedMapTable) scan.getMap();
+
+            transformToIndexScans(call, scan, traitSet, map);
+            transformToKeyLookup(call, scan, traitSet, map);
+        }
+    }
+
+    private static void transformToIndexScans(
+        RelOptRuleCall call,
+        MapScanLogicalRel scan,
+        RelTraitSet traitSet,
+        PartitionedMapTable map
+    ) {
+        List<IndexCandidate> candidates = IndexResolver.resolve(scan.getCluster().getRexBuilder(), map, scan.getFilter());
+
+        for (IndexCandidate candidate : candidates) {
+            call.transformTo(new MapIndexScanPhysicalRel(
+                scan.getCluster(),
+                traitSet,
+                scan.getTable(),
+                scan.getProjects(),
+                scan.getFilter(),
+                candidate.getIndex(),
+                candidate.getIndexFilter(),
+                candidate.getIndexExp(),
+                candidate.getRemainderExp()
+            ));
+        }
+    }
+
+    private static void transformToKeyLookup(
+        RelOptRuleCall call,
+        MapScanLogicalRel scan,
+        RelTraitSet traitSet,
+        PartitionedMapTable map
+    ) {
+        KeyLookupCandidate candidate = KeyLookupResolver.resolve(scan.getCluster().getRexBuilder(), map, scan.getFilter());
+
+        if (candidate == null) {
+            return;
+        }
+
+        call.transformTo(new MapKeyLookupPhysicalRel(
+            scan.getCluster(),
+            traitSet,
+            scan.getTable(),
+            scan.getProjects(),
+            scan.getFilter(),
+            candidate.getKeys(),
+            candidate.getKeyExp(),
+            candidate.getRemainderExp()
+        ));
     }
 }
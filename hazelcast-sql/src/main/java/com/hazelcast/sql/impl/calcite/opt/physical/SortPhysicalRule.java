@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
+import com.hazelcast.sql.impl.calcite.opt.logical.SortLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexNode;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * This rule converts logical sort into physical sort.
+ * <p>
+ * If the input is already located on a single member, the sort is performed in one step. Otherwise, every member sorts
+ * its local part of the input, and then the sorted streams are merged on the root member by
+ * {@link SortMergeExchangePhysicalRel}. When the fetch is defined, local sorts only maintain the top
+ * {@code offset + fetch} rows, so that only these rows are transferred over the network. The offset is applied after
+ * the merge.
+ */
+public final class SortPhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new SortPhysicalRule();
+
+    private SortPhysicalRule() {
+        super(
+            OptUtils.parentChild(SortLogicalRel.class, RelNode.class, HazelcastConventions.LOGICAL),
+            SortPhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        SortLogicalRel logicalSort = call.rel(0);
+        RelNode input = logicalSort.getInput();
+
+        RelNode convertedInput = OptUtils.toPhysicalInput(input);
+
+        Collection<RelNode> physicalInputs = OptUtils.getPhysicalRelsFromSubset(convertedInput);
+
+        for (RelNode physicalInput : physicalInputs) {
+            call.transformTo(createSort(logicalSort, physicalInput));
+        }
+    }
+
+    private static RelNode createSort(SortLogicalRel logicalSort, RelNode physicalInput) {
+        DistributionTraitDef distributionTraitDef = OptUtils.getDistributionDef(physicalInput);
+        DistributionType inputDistributionType = OptUtils.getDistribution(physicalInput).getType();
+
+        if (inputDistributionType == DistributionType.ROOT || distributionTraitDef.getMemberCount() == 1) {
+            return new SortPhysicalRel(
+                logicalSort.getCluster(),
+                physicalInput.getTraitSet(),
+                physicalInput,
+                logicalSort.getCollation(),
+                logicalSort.offset,
+                logicalSort.fetch
+            );
+        }
+
+        long fetch = logicalSort.getFetchValue();
+        long offset = logicalSort.getOffsetValue();
+
+        // Every member must return enough rows to satisfy both the offset and the fetch after the merge.
+        RexNode localFetch = fetch >= 0
+            ? logicalSort.getCluster().getRexBuilder().makeExactLiteral(BigDecimal.valueOf(fetch + offset))
+            : null;
+
+        SortPhysicalRel localSort = new SortPhysicalRel(
+            logicalSort.getCluster(),
+            physicalInput.getTraitSet(),
+            physicalInput,
+            logicalSort.getCollation(),
+            null,
+            localFetch
+        );
+
+        RelTraitSet traitSet = OptUtils.toPhysicalConvention(physicalInput.getTraitSet(), distributionTraitDef.getTraitRoot());
+
+        return new SortMergeExchangePhysicalRel(
+            logicalSort.getCluster(),
+            traitSet,
+            localSort,
+            logicalSort.getCollation(),
+            fetch,
+            offset
+        );
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.exchange;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
+import com.hazelcast.sql.impl.calcite.opt.physical.PhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+
+import java.util.List;
+
+/**
+ * Exchange which collects sorted streams of the input on a single node and merges them preserving the order. Expects
+ * the input to be a {@link SortPhysicalRel} with the same collation.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: preserved, since the sorted input streams are merged</li>
+ *     <li><b>Distribution</b>: always {@link DistributionType#ROOT}, since there is only one node consuming the input</li>
+ * </ul>
+ */
+public class SortMergeExchangePhysicalRel extends AbstractExchangePhysicalRel {
+    /** Collation of the input streams. */
+    private final RelCollation collation;
+
+    /** Number of rows to return, or {@code -1} if there is no limit. */
+    private final long fetch;
+
+    /** Number of rows to skip. */
+    private final long offset;
+
+    public SortMergeExchangePhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelCollation collation,
+        long fetch,
+        long offset
+    ) {
+        super(cluster, traits, input);
+
+        this.collation = collation;
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    public RelCollation getCollation() {
+        return collation;
+    }
+
+    public long getFetch() {
+        return fetch;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new SortMergeExchangePhysicalRel(getCluster(), traitSet, sole(inputs), collation, fetch, offset);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onSortMergeExchange(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("collation", collation.getFieldCollations())
+            .itemIf("fetch", fetch, fetch >= 0)
+            .itemIf("offset", offset, offset > 0);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        double inputRows = mq.getRowCount(getInput());
+
+        return fetch >= 0 ? Math.min(inputRows, fetch) : inputRows;
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double inputRows = mq.getRowCount(getInput());
+
+        double rows = mq.getRowCount(this);
+        double cpu = inputRows * Math.max(1, Math.log(getMemberCount()) / Math.log(2));
+        double network = inputRows * CostUtils.getEstimatedRowWidth(getInput());
+
+        return planner.getCostFactory().makeCost(rows, cpu, network);
+    }
+}
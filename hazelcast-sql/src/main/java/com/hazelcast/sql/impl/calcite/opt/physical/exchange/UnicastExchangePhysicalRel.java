@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.exchange;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
+import com.hazelcast.sql.impl.calcite.opt.physical.PhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+
+import java.util.List;
+
+/**
+ * Exchange which repartitions the input between data members by the hash of the given fields, so that rows with equal
+ * values of these fields are located on the same member.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: none, since the order of receive from input is undefined</li>
+ *     <li><b>Distribution</b>: always {@link DistributionType#PARTITIONED}</li>
+ * </ul>
+ */
+public class UnicastExchangePhysicalRel extends AbstractExchangePhysicalRel {
+    /** Indexes of the fields used for repartitioning. */
+    private final List<Integer> hashFields;
+
+    public UnicastExchangePhysicalRel(RelOptCluster cluster, RelTraitSet traits, RelNode input, List<Integer> hashFields) {
+        super(cluster, traits, input);
+
+        this.hashFields = hashFields;
+    }
+
+    public List<Integer> getHashFields() {
+        return hashFields;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new UnicastExchangePhysicalRel(getCluster(), traitSet, sole(inputs), hashFields);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onUnicastExchange(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw).item("hashFields", hashFields);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double rows = mq.getRowCount(getInput());
+        int memberCount = getMemberCount();
+
+        // Only the rows which belong to other members are sent over the network.
+        double cpu = rows;
+        double network = rows * CostUtils.getEstimatedRowWidth(getInput()) * (memberCount - 1) / memberCount;
+
+        return planner.getCostFactory().makeCost(rows, cpu, network);
+    }
+}
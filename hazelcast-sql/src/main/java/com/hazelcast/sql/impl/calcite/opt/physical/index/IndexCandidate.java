@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.index;
+
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import org.apache.calcite.rex.RexNode;
+
+/**
+ * Index which could be used to evaluate the filter of a map scan.
+ */
+public class IndexCandidate {
+    /** Index. */
+    private final MapTableIndex index;
+
+    /** Filter for the index lookup. */
+    private final IndexFilter indexFilter;
+
+    /** Part of the original filter which is evaluated by the index. */
+    private final RexNode indexExp;
+
+    /** Part of the original filter which should be evaluated on the entries returned from the index, if any. */
+    private final RexNode remainderExp;
+
+    public IndexCandidate(MapTableIndex index, IndexFilter indexFilter, RexNode indexExp, RexNode remainderExp) {
+        this.index = index;
+        this.indexFilter = indexFilter;
+        this.indexExp = indexExp;
+        this.remainderExp = remainderExp;
+    }
+
+    public MapTableIndex getIndex() {
+        return index;
+    }
+
+    public IndexFilter getIndexFilter() {
+        return indexFilter;
+    }
+
+    public RexNode getIndexExp() {
+        return indexExp;
+    }
+
+    public RexNode getRemainderExp() {
+        return remainderExp;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.index;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexRangeFilter;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeFamily;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helper that matches the filter of a map scan against the indexes of the map.
+ * <p>
+ * Only single-attribute indexes are considered. The filter is split into conjuncts, and comparisons of the indexed
+ * column with a literal are converted into an {@link IndexFilter}. The remaining conjuncts form the remainder filter,
+ * which is evaluated on the entries returned from the index.
+ */
+public final class IndexResolver {
+    private IndexResolver() {
+        // No-op.
+    }
+
+    /**
+     * Create candidate index scans for the given filter.
+     *
+     * @param rexBuilder Rex builder.
+     * @param table Table.
+     * @param filter Filter of the scan.
+     * @return Candidate index scans, possibly empty.
+     */
+    public static List<IndexCandidate> resolve(RexBuilder rexBuilder, PartitionedMapTable table, RexNode filter) {
+        if (filter == null || table.getIndexes().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<RexNode> conjuncts = RelOptUtil.conjunctions(filter);
+
+        List<IndexCandidate> res = new ArrayList<>(1);
+
+        for (MapTableIndex index : table.getIndexes()) {
+            if (index.getFieldOrdinals().size() != 1) {
+                continue;
+            }
+
+            IndexCandidate candidate = resolve(rexBuilder, table, index, conjuncts);
+
+            if (candidate != null) {
+                res.add(candidate);
+            }
+        }
+
+        return res;
+    }
+
+    private static IndexCandidate resolve(
+        RexBuilder rexBuilder,
+        PartitionedMapTable table,
+        MapTableIndex index,
+        List<RexNode> conjuncts
+    ) {
+        int ordinal = index.getFieldOrdinals().get(0);
+        QueryDataType fieldType = table.<TableField>getField(ordinal).getType();
+
+        IndexComparison equals = null;
+        IndexComparison lower = null;
+        IndexComparison upper = null;
+
+        for (RexNode conjunct : conjuncts) {
+            IndexComparison comparison = IndexComparison.of(conjunct, ordinal, fieldType);
+
+            if (comparison == null) {
+                continue;
+            }
+
+            // Only the first matching comparison of every kind is used, the others go to the remainder.
+            if (comparison.kind == SqlKind.EQUALS) {
+                equals = equals != null ? equals : comparison;
+            } else if (index.getType() == IndexType.SORTED) {
+                if (comparison.isLowerBound()) {
+                    lower = lower != null ? lower : comparison;
+                } else {
+                    upper = upper != null ? upper : comparison;
+                }
+            }
+        }
+
+        if (equals != null) {
+            return createCandidate(rexBuilder, index, new IndexEqualsFilter(equals.value), conjuncts, equals);
+        }
+
+        if (lower == null && upper == null) {
+            return null;
+        }
+
+        return createCandidate(rexBuilder, index, createRangeFilter(lower, upper), conjuncts, lower, upper);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static IndexFilter createRangeFilter(IndexComparison lower, IndexComparison upper) {
+        Comparable from = null;
+        boolean fromInclusive = false;
+        Comparable to = null;
+        boolean toInclusive = false;
+
+        if (lower != null) {
+            from = lower.value;
+            fromInclusive = lower.kind == SqlKind.GREATER_THAN_OR_EQUAL;
+        }
+
+        if (upper != null) {
+            to = upper.value;
+            toInclusive = upper.kind == SqlKind.LESS_THAN_OR_EQUAL;
+        }
+
+        return new IndexRangeFilter(from, fromInclusive, to, toInclusive);
+    }
+
+    private static IndexCandidate createCandidate(
+        RexBuilder rexBuilder,
+        MapTableIndex index,
+        IndexFilter indexFilter,
+        List<RexNode> conjuncts,
+        IndexComparison... comparisons
+    ) {
+        List<RexNode> indexConjuncts = new ArrayList<>(comparisons.length);
+
+        for (IndexComparison comparison : comparisons) {
+            if (comparison != null) {
+                indexConjuncts.add(comparison.conjunct);
+            }
+        }
+
+        List<RexNode> remainderConjuncts = new ArrayList<>(conjuncts.size());
+
+        for (RexNode conjunct : conjuncts) {
+            if (!indexConjuncts.contains(conjunct)) {
+                remainderConjuncts.add(conjunct);
+            }
+        }
+
+        RexNode indexExp = RexUtil.composeConjunction(rexBuilder, indexConjuncts);
+        RexNode remainderExp = remainderConjuncts.isEmpty() ? null : RexUtil.composeConjunction(rexBuilder, remainderConjuncts);
+
+        return new IndexCandidate(index, indexFilter, indexExp, remainderExp);
+    }
+
+    /**
+     * Convert the literal to the type of the column. Conversions which may change the result of the
+     * comparison (e.g. truncation of a fractional part) are rejected.
+     *
+     * @return Converted value or {@code null} if the literal cannot be used for the lookup.
+     */
+    @SuppressWarnings("rawtypes")
+    static Comparable convertLiteral(RexLiteral literal, QueryDataType fieldType) {
+        QueryDataTypeFamily typeFamily = fieldType.getTypeFamily();
+
+        if (typeFamily == QueryDataTypeFamily.OBJECT || typeFamily == QueryDataTypeFamily.LATE) {
+            return null;
+        }
+
+        Object value = getLiteralValue(literal);
+
+        if (value == null) {
+            return null;
+        }
+
+        Object converted;
+
+        try {
+            converted = fieldType.convert(value);
+
+            if (value instanceof BigDecimal
+                && ((BigDecimal) QueryDataType.DECIMAL.convert(converted)).compareTo((BigDecimal) value) != 0) {
+                return null;
+            }
+        } catch (QueryException e) {
+            return null;
+        }
+
+        return converted instanceof Comparable ? (Comparable) converted : null;
+    }
+
+    private static Object getLiteralValue(RexLiteral literal) {
+        SqlTypeFamily literalFamily = literal.getTypeName().getFamily();
+
+        if (literalFamily == SqlTypeFamily.CHARACTER) {
+            return literal.getValueAs(String.class);
+        } else if (literalFamily == SqlTypeFamily.NUMERIC || literalFamily == SqlTypeFamily.BOOLEAN) {
+            return literal.getValue();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Comparison of the indexed column with a literal, normalized so that the column is on the left side.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final class IndexComparison {
+        private final RexNode conjunct;
+        private final SqlKind kind;
+        private final Comparable value;
+
+        private IndexComparison(RexNode conjunct, SqlKind kind, Comparable value) {
+            this.conjunct = conjunct;
+            this.kind = kind;
+            this.value = value;
+        }
+
+        private boolean isLowerBound() {
+            return kind == SqlKind.GREATER_THAN || kind == SqlKind.GREATER_THAN_OR_EQUAL;
+        }
+
+        private static IndexComparison of(RexNode node, int ordinal, QueryDataType fieldType) {
+            switch (node.getKind()) {
+                case EQUALS:
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL:
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL:
+                    break;
+
+                default:
+                    return null;
+            }
+
+            RexCall call = (RexCall) node;
+
+            RexNode left = call.getOperands().get(0);
+            RexNode right = call.getOperands().get(1);
+
+            SqlKind kind = node.getKind();
+
+            if (left instanceof RexLiteral && right instanceof RexInputRef) {
+                RexNode tmp = left;
+                left = right;
+                right = tmp;
+
+                kind = kind.reverse();
+            }
+
+            if (!(left instanceof RexInputRef) || ((RexInputRef) left).getIndex() != ordinal
+                || !(right instanceof RexLiteral)) {
+                return null;
+            }
+
+            Comparable value = convertLiteral((RexLiteral) right, fieldType);
+
+            if (value == null) {
+                return null;
+            }
+
+            return new IndexComparison(node, kind, value);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.index;
+
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Keys which could be used to look up the entries of a map scan directly, instead of scanning the partitions.
+ */
+public class KeyLookupCandidate {
+    /** Keys to look up. */
+    private final List<Object> keys;
+
+    /** Part of the original filter which is evaluated by the lookup. */
+    private final RexNode keyExp;
+
+    /** Part of the original filter which should be evaluated on the entries returned from the lookup, if any. */
+    private final RexNode remainderExp;
+
+    public KeyLookupCandidate(List<Object> keys, RexNode keyExp, RexNode remainderExp) {
+        this.keys = keys;
+        this.keyExp = keyExp;
+        this.remainderExp = remainderExp;
+    }
+
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+    public RexNode getKeyExp() {
+        return keyExp;
+    }
+
+    public RexNode getRemainderExp() {
+        return remainderExp;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.index;
+
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Helper that matches the filter of a map scan against the key of the map.
+ * <p>
+ * The filter is split into conjuncts. The first conjunct which is either an equality of the key column with a literal,
+ * or a disjunction of such equalities (which is what an IN-list is converted to), defines the keys to look up. The
+ * remaining conjuncts form the remainder filter, which is evaluated on the entries returned from the lookup.
+ */
+public final class KeyLookupResolver {
+    private KeyLookupResolver() {
+        // No-op.
+    }
+
+    /**
+     * Create candidate key lookup for the given filter.
+     *
+     * @param rexBuilder Rex builder.
+     * @param table Table.
+     * @param filter Filter of the scan.
+     * @return Candidate key lookup or {@code null} if the filter doesn't restrict the key to a set of literals.
+     */
+    public static KeyLookupCandidate resolve(RexBuilder rexBuilder, PartitionedMapTable table, RexNode filter) {
+        if (filter == null) {
+            return null;
+        }
+
+        int keyOrdinal = getKeyOrdinal(table);
+
+        if (keyOrdinal == -1) {
+            return null;
+        }
+
+        QueryDataType keyType = table.<TableField>getField(keyOrdinal).getType();
+
+        List<RexNode> conjuncts = RelOptUtil.conjunctions(filter);
+
+        for (RexNode conjunct : conjuncts) {
+            List<Object> keys = resolveKeys(conjunct, keyOrdinal, keyType);
+
+            if (keys == null) {
+                continue;
+            }
+
+            List<RexNode> remainderConjuncts = new ArrayList<>(conjuncts);
+            remainderConjuncts.remove(conjunct);
+
+            RexNode remainderExp =
+                remainderConjuncts.isEmpty() ? null : RexUtil.composeConjunction(rexBuilder, remainderConjuncts);
+
+            return new KeyLookupCandidate(keys, conjunct, remainderExp);
+        }
+
+        return null;
+    }
+
+    private static int getKeyOrdinal(PartitionedMapTable table) {
+        for (int i = 0; i < table.getFieldCount(); i++) {
+            TableField field = table.getField(i);
+
+            if (field instanceof MapTableField && QueryPath.KEY_PATH.equals(((MapTableField) field).getPath())) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return Distinct keys, or {@code null} if at least one of the disjuncts is not an equality of the key with a literal.
+     */
+    private static List<Object> resolveKeys(RexNode conjunct, int keyOrdinal, QueryDataType keyType) {
+        Set<Object> keys = new LinkedHashSet<>();
+
+        for (RexNode disjunct : RelOptUtil.disjunctions(conjunct)) {
+            Object key = resolveKey(disjunct, keyOrdinal, keyType);
+
+            if (key == null) {
+                return null;
+            }
+
+            keys.add(key);
+        }
+
+        return new ArrayList<>(keys);
+    }
+
+    private static Object resolveKey(RexNode node, int keyOrdinal, QueryDataType keyType) {
+        if (node.getKind() != SqlKind.EQUALS) {
+            return null;
+        }
+
+        RexCall call = (RexCall) node;
+
+        RexNode left = call.getOperands().get(0);
+        RexNode right = call.getOperands().get(1);
+
+        if (left instanceof RexLiteral && right instanceof RexInputRef) {
+            RexNode tmp = left;
+            left = right;
+            right = tmp;
+        }
+
+        if (!(left instanceof RexInputRef) || ((RexInputRef) left).getIndex() != keyOrdinal
+            || !(right instanceof RexLiteral)) {
+            return null;
+        }
+
+        return IndexResolver.convertLiteral((RexLiteral) right, keyType);
+    }
+}
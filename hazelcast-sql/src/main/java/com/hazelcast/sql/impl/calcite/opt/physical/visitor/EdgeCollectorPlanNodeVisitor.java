@@ -16,15 +16,23 @@
 
 package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
 
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.EdgeAwarePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -57,16 +65,41 @@ public class EdgeCollectorPlanNodeVisitor implements PlanNodeVisitor {
         onNode(node);
     }
 
+    @Override
+    public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
+        onNode(node);
+    }
+
     @Override
     public void onRootSendNode(RootSendPlanNode node) {
         onNode(node);
     }
 
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        onNode(node);
+    }
+
     @Override
     public void onMapScanNode(MapScanPlanNode node) {
         onNode(node);
     }
 
+    @Override
+    public void onMapIndexScanNode(MapIndexScanPlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onMapKeyLookupNode(MapKeyLookupPlanNode node) {
+        onNode(node);
+    }
+
     @Override
     public void onProjectNode(ProjectPlanNode node) {
         onNode(node);
@@ -77,6 +110,21 @@ public class EdgeCollectorPlanNodeVisitor implements PlanNodeVisitor {
         onNode(node);
     }
 
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        onNode(node);
+    }
+
     @Override
     public void onOtherNode(PlanNode node) {
         onNode(node);
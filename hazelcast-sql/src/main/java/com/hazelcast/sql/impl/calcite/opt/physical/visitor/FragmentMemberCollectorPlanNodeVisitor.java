@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
+
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
+import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.PlanNode;
+import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
+import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
+import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Visitor that collects members which should execute a plan fragment with scans. If all scans of the fragment are
+ * lookups by keys, only the owners of the keys are required. Otherwise, the fragment should be executed on all data
+ * members.
+ */
+public class FragmentMemberCollectorPlanNodeVisitor implements PlanNodeVisitor {
+    /** Owners of the keys of every lookup node. */
+    private final Map<PlanNode, Set<UUID>> keyLookupMemberIds;
+
+    /** Owners of the keys of the lookups found so far. */
+    private final Set<UUID> memberIds = new HashSet<>();
+
+    /** Whether the fragment contains a scan which requires all data members. */
+    private boolean dataMembers;
+
+    public FragmentMemberCollectorPlanNodeVisitor(Map<PlanNode, Set<UUID>> keyLookupMemberIds) {
+        this.keyLookupMemberIds = keyLookupMemberIds;
+    }
+
+    /**
+     * @return Members which should execute the fragment, or {@code null} if the fragment should be executed on all data
+     *     members.
+     */
+    public Set<UUID> getMemberIds() {
+        return dataMembers || memberIds.isEmpty() ? null : memberIds;
+    }
+
+    @Override
+    public void onRootNode(RootPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onReceiveNode(ReceivePlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onRootSendNode(RootSendPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onMapScanNode(MapScanPlanNode node) {
+        dataMembers = true;
+    }
+
+    @Override
+    public void onMapIndexScanNode(MapIndexScanPlanNode node) {
+        dataMembers = true;
+    }
+
+    @Override
+    public void onMapKeyLookupNode(MapKeyLookupPlanNode node) {
+        Set<UUID> nodeMemberIds = keyLookupMemberIds.get(node);
+
+        if (nodeMemberIds == null) {
+            dataMembers = true;
+        } else {
+            memberIds.addAll(nodeMemberIds);
+        }
+    }
+
+    @Override
+    public void onProjectNode(ProjectPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onFilterNode(FilterPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onOtherNode(PlanNode node) {
+        // No-op.
+    }
+}
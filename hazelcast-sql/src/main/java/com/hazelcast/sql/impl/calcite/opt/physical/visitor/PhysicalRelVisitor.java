@@ -16,11 +16,19 @@
 
 package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
 
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.FilterPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.HashJoinPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapKeyLookupPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ProjectPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.RootPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
 
 /**
  * Visitor over physical relations.
@@ -28,7 +36,15 @@ import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysical
 public interface PhysicalRelVisitor {
     void onRoot(RootPhysicalRel rel);
     void onMapScan(MapScanPhysicalRel rel);
+    void onMapIndexScan(MapIndexScanPhysicalRel rel);
+    void onMapKeyLookup(MapKeyLookupPhysicalRel rel);
     void onRootExchange(RootExchangePhysicalRel rel);
+    void onSortMergeExchange(SortMergeExchangePhysicalRel rel);
+    void onBroadcastExchange(BroadcastExchangePhysicalRel rel);
+    void onUnicastExchange(UnicastExchangePhysicalRel rel);
     void onProject(ProjectPhysicalRel rel);
     void onFilter(FilterPhysicalRel rel);
+    void onAggregate(AggregatePhysicalRel rel);
+    void onSort(SortPhysicalRel rel);
+    void onHashJoin(HashJoinPhysicalRel rel);
 }
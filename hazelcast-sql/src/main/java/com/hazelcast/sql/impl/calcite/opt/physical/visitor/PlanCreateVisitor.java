@@ -16,30 +16,66 @@
 
 package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.calcite.SqlToQueryType;
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.FilterPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.HashJoinPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapKeyLookupPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.PhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ProjectPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.RootPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.AbstractExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.exec.scan.MapScanExecUtils;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MaxAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.PlanFragmentMapping;
+import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeFieldTypeProvider;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
+import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
 import com.hazelcast.sql.impl.schema.map.MapTableField;
 import com.hazelcast.sql.impl.type.QueryDataType;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rex.RexNode;
 
 import java.util.ArrayDeque;
@@ -48,6 +84,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,8 +100,11 @@ import java.util.UUID;
  * created, and then exchange is converted into a pair of appropriate send/receive operators. Send operator is added to the
  * previous fragment, receive operator is a starting point for the new fragment.
  */
-@SuppressWarnings("rawtypes")
+@SuppressWarnings({"rawtypes", "checkstyle:ClassDataAbstractionCoupling", "checkstyle:ClassFanOutComplexity"})
 public class PlanCreateVisitor implements PhysicalRelVisitor {
+    /** Node engine. */
+    private final NodeEngine nodeEngine;
+
     /** ID of query coordinator. */
     private final UUID localMemberId;
 
@@ -98,11 +138,22 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
     /** Root physical rel. */
     private RootPhysicalRel rootPhysicalRel;
 
+    /** Keys of the objects the plan depends on. */
+    private final Set<PlanObjectKey> objectKeys = new HashSet<>();
+
+    /** Whether the plan depends on an object which doesn't allow caching. */
+    private boolean uncacheable;
+
+    /** Owners of the keys of key lookup nodes, {@code null} value means that the owners cannot be determined. */
+    private final Map<PlanNode, Set<UUID>> keyLookupMemberIds = new IdentityHashMap<>();
+
     public PlanCreateVisitor(
+        NodeEngine nodeEngine,
         UUID localMemberId,
         Map<UUID, PartitionIdSet> partMap,
         Map<PhysicalRel, List<Integer>> relIdMap
     ) {
+        this.nodeEngine = nodeEngine;
         this.localMemberId = localMemberId;
         this.partMap = partMap;
         this.relIdMap = relIdMap;
@@ -143,7 +194,8 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
             fragmentMappings,
             outboundEdgeMap,
             inboundEdgeMap,
-            inboundEdgeMemberCountMap
+            inboundEdgeMemberCountMap,
+            uncacheable ? null : objectKeys
         );
     }
 
@@ -165,6 +217,8 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
     public void onMapScan(MapScanPhysicalRel rel) {
         AbstractMapTable table = rel.getMap();
 
+        addObjectKey(table);
+
         PlanNodeSchema schemaBefore = getScanSchemaBeforeProject(table);
 
         MapScanPlanNode scanNode = new MapScanPlanNode(
@@ -181,6 +235,65 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(scanNode);
     }
 
+    @Override
+    public void onMapIndexScan(MapIndexScanPhysicalRel rel) {
+        AbstractMapTable table = rel.getMap();
+
+        addObjectKey(table);
+
+        PlanNodeSchema schemaBefore = getScanSchemaBeforeProject(table);
+
+        MapIndexScanPlanNode scanNode = new MapIndexScanPlanNode(
+            pollId(rel),
+            table.getName(),
+            table.getKeyDescriptor(),
+            table.getValueDescriptor(),
+            getScanFieldPaths(table),
+            schemaBefore.getTypes(),
+            rel.getProjects(),
+            rel.getIndex().getName(),
+            rel.getIndexFilter(),
+            convertFilter(schemaBefore, rel.getRemainderExp())
+        );
+
+        pushUpstream(scanNode);
+    }
+
+    @Override
+    public void onMapKeyLookup(MapKeyLookupPhysicalRel rel) {
+        AbstractMapTable table = rel.getMap();
+
+        addObjectKey(table);
+
+        PlanNodeSchema schemaBefore = getScanSchemaBeforeProject(table);
+
+        MapKeyLookupPlanNode lookupNode = new MapKeyLookupPlanNode(
+            pollId(rel),
+            table.getName(),
+            table.getKeyDescriptor(),
+            table.getValueDescriptor(),
+            getScanFieldPaths(table),
+            schemaBefore.getTypes(),
+            rel.getProjects(),
+            rel.getKeys(),
+            convertFilter(schemaBefore, rel.getRemainderExp())
+        );
+
+        keyLookupMemberIds.put(lookupNode, getKeyOwners(table.getName(), rel.getKeys()));
+
+        pushUpstream(lookupNode);
+    }
+
+    private void addObjectKey(Table table) {
+        PlanObjectKey objectKey = table.getObjectKey();
+
+        if (objectKey != null) {
+            objectKeys.add(objectKey);
+        } else {
+            uncacheable = true;
+        }
+    }
+
     @Override
     public void onRootExchange(RootExchangePhysicalRel rel) {
         // Get upstream node.
@@ -197,7 +310,96 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
             edge
         );
 
-        addFragment(sendNode, dataMemberMapping());
+        addFragment(sendNode, dataMemberMapping(sendNode));
+
+        // Create receiver.
+        ReceivePlanNode receiveNode = new ReceivePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
+    @Override
+    public void onSortMergeExchange(SortMergeExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        RootSendPlanNode sendNode = new RootSendPlanNode(
+            id,
+            upstreamNode,
+            edge
+        );
+
+        addFragment(sendNode, dataMemberMapping(sendNode));
+
+        // Create receiver which merges sorted streams of the senders.
+        ReceiveSortMergePlanNode receiveNode = new ReceiveSortMergePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes(),
+            getSortColumnIndexes(rel.getCollation()),
+            getSortAscs(rel.getCollation()),
+            rel.getFetch(),
+            rel.getOffset()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
+    @Override
+    public void onBroadcastExchange(BroadcastExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        BroadcastSendPlanNode sendNode = new BroadcastSendPlanNode(
+            id,
+            upstreamNode,
+            edge
+        );
+
+        addFragment(sendNode, dataMemberMapping(sendNode));
+
+        // Create receiver.
+        ReceivePlanNode receiveNode = new ReceivePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
+    @Override
+    public void onUnicastExchange(UnicastExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        UnicastSendPlanNode sendNode = new UnicastSendPlanNode(
+            id,
+            upstreamNode,
+            edge,
+            rel.getHashFields()
+        );
+
+        addFragment(sendNode, dataMemberMapping(sendNode));
 
         // Create receiver.
         ReceivePlanNode receiveNode = new ReceivePlanNode(
@@ -246,6 +448,62 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(filterNode);
     }
 
+    @Override
+    public void onAggregate(AggregatePhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        List<AggregateCall> aggCalls = rel.getAggCallList();
+        List<AggregateExpression> expressions = new ArrayList<>(aggCalls.size());
+
+        for (AggregateCall aggCall : aggCalls) {
+            expressions.add(convertAggregate(upstreamNode.getSchema(), aggCall));
+        }
+
+        AggregatePlanNode aggNode = new AggregatePlanNode(
+            pollId(rel),
+            upstreamNode,
+            rel.getGroupSet().asList(),
+            expressions,
+            rel.getPhase()
+        );
+
+        pushUpstream(aggNode);
+    }
+
+    @Override
+    public void onSort(SortPhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        SortPlanNode sortNode = new SortPlanNode(
+            pollId(rel),
+            upstreamNode,
+            getSortColumnIndexes(rel.getCollation()),
+            getSortAscs(rel.getCollation()),
+            rel.getFetchValue(),
+            rel.getOffsetValue()
+        );
+
+        pushUpstream(sortNode);
+    }
+
+    @Override
+    public void onHashJoin(HashJoinPhysicalRel rel) {
+        // Inputs are visited left to right, so the right input is on top of the stack.
+        PlanNode rightNode = upstreamNodes.pollFirst();
+        PlanNode leftNode = upstreamNodes.pollFirst();
+
+        HashJoinPlanNode joinNode = new HashJoinPlanNode(
+            pollId(rel),
+            leftNode,
+            rightNode,
+            rel.getLeftKeys(),
+            rel.getRightKeys(),
+            rel.getJoinType() == JoinRelType.LEFT
+        );
+
+        pushUpstream(joinNode);
+    }
+
     /**
      * Push node to upstream stack.
      *
@@ -315,6 +573,69 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         return expression.accept(converter);
     }
 
+    private static AggregateExpression convertAggregate(PlanNodeSchema schema, AggregateCall aggCall) {
+        Expression<?> operand;
+
+        switch (aggCall.getArgList().size()) {
+            case 0:
+                operand = null;
+
+                break;
+
+            case 1:
+                int index = aggCall.getArgList().get(0);
+
+                operand = ColumnExpression.create(index, schema.getType(index));
+
+                break;
+
+            default:
+                throw QueryException.error("Unsupported number of aggregate arguments: " + aggCall);
+        }
+
+        QueryDataType resultType = SqlToQueryType.map(aggCall.getType().getSqlTypeName());
+
+        switch (aggCall.getAggregation().getKind()) {
+            case COUNT:
+                return CountAggregateExpression.create(operand);
+
+            case SUM:
+                return SumAggregateExpression.create(operand, resultType);
+
+            case AVG:
+                return AvgAggregateExpression.create(operand, resultType);
+
+            case MIN:
+                return MinAggregateExpression.create(operand, resultType);
+
+            case MAX:
+                return MaxAggregateExpression.create(operand, resultType);
+
+            default:
+                throw QueryException.error("Unsupported aggregate function: " + aggCall.getAggregation().getName());
+        }
+    }
+
+    private static List<Integer> getSortColumnIndexes(RelCollation collation) {
+        List<Integer> res = new ArrayList<>(collation.getFieldCollations().size());
+
+        for (RelFieldCollation fieldCollation : collation.getFieldCollations()) {
+            res.add(fieldCollation.getFieldIndex());
+        }
+
+        return res;
+    }
+
+    private static List<Boolean> getSortAscs(RelCollation collation) {
+        List<Boolean> res = new ArrayList<>(collation.getFieldCollations().size());
+
+        for (RelFieldCollation fieldCollation : collation.getFieldCollations()) {
+            res.add(!fieldCollation.getDirection().isDescending());
+        }
+
+        return res;
+    }
+
     private static PlanNodeSchema getScanSchemaBeforeProject(AbstractMapTable table) {
         List<QueryDataType> types = new ArrayList<>(table.getFieldCount());
 
@@ -339,7 +660,65 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         return res;
     }
 
-    private PlanFragmentMapping dataMemberMapping() {
+    /**
+     * Get the owners of the partitions of the given keys.
+     *
+     * @param mapName Map name.
+     * @param keys Keys.
+     * @return Owners of the keys or {@code null} if at least one owner is not known.
+     */
+    private Set<UUID> getKeyOwners(String mapName, List<Object> keys) {
+        MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        MapContainer map = mapService.getMapServiceContext().getMapContainer(mapName);
+        InternalSerializationService serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
+
+        Set<UUID> res = new HashSet<>();
+
+        for (Object key : keys) {
+            int partition = nodeEngine.getPartitionService().getPartitionId(
+                MapScanExecUtils.getKeyData(map, serializationService, key)
+            );
+
+            UUID owner = getPartitionOwner(partition);
+
+            if (owner == null) {
+                return null;
+            }
+
+            res.add(owner);
+        }
+
+        return res;
+    }
+
+    private UUID getPartitionOwner(int partition) {
+        for (Map.Entry<UUID, PartitionIdSet> entry : partMap.entrySet()) {
+            if (entry.getValue().contains(partition)) {
+                return entry.getKey();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the mapping of the fragment which reads the data. If the only data sources of the fragment are key lookups,
+     * the fragment is executed only on the owners of the keys. Otherwise, it is executed on all data members.
+     *
+     * @param node Root node of the fragment.
+     * @return Fragment mapping.
+     */
+    private PlanFragmentMapping dataMemberMapping(PlanNode node) {
+        FragmentMemberCollectorPlanNodeVisitor memberVisitor = new FragmentMemberCollectorPlanNodeVisitor(keyLookupMemberIds);
+
+        node.visit(memberVisitor);
+
+        Set<UUID> fragmentMemberIds = memberVisitor.getMemberIds();
+
+        if (fragmentMemberIds != null) {
+            return new PlanFragmentMapping(fragmentMemberIds, false);
+        }
+
         return new PlanFragmentMapping(memberIds, true);
     }
 }
@@ -18,16 +18,17 @@ package com.hazelcast.sql.impl.calcite.parse;
 
 import org.apache.calcite.runtime.CalciteContextException;
 import org.apache.calcite.runtime.Resources;
+import org.apache.calcite.sql.JoinConditionType;
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlDataTypeSpec;
 import org.apache.calcite.sql.SqlDynamicParam;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlIntervalQualifier;
+import org.apache.calcite.sql.SqlJoin;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
-import org.apache.calcite.sql.SqlSelect;
 import org.apache.calcite.sql.SqlUtil;
 import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.calcite.sql.util.SqlVisitor;
@@ -66,6 +67,16 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         SUPPORTED_KINDS.add(SqlKind.GREATER_THAN_OR_EQUAL);
         SUPPORTED_KINDS.add(SqlKind.LESS_THAN_OR_EQUAL);
 
+        // Aggregate functions
+        SUPPORTED_KINDS.add(SqlKind.COUNT);
+        SUPPORTED_KINDS.add(SqlKind.SUM);
+        SUPPORTED_KINDS.add(SqlKind.AVG);
+        SUPPORTED_KINDS.add(SqlKind.MIN);
+        SUPPORTED_KINDS.add(SqlKind.MAX);
+
+        // Sorting
+        SUPPORTED_KINDS.add(SqlKind.DESCENDING);
+
         // Miscellaneous
         SUPPORTED_KINDS.add(SqlKind.AS);
     }
@@ -76,6 +87,13 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
 
     @Override
     public Void visit(SqlCall call) {
+        if (call.getKind() == SqlKind.JOIN) {
+            // Operands of the join contain symbols which are not supported elsewhere, so they are validated separately.
+            processJoin((SqlJoin) call);
+
+            return null;
+        }
+
         processCall(call);
 
         call.getOperator().acceptCall(this, call);
@@ -139,13 +157,16 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         SqlKind kind = call.getKind();
 
         if (SUPPORTED_KINDS.contains(kind)) {
+            if (call.getFunctionQuantifier() != null) {
+                throw unsupported(call.getFunctionQuantifier(), call.getFunctionQuantifier().toValue());
+            }
+
             return;
         }
 
         switch (kind) {
             case SELECT:
-                processSelect((SqlSelect) call);
-
+                // ORDER BY, OFFSET and FETCH are operands of the SELECT, and are validated when the operands are visited.
                 return;
 
             default:
@@ -153,14 +174,27 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         }
     }
 
-    private void processSelect(SqlSelect select) {
-        if (select.hasOrderBy()) {
-            throw unsupported(select.getOrderList(), SqlKind.ORDER_BY);
+    private void processJoin(SqlJoin join) {
+        if (join.isNatural()) {
+            throw unsupported(join, "NATURAL JOIN");
+        }
+
+        switch (join.getJoinType()) {
+            case INNER:
+            case LEFT:
+                break;
+
+            default:
+                throw unsupported(join, join.getJoinType().name() + " JOIN");
         }
 
-        if (select.getGroup() != null && select.getGroup().size() > 0) {
-            throw unsupported(select.getGroup(), "GROUP BY");
+        if (join.getConditionType() != JoinConditionType.ON) {
+            throw error(join, RESOURCE.custom("JOIN without ON condition is not supported"));
         }
+
+        join.getLeft().accept(this);
+        join.getRight().accept(this);
+        join.getCondition().accept(this);
     }
 
     private CalciteContextException unsupported(SqlNode node, SqlKind kind) {
@@ -19,6 +19,8 @@ package com.hazelcast.sql.impl;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.instance.impl.HazelcastInstanceProxy;
 import com.hazelcast.sql.impl.calcite.CalciteSqlOptimizer;
+import com.hazelcast.sql.impl.calcite.compiler.JaninoExpressionCompiler;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
 import com.hazelcast.sql.impl.optimizer.SqlOptimizer;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -36,7 +38,7 @@ import static org.junit.Assert.assertNotNull;
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class OptimizerInstantiationTest extends SqlTestSupport {
 
-    private static final TestHazelcastInstanceFactory FACTORY = new TestHazelcastInstanceFactory(1);
+    private static final TestHazelcastInstanceFactory FACTORY = new TestHazelcastInstanceFactory(2);
 
     @AfterClass
     public static void afterClass() {
@@ -54,4 +56,16 @@ public class OptimizerInstantiationTest extends SqlTestSupport {
         assertNotNull(optimizer);
         assertEquals(CalciteSqlOptimizer.class, optimizer.getClass());
     }
+
+    @Test
+    public void testCreateExpressionCompiler() {
+        HazelcastInstance instance = FACTORY.newHazelcastInstance();
+
+        SqlServiceImpl service = ((HazelcastInstanceProxy) instance).getOriginal().node.getNodeEngine().getSqlService();
+
+        ExpressionCompiler compiler = service.getExpressionCompiler();
+
+        assertNotNull(compiler);
+        assertEquals(JaninoExpressionCompiler.class, compiler.getClass());
+    }
 }
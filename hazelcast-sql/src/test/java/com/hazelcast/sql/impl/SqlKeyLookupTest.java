@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.impl.HazelcastInstanceProxy;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.plan.Plan;
+import com.hazelcast.sql.impl.plan.PlanFragmentMapping;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.state.QueryState;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlKeyLookupTest extends SqlTestSupport {
+
+    private static final String MAP_NAME = "map";
+    private static final int KEY_COUNT = 100;
+
+    private final TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(2);
+
+    private HazelcastInstance instance;
+    private SqlServiceImpl service;
+
+    @Before
+    public void before() {
+        instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        service = ((HazelcastInstanceProxy) instance).getOriginal().node.getNodeEngine().getSqlService();
+    }
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testFragmentOnKeyOwnerOnly() {
+        int key = 5;
+
+        Plan plan = (Plan) service.prepare("SELECT this FROM " + MAP_NAME + " WHERE __key = " + key);
+
+        UUID ownerId = instance.getPartitionService().getPartition(key).getOwner().getUuid();
+
+        boolean found = false;
+
+        for (int i = 0; i < plan.getFragmentCount(); i++) {
+            PlanFragmentMapping mapping = plan.getFragmentMapping(i);
+
+            assertFalse(mapping.isDataMembers());
+
+            if (mapping.getMemberIds().contains(ownerId) && mapping.getMemberIds().size() == 1) {
+                found = true;
+            }
+        }
+
+        assertTrue(found);
+
+        // Only the initiator and the owner of the key participate in the query.
+        UUID localMemberId = instance.getCluster().getLocalMember().getUuid();
+
+        assertEquals(new HashSet<>(Arrays.asList(ownerId, localMemberId)), new HashSet<>(plan.getMemberIds()));
+
+        assertEquals(Collections.singletonList(key), execute(plan));
+    }
+
+    @Test
+    public void testMissingKey() {
+        Plan plan = (Plan) service.prepare("SELECT this FROM " + MAP_NAME + " WHERE __key = " + KEY_COUNT);
+
+        assertEquals(Collections.emptyList(), execute(plan));
+    }
+
+    private List<Object> execute(Plan plan) {
+        QueryState state = service.executeImdg(plan, Collections.emptyList(), 0L, 1000);
+
+        List<Object> res = new ArrayList<>();
+
+        Iterator<Row> iterator = state.getInitiatorState().getResultProducer().iterator();
+
+        while (iterator.hasNext()) {
+            res.add(iterator.next().get(0));
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.impl.HazelcastInstanceProxy;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.optimizer.SqlPlan;
+import com.hazelcast.sql.impl.plan.cache.PlanCache;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlPlanCacheTest extends SqlTestSupport {
+
+    private static final String MAP_NAME = "map";
+    private static final String SQL = "SELECT this FROM " + MAP_NAME;
+
+    private final TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(2);
+
+    private IMap<Integer, Integer> map;
+    private SqlServiceImpl service;
+
+    @Before
+    public void before() {
+        HazelcastInstance instance = factory.newHazelcastInstance();
+
+        map = instance.getMap(MAP_NAME);
+        map.put(1, 1);
+
+        service = ((HazelcastInstanceProxy) instance).getOriginal().node.getNodeEngine().getSqlService();
+    }
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testCacheHit() {
+        SqlPlan plan = service.prepare(SQL);
+
+        assertSame(plan, service.prepare(SQL));
+
+        PlanCache planCache = service.getPlanCache();
+
+        assertEquals(1, planCache.size());
+        assertEquals(1, planCache.getHits());
+        assertEquals(1, planCache.getMisses());
+
+        // Nothing changed, so the plan remains in the cache.
+        service.getPlanCacheChecker().check();
+
+        assertEquals(1, planCache.size());
+        assertSame(plan, service.prepare(SQL));
+    }
+
+    @Test
+    public void testInvalidationOnIndexAdd() {
+        SqlPlan plan = service.prepare(SQL);
+
+        map.addIndex(IndexType.SORTED, "this");
+
+        service.getPlanCacheChecker().check();
+
+        assertEquals(0, service.getPlanCache().size());
+        assertEquals(1, service.getPlanCache().getInvalidations());
+        assertNotSame(plan, service.prepare(SQL));
+    }
+
+    @Test
+    public void testInvalidationOnReuseAfterIndexAdd() {
+        SqlPlan plan = service.prepare(SQL);
+
+        map.addIndex(IndexType.SORTED, "this");
+
+        // The periodic check hasn't run yet, the plan is validated when it is found in the cache.
+        assertNotSame(plan, service.prepare(SQL));
+        assertEquals(1, service.getPlanCache().getInvalidations());
+        assertEquals(1, service.getPlanCache().size());
+    }
+
+    @Test
+    public void testInvalidationOnReuseAfterMigration() {
+        SqlPlan plan = service.prepare(SQL);
+
+        factory.newHazelcastInstance();
+        waitAllForSafeState(factory.getAllHazelcastInstances());
+
+        assertNotSame(plan, service.prepare(SQL));
+        assertEquals(1, service.getPlanCache().getInvalidations());
+    }
+
+    @Test
+    public void testInvalidationOnMapDestroy() {
+        service.prepare(SQL);
+
+        map.destroy();
+
+        service.getPlanCacheChecker().check();
+
+        assertEquals(0, service.getPlanCache().size());
+        assertEquals(1, service.getPlanCache().getInvalidations());
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.sql.impl.calcite;
 
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
 import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.TableStatistics;
@@ -45,6 +46,12 @@ public class TestMapTable extends AbstractMapTable {
         return new TestMapTable(schemaName, name, Arrays.asList(fields), new ConstantTableStatistics(100));
     }
 
+    @Override
+    public PlanObjectKey getObjectKey() {
+        // Plans with fake tables are never cached.
+        return null;
+    }
+
     public static TableField field(String name) {
         return field(name, false);
     }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.compiler;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.FunctionalPredicateExpression;
+import com.hazelcast.sql.impl.expression.SimpleExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.compiler.CompiledExpression;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.row.BooleanColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ObjectColumnVector;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class JaninoExpressionCompilerTest extends SqlTestSupport {
+
+    private static final ExpressionEvalContext CONTEXT = SimpleExpressionEvalContext.create();
+
+    private final JaninoExpressionCompiler compiler = new JaninoExpressionCompiler(Logger.getLogger(JaninoExpressionCompiler.class));
+
+    @Test
+    public void testColumn() {
+        Expression<?> original = ColumnExpression.create(1, QueryDataType.INT);
+
+        Expression<?> compiled = checkCompiled(original);
+
+        assertEquals(2, compiled.eval(HeapRow.of(1, 2), CONTEXT));
+        assertEquals(QueryDataType.INT, compiled.getType());
+    }
+
+    @Test
+    public void testIsNull() {
+        Expression<Boolean> compiled = checkCompiled(IsNullPredicate.create(ColumnExpression.create(0, QueryDataType.INT)));
+
+        assertTrue(compiled.eval(HeapRow.of((Object) null), CONTEXT));
+        assertFalse(compiled.eval(HeapRow.of(1), CONTEXT));
+
+        Expression<Boolean> nestedCompiled =
+            checkCompiled(IsNullPredicate.create(IsNullPredicate.create(ColumnExpression.create(0, QueryDataType.INT))));
+
+        assertFalse(nestedCompiled.eval(HeapRow.of((Object) null), CONTEXT));
+        assertFalse(nestedCompiled.eval(HeapRow.of(1), CONTEXT));
+    }
+
+    @Test
+    public void testInterpretedNode() {
+        // Unsupported node alone is not compiled.
+        FunctionalPredicateExpression predicate = new FunctionalPredicateExpression(row -> row.get(0));
+
+        assertSame(predicate, compiler.compile(predicate));
+
+        // Unsupported node is interpreted from the compiled code.
+        Expression<Boolean> compiled = checkCompiled(IsNullPredicate.create(predicate));
+
+        assertTrue(compiled.eval(HeapRow.of((Object) null), CONTEXT));
+        assertFalse(compiled.eval(HeapRow.of(true), CONTEXT));
+    }
+
+    @Test
+    public void testCache() {
+        int cachedSourceCount = compiler.getCachedSourceCount();
+
+        Expression<Boolean> compiled1 = checkCompiled(IsNullPredicate.create(ColumnExpression.create(5, QueryDataType.INT)));
+        Expression<Boolean> compiled2 = checkCompiled(IsNullPredicate.create(ColumnExpression.create(5, QueryDataType.INT)));
+        Expression<Boolean> compiled3 = checkCompiled(IsNullPredicate.create(ColumnExpression.create(6, QueryDataType.INT)));
+
+        assertSame(compiled1.getClass(), compiled2.getClass());
+        assertNotSame(compiled1.getClass(), compiled3.getClass());
+        assertEquals(cachedSourceCount + 2, compiler.getCachedSourceCount());
+
+        // Already compiled expression is returned as is.
+        assertSame(compiled1, compiler.compile(compiled1));
+
+        // Classes with interpreted nodes are reused with different nodes.
+        Expression<Boolean> compiledNull =
+            checkCompiled(IsNullPredicate.create(new FunctionalPredicateExpression(row -> null)));
+        Expression<Boolean> compiledNotNull =
+            checkCompiled(IsNullPredicate.create(new FunctionalPredicateExpression(row -> true)));
+
+        assertSame(compiledNull.getClass(), compiledNotNull.getClass());
+        assertTrue(compiledNull.eval(HeapRow.of(1), CONTEXT));
+        assertFalse(compiledNotNull.eval(HeapRow.of(1), CONTEXT));
+    }
+
+    @Test
+    public void testFailureCached() {
+        AtomicInteger cookCount = new AtomicInteger();
+        ILogger logger = mock(ILogger.class);
+        JaninoExpressionCompiler failingCompiler = new JaninoExpressionCompiler(logger) {
+            @Override
+            Constructor<?> cook(String source) throws Exception {
+                cookCount.incrementAndGet();
+
+                throw new Exception("Expected failure");
+            }
+        };
+
+        Expression<Boolean> original1 = IsNullPredicate.create(ColumnExpression.create(0, QueryDataType.INT));
+        Expression<Boolean> original2 = IsNullPredicate.create(ColumnExpression.create(0, QueryDataType.INT));
+
+        // Failed expressions are interpreted, the same source is compiled and logged only once.
+        assertSame(original1, failingCompiler.compile(original1));
+        assertSame(original2, failingCompiler.compile(original2));
+        assertEquals(1, cookCount.get());
+        assertEquals(1, failingCompiler.getCachedSourceCount());
+        verify(logger, times(1)).warning(anyString(), any(Throwable.class));
+
+        // Another source is compiled on its own.
+        Expression<Boolean> original3 = IsNullPredicate.create(ColumnExpression.create(1, QueryDataType.INT));
+
+        assertSame(original3, failingCompiler.compile(original3));
+        assertEquals(2, cookCount.get());
+        verify(logger, times(2)).warning(anyString(), any(Throwable.class));
+    }
+
+    @Test
+    public void testEvalBatch() {
+        ObjectColumnVector column = new ObjectColumnVector(2);
+        column.set(1, 1);
+
+        ColumnarRowBatch batch = new ColumnarRowBatch(new ObjectColumnVector[] { column }, 2);
+
+        Expression<Boolean> compiled = checkCompiled(IsNullPredicate.create(ColumnExpression.create(0, QueryDataType.INT)));
+
+        BooleanColumnVector res = (BooleanColumnVector) compiled.evalBatch(batch, CONTEXT);
+
+        assertTrue(res.getBoolean(0));
+        assertFalse(res.getBoolean(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSerialization() throws IOException {
+        Expression<Boolean> compiled = checkCompiled(IsNullPredicate.create(ColumnExpression.create(0, QueryDataType.INT)));
+
+        compiled.writeData(null);
+    }
+
+    private <T> Expression<T> checkCompiled(Expression<T> original) {
+        Expression<T> compiled = compiler.compile(original);
+
+        assertTrue(compiled instanceof CompiledExpression);
+        assertSame(original, ((CompiledExpression<T>) compiled).getOriginal());
+
+        return compiled;
+    }
+}
@@ -49,9 +49,8 @@ public class LogicalProjectFilterTest extends OptimizerTestSupport {
             plan(
                 planRow(0, RootLogicalRel.class, "", 25d),
                 planRow(1, ProjectLogicalRel.class, "f1=[$0], f2=[$1]", 25d),
-                planRow(2, FilterLogicalRel.class, "condition=[IS NULL($2)]", 25d),
-                planRow(3, ProjectLogicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 100d),
-                planRow(4, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(2, ProjectLogicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 25d),
+                planRow(3, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($2)]", 25d)
             )
         );
     }
@@ -75,9 +74,8 @@ public class LogicalProjectFilterTest extends OptimizerTestSupport {
             plan(
                 planRow(0, RootLogicalRel.class, "", 25d),
                 planRow(1, ProjectLogicalRel.class, "f1=[$0]", 25d),
-                planRow(2, FilterLogicalRel.class, "condition=[IS NULL($1)]", 25d),
-                planRow(3, ProjectLogicalRel.class, "f1=[$0], f3=[$2]", 100d),
-                planRow(4, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(2, ProjectLogicalRel.class, "f1=[$0], f3=[$2]", 25d),
+                planRow(3, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($2)]", 25d)
             )
         );
     }
@@ -89,9 +87,8 @@ public class LogicalProjectFilterTest extends OptimizerTestSupport {
             plan(
                 planRow(0, RootLogicalRel.class, "", 25d),
                 planRow(1, ProjectLogicalRel.class, "f1=[$0]", 25d),
-                planRow(2, FilterLogicalRel.class, "condition=[IS NULL($1)]", 25d),
-                planRow(3, ProjectLogicalRel.class, "f1=[$0], f2=[$1]", 100d),
-                planRow(4, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(2, ProjectLogicalRel.class, "f1=[$0], f2=[$1]", 25d),
+                planRow(3, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($1)]", 25d)
             )
         );
     }
@@ -105,9 +102,8 @@ public class LogicalProjectFilterTest extends OptimizerTestSupport {
                 planRow(1, ProjectLogicalRel.class, "f1=[$0]", 6.2d),
                 planRow(2, FilterLogicalRel.class, "condition=[IS NULL($1)]", 6.2d),
                 planRow(3, ProjectLogicalRel.class, "f1=[$0], f2=[$1]", 25d),
-                planRow(4, FilterLogicalRel.class, "condition=[IS NULL($2)]", 25d),
-                planRow(5, ProjectLogicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 100d),
-                planRow(6, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(4, ProjectLogicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 25d),
+                planRow(5, MapScanLogicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($2)]", 25d)
             )
         );
     }
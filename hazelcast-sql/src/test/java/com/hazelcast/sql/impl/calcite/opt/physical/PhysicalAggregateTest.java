@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for aggregate planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalAggregateTest extends OptimizerTestSupport {
+    @Test
+    public void test_singleNode() {
+        assertPlan(
+            optimizePhysical("SELECT f1, SUM(f2) FROM p GROUP BY f1"),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 10d),
+                planRow(1, AggregatePhysicalRel.class, "group=[{0}], EXPR$1=[SUM($1)], phase=[COMPLETE]", 10d),
+                planRow(2, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes() {
+        assertPlan(
+            optimizePhysical("SELECT f1, SUM(f2) FROM p GROUP BY f1", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 1d),
+                planRow(1, AggregatePhysicalRel.class, "group=[{0}], EXPR$1=[SUM($1)], phase=[FINAL]", 1d),
+                planRow(2, RootExchangePhysicalRel.class, "", 10d),
+                planRow(3, AggregatePhysicalRel.class, "group=[{0}], EXPR$1=[SUM($1)], phase=[LOCAL]", 10d),
+                planRow(4, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes_global() {
+        assertPlan(
+            optimizePhysical("SELECT COUNT(*), MIN(f1), MAX(f1), AVG(f2) FROM p", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 1d),
+                planRow(
+                    1,
+                    AggregatePhysicalRel.class,
+                    "group=[{}], EXPR$0=[COUNT($0)], EXPR$1=[MIN($1)], EXPR$2=[MAX($2)], EXPR$3=[AVG($3)], phase=[FINAL]",
+                    1d
+                ),
+                planRow(2, RootExchangePhysicalRel.class, "", 1d),
+                planRow(
+                    3,
+                    AggregatePhysicalRel.class,
+                    "group=[{}], EXPR$0=[COUNT()], EXPR$1=[MIN($0)], EXPR$2=[MAX($0)], EXPR$3=[AVG($1)], phase=[LOCAL]",
+                    1d
+                ),
+                planRow(4, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+            )
+        );
+    }
+}
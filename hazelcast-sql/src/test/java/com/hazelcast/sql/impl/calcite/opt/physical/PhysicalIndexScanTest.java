@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexRangeFilter;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for index scan planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalIndexScanTest extends OptimizerTestSupport {
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        tableMap.put("p", partitionedTable(
+            "p",
+            fields("f1", INT, "f2", INT, "f3", INT),
+            Arrays.asList(
+                new MapTableIndex("sorted_f1", IndexType.SORTED, Collections.singletonList(0)),
+                new MapTableIndex("hash_f2", IndexType.HASH, Collections.singletonList(1))
+            ),
+            100
+        ));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void test_sorted_equals() {
+        MapIndexScanPhysicalRel scan = findIndexScan(optimizePhysical("SELECT f3 FROM p WHERE f1 = 1"));
+
+        assertEquals("sorted_f1", scan.getIndex().getName());
+        assertEquals(new IndexEqualsFilter(1), scan.getIndexFilter());
+        assertNull(scan.getRemainderExp());
+    }
+
+    @Test
+    public void test_sorted_range() {
+        MapIndexScanPhysicalRel scan = findIndexScan(optimizePhysical("SELECT f3 FROM p WHERE f1 > 1"));
+
+        assertEquals("sorted_f1", scan.getIndex().getName());
+        assertEquals(new IndexRangeFilter(1, false, null, false), scan.getIndexFilter());
+        assertNull(scan.getRemainderExp());
+    }
+
+    @Test
+    public void test_sorted_range_reversed() {
+        MapIndexScanPhysicalRel scan = findIndexScan(optimizePhysical("SELECT f3 FROM p WHERE 10 >= f1"));
+
+        assertEquals("sorted_f1", scan.getIndex().getName());
+        assertEquals(new IndexRangeFilter(null, false, 10, true), scan.getIndexFilter());
+        assertNull(scan.getRemainderExp());
+    }
+
+    @Test
+    public void test_hash_equals() {
+        MapIndexScanPhysicalRel scan = findIndexScan(optimizePhysical("SELECT f3 FROM p WHERE f2 = 2"));
+
+        assertEquals("hash_f2", scan.getIndex().getName());
+        assertEquals(new IndexEqualsFilter(2), scan.getIndexFilter());
+    }
+
+    @Test
+    public void test_hash_range_notUsed() {
+        assertNull(findIndexScan(optimizePhysical("SELECT f3 FROM p WHERE f2 > 2")));
+    }
+
+    @Test
+    public void test_noIndex_notUsed() {
+        assertNull(findIndexScan(optimizePhysical("SELECT f1 FROM p WHERE f3 = 3")));
+    }
+
+    @Test
+    public void test_lossyLiteral_notUsed() {
+        assertNull(findIndexScan(optimizePhysical("SELECT f3 FROM p WHERE f1 = 1.5")));
+    }
+
+    private static MapIndexScanPhysicalRel findIndexScan(RelNode rel) {
+        if (rel instanceof MapIndexScanPhysicalRel) {
+            return (MapIndexScanPhysicalRel) rel;
+        }
+
+        for (RelNode input : rel.getInputs()) {
+            MapIndexScanPhysicalRel res = findIndexScan(input);
+
+            if (res != null) {
+                return res;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+
+/**
+ * Tests for join planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalJoinTest extends OptimizerTestSupport {
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        tableMap.put("a", partitionedTable("a", fields("k", INT, "f1", INT, "f2", INT), Collections.emptyList(), 0, 10000));
+        tableMap.put("b", partitionedTable("b", fields("k", INT, "f1", INT), Collections.emptyList(), 0, 10000));
+        tableMap.put("s", partitionedTable("s", fields("k", INT, "f1", INT), Collections.emptyList(), 0, 10));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void test_singleNode() {
+        assertPlan(
+            optimizePhysical("SELECT a.f2, b.f1 FROM a JOIN b ON a.f1 = b.f1"),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 15000000d),
+                planRow(1, ProjectPhysicalRel.class, "f2=[$1], f1=[$2]", 15000000d),
+                planRow(2, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner]", 15000000d),
+                planRow(3, ProjectPhysicalRel.class, "f1=[$1], f2=[$2]", 10000d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, a]], projects=[[0, 1, 2]]", 10000d),
+                planRow(3, ProjectPhysicalRel.class, "f1=[$1]", 10000d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, b]], projects=[[0, 1]]", 10000d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes_collocated() {
+        assertPlan(
+            optimizePhysical("SELECT a.f2, b.f1 FROM a JOIN b ON a.k = b.k", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 15000000d),
+                planRow(1, RootExchangePhysicalRel.class, "", 15000000d),
+                planRow(2, ProjectPhysicalRel.class, "f2=[$1], f1=[$3]", 15000000d),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner]", 15000000d),
+                planRow(4, ProjectPhysicalRel.class, "k=[$0], f2=[$2]", 10000d),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, a]], projects=[[0, 1, 2]]", 10000d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, b]], projects=[[0, 1]]", 10000d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes_broadcast() {
+        assertPlan(
+            optimizePhysical("SELECT a.f2, s.f1 FROM a JOIN s ON a.f1 = s.f1", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 15000d),
+                planRow(1, RootExchangePhysicalRel.class, "", 15000d),
+                planRow(2, ProjectPhysicalRel.class, "f2=[$1], f1=[$2]", 15000d),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner]", 15000d),
+                planRow(4, ProjectPhysicalRel.class, "f1=[$1], f2=[$2]", 10000d),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, a]], projects=[[0, 1, 2]]", 10000d),
+                planRow(4, BroadcastExchangePhysicalRel.class, "", 10d),
+                planRow(5, ProjectPhysicalRel.class, "f1=[$1]", 10d),
+                planRow(6, MapScanPhysicalRel.class, "table=[[hazelcast, s]], projects=[[0, 1]]", 10d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes_unicast() {
+        checkUnicast("SELECT a.f2, b.f1 FROM a JOIN b ON a.f1 = b.f1", "inner");
+    }
+
+    @Test
+    public void test_multipleNodes_unicast_left() {
+        checkUnicast("SELECT a.f2, b.f1 FROM a LEFT JOIN b ON a.f1 = b.f1", "left");
+    }
+
+    private void checkUnicast(String sql, String joinType) {
+        // With two members it is cheaper to broadcast the narrower input.
+        assertPlan(
+            optimizePhysical(sql, 3),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 15000000d),
+                planRow(1, RootExchangePhysicalRel.class, "", 15000000d),
+                planRow(2, ProjectPhysicalRel.class, "f2=[$1], f1=[$2]", 15000000d),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[" + joinType + "]", 15000000d),
+                planRow(4, UnicastExchangePhysicalRel.class, "hashFields=[[0]]", 10000d),
+                planRow(5, ProjectPhysicalRel.class, "f1=[$1], f2=[$2]", 10000d),
+                planRow(6, MapScanPhysicalRel.class, "table=[[hazelcast, a]], projects=[[0, 1, 2]]", 10000d),
+                planRow(4, UnicastExchangePhysicalRel.class, "hashFields=[[0]]", 10000d),
+                planRow(5, ProjectPhysicalRel.class, "f1=[$1]", 10000d),
+                planRow(6, MapScanPhysicalRel.class, "table=[[hazelcast, b]], projects=[[0, 1]]", 10000d)
+            )
+        );
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for key lookup planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalKeyLookupTest extends OptimizerTestSupport {
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        List<TableField> fields = Arrays.asList(
+            new MapTableField("__key", INT, false, QueryPath.KEY_PATH),
+            new MapTableField("f1", INT, false, new QueryPath("f1", false)),
+            new MapTableField("f2", INT, false, new QueryPath("f2", false))
+        );
+
+        tableMap.put("p", partitionedTable("p", fields, 100));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void test_equals() {
+        MapKeyLookupPhysicalRel lookup = findKeyLookup(optimizePhysical("SELECT f1 FROM p WHERE __key = 1"));
+
+        assertNotNull(lookup);
+        assertEquals(Collections.singletonList(1), lookup.getKeys());
+        assertNull(lookup.getRemainderExp());
+    }
+
+    @Test
+    public void test_equals_reversed() {
+        MapKeyLookupPhysicalRel lookup = findKeyLookup(optimizePhysical("SELECT f1 FROM p WHERE 2 = __key"));
+
+        assertNotNull(lookup);
+        assertEquals(Collections.singletonList(2), lookup.getKeys());
+    }
+
+    @Test
+    public void test_otherColumn_notUsed() {
+        assertNull(findKeyLookup(optimizePhysical("SELECT f2 FROM p WHERE f1 = 1")));
+    }
+
+    @Test
+    public void test_lossyLiteral_notUsed() {
+        assertNull(findKeyLookup(optimizePhysical("SELECT f1 FROM p WHERE __key = 1.5")));
+    }
+
+    private static MapKeyLookupPhysicalRel findKeyLookup(RelNode rel) {
+        if (rel instanceof MapKeyLookupPhysicalRel) {
+            return (MapKeyLookupPhysicalRel) rel;
+        }
+
+        for (RelNode input : rel.getInputs()) {
+            MapKeyLookupPhysicalRel res = findKeyLookup(input);
+
+            if (res != null) {
+                return res;
+            }
+        }
+
+        return null;
+    }
+}
@@ -52,9 +52,8 @@ public class PhysicalProjectFilterTest extends OptimizerTestSupport {
                 planRow(0, RootPhysicalRel.class, "", 25d),
                 planRow(1, RootExchangePhysicalRel.class, "", 25d),
                 planRow(2, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 25d),
-                planRow(3, FilterPhysicalRel.class, "condition=[IS NULL($2)]", 25d),
-                planRow(4, ProjectPhysicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 100d),
-                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(3, ProjectPhysicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 25d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($2)]", 25d)
             )
         );
     }
@@ -80,9 +79,8 @@ public class PhysicalProjectFilterTest extends OptimizerTestSupport {
                 planRow(0, RootPhysicalRel.class, "", 25d),
                 planRow(1, RootExchangePhysicalRel.class, "", 25d),
                 planRow(2, ProjectPhysicalRel.class, "f1=[$0]", 25d),
-                planRow(3, FilterPhysicalRel.class, "condition=[IS NULL($1)]", 25d),
-                planRow(4, ProjectPhysicalRel.class, "f1=[$0], f3=[$2]", 100d),
-                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(3, ProjectPhysicalRel.class, "f1=[$0], f3=[$2]", 25d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($2)]", 25d)
             )
         );
     }
@@ -95,9 +93,8 @@ public class PhysicalProjectFilterTest extends OptimizerTestSupport {
                 planRow(0, RootPhysicalRel.class, "", 25d),
                 planRow(1, RootExchangePhysicalRel.class, "", 25d),
                 planRow(2, ProjectPhysicalRel.class, "f1=[$0]", 25d),
-                planRow(3, FilterPhysicalRel.class, "condition=[IS NULL($1)]", 25d),
-                planRow(4, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
-                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(3, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 25d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($1)]", 25d)
             )
         );
     }
@@ -112,9 +109,8 @@ public class PhysicalProjectFilterTest extends OptimizerTestSupport {
                 planRow(2, ProjectPhysicalRel.class, "f1=[$0]", 6.2d),
                 planRow(3, FilterPhysicalRel.class, "condition=[IS NULL($1)]", 6.2d),
                 planRow(4, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 25d),
-                planRow(5, FilterPhysicalRel.class, "condition=[IS NULL($2)]", 25d),
-                planRow(6, ProjectPhysicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 100d),
-                planRow(7, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+                planRow(5, ProjectPhysicalRel.class, "f1=[$0], f2=[$1], f3=[$2]", 25d),
+                planRow(6, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]], filter=[IS NULL($2)]", 25d)
             )
         );
     }
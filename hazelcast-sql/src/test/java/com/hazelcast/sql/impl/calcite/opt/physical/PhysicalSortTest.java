@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for sort planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalSortTest extends OptimizerTestSupport {
+    @Test
+    public void test_singleNode() {
+        assertPlan(
+            optimizePhysical("SELECT f1, f2 FROM p ORDER BY f1 DESC, f2 LIMIT 10 OFFSET 5"),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 10d),
+                planRow(1, SortPhysicalRel.class, "sort0=[$0], sort1=[$1], dir0=[DESC], dir1=[ASC], offset=[5], fetch=[10]", 10d),
+                planRow(2, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes() {
+        assertPlan(
+            optimizePhysical("SELECT f1, f2 FROM p ORDER BY f1", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 100d),
+                planRow(1, SortMergeExchangePhysicalRel.class, "collation=[[0]]", 100d),
+                planRow(2, SortPhysicalRel.class, "sort0=[$0], dir0=[ASC]", 100d),
+                planRow(3, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes_fetch() {
+        assertPlan(
+            optimizePhysical("SELECT f1, f2 FROM p ORDER BY f1 DESC LIMIT 10 OFFSET 5", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 10d),
+                planRow(1, SortMergeExchangePhysicalRel.class, "collation=[[0 DESC]], fetch=[10], offset=[5]", 10d),
+                planRow(2, SortPhysicalRel.class, "sort0=[$0], dir0=[DESC], fetch=[15]", 15d),
+                planRow(3, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+            )
+        );
+    }
+
+    @Test
+    public void test_multipleNodes_afterAggregate() {
+        assertPlan(
+            optimizePhysical("SELECT f1, SUM(f2) FROM p GROUP BY f1 ORDER BY f1", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 1d),
+                planRow(1, SortPhysicalRel.class, "sort0=[$0], dir0=[ASC]", 1d),
+                planRow(2, AggregatePhysicalRel.class, "group=[{0}], EXPR$1=[SUM($1)], phase=[FINAL]", 1d),
+                planRow(3, RootExchangePhysicalRel.class, "", 10d),
+                planRow(4, AggregatePhysicalRel.class, "group=[{0}], EXPR$1=[SUM($1)], phase=[LOCAL]", 10d),
+                planRow(5, ProjectPhysicalRel.class, "f1=[$0], f2=[$1]", 100d),
+                planRow(6, MapScanPhysicalRel.class, "table=[[hazelcast, p]], projects=[[0, 1, 2, 3, 4]]", 100d)
+            )
+        );
+    }
+}
@@ -94,34 +94,77 @@ public class ParserOperationsTest {
     }
 
     @Test
-    public void testUnsupportedOrderBy() {
+    public void testOrderBy() {
+        checkSuccess("SELECT a FROM t ORDER BY a");
+        checkSuccess("SELECT a, b FROM t ORDER BY a DESC, b");
+        checkSuccess("SELECT a FROM t ORDER BY a LIMIT 10");
+        checkSuccess("SELECT a FROM t ORDER BY a OFFSET 5 ROWS FETCH FIRST 10 ROWS ONLY");
+    }
+
+    @Test
+    public void testUnsupportedOrderByNulls() {
         checkFailure(
-            "SELECT a FROM t ORDER BY a",
-            "ORDER BY is not supported"
+            "SELECT a FROM t ORDER BY a NULLS FIRST",
+            "NULLS FIRST is not supported"
         );
     }
 
     @Test
-    public void testUnsupportedGroupBy() {
+    public void testGroupBy() {
+        checkSuccess("SELECT a FROM t GROUP BY a");
+        checkSuccess("SELECT a, b FROM t GROUP BY a, b");
+    }
+
+    @Test
+    public void testAggregate() {
+        checkSuccess("SELECT COUNT(*) FROM t");
+        checkSuccess("SELECT COUNT(a), SUM(a), AVG(a), MIN(a), MAX(a) FROM t");
+        checkSuccess("SELECT a, SUM(b) FROM t GROUP BY a");
+    }
+
+    @Test
+    public void testUnsupportedDistinctAggregate() {
         checkFailure(
-            "SELECT a FROM t GROUP BY a",
-            "GROUP BY is not supported"
+            "SELECT COUNT(DISTINCT a) FROM t",
+            "DISTINCT is not supported"
         );
     }
 
     @Test
-    public void testUnsupportedAggregate() {
+    public void testJoin() {
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 JOIN t t2 ON t1.a = t2.a");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 INNER JOIN t t2 ON t1.a = t2.b");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 LEFT JOIN t t2 ON t1.a = t2.a");
+    }
+
+    @Test
+    public void testUnsupportedJoinType() {
+        checkFailure(
+            "SELECT t1.a, t2.a FROM t t1 RIGHT JOIN t t2 ON t1.a = t2.a",
+            "RIGHT JOIN is not supported"
+        );
+
+        checkFailure(
+            "SELECT t1.a, t2.a FROM t t1 FULL JOIN t t2 ON t1.a = t2.a",
+            "FULL JOIN is not supported"
+        );
+
+        checkFailure(
+            "SELECT t1.a, t2.a FROM t t1 CROSS JOIN t t2",
+            "CROSS JOIN is not supported"
+        );
+
         checkFailure(
-            "SELECT SUM(a) FROM t",
-            "SUM is not supported"
+            "SELECT t1.a, t2.a FROM t t1 NATURAL JOIN t t2",
+            "NATURAL JOIN is not supported"
         );
     }
 
     @Test
-    public void testUnsupportedJoin() {
+    public void testUnsupportedJoinWithoutOn() {
         checkFailure(
-            "SELECT t1.a, t2.a FROM t t1 JOIN t t2 ON t1.a = t2.a",
-            "JOIN is not supported"
+            "SELECT t1.b FROM t t1 JOIN t t2 USING (a)",
+            "JOIN without ON condition is not supported"
         );
     }
 
@@ -93,6 +93,7 @@ import java.util.Properties;
 import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.query.impl.IndexUtils.checkNoIncludedAttributes;
 
 /**
  * Client implementation of member side config. Clients use this to submit new data structure configurations into
@@ -113,6 +114,7 @@ public class ClientDynamicClusterConfig extends Config {
 
     @Override
     public Config addMapConfig(MapConfig mapConfig) {
+        checkNoIncludedAttributes(mapConfig.getIndexConfigs());
         List<ListenerConfigHolder> listenerConfigs = adaptListenerConfigs(mapConfig.getEntryListenerConfigs());
         List<ListenerConfigHolder> partitionLostListenerConfigs =
                 adaptListenerConfigs(mapConfig.getPartitionLostListenerConfigs());
@@ -120,6 +122,7 @@ public class ClientDynamicClusterConfig extends Config {
         if (mapConfig.getQueryCacheConfigs() != null && !mapConfig.getQueryCacheConfigs().isEmpty()) {
             queryCacheConfigHolders = new ArrayList<>(mapConfig.getQueryCacheConfigs().size());
             for (QueryCacheConfig config : mapConfig.getQueryCacheConfigs()) {
+                checkNoIncludedAttributes(config.getIndexConfigs());
                 queryCacheConfigHolders.add(QueryCacheConfigHolder.of(config, serializationService));
             }
         }
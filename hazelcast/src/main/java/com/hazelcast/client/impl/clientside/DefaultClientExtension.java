@@ -51,6 +51,8 @@ import com.hazelcast.spi.impl.executionservice.TaskScheduler;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
+import static com.hazelcast.client.properties.ClientProperty.SOCKET_COMPRESSION_ENABLED;
+import static com.hazelcast.client.properties.ClientProperty.SOCKET_COMPRESSION_THRESHOLD;
 import static com.hazelcast.config.NearCacheConfigAccessor.initDefaultMaxSizeForOnHeapMaps;
 import static com.hazelcast.internal.config.ConfigValidator.checkNearCacheConfig;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
@@ -144,7 +146,9 @@ public class DefaultClientExtension implements ClientExtension {
 
         HazelcastProperties properties = client.getProperties();
         boolean directBuffer = properties.getBoolean(SOCKET_CLIENT_BUFFER_DIRECT);
-        return new ClientPlainChannelInitializer(socketOptions, directBuffer);
+        boolean compression = properties.getBoolean(SOCKET_COMPRESSION_ENABLED);
+        int compressionThreshold = properties.getInteger(SOCKET_COMPRESSION_THRESHOLD);
+        return new ClientPlainChannelInitializer(socketOptions, directBuffer, compression, compressionThreshold);
     }
 
     @Override
@@ -22,6 +22,9 @@ import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.util.ClientMessageEncoder;
 import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.networking.compression.CompressionDecoder;
+import com.hazelcast.internal.networking.compression.CompressionEncoder;
+import com.hazelcast.internal.util.counters.MwCounter;
 
 import java.util.function.Consumer;
 
@@ -34,6 +37,8 @@ import static com.hazelcast.internal.networking.ChannelOption.SO_REUSEADDR;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_TIMEOUT;
 import static com.hazelcast.internal.networking.ChannelOption.TCP_NODELAY;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY_COMPRESSED;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 
 
 /**
@@ -42,14 +47,30 @@ import static com.hazelcast.internal.networking.ChannelOption.TCP_NODELAY;
  *
  * It will automatically send the Client Protocol to the server and configure the
  * correct buffers/handlers.
+ *
+ * If the compression is enabled, it sends the compressed Client Protocol instead
+ * and adds the compression handlers to the pipelines.
  */
 public class ClientPlainChannelInitializer implements ChannelInitializer {
     private final boolean directBuffer;
     private final SocketOptions socketOptions;
+    private final boolean compression;
+    private final int compressionThreshold;
+    private final MwCounter compressionBytesRead = newMwCounter();
+    private final MwCounter compressionRawBytesRead = newMwCounter();
+    private final MwCounter compressionBytesWritten = newMwCounter();
+    private final MwCounter compressionRawBytesWritten = newMwCounter();
 
     public ClientPlainChannelInitializer(SocketOptions socketOptions, boolean directBuffer) {
+        this(socketOptions, directBuffer, false, Integer.MAX_VALUE);
+    }
+
+    public ClientPlainChannelInitializer(SocketOptions socketOptions, boolean directBuffer,
+                                         boolean compression, int compressionThreshold) {
         this.socketOptions = socketOptions;
         this.directBuffer = directBuffer;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
     }
 
     @Override
@@ -72,11 +93,20 @@ public class ClientPlainChannelInitializer implements ChannelInitializer {
                 connection.handleClientMessage(message);
             }
         }, null);
+        if (compression) {
+            channel.inboundPipeline().addLast(new CompressionDecoder(compressionBytesRead, compressionRawBytesRead));
+        }
         channel.inboundPipeline().addLast(decoder);
 
         channel.outboundPipeline().addLast(new ClientMessageEncoder());
-        // before a client sends any data, it first needs to send the protocol.
-        // so the protocol encoder is actually the last handler in the outbound pipeline.
-        channel.outboundPipeline().addLast(new ClientProtocolEncoder());
+        if (compression) {
+            channel.outboundPipeline().addLast(
+                    new CompressionEncoder(compressionThreshold, compressionRawBytesWritten, compressionBytesWritten));
+            channel.outboundPipeline().addLast(new ClientProtocolEncoder(CLIENT_BINARY_COMPRESSED));
+        } else {
+            // before a client sends any data, it first needs to send the protocol.
+            // so the protocol encoder is actually the last handler in the outbound pipeline.
+            channel.outboundPipeline().addLast(new ClientProtocolEncoder());
+        }
     }
 }
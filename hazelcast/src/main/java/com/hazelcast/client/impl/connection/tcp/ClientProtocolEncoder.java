@@ -38,9 +38,19 @@ import static com.hazelcast.internal.util.StringUtil.stringToBytes;
  */
 public class ClientProtocolEncoder extends OutboundHandler<ByteBuffer, ByteBuffer> {
 
+    private final String protocol;
+
+    public ClientProtocolEncoder() {
+        this(CLIENT_BINARY);
+    }
+
+    public ClientProtocolEncoder(String protocol) {
+        this.protocol = protocol;
+    }
+
     @Override
     public void handlerAdded() {
-        initDstBuffer(PROTOCOL_LENGTH, stringToBytes(CLIENT_BINARY));
+        initDstBuffer(PROTOCOL_LENGTH, stringToBytes(protocol));
     }
 
     @Override
@@ -102,6 +102,7 @@ import static com.hazelcast.client.impl.protocol.AuthenticationStatus.NOT_ALLOWE
 import static com.hazelcast.client.properties.ClientProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.client.properties.ClientProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_QUEUE_CAPACITY;
 import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_THROUGH_ENABLED;
 import static com.hazelcast.client.properties.ClientProperty.SHUFFLE_MEMBER_LIST;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.CLIENT_CHANGED_CLUSTER;
@@ -276,6 +277,7 @@ public class TcpClientConnectionManager implements ClientConnectionManager {
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.client.io.output.thread.affinity"))
                         .balancerIntervalSeconds(properties.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(properties.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .writeQueueCapacity(properties.getInteger(IO_WRITE_QUEUE_CAPACITY))
                         .concurrencyDetection(client.getConcurrencyDetection())
         );
     }
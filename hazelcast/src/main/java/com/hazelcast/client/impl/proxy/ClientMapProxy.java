@@ -1339,6 +1339,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
     @Override
     public void addIndex(IndexConfig indexConfig) {
         checkNotNull(indexConfig, "Index config cannot be null.");
+        IndexUtils.checkNoIncludedAttributes(Collections.singletonList(indexConfig));
 
         IndexConfig indexConfig0 = IndexUtils.validateAndNormalize(name, indexConfig);
 
@@ -157,6 +157,33 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.client.io.write.through", true);
 
+    /**
+     * The capacity of the ring buffer backing each of the write queues of a connection. Once the ring buffer
+     * is full, the messages are queued in an unbounded linked queue till it's drained.
+     *
+     * The default is 0, which means the write queues are unbounded linked queues.
+     */
+    public static final HazelcastProperty IO_WRITE_QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.client.io.write.queue.capacity", 0);
+
+    /**
+     * If the byte stream of the connections opened by the client should be compressed.
+     *
+     * The compression is negotiated when the connection is opened, so the members need to support it.
+     * It's supported only by the unified endpoint of a member and not by the client endpoint of the
+     * advanced network config.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.client.socket.compression.enabled", false);
+
+    /**
+     * The minimum number of bytes written at once to a compressed connection to get them compressed.
+     * Smaller writes, e.g. small requests, are sent uncompressed, since their compression costs more time
+     * than their transfer.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.client.socket.compression.threshold.bytes", 1024);
+
     /**
      * Property needed for concurrency detection so that write through and dynamic response handling
      * can be done correctly. This property sets the window the concurrency detection will signalling
@@ -32,7 +32,19 @@ public enum InMemoryFormat {
     /**
      * As native storage
      */
-    NATIVE(2);
+    NATIVE(2),
+
+    /**
+     * As binary, with keys, values and record metadata kept in native memory
+     * outside of the Java heap. Supported by {@link MapConfig} only.
+     */
+    OFF_HEAP(3),
+
+    /**
+     * As binary, with record metadata packed into per-partition arrays instead of
+     * per-entry objects. Supported by {@link MapConfig} only.
+     */
+    COMPACT(4);
 
     private final byte id;
 
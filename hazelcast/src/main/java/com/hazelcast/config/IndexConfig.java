@@ -16,10 +16,12 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.query.impl.IndexUtils;
 
 import java.io.IOException;
@@ -42,7 +44,7 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
  * @see com.hazelcast.config.IndexType
  * @see com.hazelcast.config.MapConfig#setIndexConfigs(List)
  */
-public class IndexConfig implements IdentifiedDataSerializable {
+public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     /** Default index type. */
     public static final IndexType DEFAULT_TYPE = IndexType.SORTED;
 
@@ -55,6 +57,9 @@ public class IndexConfig implements IdentifiedDataSerializable {
     /** Indexed attributes. */
     private List<String> attributes;
 
+    /** Attributes stored in the index in addition to the indexed ones. */
+    private List<String> includedAttributes;
+
     private BitmapIndexOptions bitmapIndexOptions;
 
     public IndexConfig() {
@@ -94,6 +99,10 @@ public class IndexConfig implements IdentifiedDataSerializable {
         for (String attribute : other.getAttributes()) {
             addAttributeInternal(attribute);
         }
+
+        if (other.includedAttributes != null) {
+            this.includedAttributes = new ArrayList<>(other.includedAttributes);
+        }
     }
 
     /**
@@ -195,6 +204,64 @@ public class IndexConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Gets the attributes included into the index.
+     * <p>
+     * The values of the included attributes, as well as the values of the
+     * indexed attributes, are captured by the index on every update of an
+     * entry. The queries served by the index read such attributes, for
+     * instance to apply projections or to evaluate the predicates not served
+     * by indexes, from the index without deserializing the entry value and
+     * running the attribute getters on it.
+     *
+     * @return Included attributes.
+     */
+    public List<String> getIncludedAttributes() {
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        return includedAttributes;
+    }
+
+    /**
+     * Adds an attribute to be included into the index.
+     *
+     * @param includedAttribute Attribute name.
+     * @return This instance for chaining.
+     * @see #getIncludedAttributes()
+     */
+    public IndexConfig addIncludedAttribute(String includedAttribute) {
+        IndexUtils.validateAttribute(includedAttribute);
+
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        includedAttributes.add(includedAttribute);
+
+        return this;
+    }
+
+    /**
+     * Sets the attributes to be included into the index.
+     *
+     * @param includedAttributes Included attributes.
+     * @return This instance for chaining.
+     * @see #getIncludedAttributes()
+     */
+    public IndexConfig setIncludedAttributes(List<String> includedAttributes) {
+        checkNotNull(includedAttributes, "Included attributes cannot be null.");
+
+        this.includedAttributes = new ArrayList<>(includedAttributes.size());
+
+        for (String includedAttribute : includedAttributes) {
+            addIncludedAttribute(includedAttribute);
+        }
+
+        return this;
+    }
+
     /**
      * Provides access to index options specific to bitmap indexes.
      *
@@ -234,6 +301,9 @@ public class IndexConfig implements IdentifiedDataSerializable {
         out.writeInt(type.getId());
         writeNullableList(attributes, out);
         out.writeObject(bitmapIndexOptions);
+        if (out.getVersion().isGreaterOrEqual(Versions.V4_1)) {
+            writeNullableList(includedAttributes, out);
+        }
     }
 
     @Override
@@ -242,6 +312,9 @@ public class IndexConfig implements IdentifiedDataSerializable {
         type = IndexType.getById(in.readInt());
         attributes = readNullableList(in);
         bitmapIndexOptions = in.readObject();
+        if (in.getVersion().isGreaterOrEqual(Versions.V4_1)) {
+            includedAttributes = readNullableList(in);
+        }
     }
 
     @Override
@@ -268,6 +341,10 @@ public class IndexConfig implements IdentifiedDataSerializable {
             return false;
         }
 
+        if (!getIncludedAttributes().equals(that.getIncludedAttributes())) {
+            return false;
+        }
+
         return getAttributes().equals(that.getAttributes());
     }
 
@@ -278,6 +355,7 @@ public class IndexConfig implements IdentifiedDataSerializable {
         result = 31 * result + (type != null ? type.hashCode() : 0);
         result = 31 * result + getAttributes().hashCode();
         result = 31 * result + getBitmapIndexOptions().hashCode();
+        result = 31 * result + getIncludedAttributes().hashCode();
 
         return result;
     }
@@ -285,6 +363,9 @@ public class IndexConfig implements IdentifiedDataSerializable {
     @Override
     public String toString() {
         String string = "IndexConfig{name=" + name + ", type=" + type + ", attributes=" + getAttributes();
+        if (includedAttributes != null && !includedAttributes.isEmpty()) {
+            string += ", includedAttributes=" + includedAttributes;
+        }
         if (bitmapIndexOptions != null && !bitmapIndexOptions.areDefault()) {
             string += ", bitmapIndexOptions=" + bitmapIndexOptions;
         }
@@ -27,7 +27,13 @@ public enum IndexType {
     HASH(1),
 
     /** Bitmap index. Can be used with equality predicates. */
-    BITMAP(2);
+    BITMAP(2),
+
+    /** Text index. Can be used with LIKE and ILIKE predicates, preferably having literal parts. */
+    TEXT(3),
+
+    /** Spatial index over two numeric attributes. Can be used with range predicates on both of the attributes. */
+    SPATIAL(4);
 
     private final int id;
 
@@ -199,6 +199,9 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig {
      * <li>BINARY (default): keys and values will be stored as binary data</li>
      * <li>OBJECT: values will be stored in their object forms</li>
      * <li>NATIVE: values will be stored in non-heap region of JVM (Hazelcast Enterprise only)</li>
+     * <li>OFF_HEAP: keys, values and record metadata will be stored as binary data outside of the Java heap</li>
+     * <li>COMPACT: values will be stored in their serialized (binary) form, with record metadata packed into
+     * per-partition arrays</li>
      * </ul>
      *
      * @param inMemoryFormat the record type to set for this {@link IMap}
@@ -24,7 +24,9 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import java.io.IOException;
 import java.util.Objects;
 
+import static com.hazelcast.config.InMemoryFormat.COMPACT;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.config.InMemoryFormat.OFF_HEAP;
 import static com.hazelcast.internal.util.Preconditions.checkAsyncBackupCount;
 import static com.hazelcast.internal.util.Preconditions.checkBackupCount;
 import static com.hazelcast.internal.util.Preconditions.checkFalse;
@@ -307,12 +309,13 @@ public class RingbufferConfig implements IdentifiedDataSerializable, NamedConfig
      * @param inMemoryFormat the new in memory format
      * @return the updated Config
      * @throws NullPointerException     if inMemoryFormat is {@code null}
-     * @throws IllegalArgumentException if {@link InMemoryFormat#NATIVE} in-memory
-     *                                  format is selected
+     * @throws IllegalArgumentException if {@link InMemoryFormat#NATIVE}, {@link InMemoryFormat#OFF_HEAP}
+     *                                  or {@link InMemoryFormat#COMPACT} in-memory format is selected
      */
     public RingbufferConfig setInMemoryFormat(InMemoryFormat inMemoryFormat) {
         checkNotNull(inMemoryFormat, "inMemoryFormat can't be null");
-        checkFalse(inMemoryFormat == NATIVE, "InMemoryFormat " + NATIVE + " is not supported");
+        checkFalse(inMemoryFormat == NATIVE || inMemoryFormat == OFF_HEAP || inMemoryFormat == COMPACT,
+                "InMemoryFormat " + inMemoryFormat + " is not supported");
         this.inMemoryFormat = inMemoryFormat;
         return this;
     }
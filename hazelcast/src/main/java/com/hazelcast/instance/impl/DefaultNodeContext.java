@@ -42,9 +42,13 @@ import java.util.Properties;
 
 import static com.hazelcast.config.ConfigAccessor.getActiveMemberNetworkConfig;
 import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity;
+import static com.hazelcast.spi.impl.operationservice.impl.InboundResponseHandlerSupplier.getIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_BALANCER_INTERVAL_SECONDS;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_GATHERING_WRITES_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_IDLE_STRATEGY;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_QUEUE_CAPACITY;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_THROUGH_ENABLED;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
@@ -175,6 +179,9 @@ public class DefaultNodeContext implements NodeContext {
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.io.output.thread.affinity"))
                         .balancerIntervalSeconds(props.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(props.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .writeQueueCapacity(props.getInteger(IO_WRITE_QUEUE_CAPACITY))
+                        .gatheringWritesEnabled(props.getBoolean(IO_GATHERING_WRITES_ENABLED))
+                        .idleStrategySupplier(() -> getIdleStrategy(props, IO_IDLE_STRATEGY))
                         .concurrencyDetection(node.nodeEngine.getConcurrencyDetection())
         );
     }
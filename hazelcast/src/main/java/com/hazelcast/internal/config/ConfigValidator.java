@@ -44,6 +44,7 @@ import com.hazelcast.config.WanReplicationConfig;
 import com.hazelcast.config.cp.CPSubsystemConfig;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.instance.ProtocolType;
+import com.hazelcast.internal.memory.impl.MallocMemoryManager;
 import com.hazelcast.internal.util.MutableInteger;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 import com.hazelcast.spi.merge.MergingValue;
@@ -59,7 +60,9 @@ import static com.hazelcast.config.EvictionPolicy.LFU;
 import static com.hazelcast.config.EvictionPolicy.LRU;
 import static com.hazelcast.config.EvictionPolicy.NONE;
 import static com.hazelcast.config.EvictionPolicy.RANDOM;
+import static com.hazelcast.config.InMemoryFormat.COMPACT;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.config.InMemoryFormat.OFF_HEAP;
 import static com.hazelcast.config.MaxSizePolicy.ENTRY_COUNT;
 import static com.hazelcast.config.MaxSizePolicy.FREE_HEAP_PERCENTAGE;
 import static com.hazelcast.config.MaxSizePolicy.FREE_HEAP_SIZE;
@@ -101,6 +104,9 @@ public final class ConfigValidator {
             = EnumSet.of(PER_NODE, PER_PARTITION, USED_NATIVE_MEMORY_PERCENTAGE,
             FREE_NATIVE_MEMORY_PERCENTAGE, USED_NATIVE_MEMORY_SIZE, FREE_NATIVE_MEMORY_SIZE);
 
+    private static final EnumSet<MaxSizePolicy> MAP_SUPPORTED_OFF_HEAP_MAX_SIZE_POLICIES
+            = EnumSet.of(PER_NODE, PER_PARTITION);
+
     private static final EnumSet<MaxSizePolicy> MAP_SUPPORTED_ON_HEAP_MAX_SIZE_POLICIES
             = EnumSet.of(PER_NODE, PER_PARTITION, USED_HEAP_SIZE, USED_HEAP_PERCENTAGE,
             FREE_HEAP_SIZE, FREE_HEAP_PERCENTAGE);
@@ -126,6 +132,7 @@ public final class ConfigValidator {
                                       HazelcastProperties properties) {
 
         checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
+        checkOffHeapAvailable(mapConfig.getInMemoryFormat());
 
         if (getBuildInfo().isEnterprise()) {
             checkMapNativeConfig(mapConfig, nativeMemoryConfig);
@@ -145,6 +152,10 @@ public final class ConfigValidator {
             if (!MAP_SUPPORTED_NATIVE_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
                 throwNotMatchingMaxSizePolicy(inMemoryFormat, maxSizePolicy, MAP_SUPPORTED_NATIVE_MAX_SIZE_POLICIES);
             }
+        } else if (inMemoryFormat == OFF_HEAP) {
+            if (!MAP_SUPPORTED_OFF_HEAP_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
+                throwNotMatchingMaxSizePolicy(inMemoryFormat, maxSizePolicy, MAP_SUPPORTED_OFF_HEAP_MAX_SIZE_POLICIES);
+            }
         } else {
             if (!MAP_SUPPORTED_ON_HEAP_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
                 throwNotMatchingMaxSizePolicy(inMemoryFormat, maxSizePolicy, MAP_SUPPORTED_ON_HEAP_MAX_SIZE_POLICIES);
@@ -312,6 +323,7 @@ public final class ConfigValidator {
     public static void checkNearCacheConfig(String mapName, NearCacheConfig nearCacheConfig,
                                             NativeMemoryConfig nativeMemoryConfig, boolean isClient) {
         checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        checkNotMapOnlyFormat(nearCacheConfig.getInMemoryFormat(), "Near Cache");
         checkLocalUpdatePolicy(mapName, nearCacheConfig.getLocalUpdatePolicy());
         EvictionConfig evictionConfig = nearCacheConfig.getEvictionConfig();
         checkNearCacheEvictionConfig(evictionConfig.getEvictionPolicy(),
@@ -508,6 +520,7 @@ public final class ConfigValidator {
                                         EnumSet<EvictionPolicy> supportedEvictionPolicies) {
         try {
             checkNotNativeWhenOpenSource(inMemoryFormat);
+            checkNotMapOnlyFormat(inMemoryFormat, "Cache");
             checkEvictionConfig(evictionConfig, supportedEvictionPolicies);
             checkCacheMaxSizePolicy(evictionConfig.getMaxSizePolicy(), inMemoryFormat);
             checkMergeTypeProviderHasRequiredTypes(mergeTypes, mergePolicyProvider, mergePolicyClassname);
@@ -544,6 +557,7 @@ public final class ConfigValidator {
      */
     public static void checkReplicatedMapConfig(ReplicatedMapConfig replicatedMapConfig,
                                                 SplitBrainMergePolicyProvider mergePolicyProvider) {
+        checkNotMapOnlyFormat(replicatedMapConfig.getInMemoryFormat(), "Replicated Map");
         checkMergeTypeProviderHasRequiredTypes(SplitBrainMergeTypes.ReplicatedMapMergeTypes.class, mergePolicyProvider,
                 replicatedMapConfig.getMergePolicyConfig().getPolicy());
     }
@@ -638,6 +652,33 @@ public final class ConfigValidator {
         }
     }
 
+    /**
+     * Throws {@link InvalidConfigurationException} if the given {@link InMemoryFormat}
+     * is {@link InMemoryFormat#OFF_HEAP} and native memory cannot be accessed on this platform.
+     *
+     * @param inMemoryFormat supplied inMemoryFormat
+     */
+    private static void checkOffHeapAvailable(InMemoryFormat inMemoryFormat) {
+        if (inMemoryFormat == OFF_HEAP && !MallocMemoryManager.isAvailable()) {
+            throw new InvalidConfigurationException("OFF_HEAP storage format requires direct access to native memory,"
+                    + " which is not available on this platform");
+        }
+    }
+
+    /**
+     * Throws {@link InvalidConfigurationException} if the given {@link InMemoryFormat}
+     * is {@link InMemoryFormat#OFF_HEAP} or {@link InMemoryFormat#COMPACT}, which are
+     * supported by maps only.
+     *
+     * @param inMemoryFormat supplied inMemoryFormat
+     * @param structure      name of the data structure for the error message
+     */
+    private static void checkNotMapOnlyFormat(InMemoryFormat inMemoryFormat, String structure) {
+        if (inMemoryFormat == OFF_HEAP || inMemoryFormat == COMPACT) {
+            throw new InvalidConfigurationException(inMemoryFormat + " storage format is not supported for " + structure);
+        }
+    }
+
     /**
      * Throws {@link InvalidConfigurationException} if the given {@link NearCacheConfig}
      * has an invalid {@link NearCachePreloaderConfig}.
@@ -59,4 +59,19 @@ public class IndexConfigReadOnly extends IndexConfig {
     public IndexConfig setAttributes(List<String> attributes) {
         throw new UnsupportedOperationException("This config is read-only");
     }
+
+    @Override
+    public List<String> getIncludedAttributes() {
+        return Collections.unmodifiableList(new ArrayList<>(super.getIncludedAttributes()));
+    }
+
+    @Override
+    public IndexConfig addIncludedAttribute(String includedAttribute) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    @Override
+    public IndexConfig setIncludedAttributes(List<String> includedAttributes) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * Memory manager which allocates blocks directly from the native heap of the process, in the manner
+ * of {@code malloc}/{@code realloc}/{@code free}, and accesses them through the global
+ * {@link com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry#MEM MEM} accessor.
+ * <p>
+ * The manager keeps track of the number of bytes in use, but not of the individual blocks: it is the
+ * responsibility of the owner to free all the blocks it allocated before calling {@link #dispose()}.
+ * <p>
+ * Not thread-safe: the allocator may be used by a single thread at a time, while {@link #getUsedMemory()}
+ * may be read from any thread.
+ */
+public final class MallocMemoryManager implements MemoryManager {
+
+    private final Allocator malloc = new Allocator();
+    private final SwCounter usedMemory = newSwCounter();
+
+    public MallocMemoryManager() {
+        checkState(isAvailable(), "Native memory cannot be accessed on this platform");
+    }
+
+    /**
+     * @return {@code true} if the platform supports direct allocation of and access to native memory
+     */
+    public static boolean isAvailable() {
+        return UNSAFE_AVAILABLE && MEM_AVAILABLE;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    @Override
+    public void dispose() {
+        malloc.dispose();
+    }
+
+    /**
+     * @return the number of bytes in the blocks currently allocated by this manager
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            assert size > 0 : "MallocMemoryManager.allocate(" + size + ")";
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+            }
+            MEM.setMemory(address, size, (byte) 0);
+            usedMemory.inc(size);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            assert address != NULL_ADDRESS && newSize > 0
+                    : "MallocMemoryManager.reallocate(" + address + ", " + currentSize + ", " + newSize + ")";
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                throw new NativeOutOfMemoryError("Cannot reallocate " + currentSize + " to " + newSize
+                        + " bytes of native memory", e);
+            }
+            if (newSize > currentSize) {
+                MEM.setMemory(newAddress + currentSize, newSize - currentSize, (byte) 0);
+            }
+            usedMemory.inc(newSize - currentSize);
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            assert address != NULL_ADDRESS : "MallocMemoryManager.free(NULL_ADDRESS, " + size + ")";
+            UNSAFE.freeMemory(address);
+            usedMemory.inc(-size);
+        }
+
+        @Override
+        public void dispose() {
+            assert usedMemory.get() == 0 : "Disposing MallocMemoryManager with " + usedMemory.get() + " bytes in use";
+        }
+    }
+}
@@ -188,6 +188,14 @@ public final class MetricDescriptorConstants {
     public static final String HOTRESTART_METRIC_GC_LIVE_TOMBSTONES = "liveTombstones";
     // ===[/HOT-RESTART]================================================
 
+    // ===[IDLE STRATEGY]===============================================
+    public static final String IDLE_STRATEGY_METRIC_SPIN_COUNT = "idleSpinCount";
+    public static final String IDLE_STRATEGY_METRIC_YIELD_COUNT = "idleYieldCount";
+    public static final String IDLE_STRATEGY_METRIC_PARK_COUNT = "idleParkCount";
+    public static final String IDLE_STRATEGY_METRIC_BLOCK_COUNT = "idleBlockCount";
+    public static final String IDLE_STRATEGY_METRIC_IDLE_ROUNDS = "idleRounds";
+    // ===[/IDLE STRATEGY]==============================================
+
     // ===[LIST]=======================================================
     public static final String LIST_PREFIX = "list";
     public static final String LIST_METRIC_LAST_ACCESS_TIME = "lastAccessTime";
@@ -338,6 +346,7 @@ public final class MetricDescriptorConstants {
     public static final String NETWORKING_METRIC_NIO_THREAD_COMPLETED_TASK_COUNT = "completedTaskCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT = "selectorRebuildCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_IDLE_TIME_MILLIS = "idleTimeMillis";
+    public static final String NETWORKING_METRIC_NIO_THREAD_WAKEUP_COUNT = "wakeupCount";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_IMBALANCE_DETECTED_COUNT = "imbalanceDetectedCount";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_MIGRATION_COMPLETED_COUNT = "migrationCompletedCount";
     // ===[/NETWORKING]=================================================
@@ -504,6 +513,15 @@ public final class MetricDescriptorConstants {
     public static final String SET_METRIC_CREATION_TIME = "creationTime";
     // ===[/SET]======================================================
 
+    // ===[SQL]=========================================================
+    public static final String SQL_PREFIX_PLAN_CACHE = "sql.planCache";
+    public static final String SQL_METRIC_PLAN_CACHE_SIZE = "size";
+    public static final String SQL_METRIC_PLAN_CACHE_HITS = "hits";
+    public static final String SQL_METRIC_PLAN_CACHE_MISSES = "misses";
+    public static final String SQL_METRIC_PLAN_CACHE_EVICTIONS = "evictions";
+    public static final String SQL_METRIC_PLAN_CACHE_INVALIDATIONS = "invalidations";
+    // ===[/SQL]========================================================
+
     // ===[TCP]=========================================================
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
@@ -531,6 +549,10 @@ public final class MetricDescriptorConstants {
     public static final String TCP_METRIC_ENDPOINT_MANAGER_OPENED_COUNT = "openedCount";
     public static final String TCP_METRIC_ENDPOINT_MANAGER_CLOSED_COUNT = "closedCount";
     public static final String TCP_METRIC_ENDPOINT_MANAGER_ACCEPTED_SOCKET_COUNT = "acceptedSocketCount";
+    public static final String TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_READ = "compressionBytesRead";
+    public static final String TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_RAW_BYTES_READ = "compressionRawBytesRead";
+    public static final String TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_WRITTEN = "compressionBytesWritten";
+    public static final String TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_RAW_BYTES_WRITTEN = "compressionRawBytesWritten";
     public static final String TCP_METRIC_CLIENT_COUNT = "clientCount";
     public static final String TCP_METRIC_TEXT_COUNT = "textCount";
     // ===[/TCP]========================================================
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutboundHandler} that is able to hand the payload of a large frame
+ * over to the pipeline instead of copying it into its dst buffer. The pipeline
+ * then writes the dst buffer and the payload to the socket using a single
+ * gathering write.
+ *
+ * This is only possible if the handler is the last one in the pipeline, since
+ * the payload bypasses all the handlers following it. So the pipeline enables
+ * it only in that case.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Enables or disables handing the payloads over to the pipeline.
+     *
+     * @param enabled true if the payloads should be handed over
+     */
+    void setGatheringWritesEnabled(boolean enabled);
+
+    /**
+     * Returns the payload that needs to be written to the socket right after
+     * the dst buffer. As long as the payload has remaining bytes, the handler
+     * doesn't write anything to its dst buffer.
+     *
+     * @return the payload in reading mode or null if there is none.
+     */
+    ByteBuffer payload();
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelCloseListener;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundHandler;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.networking.compression.CompressionEncoder.FRAME_DEFLATED;
+import static com.hazelcast.internal.networking.compression.CompressionEncoder.FRAME_RAW;
+import static com.hazelcast.internal.networking.compression.CompressionEncoder.HEADER_LENGTH;
+import static com.hazelcast.internal.networking.compression.CompressionEncoder.MAX_FRAME_LENGTH;
+import static com.hazelcast.internal.networking.compression.CompressionEncoder.copy;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+
+/**
+ * A {@link InboundHandler} that decompresses the frames written by the
+ * {@link CompressionEncoder} on the other side of the connection and passes
+ * the original bytes to the handler behind it, e.g. a PacketDecoder.
+ *
+ * @see CompressionEncoder
+ */
+public class CompressionDecoder extends InboundHandler<ByteBuffer, ByteBuffer>
+        implements ChannelCloseListener {
+
+    private static final byte NO_FRAME = -1;
+
+    private final Counter bytesRead;
+    private final Counter rawBytesRead;
+    private final Inflater inflater = new Inflater();
+    private final byte[] payload = new byte[MAX_FRAME_LENGTH];
+    private final ByteBuffer inflated = ByteBuffer.allocate(MAX_FRAME_LENGTH);
+
+    /**
+     * Set once the inflater is released. The close listeners don't run on
+     * the IO thread, so the inflater is only used and released while holding
+     * its lock.
+     */
+    private boolean ended;
+
+    private byte frameType = NO_FRAME;
+    private int payloadLength;
+    private int payloadRemaining;
+    private int rawLength;
+
+    /**
+     * @param bytesRead    the counter of the bytes before the decompression
+     * @param rawBytesRead the counter of the bytes after the decompression
+     */
+    public CompressionDecoder(Counter bytesRead, Counter rawBytesRead) {
+        this.bytesRead = bytesRead;
+        this.rawBytesRead = rawBytesRead;
+        inflated.flip();
+    }
+
+    @Override
+    public void handlerAdded() {
+        initSrcBuffer();
+        channel.addCloseListener(this);
+        if (channel.isClosed()) {
+            // the channel got closed before the listener was added
+            endInflater();
+        }
+    }
+
+    @Override
+    public void onClose(Channel channel) {
+        endInflater();
+    }
+
+    /**
+     * Releases the native memory of the inflater, waiting for the IO thread
+     * to complete the frame it may be decompressing.
+     */
+    private void endInflater() {
+        synchronized (inflater) {
+            ended = true;
+            inflater.end();
+        }
+    }
+
+    @Override
+    public HandlerStatus onRead() throws Exception {
+        src.flip();
+        try {
+            for (; ; ) {
+                copy(inflated, dst);
+                if (inflated.hasRemaining()) {
+                    // the dst is full; the next handler needs to consume it first
+                    return DIRTY;
+                }
+
+                if (frameType == FRAME_RAW) {
+                    int length = Math.min(payloadRemaining, Math.min(src.remaining(), dst.remaining()));
+                    int limit = src.limit();
+                    src.limit(src.position() + length);
+                    dst.put(src);
+                    src.limit(limit);
+                    payloadRemaining -= length;
+                    if (payloadRemaining > 0) {
+                        // either more bytes need to be received or the dst is full
+                        return dst.hasRemaining() ? CLEAN : DIRTY;
+                    }
+                    frameType = NO_FRAME;
+                } else if (frameType == FRAME_DEFLATED) {
+                    int length = Math.min(payloadRemaining, src.remaining());
+                    src.get(payload, payloadLength - payloadRemaining, length);
+                    payloadRemaining -= length;
+                    if (payloadRemaining > 0) {
+                        // the frame has not yet been fully received.
+                        return CLEAN;
+                    }
+                    inflate();
+                    frameType = NO_FRAME;
+                } else if (src.remaining() < HEADER_LENGTH) {
+                    // the frame header has not yet been fully received.
+                    return CLEAN;
+                } else {
+                    readHeader();
+                }
+            }
+        } finally {
+            compactOrClear(src);
+        }
+    }
+
+    private void readHeader() {
+        byte type = src.get();
+        int length = src.getInt();
+        int rawLength = src.getInt();
+        if ((type != FRAME_RAW && type != FRAME_DEFLATED)
+                || length <= 0 || length > MAX_FRAME_LENGTH || rawLength <= 0 || rawLength > MAX_FRAME_LENGTH
+                || (type == FRAME_RAW && length != rawLength)) {
+            throw new IllegalStateException("Malformed compression frame, type: " + type + ", length: " + length
+                    + ", raw length: " + rawLength);
+        }
+
+        frameType = type;
+        payloadLength = length;
+        payloadRemaining = length;
+        this.rawLength = rawLength;
+        bytesRead.inc(HEADER_LENGTH + length);
+        rawBytesRead.inc(rawLength);
+    }
+
+    private void inflate() throws DataFormatException {
+        inflated.clear();
+        int length;
+        synchronized (inflater) {
+            if (ended) {
+                // the channel is closed, so the frame is dropped
+                inflated.flip();
+                return;
+            }
+            inflater.reset();
+            inflater.setInput(payload, 0, payloadLength);
+            length = inflater.inflate(inflated.array(), 0, rawLength);
+            if (length != rawLength || !inflater.finished()) {
+                throw new IllegalStateException("Malformed compression frame, inflated " + length + " bytes instead of "
+                        + rawLength);
+            }
+        }
+        inflated.limit(length);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelCloseListener;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+
+/**
+ * A {@link OutboundHandler} that compresses the bytes written by the handler
+ * in front of it, e.g. a PacketEncoder.
+ *
+ * The bytes are split into frames of at most {@link #MAX_FRAME_LENGTH} bytes.
+ * Every frame is compressed separately using {@link Deflater}, unless it's
+ * smaller than the compression threshold or it doesn't compress well, then
+ * it's written as is. A frame starts with a header consisting of the frame
+ * type, the length of the payload and the length of the uncompressed bytes.
+ *
+ * @see CompressionDecoder
+ */
+public class CompressionEncoder extends OutboundHandler<ByteBuffer, ByteBuffer>
+        implements ChannelCloseListener {
+
+    /**
+     * The maximum number of uncompressed bytes in a frame.
+     */
+    public static final int MAX_FRAME_LENGTH = 1 << 16;
+
+    static final byte FRAME_RAW = 0;
+    static final byte FRAME_DEFLATED = 1;
+    static final int HEADER_LENGTH = Byte.BYTES + 2 * Integer.BYTES;
+
+    private final int threshold;
+    private final Counter rawBytesWritten;
+    private final Counter bytesWritten;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] input = new byte[MAX_FRAME_LENGTH];
+    private final ByteBuffer frame = ByteBuffer.allocate(HEADER_LENGTH + MAX_FRAME_LENGTH);
+
+    /**
+     * Set once the deflater is released. The close listeners don't run on
+     * the IO thread, so the deflater is only used and released while holding
+     * its lock.
+     */
+    private boolean ended;
+
+    /**
+     * @param threshold       the minimum number of bytes in a frame to compress
+     *                        it, {@link Integer#MAX_VALUE} to never compress
+     * @param rawBytesWritten the counter of the bytes before the compression
+     * @param bytesWritten    the counter of the bytes after the compression
+     */
+    public CompressionEncoder(int threshold, Counter rawBytesWritten, Counter bytesWritten) {
+        this.threshold = threshold;
+        this.rawBytesWritten = rawBytesWritten;
+        this.bytesWritten = bytesWritten;
+        frame.flip();
+    }
+
+    @Override
+    public void handlerAdded() {
+        initDstBuffer();
+        channel.addCloseListener(this);
+        if (channel.isClosed()) {
+            // the channel got closed before the listener was added
+            endDeflater();
+        }
+    }
+
+    @Override
+    public void onClose(Channel channel) {
+        endDeflater();
+    }
+
+    /**
+     * Releases the native memory of the deflater, waiting for the IO thread
+     * to complete the frame it may be compressing.
+     */
+    private void endDeflater() {
+        synchronized (deflater) {
+            ended = true;
+            deflater.end();
+        }
+    }
+
+    @Override
+    public HandlerStatus onWrite() {
+        compactOrClear(dst);
+        try {
+            for (; ; ) {
+                copy(frame, dst);
+                if (frame.hasRemaining()) {
+                    // the frame didn't get written completely, so we are done.
+                    return DIRTY;
+                }
+
+                if (!src.hasRemaining()) {
+                    // everything is processed, so we are done
+                    return CLEAN;
+                }
+
+                encodeFrame();
+            }
+        } finally {
+            dst.flip();
+        }
+    }
+
+    private void encodeFrame() {
+        int length = Math.min(src.remaining(), MAX_FRAME_LENGTH);
+        src.get(input, 0, length);
+        rawBytesWritten.inc(length);
+
+        frame.clear();
+        frame.position(HEADER_LENGTH);
+        int compressedLength = length >= threshold ? deflate(length) : -1;
+        if (compressedLength > 0) {
+            frame.put(0, FRAME_DEFLATED);
+            frame.putInt(Byte.BYTES, compressedLength);
+            frame.position(HEADER_LENGTH + compressedLength);
+        } else {
+            frame.put(0, FRAME_RAW);
+            frame.putInt(Byte.BYTES, length);
+            frame.put(input, 0, length);
+        }
+        frame.putInt(Byte.BYTES + Integer.BYTES, length);
+        frame.flip();
+        bytesWritten.inc(frame.remaining());
+    }
+
+    /**
+     * Compresses the input into the payload of the frame.
+     *
+     * @return the length of the compressed bytes or {@code -1} if they
+     * wouldn't be shorter than the input or the channel is closed
+     */
+    private int deflate(int length) {
+        synchronized (deflater) {
+            if (ended) {
+                // the channel is closed, so the frame is written as is
+                return -1;
+            }
+            deflater.reset();
+            deflater.setInput(input, 0, length);
+            deflater.finish();
+            int compressedLength = deflater.deflate(frame.array(), HEADER_LENGTH, length - 1);
+            return deflater.finished() ? compressedLength : -1;
+        }
+    }
+
+    static void copy(ByteBuffer from, ByteBuffer to) {
+        int length = Math.min(from.remaining(), to.remaining());
+        int limit = from.limit();
+        from.limit(from.position() + length);
+        to.put(from);
+        from.limit(limit);
+    }
+}
@@ -33,6 +33,7 @@ import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.internal.util.ConcurrencyDetection;
 import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -45,6 +46,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_NETWORKING_BYTES_RECEIVED;
@@ -61,6 +63,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_OUTPUTTHREAD;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT;
+import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW_STRING;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_WITH_FIX;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
@@ -114,12 +117,15 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private final ChannelCloseListener channelCloseListener = new ChannelCloseListenerImpl();
     private final SelectorMode selectorMode;
     private final BackoffIdleStrategy idleStrategy;
+    private final Supplier<IdleStrategy> idleStrategySupplier;
     private final boolean selectorWorkaroundTest;
     private final boolean selectionKeyWakeupEnabled;
     private final ThreadAffinity outputThreadAffinity;
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final int writeQueueCapacity;
+    private final boolean gatheringWritesEnabled;
     private final ThreadAffinity inputThreadAffinity;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
@@ -151,7 +157,10 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         this.selectorMode = ctx.selectorMode;
         this.selectorWorkaroundTest = ctx.selectorWorkaroundTest;
         this.idleStrategy = ctx.idleStrategy;
+        this.idleStrategySupplier = ctx.idleStrategySupplier;
         this.concurrencyDetection = ctx.concurrencyDetection;
+        this.writeQueueCapacity = ctx.writeQueueCapacity;
+        this.gatheringWritesEnabled = ctx.gatheringWritesEnabled;
         // selector mode SELECT_WITH_FIX requires that a single thread
         // accesses a selector & its selectionKeys. Selection key wake-up
         // and write through break this requirement, therefore must be
@@ -217,7 +226,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     loggingService.getLogger(NioThread.class),
                     errorHandler,
                     selectorMode,
-                    idleStrategy);
+                    newIdleStrategy());
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
             thread.setThreadAffinity(inputThreadAffinity);
@@ -233,7 +242,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     loggingService.getLogger(NioThread.class),
                     errorHandler,
                     selectorMode,
-                    idleStrategy);
+                    newIdleStrategy());
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
             thread.setThreadAffinity(outputThreadAffinity);
@@ -247,6 +256,14 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         metricsRegistry.registerDynamicMetricsProvider(this);
     }
 
+    private IdleStrategy newIdleStrategy() {
+        if (selectorMode == SELECT_NOW) {
+            // the backoff idle strategy of the selectnow mode is stateless, so it's shared
+            return idleStrategy;
+        }
+        return idleStrategySupplier == null ? null : idleStrategySupplier.get();
+    }
+
     private void startIOBalancer() {
         ioBalancer = new IOBalancer(inputThreads, outputThreads, threadNamePrefix, balancerIntervalSeconds, loggingService);
         ioBalancer.start();
@@ -333,7 +350,9 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 ioBalancer,
                 concurrencyDetection,
                 writeThroughEnabled,
-                selectionKeyWakeupEnabled);
+                selectionKeyWakeupEnabled,
+                writeQueueCapacity,
+                gatheringWritesEnabled);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -378,6 +397,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                         .withPrefix(TCP_PREFIX_INPUTTHREAD)
                         .withDiscriminator(TCP_DISCRIMINATOR_THREAD, nioThread.getName());
                 context.collect(descriptorInThread, nioThread);
+                collectIdleStrategy(descriptorInThread, context, nioThread);
             }
         }
 
@@ -389,6 +409,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                         .withPrefix(TCP_PREFIX_OUTPUTTHREAD)
                         .withDiscriminator(TCP_DISCRIMINATOR_THREAD, nioThread.getName());
                 context.collect(descriptorOutThread, nioThread);
+                collectIdleStrategy(descriptorOutThread, context, nioThread);
             }
         }
 
@@ -406,6 +427,13 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         context.collect(descriptorTcp, this);
     }
 
+    private void collectIdleStrategy(MetricDescriptor descriptor, MetricsCollectionContext context, NioThread nioThread) {
+        IdleStrategy threadIdleStrategy = nioThread.idleStrategy();
+        if (threadIdleStrategy != null && threadIdleStrategy != idleStrategy) {
+            context.collect(descriptor, threadIdleStrategy);
+        }
+    }
+
     // package private accessors for testing
     boolean isWriteThroughEnabled() {
         return writeThroughEnabled;
@@ -475,6 +503,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
 
     public static class Context {
         private BackoffIdleStrategy idleStrategy;
+        private Supplier<IdleStrategy> idleStrategySupplier;
         private LoggingService loggingService;
         private MetricsRegistry metricsRegistry;
         private String threadNamePrefix = "hz";
@@ -503,6 +532,14 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // this is an optimization that can speed up low threaded setups
         private boolean writeThroughEnabled;
 
+        // the capacity of the ring backing the write queues of a channel; 0 if
+        // the write queues are unbounded linked queues
+        private int writeQueueCapacity;
+
+        // if large payloads are written directly from their byte arrays using
+        // a gathering write instead of being copied to the send buffer
+        private boolean gatheringWritesEnabled;
+
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
             if (selectorModeString.startsWith(SELECT_NOW_STRING + ",")) {
@@ -520,6 +557,28 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context writeQueueCapacity(int writeQueueCapacity) {
+            this.writeQueueCapacity = writeQueueCapacity;
+            return this;
+        }
+
+        public Context gatheringWritesEnabled(boolean gatheringWritesEnabled) {
+            this.gatheringWritesEnabled = gatheringWritesEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the supplier of the idle strategies of the IO threads, if they
+         * don't use the {@link SelectorMode#SELECT_NOW} mode. Each IO thread
+         * gets its own idle strategy and it blocks on its selector once the
+         * idle strategy reaches its longest pause. The supplier may return
+         * null, in which case the IO thread blocks right away.
+         */
+        public Context idleStrategySupplier(Supplier<IdleStrategy> idleStrategySupplier) {
+            this.idleStrategySupplier = idleStrategySupplier;
+            return this;
+        }
+
         public Context concurrencyDetection(ConcurrencyDetection concurrencyDetection) {
             this.concurrencyDetection = concurrencyDetection;
             return this;
@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -105,13 +106,16 @@ public final class NioOutboundPipeline
 
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE)
-    public final Queue<OutboundFrame> writeQueue = new ConcurrentLinkedQueue<>();
+    public final Queue<OutboundFrame> writeQueue;
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_SIZE)
-    public final Queue<OutboundFrame> priorityWriteQueue = new ConcurrentLinkedQueue<>();
+    public final Queue<OutboundFrame> priorityWriteQueue;
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    // the last handler if it hands large payloads over to the pipeline
+    private GatheringOutboundHandler gatheringHandler;
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES)
@@ -130,7 +134,9 @@ public final class NioOutboundPipeline
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
     private final boolean selectionKeyWakeupEnabled;
+    private final boolean gatheringWritesEnabled;
 
+    @SuppressWarnings("checkstyle:parameternumber")
     NioOutboundPipeline(NioChannel channel,
                         NioThread owner,
                         ChannelErrorHandler errorHandler,
@@ -138,11 +144,20 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        int writeQueueCapacity,
+                        boolean gatheringWritesEnabled) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.gatheringWritesEnabled = gatheringWritesEnabled;
+        this.writeQueue = newWriteQueue(writeQueueCapacity);
+        this.priorityWriteQueue = newWriteQueue(writeQueueCapacity);
+    }
+
+    private static Queue<OutboundFrame> newWriteQueue(int capacity) {
+        return capacity > 0 ? new OutboundFrameQueue(capacity) : new ConcurrentLinkedQueue<>();
     }
 
     @Override
@@ -178,6 +193,10 @@ public final class NioOutboundPipeline
     }
 
     private long bytesPending(Queue<OutboundFrame> writeQueue) {
+        if (writeQueue instanceof OutboundFrameQueue) {
+            return ((OutboundFrameQueue) writeQueue).bytesPending();
+        }
+
         long bytesPending = 0;
         for (OutboundFrame frame : writeQueue) {
             bytesPending += frame.getFrameLength();
@@ -241,7 +260,7 @@ public final class NioOutboundPipeline
         } else {
             if (selectionKeyWakeupEnabled) {
                 registerOp(OP_WRITE);
-                selectionKey.selector().wakeup();
+                owner.wakeup();
             } else {
                 owner.addTaskAndWakeup(this);
             }
@@ -290,24 +309,11 @@ public final class NioOutboundPipeline
     public void process() throws Exception {
         processCount.inc();
 
-        OutboundHandler[] localHandlers = handlers;
-        HandlerStatus pipelineStatus = CLEAN;
-        for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
-            OutboundHandler handler = localHandlers[handlerIndex];
-
-            HandlerStatus handlerStatus = handler.onWrite();
-
-            if (localHandlers != handlers) {
-                // change in the pipeline detected, therefor the loop is restarted.
-                localHandlers = handlers;
-                pipelineStatus = CLEAN;
-                handlerIndex = -1;
-            } else if (handlerStatus != CLEAN) {
-                pipelineStatus = handlerStatus;
-            }
-        }
-
-        flushToSocket();
+        HandlerStatus pipelineStatus;
+        do {
+            pipelineStatus = processHandlers();
+            // if a handed over payload got written completely, the handlers can continue
+        } while (flushToSocket());
 
         if (migrationRequested()) {
             startMigration();
@@ -335,6 +341,26 @@ public final class NioOutboundPipeline
         }
     }
 
+    private HandlerStatus processHandlers() throws Exception {
+        OutboundHandler[] localHandlers = handlers;
+        HandlerStatus pipelineStatus = CLEAN;
+        for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
+            OutboundHandler handler = localHandlers[handlerIndex];
+
+            HandlerStatus handlerStatus = handler.onWrite();
+
+            if (localHandlers != handlers) {
+                // change in the pipeline detected, therefor the loop is restarted.
+                localHandlers = handlers;
+                pipelineStatus = CLEAN;
+                handlerIndex = -1;
+            } else if (handlerStatus != CLEAN) {
+                pipelineStatus = handlerStatus;
+            }
+        }
+        return pipelineStatus;
+    }
+
     private void postProcessBlocked() throws IOException {
         // pipeline is blocked; no point in receiving OP_WRITE events.
         unregisterOp(OP_WRITE);
@@ -373,7 +399,7 @@ public final class NioOutboundPipeline
             // if we don't wake up the selector explicitly, only after the selector.select(timeout)
             // has expired the selectionKey will be seen. For more info see:
             // https://stackoverflow.com/questions/11523471/java-selectionkey-interestopsint-not-thread-safe
-            owner.getSelector().wakeup();
+            owner.wakeup();
             concurrencyDetection.onDetected();
         }
     }
@@ -420,11 +446,28 @@ public final class NioOutboundPipeline
         }
     }
 
-    private void flushToSocket() throws IOException {
+    /**
+     * Writes the send buffer to the socket, followed by the payload handed
+     * over by the last handler, if there is any.
+     *
+     * @return true if there was a payload and everything got written, so
+     * the handlers can continue
+     */
+    private boolean flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        ByteBuffer payload = gatheringHandler == null ? null : gatheringHandler.payload();
+        if (payload == null || !payload.hasRemaining()) {
+            int written = socketChannel.write(sendBuffer);
+            bytesWritten.inc(written);
+            //System.out.println(channel + " bytes written:" + written);
+            return false;
+        }
+
+        gatheringBuffers[0] = sendBuffer;
+        gatheringBuffers[1] = payload;
+        long written = socketChannel.write(gatheringBuffers);
         bytesWritten.inc(written);
-        //System.out.println(channel + " bytes written:" + written);
+        return !payload.hasRemaining();
     }
 
     void drainWriteQueues() {
@@ -499,6 +542,18 @@ public final class NioOutboundPipeline
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        this.gatheringHandler = null;
+        for (int k = 0; k < newHandlers.length; k++) {
+            if (newHandlers[k] instanceof GatheringOutboundHandler) {
+                // only the last handler writes directly to the socket
+                boolean enabled = gatheringWritesEnabled && k == newHandlers.length - 1;
+                GatheringOutboundHandler handler = (GatheringOutboundHandler) newHandlers[k];
+                handler.setGatheringWritesEnabled(enabled);
+                if (enabled) {
+                    gatheringHandler = handler;
+                }
+            }
+        }
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
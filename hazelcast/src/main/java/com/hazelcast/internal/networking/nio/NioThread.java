@@ -20,6 +20,7 @@ import com.hazelcast.internal.metrics.ExcludedMetricTargets;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.internal.util.executor.HazelcastManagedThread;
 import com.hazelcast.logging.ILogger;
@@ -34,6 +35,7 @@ import java.util.Iterator;
 import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_BYTES_TRANSCEIVED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_COMPLETED_TASK_COUNT;
@@ -46,12 +48,14 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_SELECTOR_IO_EXCEPTION_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_TASK_QUEUE_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_WAKEUP_COUNT;
 import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW;
 import static com.hazelcast.internal.networking.nio.SelectorOptimizer.newSelector;
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
 import static java.lang.System.currentTimeMillis;
@@ -98,6 +102,13 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     // count number of times the selector was rebuilt (if selectWorkaround is enabled)
     @Probe(name = NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT)
     private final SwCounter selectorRebuildCount = newSwCounter();
+    // count number of times the selector was woken up to pick up a task
+    @Probe(name = NETWORKING_METRIC_NIO_THREAD_WAKEUP_COUNT)
+    private final MwCounter wakeupCount = newMwCounter();
+
+    // set by the NioThread right before it blocks on the selector and reset by the
+    // first task that wakes it up, so only that task needs to call Selector.wakeup
+    private final AtomicBoolean wakeupNeeded = new AtomicBoolean();
 
     private final ILogger logger;
 
@@ -174,6 +185,14 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         return completedTaskCount.get();
     }
 
+    public long wakeupCount() {
+        return wakeupCount.get();
+    }
+
+    IdleStrategy idleStrategy() {
+        return idleStrategy;
+    }
+
     /**
      * Gets the Selector
      *
@@ -216,12 +235,29 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
      * Adds a task to be executed by the NioThread and wakes up the selector so that it will
      * eventually pick up the task.
      *
+     * The selector is only woken up if the NioThread is blocked on it (or about to block on it)
+     * and no other task has woken it up already. Selector.wakeup is a system call (a write to a
+     * pipe or an eventfd) and it's cheaper to skip it when a burst of tasks is added.
+     *
      * @param task the task to add.
      * @throws NullPointerException if task is null
      */
     public void addTaskAndWakeup(Runnable task) {
         taskQueue.add(task);
         if (selectMode != SELECT_NOW) {
+            wakeup();
+        }
+    }
+
+    /**
+     * Wakes up the selector if the NioThread is blocked on it and hasn't been woken up already.
+     *
+     * Changes made before calling this method, like an added task or changed interest ops of a
+     * selection key, are seen by the NioThread.
+     */
+    void wakeup() {
+        if (wakeupNeeded.compareAndSet(true, false)) {
+            wakeupCount.inc();
             selector.wakeup();
         }
     }
@@ -289,7 +325,7 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         while (!stop) {
             processTaskQueue();
 
-            int selectedKeys = selector.select(SELECT_WAIT_TIME_MILLIS);
+            int selectedKeys = select();
             if (selectedKeys > 0) {
                 processSelectionKeys();
             }
@@ -302,7 +338,7 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
             processTaskQueue();
 
             long before = currentTimeMillis();
-            int selectedKeys = selector.select(SELECT_WAIT_TIME_MILLIS);
+            int selectedKeys = select();
             if (selectedKeys > 0) {
                 idleCount = 0;
                 processSelectionKeys();
@@ -321,6 +357,34 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         }
     }
 
+    private int select() throws IOException {
+        if (idleStrategy != null) {
+            // idle before blocking on the selector, so work arriving soon is picked up
+            // without the task having to wake up the selector
+            for (long idleRound = 0; ; idleRound++) {
+                int selectedKeys = selector.selectNow();
+                if (selectedKeys > 0 || !taskQueue.isEmpty()) {
+                    return selectedKeys;
+                }
+                if (idleStrategy.idle(idleRound)) {
+                    break;
+                }
+            }
+        }
+
+        // the flag is set before the task queue is checked and a task is added before the flag
+        // is checked, so either the task is seen here or the selector is woken up for it
+        wakeupNeeded.set(true);
+        try {
+            if (!taskQueue.isEmpty()) {
+                return selector.selectNow();
+            }
+            return selector.select(SELECT_WAIT_TIME_MILLIS);
+        } finally {
+            wakeupNeeded.set(false);
+        }
+    }
+
     private boolean selectorBugDetected(int idleCount) {
         return idleCount > SELECT_IDLE_COUNT_THRESHOLD
                 || (selectorWorkaroundTest && RANDOM.nextInt(TEST_SELECTOR_BUG_PROBABILITY) == 1);
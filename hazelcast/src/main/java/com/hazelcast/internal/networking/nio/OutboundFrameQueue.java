@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.OutboundFrame;
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The write queue of a {@link NioOutboundPipeline} backed by a bounded
+ * many-to-one ring, so offering a frame doesn't allocate a queue node.
+ *
+ * The ring isn't a hard bound on the number of the pending frames: once it's
+ * full, the frames are offered to an unbounded overflow queue instead, the
+ * same way as they would be offered to the default write queue. While the
+ * overflow queue isn't empty, all the frames are offered to it, and it is only
+ * polled once the ring is empty, so the frames of a single producer are
+ * polled in the order they were offered.
+ *
+ * The queue keeps track of the total length of its frames, so the pending
+ * bytes don't need to be computed by iterating over the frames.
+ *
+ * Only a single thread is allowed to poll the queue.
+ */
+final class OutboundFrameQueue extends AbstractQueue<OutboundFrame> {
+
+    private final Ring ring;
+    private final Queue<OutboundFrame> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bytesPending = new AtomicLong();
+
+    OutboundFrameQueue(int capacity) {
+        this.ring = new Ring(capacity);
+    }
+
+    /**
+     * Returns the total length of the pending frames.
+     */
+    long bytesPending() {
+        return bytesPending.get();
+    }
+
+    @Override
+    public boolean offer(OutboundFrame frame) {
+        bytesPending.addAndGet(frame.getFrameLength());
+        if (!overflow.isEmpty() || !ring.offer(frame)) {
+            overflow.offer(frame);
+        }
+        return true;
+    }
+
+    @Override
+    public OutboundFrame poll() {
+        OutboundFrame frame = ring.poll();
+        // the overflow queue is checked before the ring is checked to be drained,
+        // so the frames offered to the ring before the head of the overflow queue
+        // was offered are taken into account
+        if (frame == null && !overflow.isEmpty() && ring.isDrained()) {
+            frame = overflow.poll();
+        }
+
+        if (frame != null) {
+            bytesPending.addAndGet(-frame.getFrameLength());
+        }
+        return frame;
+    }
+
+    @Override
+    public OutboundFrame peek() {
+        OutboundFrame frame = ring.peek();
+        return frame == null && ring.isDrained() ? overflow.peek() : frame;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        // a frame being offered to the ring isn't visible yet, but the
+        // queue isn't empty, so the pipeline gets rescheduled
+        return ring.isDrained() && overflow.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return ring.size() + overflow.size();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over a snapshot of the frames;
+     * meant for diagnostics only.
+     */
+    @Override
+    public Iterator<OutboundFrame> iterator() {
+        List<OutboundFrame> frames = new ArrayList<>();
+        ring.snapshot(frames);
+        frames.addAll(overflow);
+        return frames.iterator();
+    }
+
+    private static final class Ring extends ManyToOneConcurrentArrayQueue<OutboundFrame> {
+
+        private Ring(int capacity) {
+            super(capacity);
+        }
+
+        /**
+         * Checks if all the frames offered to the ring have been polled,
+         * including the ones still being offered.
+         */
+        private boolean isDrained() {
+            return addedCount() == removedCount();
+        }
+
+        private void snapshot(List<OutboundFrame> frames) {
+            int mask = capacity - 1;
+            for (long sequence = removedCount(), limit = addedCount(); sequence < limit; sequence++) {
+                OutboundFrame frame = buffer.get((int) (sequence & mask));
+                if (frame != null) {
+                    frames.add(frame);
+                }
+            }
+        }
+    }
+}
@@ -36,6 +36,16 @@ public final class Protocols {
      */
     public static final String CLIENT_BINARY = "CP2";
 
+    /**
+     * Protocol that is used among nodes, with the byte stream compressed
+     */
+    public static final String CLUSTER_COMPRESSED = "HZZ";
+
+    /**
+     * Client Protocol with the byte stream compressed, only used by the Java client
+     */
+    public static final String CLIENT_BINARY_COMPRESSED = "CPZ";
+
     /**
      * Protocol that is used by REST
      */
@@ -58,6 +68,14 @@ public final class Protocols {
             return "Client Open Binary Protocol";
         }
 
+        if (CLUSTER_COMPRESSED.equals(protocol)) {
+            return "Compressed Cluster Protocol";
+        }
+
+        if (CLIENT_BINARY_COMPRESSED.equals(protocol)) {
+            return "Compressed Client Open Binary Protocol";
+        }
+
         if (REST.equals(protocol)) {
             return "REST Protocol";
         }
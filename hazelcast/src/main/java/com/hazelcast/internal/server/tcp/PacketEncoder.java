@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
@@ -37,24 +38,59 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * If gathering writes are enabled, the payload of a large packet isn't copied
+ * to the {@link ByteBuffer}; it's handed over to the pipeline, which writes it
+ * to the socket directly from the byte array of the packet.
+ *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> implements GatheringOutboundHandler {
+
+    /**
+     * The minimum size of the payload of a packet to get it handed over to the
+     * pipeline if gathering writes are enabled.
+     */
+    static final int GATHERING_WRITE_MIN_SIZE = 16 * 1024;
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
 
     private Packet packet;
+    private boolean gatheringWritesEnabled;
+    private boolean gatherPacket;
+    private ByteBuffer payload;
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void setGatheringWritesEnabled(boolean enabled) {
+        this.gatheringWritesEnabled = enabled;
+    }
+
+    @Override
+    public ByteBuffer payload() {
+        return payload;
+    }
+
     @Override
     public HandlerStatus onWrite() {
         compactOrClear(dst);
         try {
             for (; ; ) {
+                if (payload != null) {
+                    if (!gatheringWritesEnabled) {
+                        // the pipeline changed, so the rest of the payload is copied instead
+                        copyPayload();
+                    }
+                    if (payload.hasRemaining()) {
+                        // the payload needs to be written to the socket before anything else
+                        return DIRTY;
+                    }
+                    payload = null;
+                }
+
                 if (packet == null) {
                     packet = src.get();
 
@@ -62,9 +98,18 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                         // everything is processed, so we are done
                         return CLEAN;
                     }
+                    gatherPacket = gatheringWritesEnabled && packet.totalSize() >= GATHERING_WRITE_MIN_SIZE;
                 }
 
-                if (packetWriter.writeTo(packet, dst)) {
+                if (gatherPacket) {
+                    if (!packetWriter.writeHeaderTo(packet, dst)) {
+                        // the header didn't get written, so we are done.
+                        return DIRTY;
+                    }
+                    // the pipeline writes the payload right after the header
+                    payload = ByteBuffer.wrap(packet.toByteArray(), 0, packet.totalSize());
+                    packet = null;
+                } else if (packetWriter.writeTo(packet, dst)) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
                 } else {
@@ -76,4 +121,10 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    private void copyPayload() {
+        int length = Math.min(payload.remaining(), dst.remaining());
+        dst.put(payload.array(), payload.position(), length);
+        payload.position(payload.position() + length);
+    }
 }
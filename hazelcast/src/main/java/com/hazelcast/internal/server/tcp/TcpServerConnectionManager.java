@@ -27,6 +27,8 @@ import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.Networking;
+import com.hazelcast.internal.networking.compression.CompressionDecoder;
+import com.hazelcast.internal.networking.compression.CompressionEncoder;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.nio.ConnectionLifecycleListener;
 import com.hazelcast.internal.nio.ConnectionListener;
@@ -66,6 +68,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_ACCEPTED_SOCKET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_ACTIVE_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_CLOSED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_READ;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_WRITTEN;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_RAW_BYTES_READ;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_RAW_BYTES_WRITTEN;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_CONNECTION_LISTENER_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_IN_PROGRESS_COUNT;
@@ -75,6 +81,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_TAG_ENDPOINT;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.COUNT;
 import static com.hazelcast.internal.nio.ConnectionType.MEMCACHE_CLIENT;
 import static com.hazelcast.internal.nio.ConnectionType.REST_CLIENT;
@@ -83,6 +90,8 @@ import static com.hazelcast.internal.nio.IOUtil.setChannelOptions;
 import static com.hazelcast.internal.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_COMPRESSION_THRESHOLD;
 import static java.util.Collections.newSetFromMap;
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableSet;
@@ -132,6 +141,21 @@ public class TcpServerConnectionManager
     @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_CLOSED_COUNT)
     private final MwCounter closedCount = newMwCounter();
 
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_READ, unit = BYTES)
+    private final MwCounter compressionBytesRead = newMwCounter();
+
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_RAW_BYTES_READ, unit = BYTES)
+    private final MwCounter compressionRawBytesRead = newMwCounter();
+
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_WRITTEN, unit = BYTES)
+    private final MwCounter compressionBytesWritten = newMwCounter();
+
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_RAW_BYTES_WRITTEN, unit = BYTES)
+    private final MwCounter compressionRawBytesWritten = newMwCounter();
+
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+
     private final ConnectionLifecycleListenerImpl connectionLifecycleListener = new ConnectionLifecycleListenerImpl();
 
     TcpServerConnectionManager(TcpServer server,
@@ -148,6 +172,8 @@ public class TcpServerConnectionManager
         this.connector = new TcpServerConnector(this);
         this.memberHandshakeHandler = new MemberHandshakeHandler(this, serverContext, logger, supportedProtocolTypes);
         this.networkStats = endpointQualifier == null ? null : new NetworkStatsImpl();
+        this.compressionEnabled = serverContext.properties().getBoolean(SOCKET_COMPRESSION_ENABLED);
+        this.compressionThreshold = serverContext.properties().getInteger(SOCKET_COMPRESSION_THRESHOLD);
     }
 
     @Override
@@ -159,6 +185,32 @@ public class TcpServerConnectionManager
         return endpointQualifier;
     }
 
+    /**
+     * Checks if the connections opened by this member should be compressed.
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Creates the handler compressing the outbound bytes of a compressed
+     * connection. The bytes are compressed only if the compression is enabled
+     * on this member, otherwise they are only framed as the other side of the
+     * connection expects.
+     */
+    public CompressionEncoder newCompressionEncoder() {
+        int threshold = compressionEnabled ? compressionThreshold : Integer.MAX_VALUE;
+        return new CompressionEncoder(threshold, compressionRawBytesWritten, compressionBytesWritten);
+    }
+
+    /**
+     * Creates the handler decompressing the inbound bytes of a compressed
+     * connection.
+     */
+    public CompressionDecoder newCompressionDecoder() {
+        return new CompressionDecoder(compressionBytesRead, compressionRawBytesRead);
+    }
+
     public Collection<ServerConnection> getActiveConnections() {
         return unmodifiableSet(connections);
     }
@@ -25,6 +25,7 @@ import com.hazelcast.internal.auditlog.impl.AuditlogTypeIds;
 import com.hazelcast.internal.networking.ChannelOptions;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.InboundHandler;
+import com.hazelcast.internal.networking.compression.CompressionDecoder;
 import com.hazelcast.internal.nio.ConnectionType;
 import com.hazelcast.internal.nio.Protocols;
 import com.hazelcast.internal.nio.ascii.MemcacheTextDecoder;
@@ -44,7 +45,9 @@ import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
 import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
 import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.CLUSTER;
+import static com.hazelcast.internal.nio.Protocols.CLUSTER_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
 import static com.hazelcast.internal.server.ServerContext.KILO_BYTE;
 import static com.hazelcast.internal.util.StringUtil.bytesToString;
@@ -96,10 +99,10 @@ public class UnifiedProtocolDecoder
                 .level(Level.DEBUG)
                 .addParameter("protocol", protocol)
                 .log();
-            if (CLUSTER.equals(protocol)) {
-                initChannelForCluster();
-            } else if (CLIENT_BINARY.equals(protocol)) {
-                initChannelForClient();
+            if (CLUSTER.equals(protocol) || CLUSTER_COMPRESSED.equals(protocol)) {
+                initChannelForCluster(CLUSTER_COMPRESSED.equals(protocol));
+            } else if (CLIENT_BINARY.equals(protocol) || CLIENT_BINARY_COMPRESSED.equals(protocol)) {
+                initChannelForClient(CLIENT_BINARY_COMPRESSED.equals(protocol));
             } else if (RestApiTextDecoder.TEXT_PARSERS.isCommandPrefix(protocol)) {
                 RestApiConfig restApiConfig = serverContext.getRestApiConfig();
                 if (!restApiConfig.isEnabledAndNotEmpty()) {
@@ -137,23 +140,36 @@ public class UnifiedProtocolDecoder
         return bytesToString(protocolBytes);
     }
 
-    private void initChannelForCluster() {
+    private void initChannelForCluster(boolean compressed) {
         channel.options()
                 .setOption(SO_SNDBUF, props.getInteger(SOCKET_RECEIVE_BUFFER_SIZE) * KILO_BYTE);
 
-        ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
+        TcpServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
         connection.setConnectionType(ConnectionType.MEMBER);
-        channel.inboundPipeline().replace(this, serverContext.createInboundHandlers(EndpointQualifier.MEMBER, connection));
+        InboundHandler[] handlers = serverContext.createInboundHandlers(EndpointQualifier.MEMBER, connection);
+        if (compressed) {
+            InboundHandler[] compressedHandlers = new InboundHandler[handlers.length + 1];
+            compressedHandlers[0] = connection.getConnectionManager().newCompressionDecoder();
+            System.arraycopy(handlers, 0, compressedHandlers, 1, handlers.length);
+            handlers = compressedHandlers;
+        }
+        channel.inboundPipeline().replace(this, handlers);
     }
 
-    private void initChannelForClient() {
+    private void initChannelForClient(boolean compressed) {
         channel.options()
                 .setOption(SO_RCVBUF, clientRcvBuf())
                 // clients dont support direct buffers
                 .setOption(DIRECT_BUF, false);
 
-        ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
-        channel.inboundPipeline().replace(this, new ClientMessageDecoder(connection, serverContext.getClientEngine(), props));
+        TcpServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
+        ClientMessageDecoder decoder = new ClientMessageDecoder(connection, serverContext.getClientEngine(), props);
+        if (compressed) {
+            CompressionDecoder compressionDecoder = connection.getConnectionManager().newCompressionDecoder();
+            channel.inboundPipeline().replace(this, compressionDecoder, decoder);
+        } else {
+            channel.inboundPipeline().replace(this, decoder);
+        }
     }
 
     private void initChannelForText(String protocol, boolean restApi) {
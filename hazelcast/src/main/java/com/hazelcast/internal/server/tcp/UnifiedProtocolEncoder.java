@@ -26,18 +26,22 @@ import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
 import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.CLUSTER;
+import static com.hazelcast.internal.nio.Protocols.CLUSTER_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
 import static com.hazelcast.internal.nio.ascii.TextEncoder.TEXT_ENCODER;
 import static com.hazelcast.internal.server.ServerContext.KILO_BYTE;
 import static com.hazelcast.internal.util.StringUtil.stringToBytes;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_CLIENT_SEND_BUFFER_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_COMPRESSION_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_SEND_BUFFER_SIZE;
 
 /**
@@ -48,6 +52,10 @@ import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_SEND_BUFFER_SI
  * write the cluster protocol immediately. The ProtocolEncoder on the 'server' side
  * of the connection will wait till it has received the protocol and then will only
  * send the protocol if the client side was a member.
+ *
+ * If the compression is enabled, the 'client' side of a member connection writes
+ * the compressed cluster protocol instead and the 'server' side echoes it, so both
+ * sides of the connection add the compression handlers to their pipelines.
  */
 public class UnifiedProtocolEncoder
         extends OutboundHandler<Void, ByteBuffer> {
@@ -68,7 +76,7 @@ public class UnifiedProtocolEncoder
 
         if (channel.isClientMode()) {
             // from the clientSide of a connection, we always send the cluster protocol to a fellow member.
-            inboundProtocol = CLUSTER;
+            inboundProtocol = props.getBoolean(SOCKET_COMPRESSION_ENABLED) ? CLUSTER_COMPRESSED : CLUSTER;
         }
     }
 
@@ -94,12 +102,12 @@ public class UnifiedProtocolEncoder
                 return CLEAN;
             }
 
-            if (CLUSTER.equals(inboundProtocol)) {
+            if (CLUSTER.equals(inboundProtocol) || CLUSTER_COMPRESSED.equals(inboundProtocol)) {
                 // in case of a member, the cluster protocol needs to be send first before initializing the channel.
 
                 if (!clusterProtocolBuffered) {
                     clusterProtocolBuffered = true;
-                    dst.put(stringToBytes(CLUSTER));
+                    dst.put(stringToBytes(inboundProtocol));
                     // Return false because ProtocolEncoder is not ready yet; but first we need to flush protocol
                     return DIRTY;
                 }
@@ -109,10 +117,10 @@ public class UnifiedProtocolEncoder
                     return DIRTY;
                 }
 
-                initChannelForCluster();
-            } else if (CLIENT_BINARY.equals(inboundProtocol)) {
+                initChannelForCluster(CLUSTER_COMPRESSED.equals(inboundProtocol));
+            } else if (CLIENT_BINARY.equals(inboundProtocol) || CLIENT_BINARY_COMPRESSED.equals(inboundProtocol)) {
                 // in case of a client, the member will not send the member protocol
-                initChannelForClient();
+                initChannelForClient(CLIENT_BINARY_COMPRESSED.equals(inboundProtocol));
             } else {
                 // in case of a text-client, the member will not send the member protocol
                 initChannelForText();
@@ -136,20 +144,30 @@ public class UnifiedProtocolEncoder
         return dst.position() == 0;
     }
 
-    private void initChannelForCluster() {
+    private void initChannelForCluster(boolean compressed) {
         channel.options()
                 .setOption(SO_SNDBUF, props.getInteger(SOCKET_SEND_BUFFER_SIZE) * KILO_BYTE);
 
-        ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
+        TcpServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
         OutboundHandler[] handlers = serverContext.createOutboundHandlers(EndpointQualifier.MEMBER, connection);
+        if (compressed) {
+            handlers = Arrays.copyOf(handlers, handlers.length + 1);
+            handlers[handlers.length - 1] = connection.getConnectionManager().newCompressionEncoder();
+        }
         channel.outboundPipeline().replace(this, handlers);
     }
 
-    private void initChannelForClient() {
+    private void initChannelForClient(boolean compressed) {
         channel.options()
                 .setOption(SO_SNDBUF, clientSndBuf());
 
-        channel.outboundPipeline().replace(this, new ClientMessageEncoder());
+        if (compressed) {
+            TcpServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
+            channel.outboundPipeline().replace(this, new ClientMessageEncoder(),
+                    connection.getConnectionManager().newCompressionEncoder());
+        } else {
+            channel.outboundPipeline().replace(this, new ClientMessageEncoder());
+        }
     }
 
     private void initChannelForText() {
@@ -18,6 +18,7 @@ package com.hazelcast.internal.util;
 
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 
@@ -74,7 +75,7 @@ public final class SortingUtil {
         checkIfComparable(comparable1);
         checkIfComparable(comparable2);
 
-        int result = ((Comparable) comparable1).compareTo(comparable2);
+        int result = Comparables.compare((Comparable) comparable1, (Comparable) comparable2);
         if (result != 0) {
             return result;
         }
@@ -29,6 +29,8 @@ public final class ValueComparatorUtil {
     public static ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat) {
         switch (inMemoryFormat) {
             case BINARY:
+            case OFF_HEAP:
+            case COMPACT:
                 return BinaryValueComparator.INSTANCE;
             case OBJECT:
                 return ObjectValueComparator.INSTANCE;
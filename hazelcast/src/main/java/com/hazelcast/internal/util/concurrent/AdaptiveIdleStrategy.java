@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.SwCounter;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.IDLE_STRATEGY_METRIC_BLOCK_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.IDLE_STRATEGY_METRIC_IDLE_ROUNDS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.IDLE_STRATEGY_METRIC_PARK_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.IDLE_STRATEGY_METRIC_SPIN_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.IDLE_STRATEGY_METRIC_YIELD_COUNT;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+
+/**
+ * Idling strategy for threads that are able to block until they have work
+ * to do, e.g. by parking until they get unparked or by blocking on a selector.
+ * <p>
+ * It idles like a {@link BackoffIdleStrategy} for a number of rounds before
+ * {@link #idle(long)} returns true, which tells the thread to block. The
+ * number of rounds adapts to the load: it's doubled each time work arrived
+ * before the thread blocked, and it's halved each time the thread blocked.
+ * So under high load the thread spins, yields and parks to avoid paying for
+ * being woken up, and when the load is low it blocks almost right away,
+ * without burning CPU.
+ * <p>
+ * An instance keeps track of the idle rounds of a single thread, so it can't
+ * be shared between threads.
+ */
+public class AdaptiveIdleStrategy implements IdleStrategy {
+
+    private static final int ARG_COUNT = 5;
+    private static final int ARG_MAX_SPINS = 1;
+    private static final int ARG_MAX_YIELDS = 2;
+    private static final int ARG_MIN_PARK_PERIOD = 3;
+    private static final int ARG_MAX_PARK_PERIOD = 4;
+
+    @Probe(name = IDLE_STRATEGY_METRIC_SPIN_COUNT)
+    private final SwCounter spinCount = newSwCounter();
+    @Probe(name = IDLE_STRATEGY_METRIC_YIELD_COUNT)
+    private final SwCounter yieldCount = newSwCounter();
+    @Probe(name = IDLE_STRATEGY_METRIC_PARK_COUNT)
+    private final SwCounter parkCount = newSwCounter();
+    @Probe(name = IDLE_STRATEGY_METRIC_BLOCK_COUNT)
+    private final SwCounter blockCount = newSwCounter();
+
+    private final BackoffIdleStrategy backoff;
+    private final long maxIdleRounds;
+
+    // the number of rounds to idle before blocking
+    @Probe(name = IDLE_STRATEGY_METRIC_IDLE_ROUNDS)
+    private volatile long idleRounds = 1;
+    // if the thread blocked since work was done last
+    private boolean blocked;
+
+    /**
+     * Creates a new AdaptiveIdleStrategy. The thread never idles for more
+     * rounds than it takes the {@link BackoffIdleStrategy} created with the
+     * given arguments to reach its longest park period.
+     *
+     * @param maxSpins        to perform before moving to {@link Thread#yield()}
+     * @param maxYields       to perform before moving to {@link LockSupport#parkNanos(long)}
+     * @param minParkPeriodNs to use when initiating parking
+     * @param maxParkPeriodNs to use when parking
+     */
+    public AdaptiveIdleStrategy(long maxSpins, long maxYields, long minParkPeriodNs, long maxParkPeriodNs) {
+        this.backoff = new BackoffIdleStrategy(maxSpins, maxYields, minParkPeriodNs, maxParkPeriodNs);
+        this.maxIdleRounds = backoff.parkThreshold + backoff.maxShift + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return true if the thread should block until it has work to do.
+     */
+    @Override
+    public boolean idle(long n) {
+        if (n == 0) {
+            adapt();
+        }
+
+        if (n >= idleRounds) {
+            blocked = true;
+            blockCount.inc();
+            return true;
+        }
+
+        if (n < backoff.yieldThreshold) {
+            spinCount.inc();
+        } else if (n < backoff.parkThreshold) {
+            yieldCount.inc();
+        } else {
+            parkCount.inc();
+        }
+        backoff.idle(n);
+        return false;
+    }
+
+    // adapts the number of idle rounds to the outcome of the previous idle period
+    private void adapt() {
+        long rounds = idleRounds;
+        idleRounds = blocked ? max(rounds >> 1, 1) : min(rounds << 1, maxIdleRounds);
+        blocked = false;
+    }
+
+    long idleRounds() {
+        return idleRounds;
+    }
+
+    /**
+     * Creates a new AdaptiveIdleStrategy.
+     *
+     * @param config the configuration in the {@code adaptive,maxSpins,maxYields,minParkNs,maxParkNs} format
+     */
+    public static AdaptiveIdleStrategy createAdaptiveIdleStrategy(String config) {
+        String[] args = config.split(",");
+        if (args.length != ARG_COUNT) {
+            throw new IllegalArgumentException(
+                    format("Invalid adaptive configuration '%s', 4 arguments expected", config));
+        }
+        long maxSpins = parseLong(args[ARG_MAX_SPINS]);
+        long maxYields = parseLong(args[ARG_MAX_YIELDS]);
+        long minParkPeriodNs = parseLong(args[ARG_MIN_PARK_PERIOD]);
+        long maxParkNanos = parseLong(args[ARG_MAX_PARK_PERIOD]);
+        return new AdaptiveIdleStrategy(maxSpins, maxYields, minParkPeriodNs, maxParkNanos);
+    }
+}
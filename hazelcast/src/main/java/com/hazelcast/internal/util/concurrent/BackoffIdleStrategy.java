@@ -44,7 +44,7 @@ public class BackoffIdleStrategy implements IdleStrategy {
     final long parkThreshold;
     final long minParkPeriodNs;
     final long maxParkPeriodNs;
-    private final int maxShift;
+    final int maxShift;
 
     /**
      * Create a set of state tracking idle behavior
@@ -48,6 +48,7 @@ public final class MPSCQueue<E> extends AbstractQueue<E> implements BlockingQueu
     final AtomicReference<Node> putStack = new AtomicReference<>();
     private final AtomicInteger takeStackSize = new AtomicInteger();
     private final IdleStrategy idleStrategy;
+    private final boolean blockWhenIdle;
 
     private Thread consumerThread;
     private Object[] takeStack = new Object[INITIAL_ARRAY_SIZE];
@@ -58,20 +59,24 @@ public final class MPSCQueue<E> extends AbstractQueue<E> implements BlockingQueu
      *
      * @param consumerThread the Thread that consumes the items.
      * @param idleStrategy   the idleStrategy. If null, this consumer will block if the queue is empty.
+     *                       If it's an {@link AdaptiveIdleStrategy}, the consumer will block once it's
+     *                       done idling.
      * @throws NullPointerException when consumerThread is null.
      */
     public MPSCQueue(Thread consumerThread, IdleStrategy idleStrategy) {
+        this(idleStrategy);
         this.consumerThread = checkNotNull(consumerThread, "consumerThread can't be null");
-        this.idleStrategy = idleStrategy;
     }
 
     /**
      * Creates a new {@link MPSCQueue} with the provided {@link IdleStrategy}.
      *
-     * @param idleStrategy the idleStrategy. If null, the consumer will block.
+     * @param idleStrategy the idleStrategy. If null, the consumer will block. If it's an
+     *                     {@link AdaptiveIdleStrategy}, the consumer will block once it's done idling.
      */
     public MPSCQueue(IdleStrategy idleStrategy) {
         this.idleStrategy = idleStrategy;
+        this.blockWhenIdle = idleStrategy instanceof AdaptiveIdleStrategy;
     }
 
     /**
@@ -215,8 +220,11 @@ public final class MPSCQueue<E> extends AbstractQueue<E> implements BlockingQueu
 
             if (currentPutStackHead == null) {
                 if (idleStrategy != null) {
-                    idleStrategy.idle(iteration);
-                    continue;
+                    boolean block = idleStrategy.idle(iteration) && blockWhenIdle;
+                    iteration++;
+                    if (!block) {
+                        continue;
+                    }
                 }
 
                 // there is nothing to be take, so lets block.
@@ -2526,14 +2526,21 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, BaseMap<K, V> {
      * <b>Time to Index</b>
      * <p>
      * Indexing time is executed in parallel on each partition by operation threads. The Map
-     * is not blocked during this operation.
+     * is not blocked during this operation: a large partition is indexed in slices of
+     * {@link ClusterProperty#INDEX_BUILD_SLICE_SIZE} entries, letting other operations of the
+     * partition run between the slices.
      * <p>
      * The time taken in proportional to the size of the Map and the number Members.
      * <p>
+     * This method returns once the index is registered and the first slice of every partition
+     * is indexed. The remaining slices are indexed in the background, so the index may still be
+     * under construction when this method returns.
+     * <p>
      * <b>Searches while indexes are being built</b>
      * <p>
-     * Until the index finishes being created, any searches for the attribute will use a full Map scan,
-     * thus avoiding using a partially built index and returning incorrect results.
+     * Until the index finishes being created in every partition, any searches for the attribute
+     * will use a full Map scan, thus avoiding using a partially built index and returning incorrect
+     * results.
      *
      * @param indexConfig Index configuration.
      */
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.cluster.Address;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.internal.cluster.ClusterService;
@@ -48,6 +49,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.config.InMemoryFormat.OFF_HEAP;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -224,7 +226,7 @@ public class LocalMapStatsProvider {
         onDemandStats.incrementHits(stats.getHits());
         onDemandStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getOwnedEntryCost());
-        if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
+        if (isOnHeap(recordStore)) {
             onDemandStats.incrementHeapCost(recordStore.getOwnedEntryCost());
         }
         onDemandStats.incrementOwnedEntryCount(recordStore.size());
@@ -258,7 +260,7 @@ public class LocalMapStatsProvider {
             }
         }
 
-        if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
+        if (isOnHeap(recordStore)) {
             onDemandStats.incrementHeapCost(backupEntryMemoryCost);
         }
         onDemandStats.incrementBackupEntryMemoryCost(backupEntryMemoryCost);
@@ -266,6 +268,11 @@ public class LocalMapStatsProvider {
         onDemandStats.setBackupCount(recordStore.getMapContainer().getMapConfig().getTotalBackupCount());
     }
 
+    private static boolean isOnHeap(RecordStore recordStore) {
+        InMemoryFormat inMemoryFormat = recordStore.getMapContainer().getMapConfig().getInMemoryFormat();
+        return inMemoryFormat != NATIVE && inMemoryFormat != OFF_HEAP;
+    }
+
     private static boolean hasRecords(RecordStore recordStore) {
         return recordStore != null && recordStore.size() > 0;
     }
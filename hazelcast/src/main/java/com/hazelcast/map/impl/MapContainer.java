@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.InvalidConfigurationException;
 import com.hazelcast.config.MapConfig;
@@ -42,8 +43,10 @@ import com.hazelcast.map.impl.eviction.EvictorImpl;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
+import com.hazelcast.map.impl.record.CompactRecordFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.partition.PartitioningStrategy;
@@ -63,7 +66,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static com.hazelcast.config.ConsistencyCheckStrategy.MERKLE_TREES;
+import static com.hazelcast.config.InMemoryFormat.COMPACT;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.config.InMemoryFormat.OFF_HEAP;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
@@ -178,8 +183,9 @@ MapContainer {
     }
 
     public boolean shouldUseGlobalIndex() {
-        // for non-native memory populate a single global index
-        return !mapConfig.getInMemoryFormat().equals(NATIVE);
+        // for on-heap memory populate a single global index
+        InMemoryFormat inMemoryFormat = mapConfig.getInMemoryFormat();
+        return inMemoryFormat != NATIVE && inMemoryFormat != OFF_HEAP && inMemoryFormat != COMPACT;
     }
 
     protected static MemoryInfoAccessor getMemoryInfoAccessor() {
@@ -208,6 +214,10 @@ MapContainer {
                     return new DataRecordFactory(mapConfig, serializationService);
                 case OBJECT:
                     return new ObjectRecordFactory(mapConfig, serializationService);
+                case OFF_HEAP:
+                    return new OffHeapRecordFactory(serializationService);
+                case COMPACT:
+                    return new CompactRecordFactory(mapConfig, serializationService);
                 default:
                     throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
             }
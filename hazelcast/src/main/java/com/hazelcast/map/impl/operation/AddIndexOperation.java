@@ -17,11 +17,17 @@
 package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.config.IndexConfig;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
+import com.hazelcast.map.impl.recordstore.Storage;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.impl.Index;
@@ -29,10 +35,12 @@ import com.hazelcast.query.impl.IndexUtils;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationservice.BackupAwareOperation;
 import com.hazelcast.spi.impl.operationservice.MutatingOperation;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import java.io.IOException;
 
@@ -89,17 +97,8 @@ public class AddIndexOperation extends MapOperation
             return;
         }
 
-        SerializationService serializationService = getNodeEngine().getSerializationService();
-
-        recordStore.forEach((dataKey, record) -> {
-            Object value = Records.getValueOrCachedValue(record, serializationService);
-            QueryableEntry queryEntry = mapContainer.newQueryEntry(dataKey, value);
-            queryEntry.setRecord(record);
-            queryEntry.setStoreAdapter(recordStoreAdapter);
-            index.putEntry(queryEntry, null, Index.OperationSource.USER);
-        }, false);
-
-        index.markPartitionAsIndexed(partitionId);
+        int sliceSize = getNodeEngine().getProperties().getInteger(ClusterProperty.INDEX_BUILD_SLICE_SIZE);
+        new IndexBuildTask(index, recordStoreAdapter, sliceSize).run();
     }
 
     @Override
@@ -124,4 +123,80 @@ public class AddIndexOperation extends MapOperation
         return MapDataSerializerHook.ADD_INDEX;
     }
 
+
+    /**
+     * Populates the index with the entries of the partition in slices of a
+     * bounded size. Every slice runs on the partition thread and the next one
+     * is queued behind the operations submitted to the partition in the
+     * meantime, so indexing a large partition doesn't stall them.
+     * <p>
+     * Entries mutated between the slices are already reflected in the index
+     * by the mutation observer of the record store, since the index is
+     * registered before the first slice runs. Queries don't use the index
+     * until it's marked as indexed in all the partitions.
+     * <p>
+     * The operation responds after the first slice, so the caller of
+     * {@code IMap.addIndex} doesn't wait for the remaining slices.
+     */
+    private final class IndexBuildTask implements PartitionSpecificRunnable {
+
+        private final InternalIndex index;
+        private final RecordStoreAdapter recordStoreAdapter;
+        private final int sliceSize;
+
+        private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+
+        IndexBuildTask(InternalIndex index, RecordStoreAdapter recordStoreAdapter, int sliceSize) {
+            this.index = index;
+            this.recordStoreAdapter = recordStoreAdapter;
+            this.sliceSize = sliceSize;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return AddIndexOperation.this.getPartitionId();
+        }
+
+        @Override
+        public void run() {
+            int partitionId = getPartitionId();
+            if (index.hasPartitionIndexed(partitionId) || !ownsRecordStore(partitionId)) {
+                // populated by a migration or a concurrent build, or the
+                // partition data is gone
+                return;
+            }
+
+            SerializationService serializationService = getNodeEngine().getSerializationService();
+            Storage storage = recordStore.getStorage();
+            long now = Clock.currentTimeMillis();
+
+            MapKeysWithCursor cursor = recordStore.fetchKeys(pointers, sliceSize);
+            for (Data key : cursor.getBatch()) {
+                Record record = recordStore.getRecord(key);
+                if (record == null || recordStore.isExpired(record, now, false)) {
+                    continue;
+                }
+
+                Object value = Records.getValueOrCachedValue(record, serializationService);
+                QueryableEntry queryEntry = mapContainer.newQueryEntry(storage.toBackingDataKeyFormat(key), value);
+                queryEntry.setRecord(record);
+                queryEntry.setStoreAdapter(recordStoreAdapter);
+                index.putEntry(queryEntry, null, Index.OperationSource.USER);
+            }
+
+            pointers = cursor.getIterationPointers();
+            if (pointers[pointers.length - 1].getIndex() < 0) {
+                index.markPartitionAsIndexed(partitionId);
+            } else {
+                getNodeEngine().getOperationService().execute(this);
+            }
+        }
+
+        private boolean ownsRecordStore(int partitionId) {
+            return getNodeEngine().getPartitionService().isPartitionOwner(partitionId)
+                    && mapServiceContext.getExistingRecordStore(partitionId, name) == recordStore;
+        }
+
+    }
+
 }
@@ -340,6 +340,8 @@ public class EntryOperation extends LockAwareOperation
                 case OBJECT:
                     return serializationService.toData(oldValue);
                 case BINARY:
+                case OFF_HEAP:
+                case COMPACT:
                     return oldValue;
                 default:
                     throw new IllegalArgumentException("Unknown in memory format: " + inMemoryFormat);
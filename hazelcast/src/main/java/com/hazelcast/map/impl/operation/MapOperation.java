@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.internal.nearcache.impl.invalidation.Invalidator;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.services.ObjectNamespace;
@@ -43,7 +44,9 @@ import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.logging.Level;
 
+import static com.hazelcast.config.InMemoryFormat.COMPACT;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.config.InMemoryFormat.OFF_HEAP;
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
@@ -146,7 +149,8 @@ public abstract class MapOperation extends AbstractNamedOperation
             return;
         }
 
-        assert mapContainer.getMapConfig().getInMemoryFormat() != NATIVE
+        InMemoryFormat inMemoryFormat = mapContainer.getMapConfig().getInMemoryFormat();
+        assert (inMemoryFormat != NATIVE && inMemoryFormat != OFF_HEAP && inMemoryFormat != COMPACT)
                 || getPartitionId() != GENERIC_PARTITION_ID
                 : "Native memory backed map operations are not allowed to run on GENERIC_PARTITION_ID";
     }
@@ -44,7 +44,9 @@ public class PartitionWideEntryBackupOperation extends AbstractMultipleEntryBack
 
     @Override
     protected void runInternal() {
-        if (mapContainer.getMapConfig().getInMemoryFormat() == InMemoryFormat.NATIVE) {
+        InMemoryFormat inMemoryFormat = mapContainer.getMapConfig().getInMemoryFormat();
+        if (inMemoryFormat == InMemoryFormat.NATIVE || inMemoryFormat == InMemoryFormat.OFF_HEAP
+                || inMemoryFormat == InMemoryFormat.COMPACT) {
             runWithPartitionScanForNative();
         } else {
             runWithPartitionScan();
@@ -85,7 +85,9 @@ public class PartitionWideEntryOperation extends MapOperation
 
     @Override
     protected void runInternal() {
-        if (mapContainer.getMapConfig().getInMemoryFormat() == InMemoryFormat.NATIVE) {
+        InMemoryFormat inMemoryFormat = mapContainer.getMapConfig().getInMemoryFormat();
+        if (inMemoryFormat == InMemoryFormat.NATIVE || inMemoryFormat == InMemoryFormat.OFF_HEAP
+                || inMemoryFormat == InMemoryFormat.COMPACT) {
             runForNative();
         } else {
             runWithPartitionScan();
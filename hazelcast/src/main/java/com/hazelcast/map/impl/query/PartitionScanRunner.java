@@ -23,6 +23,7 @@ import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.MapContainer;
@@ -30,6 +31,7 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.StoreAdapter;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
@@ -76,51 +78,66 @@ public class PartitionScanRunner {
         this.clusterService = nodeEngine.getClusterService();
     }
 
-    @SuppressWarnings("unchecked")
     public void run(String mapName, Predicate predicate, int partitionId, Result result) {
-        PagingPredicateImpl pagingPredicate = predicate instanceof PagingPredicateImpl
-                ? (PagingPredicateImpl) predicate : null;
-
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
-        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
         RecordStore<Record> recordStore = partitionContainer.getRecordStore(mapName);
-        boolean nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
-        boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
-        Extractors extractors = mapServiceContext.getExtractors(mapName);
-        StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
-        Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
-                pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
-
-        recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
-            LazyMapEntry queryEntry = new LazyMapEntry();
-
-            @Override
-            public void accept(Data key, Record record) {
-                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
-                // TODO how can a value be null?
-                if (value == null) {
-                    return;
-                }
+        ScanConsumer consumer = new ScanConsumer(mapName, predicate, partitionId, recordStore, result);
 
-                queryEntry.init(ss, key, value, extractors);
-                queryEntry.setRecord(record);
-                queryEntry.setStoreAdapter(storeAdapter);
-                queryEntry.setMetadata(PartitionScanRunner.this.getMetadataFromRecord(recordStore, key, record));
+        recordStore.forEachAfterLoad(consumer, false);
+        consumer.complete();
+    }
 
-                if (predicate.apply(queryEntry)
-                        && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+    /**
+     * Fetches the keys of a partition slice. The offset in the partition is
+     * defined by the {@code pointers} and the soft limit is defined by the
+     * {@code size}. Passing {@code null} pointers starts the iteration, the
+     * first slice waits for the partition data to be loaded.
+     * <p>
+     * Used to split a scan of a large partition into slices, which are then
+     * executed by {@link #run(String, Predicate, int, Collection, Result)},
+     * possibly by different threads.
+     *
+     * @param mapName     the map name
+     * @param partitionId the partition which is scanned
+     * @param pointers    the pointers defining the state of iteration or {@code null}
+     * @param size        the soft limit for the number of keys to fetch
+     * @return the fetched keys and the pointers from which the next slice can be fetched
+     */
+    public MapKeysWithCursor fetchSlice(String mapName, int partitionId, IterationPointer[] pointers, int size) {
+        PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
+        RecordStore recordStore = partitionContainer.getRecordStore(mapName);
+        if (pointers == null) {
+            recordStore.checkIfLoaded();
+            pointers = new IterationPointer[]{new IterationPointer(Integer.MAX_VALUE, -1)};
+        }
+        return recordStore.fetchKeys(pointers, size);
+    }
 
-                    // always copy key&value to heap if map is backed by native memory
-                    value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
+    /**
+     * Executes the predicate on the entries of the given partition slice
+     * fetched by {@link #fetchSlice} and adds the matching entries to the
+     * {@code result}. Entries removed or expired since the slice was fetched
+     * are skipped.
+     *
+     * @param mapName     the map name
+     * @param predicate   the predicate which the entries must match
+     * @param partitionId the partition which is scanned
+     * @param keys        the keys of the slice
+     * @param result      the result to add the matching entries to
+     */
+    public void run(String mapName, Predicate predicate, int partitionId, Collection<Data> keys, Result result) {
+        PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
+        RecordStore<Record> recordStore = partitionContainer.getRecordStore(mapName);
+        ScanConsumer consumer = new ScanConsumer(mapName, predicate, partitionId, recordStore, result);
 
-                    // We can't reuse the existing entry after it was added to the
-                    // result. Allocate the new one.
-                    queryEntry = new LazyMapEntry();
-                }
+        long now = Clock.currentTimeMillis();
+        for (Data key : keys) {
+            Record record = recordStore.getRecord(key);
+            if (record != null && !recordStore.isExpired(record, now, false)) {
+                consumer.accept(key, record);
             }
-        }, false);
-        result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+        consumer.complete();
     }
 
     // overridden in ee
@@ -188,4 +205,63 @@ public class PartitionScanRunner {
                 return mapContainer.getIndexes(partitionId).haveAtLeastOneIndex();
         }
     }
+
+    private final class ScanConsumer implements BiConsumer<Data, Record> {
+
+        private final Predicate predicate;
+        private final PagingPredicateImpl pagingPredicate;
+        private final Map.Entry<Integer, Map.Entry> nearestAnchorEntry;
+        private final RecordStore<Record> recordStore;
+        private final Result result;
+        private final boolean nativeMemory;
+        private final boolean useCachedValues;
+        private final Extractors extractors;
+        private final StoreAdapter storeAdapter;
+
+        private LazyMapEntry queryEntry = new LazyMapEntry();
+
+        ScanConsumer(String mapName, Predicate predicate, int partitionId, RecordStore<Record> recordStore, Result result) {
+            this.predicate = predicate;
+            this.pagingPredicate = predicate instanceof PagingPredicateImpl ? (PagingPredicateImpl) predicate : null;
+            this.nearestAnchorEntry = pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+            this.recordStore = recordStore;
+            this.result = result;
+            this.nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
+            this.useCachedValues = isUseCachedDeserializedValuesEnabled(mapServiceContext.getMapContainer(mapName), partitionId);
+            this.extractors = mapServiceContext.getExtractors(mapName);
+            this.storeAdapter = new RecordStoreAdapter(recordStore);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void accept(Data key, Record record) {
+            Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
+            // TODO how can a value be null?
+            if (value == null) {
+                return;
+            }
+
+            queryEntry.init(ss, key, value, extractors);
+            queryEntry.setRecord(record);
+            queryEntry.setStoreAdapter(storeAdapter);
+            queryEntry.setMetadata(getMetadataFromRecord(recordStore, key, record));
+
+            if (predicate.apply(queryEntry)
+                    && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+
+                // always copy key&value to heap if map is backed by native memory
+                value = nativeMemory ? toHeapData((Data) value) : value;
+                result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
+
+                // We can't reuse the existing entry after it was added to the
+                // result. Allocate the new one.
+                queryEntry = new LazyMapEntry();
+            }
+        }
+
+        void complete() {
+            result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+
+    }
 }
@@ -89,6 +89,8 @@ public class QueryOperation extends AbstractNamedOperation implements ReadonlyOp
                 result = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query);
                 return RESPONSE;
             case NATIVE:
+            case OFF_HEAP:
+            case COMPACT:
                 BitSet localPartitions = localPartitions();
                 if (localPartitions.cardinality() == 0) {
                     // important to deal with situation of not having any partitions
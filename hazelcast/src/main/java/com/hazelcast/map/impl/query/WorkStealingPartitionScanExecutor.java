@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.util.executor.ManagedExecutorService;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntriesSegment;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.util.FutureUtil.RETHROW_EVERYTHING;
+import static com.hazelcast.internal.util.FutureUtil.returnWithDeadline;
+import static com.hazelcast.internal.util.SetUtil.singletonPartitionIdSet;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Implementation of the {@link PartitionScanExecutor} which splits the partition scan into slices of a bounded
+ * size and executes them in parallel on the underlying executor.
+ * <p>
+ * A query schedules at most as many workers as the executor has threads, and the calling thread works on the
+ * query too. The workers of a query share its slices: a worker fetching a slice of a partition publishes the
+ * rest of the partition before scanning the slice, so idle workers steal it and a large partition is scanned
+ * by several threads at once. A worker gives up its thread once it has used up the time budget of a single
+ * run and queues itself again, so the scan of a large query is interleaved with the scans of other queries
+ * sharing the executor instead of starving them. The calling thread stops taking slices once the query timeout
+ * has elapsed, so the timeout bounds the query up to the scan of a single slice.
+ */
+public class WorkStealingPartitionScanExecutor implements PartitionScanExecutor {
+
+    static final int DEFAULT_SLICE_SIZE = 1024;
+    static final long DEFAULT_TIME_BUDGET_NANOS = MILLISECONDS.toNanos(5);
+
+    private final PartitionScanRunner partitionScanRunner;
+    private final ManagedExecutorService executor;
+    private final int timeoutInMillis;
+    private final int sliceSize;
+    private final long timeBudgetNanos;
+
+    public WorkStealingPartitionScanExecutor(PartitionScanRunner partitionScanRunner,
+                                             ManagedExecutorService executor,
+                                             int timeoutInMillis) {
+        this(partitionScanRunner, executor, timeoutInMillis, DEFAULT_SLICE_SIZE, DEFAULT_TIME_BUDGET_NANOS);
+    }
+
+    WorkStealingPartitionScanExecutor(PartitionScanRunner partitionScanRunner,
+                                      ManagedExecutorService executor,
+                                      int timeoutInMillis, int sliceSize, long timeBudgetNanos) {
+        this.partitionScanRunner = partitionScanRunner;
+        this.executor = executor;
+        this.timeoutInMillis = timeoutInMillis;
+        this.sliceSize = sliceSize;
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void execute(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+        if (!partitions.isEmpty()) {
+            long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeoutInMillis);
+            Scan scan = new Scan(mapName, predicate, partitions, result);
+            try {
+                scan.start(deadline);
+                long remainingNanos = deadline - System.nanoTime();
+                returnWithDeadline(singletonList(scan.future), remainingNanos, NANOSECONDS, RETHROW_EVERYTHING);
+            } finally {
+                // stops the workers if the scan failed or timed out
+                scan.future.complete(null);
+            }
+
+            for (Result subResult : scan.subResults) {
+                result.combine(subResult);
+            }
+        }
+
+        if (predicate instanceof PagingPredicateImpl) {
+            PagingPredicateImpl pagingPredicate = (PagingPredicateImpl) predicate;
+            Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicate.getNearestAnchorEntry();
+            result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Parallel execution for a partition chunk query is not supported.
+     */
+    @Override
+    public QueryableEntriesSegment execute(
+            String mapName, Predicate predicate, int partitionId,
+            IterationPointer[] pointers, int fetchSize) {
+        return partitionScanRunner.run(mapName, predicate, partitionId, pointers, fetchSize);
+    }
+
+    /**
+     * The not yet scanned part of a partition.
+     */
+    private static final class Slice {
+        private final int partitionId;
+        private final IterationPointer[] pointers;
+
+        private Slice(int partitionId, IterationPointer[] pointers) {
+            this.partitionId = partitionId;
+            this.pointers = pointers;
+        }
+    }
+
+    /**
+     * The state of a single query scan shared by its workers.
+     */
+    private final class Scan {
+        private final String mapName;
+        private final Predicate predicate;
+        private final Result result;
+        private final int partitionCount;
+
+        private final Deque<Slice> slices = new ConcurrentLinkedDeque<>();
+        private final Queue<Result> subResults = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingSlices;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private volatile RetryableHazelcastException retryableException;
+
+        private Scan(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.result = result;
+            this.partitionCount = partitionScanRunner.partitionService.getPartitionCount();
+            for (Integer partitionId : partitions) {
+                slices.add(new Slice(partitionId, null));
+            }
+            this.pendingSlices = new AtomicInteger(slices.size());
+        }
+
+        private void start(long deadline) {
+            int workers = Math.min(executor.getMaximumPoolSize(), slices.size());
+            for (int i = 0; i < workers; ++i) {
+                try {
+                    executor.execute(new Worker(this));
+                } catch (RejectedExecutionException e) {
+                    // the calling thread and the already scheduled workers scan the rest
+                    break;
+                }
+            }
+
+            // the calling thread has nothing else to do, so it doesn't yield; it
+            // stops at the query deadline, leaving the rest to the timeout check
+            Slice slice = poll();
+            while (slice != null) {
+                scan(slice);
+                if (System.nanoTime() - deadline >= 0) {
+                    return;
+                }
+                slice = poll();
+            }
+        }
+
+        private Slice poll() {
+            return future.isDone() ? null : slices.pollFirst();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void scan(Slice slice) {
+            int partitionId = slice.partitionId;
+            try {
+                MapKeysWithCursor cursor = partitionScanRunner.fetchSlice(mapName, partitionId, slice.pointers, sliceSize);
+                IterationPointer[] pointers = cursor.getIterationPointers();
+                if (pointers[pointers.length - 1].getIndex() >= 0 && !cursor.getBatch().isEmpty()) {
+                    // publish the rest of the partition before scanning the slice, so it can be stolen
+                    pendingSlices.incrementAndGet();
+                    slices.addFirst(new Slice(partitionId, pointers));
+                }
+
+                Result subResult = result.createSubResult();
+                partitionScanRunner.run(mapName, predicate, partitionId, cursor.getBatch(), subResult);
+                subResult.setPartitionIds(singletonPartitionIdSet(partitionCount, partitionId));
+                subResults.add(subResult);
+            } catch (RetryableHazelcastException e) {
+                // stored and re-thrown once all the partitions are touched, as
+                // it's done by the other partition scan executors
+                if (retryableException == null) {
+                    retryableException = e;
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return;
+            }
+
+            if (pendingSlices.decrementAndGet() == 0) {
+                if (retryableException == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(retryableException);
+                }
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final Scan scan;
+
+        private Worker(Scan scan) {
+            this.scan = scan;
+        }
+
+        @Override
+        public void run() {
+            long deadline = System.nanoTime() + timeBudgetNanos;
+            Slice slice = scan.poll();
+            while (slice != null) {
+                scan.scan(slice);
+
+                if (System.nanoTime() - deadline >= 0) {
+                    try {
+                        // let the tasks queued in the meantime run
+                        executor.execute(this);
+                        return;
+                    } catch (RejectedExecutionException e) {
+                        deadline = System.nanoTime() + timeBudgetNanos;
+                    }
+                }
+                slice = scan.poll();
+            }
+        }
+    }
+}
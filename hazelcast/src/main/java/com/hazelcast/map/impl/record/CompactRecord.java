@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.Metadata;
+
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordSlab.CREATION_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.EXPIRATION_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.HITS;
+import static com.hazelcast.map.impl.record.RecordSlab.LAST_ACCESS_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.LAST_STORED_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.LAST_UPDATE_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.MAX_IDLE;
+import static com.hazelcast.map.impl.record.RecordSlab.TTL;
+
+/**
+ * Record whose fields live in the columns of a {@link RecordSlab}.
+ * <p>
+ * A record created by {@link CompactRecordFactory} is <em>pending</em>: it keeps its state in a
+ * regular {@link DataRecord} until the storage {@link #attach attaches} it to a slot, which copies
+ * the state into the slab. From then on, the instance is a flyweight over that slot. The storage
+ * hands out such flyweights for its entries, so several instances may refer to the same slot.
+ * <p>
+ * A flyweight may outlive its slot, e.g. when it is kept by an index entry while its entry is
+ * replaced or removed and the slot is reused by another entry. So before every access, the
+ * flyweight checks that its slot still holds the key it was created for, and otherwise looks the
+ * key up again. A flyweight whose key is not found anymore is detached from the slab: it reads the
+ * defaults, and its writes are lost.
+ * <p>
+ * Deserialized values are not cached.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class CompactRecord implements Record<Data> {
+
+    private SlotResolver resolver;
+    private RecordSlab slab;
+    private int slot = UNSET;
+    /** The key instance held by the slot when this flyweight was bound to it. */
+    private Data key;
+    private AbstractRecord<Data> pending;
+
+    CompactRecord(Data value, boolean statisticsEnabled) {
+        this.pending = newPending(value, statisticsEnabled);
+    }
+
+    public CompactRecord(SlotResolver resolver, int slot) {
+        assert slot >= 0;
+        this.resolver = resolver;
+        this.slab = resolver.getSlab();
+        this.slot = slot;
+        this.key = slab.getKey(slot);
+    }
+
+    /**
+     * Copies the state of this pending record together with the given key into the given slot of
+     * the resolver's slab, and turns this instance into a flyweight over it.
+     */
+    public void attach(SlotResolver resolver, int slot, Data key, int hash) {
+        assert !isAttached() : "Record is already attached to slot " + this.slot;
+        RecordSlab slab = resolver.getSlab();
+        assert slab.isStatisticsEnabled() == (pending instanceof DataRecordWithStats);
+        AbstractRecord<Data> from = pending;
+        this.resolver = resolver;
+        this.slab = slab;
+        this.slot = slot;
+        this.key = key;
+        this.pending = null;
+
+        slab.setKey(slot, key, hash);
+        slab.setValue(slot, from.getValue());
+        slab.setVersion(slot, from.getVersion());
+        slab.setMetadata(slot, from.getMetadata());
+        slab.setInt(HITS, slot, from.getHits());
+        slab.setInt(TTL, slot, from.getRawTtl());
+        slab.setInt(MAX_IDLE, slot, from.getRawMaxIdle());
+        slab.setInt(CREATION_TIME, slot, from.getRawCreationTime());
+        slab.setInt(LAST_ACCESS_TIME, slot, from.getRawLastAccessTime());
+        slab.setInt(LAST_UPDATE_TIME, slot, from.getRawLastUpdateTime());
+        if (slab.isStatisticsEnabled()) {
+            slab.setInt(LAST_STORED_TIME, slot, from.getRawLastStoredTime());
+            slab.setInt(EXPIRATION_TIME, slot, from.getRawExpirationTime());
+        }
+    }
+
+    public boolean isAttached() {
+        return slab != null;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    private boolean isStatisticsEnabled() {
+        return isAttached() ? slab.isStatisticsEnabled() : pending instanceof DataRecordWithStats;
+    }
+
+    /**
+     * Looks the key up again if the slot does not hold it anymore, i.e. the slot was released and
+     * possibly reused by another entry, and detaches this flyweight if the key is not found.
+     *
+     * @return {@code true} if this record is a flyweight over a slot holding its key, {@code false}
+     * if its state is kept in {@link #pending}
+     */
+    private boolean resolve() {
+        if (slab == null) {
+            return false;
+        }
+        if (slab.getKey(slot) == key) {
+            return true;
+        }
+
+        RecordSlab currentSlab = resolver.getSlab();
+        int currentSlot = resolver.getSlot(key);
+        if (currentSlot < 0) {
+            pending = newPending(null, slab.isStatisticsEnabled());
+            slab = null;
+            slot = UNSET;
+            return false;
+        }
+        slab = currentSlab;
+        slot = currentSlot;
+        key = currentSlab.getKey(currentSlot);
+        return true;
+    }
+
+    private static AbstractRecord<Data> newPending(Data value, boolean statisticsEnabled) {
+        return statisticsEnabled ? new DataRecordWithStats(value) : new DataRecord(value);
+    }
+
+    @Override
+    public Data getValue() {
+        return resolve() ? slab.getValue(slot) : pending.getValue();
+    }
+
+    @Override
+    public void setValue(Data value) {
+        if (resolve()) {
+            slab.setValue(slot, value);
+        } else {
+            pending.setValue(value);
+        }
+    }
+
+    /**
+     * Returns the heap cost of the value and of the slot in the slab.
+     */
+    @Override
+    public long getCost() {
+        if (!resolve()) {
+            return pending.getCost();
+        }
+        Data value = slab.getValue(slot);
+        return slab.getSlotCost() + (value == null ? 0 : value.getHeapCost());
+    }
+
+    @Override
+    public long getVersion() {
+        return resolve() ? slab.getVersion(slot) : pending.getVersion();
+    }
+
+    @Override
+    public void setVersion(long version) {
+        if (resolve()) {
+            slab.setVersion(slot, version);
+        } else {
+            pending.setVersion(version);
+        }
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return resolve() ? slab.getInt(HITS, slot) : pending.getHits();
+    }
+
+    @Override
+    public void setHits(int hits) {
+        if (resolve()) {
+            slab.setInt(HITS, slot, hits);
+        } else {
+            pending.setHits(hits);
+        }
+    }
+
+    @Override
+    public long getExpirationTime() {
+        if (!resolve()) {
+            return pending.getExpirationTime();
+        }
+        if (!slab.isStatisticsEnabled()) {
+            return UNSET;
+        }
+
+        int expirationTime = slab.getInt(EXPIRATION_TIME, slot);
+        if (expirationTime == UNSET) {
+            return 0L;
+        }
+
+        if (expirationTime == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+
+        return recomputeWithBaseTime(expirationTime);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        if (!resolve()) {
+            pending.setExpirationTime(expirationTime);
+        } else if (slab.isStatisticsEnabled()) {
+            slab.setInt(EXPIRATION_TIME, slot, expirationTime == Long.MAX_VALUE
+                    ? Integer.MAX_VALUE
+                    : stripBaseTime(expirationTime));
+        }
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        if (!resolve()) {
+            return pending.getLastStoredTime();
+        }
+        if (!slab.isStatisticsEnabled()) {
+            return UNSET;
+        }
+
+        int lastStoredTime = slab.getInt(LAST_STORED_TIME, slot);
+        return lastStoredTime == UNSET ? 0L : recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        if (!resolve()) {
+            pending.setLastStoredTime(lastStoredTime);
+        } else if (slab.isStatisticsEnabled()) {
+            slab.setInt(LAST_STORED_TIME, slot, stripBaseTime(lastStoredTime));
+        }
+    }
+
+    @Override
+    public long getSequence() {
+        return UNSET;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public void setMetadata(Metadata metadata) {
+        if (resolve()) {
+            slab.setMetadata(slot, metadata);
+        } else {
+            pending.setMetadata(metadata);
+        }
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return resolve() ? slab.getMetadata(slot) : pending.getMetadata();
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return isStatisticsEnabled() ? DATA_RECORD_WITH_STATS_READER_WRITER : DATA_RECORD_READER_WRITER;
+    }
+
+    @Override
+    public int getRawTtl() {
+        return resolve() ? slab.getInt(TTL, slot) : pending.getRawTtl();
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return resolve() ? slab.getInt(MAX_IDLE, slot) : pending.getRawMaxIdle();
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return resolve() ? slab.getInt(CREATION_TIME, slot) : pending.getRawCreationTime();
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return resolve() ? slab.getInt(LAST_ACCESS_TIME, slot) : pending.getRawLastAccessTime();
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return resolve() ? slab.getInt(LAST_UPDATE_TIME, slot) : pending.getRawLastUpdateTime();
+    }
+
+    @Override
+    public void setRawTtl(int ttl) {
+        if (resolve()) {
+            slab.setInt(TTL, slot, ttl);
+        } else {
+            pending.setRawTtl(ttl);
+        }
+    }
+
+    @Override
+    public void setRawMaxIdle(int maxIdle) {
+        if (resolve()) {
+            slab.setInt(MAX_IDLE, slot, maxIdle);
+        } else {
+            pending.setRawMaxIdle(maxIdle);
+        }
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        if (resolve()) {
+            slab.setInt(CREATION_TIME, slot, creationTime);
+        } else {
+            pending.setRawCreationTime(creationTime);
+        }
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        if (resolve()) {
+            slab.setInt(LAST_ACCESS_TIME, slot, lastAccessTime);
+        } else {
+            pending.setRawLastAccessTime(lastAccessTime);
+        }
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        if (resolve()) {
+            slab.setInt(LAST_UPDATE_TIME, slot, lastUpdateTime);
+        } else {
+            pending.setRawLastUpdateTime(lastUpdateTime);
+        }
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        if (!resolve()) {
+            return pending.getRawLastStoredTime();
+        }
+        checkStatisticsEnabled("getRawLastStoredTime");
+        return slab.getInt(LAST_STORED_TIME, slot);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int time) {
+        if (!resolve()) {
+            pending.setRawLastStoredTime(time);
+            return;
+        }
+        checkStatisticsEnabled("setRawLastStoredTime");
+        slab.setInt(LAST_STORED_TIME, slot, time);
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        if (!resolve()) {
+            return pending.getRawExpirationTime();
+        }
+        checkStatisticsEnabled("getRawExpirationTime");
+        return slab.getInt(EXPIRATION_TIME, slot);
+    }
+
+    @Override
+    public void setRawExpirationTime(int time) {
+        if (!resolve()) {
+            pending.setRawExpirationTime(time);
+            return;
+        }
+        checkStatisticsEnabled("setRawExpirationTime");
+        slab.setInt(EXPIRATION_TIME, slot, time);
+    }
+
+    private void checkStatisticsEnabled(String methodName) {
+        // same as the records without statistics
+        if (!slab.isStatisticsEnabled()) {
+            throw new UnsupportedOperationException("CompactRecord#" + methodName + " without statistics");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CompactRecord that = (CompactRecord) o;
+        return isAttached() && slab == that.slab && slot == that.slot;
+    }
+
+    @Override
+    public int hashCode() {
+        return isAttached() ? slot : System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactRecord{"
+                + "slot=" + slot
+                + ", pending=" + pending
+                + '}';
+    }
+
+    /**
+     * Gives the flyweights access to the current slab of their storage and to the slots of its keys.
+     */
+    public interface SlotResolver {
+
+        /**
+         * @return the slab the entries are currently kept in
+         */
+        RecordSlab getSlab();
+
+        /**
+         * @return the slot of the given key in the current slab, or a negative value if the key is
+         * not in the storage
+         */
+        int getSlot(Data key);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+/**
+ * Creates pending {@link CompactRecord}s, which are moved into the
+ * {@link RecordSlab} of the partition when they are put into the storage.
+ */
+public class CompactRecordFactory implements RecordFactory<Data> {
+
+    private final boolean statisticsEnabled;
+    private final SerializationService ss;
+
+    public CompactRecordFactory(MapConfig config, SerializationService ss) {
+        this.ss = ss;
+        this.statisticsEnabled = config.isStatisticsEnabled();
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        Data valueData = ss.toData(value);
+        return new CompactRecord(valueData, statisticsEnabled);
+    }
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.query.impl.Metadata;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Record whose key, value and metadata live in native memory.
+ * <p>
+ * A record created by {@link OffHeapRecordFactory} is <em>pending</em>: it keeps its state on
+ * the heap until the storage {@link #attach attaches} it, which copies the state into a newly
+ * allocated entry block. From then on, the instance is a flyweight over that block and every
+ * accessor reads or writes native memory. The storage hands out such flyweights for its
+ * entries, so several instances may refer to the same entry.
+ * <p>
+ * Layout of an entry block:
+ * <pre>
+ *     0  next entry with the same key hash (long)
+ *     8  address of the value block (long)
+ *    16  version (long)
+ *    24  size of the value (int)
+ *    28  hits (int)
+ *    32  ttl, maxIdle, creationTime, lastAccessTime, lastUpdateTime,
+ *        lastStoredTime, expirationTime (int each)
+ *    60  size of the key (int)
+ *    64  key bytes
+ * </pre>
+ * The value is kept in a separate block so that it can be replaced without moving the entry.
+ * <p>
+ * Values are returned as heap copies, so they remain valid after the entry is updated or
+ * removed. Metadata is not retained.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class OffHeapRecord implements Record<Data> {
+
+    static final int NEXT_OFFSET = 0;
+    static final int VALUE_ADDRESS_OFFSET = NEXT_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int VERSION_OFFSET = VALUE_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int VALUE_SIZE_OFFSET = VERSION_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int HITS_OFFSET = VALUE_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+    static final int TTL_OFFSET = HITS_OFFSET + INT_SIZE_IN_BYTES;
+    static final int MAX_IDLE_OFFSET = TTL_OFFSET + INT_SIZE_IN_BYTES;
+    static final int CREATION_TIME_OFFSET = MAX_IDLE_OFFSET + INT_SIZE_IN_BYTES;
+    static final int LAST_ACCESS_TIME_OFFSET = CREATION_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int LAST_UPDATE_TIME_OFFSET = LAST_ACCESS_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int LAST_STORED_TIME_OFFSET = LAST_UPDATE_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int EXPIRATION_TIME_OFFSET = LAST_STORED_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int KEY_SIZE_OFFSET = EXPIRATION_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int HEADER_SIZE = KEY_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+
+    private MemoryManager memoryManager;
+    private MemoryAccessor mem;
+    private long address;
+    private DataRecordWithStats pending;
+
+    OffHeapRecord(Data value) {
+        this.pending = new DataRecordWithStats(value);
+    }
+
+    public OffHeapRecord(MemoryManager memoryManager, long address) {
+        assert address != NULL_ADDRESS;
+        this.memoryManager = memoryManager;
+        this.mem = memoryManager.getAccessor();
+        this.address = address;
+    }
+
+    /**
+     * Copies the state of this pending record together with the given key into a newly allocated
+     * entry block, and turns this instance into a flyweight over it.
+     *
+     * @return the address of the entry block
+     */
+    public long attach(MemoryManager memoryManager, Data key) {
+        assert !isAttached() : "Record is already attached to " + address;
+        MemoryAccessor mem = memoryManager.getAccessor();
+        int keySize = key.totalSize();
+        long entryAddress = memoryManager.getAllocator().allocate(HEADER_SIZE + keySize);
+        mem.putInt(entryAddress + KEY_SIZE_OFFSET, keySize);
+        if (keySize > 0) {
+            mem.copyFromByteArray(key.toByteArray(), 0, entryAddress + HEADER_SIZE, keySize);
+        }
+
+        DataRecordWithStats from = pending;
+        this.memoryManager = memoryManager;
+        this.mem = mem;
+        this.address = entryAddress;
+        this.pending = null;
+
+        writeValue(from.getValue());
+        setVersion(from.getVersion());
+        setHits(from.getHits());
+        setRawTtl(from.getRawTtl());
+        setRawMaxIdle(from.getRawMaxIdle());
+        setRawCreationTime(from.getRawCreationTime());
+        setRawLastAccessTime(from.getRawLastAccessTime());
+        setRawLastUpdateTime(from.getRawLastUpdateTime());
+        setRawLastStoredTime(from.getRawLastStoredTime());
+        setRawExpirationTime(from.getRawExpirationTime());
+        return entryAddress;
+    }
+
+    public boolean isAttached() {
+        return address != NULL_ADDRESS;
+    }
+
+    public long getAddress() {
+        return address;
+    }
+
+    @Override
+    public Data getValue() {
+        if (!isAttached()) {
+            return pending.getValue();
+        }
+        int size = mem.getInt(address + VALUE_SIZE_OFFSET);
+        byte[] bytes = new byte[size];
+        if (size > 0) {
+            mem.copyToByteArray(mem.getLong(address + VALUE_ADDRESS_OFFSET), bytes, 0, size);
+        }
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        if (!isAttached()) {
+            pending.setValue(value);
+            return;
+        }
+        writeValue(value);
+    }
+
+    private void writeValue(Data value) {
+        MemoryAllocator malloc = memoryManager.getAllocator();
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        int oldSize = mem.getInt(address + VALUE_SIZE_OFFSET);
+        int size = value.totalSize();
+        if (size != oldSize) {
+            // the old value is never exposed outside of this record, so it can be freed right away
+            if (valueAddress != NULL_ADDRESS) {
+                malloc.free(valueAddress, oldSize);
+            }
+            valueAddress = size > 0 ? malloc.allocate(size) : NULL_ADDRESS;
+            mem.putLong(address + VALUE_ADDRESS_OFFSET, valueAddress);
+            mem.putInt(address + VALUE_SIZE_OFFSET, size);
+        }
+        if (size > 0) {
+            mem.copyFromByteArray(value.toByteArray(), 0, valueAddress, size);
+        }
+    }
+
+    /**
+     * Returns the native memory footprint of the entry, including its key and value.
+     */
+    @Override
+    public long getCost() {
+        if (!isAttached()) {
+            return pending.getCost();
+        }
+        return HEADER_SIZE + mem.getInt(address + KEY_SIZE_OFFSET) + mem.getInt(address + VALUE_SIZE_OFFSET);
+    }
+
+    @Override
+    public long getVersion() {
+        return isAttached() ? mem.getLong(address + VERSION_OFFSET) : pending.getVersion();
+    }
+
+    @Override
+    public void setVersion(long version) {
+        if (isAttached()) {
+            mem.putLong(address + VERSION_OFFSET, version);
+        } else {
+            pending.setVersion(version);
+        }
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return isAttached() ? mem.getInt(address + HITS_OFFSET) : pending.getHits();
+    }
+
+    @Override
+    public void setHits(int hits) {
+        if (isAttached()) {
+            mem.putInt(address + HITS_OFFSET, hits);
+        } else {
+            pending.setHits(hits);
+        }
+    }
+
+    @Override
+    public long getExpirationTime() {
+        int expirationTime = getRawExpirationTime();
+        if (expirationTime == UNSET) {
+            return 0L;
+        }
+
+        if (expirationTime == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+
+        return recomputeWithBaseTime(expirationTime);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        setRawExpirationTime(expirationTime == Long.MAX_VALUE
+                ? Integer.MAX_VALUE
+                : stripBaseTime(expirationTime));
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        return recomputeWithBaseTime(getRawLastStoredTime());
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public long getSequence() {
+        return UNSET;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public void setMetadata(Metadata metadata) {
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return null;
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawTtl() {
+        return isAttached() ? mem.getInt(address + TTL_OFFSET) : pending.getRawTtl();
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return isAttached() ? mem.getInt(address + MAX_IDLE_OFFSET) : pending.getRawMaxIdle();
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return isAttached() ? mem.getInt(address + CREATION_TIME_OFFSET) : pending.getRawCreationTime();
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return isAttached() ? mem.getInt(address + LAST_ACCESS_TIME_OFFSET) : pending.getRawLastAccessTime();
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return isAttached() ? mem.getInt(address + LAST_UPDATE_TIME_OFFSET) : pending.getRawLastUpdateTime();
+    }
+
+    @Override
+    public void setRawTtl(int ttl) {
+        if (isAttached()) {
+            mem.putInt(address + TTL_OFFSET, ttl);
+        } else {
+            pending.setRawTtl(ttl);
+        }
+    }
+
+    @Override
+    public void setRawMaxIdle(int maxIdle) {
+        if (isAttached()) {
+            mem.putInt(address + MAX_IDLE_OFFSET, maxIdle);
+        } else {
+            pending.setRawMaxIdle(maxIdle);
+        }
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        if (isAttached()) {
+            mem.putInt(address + CREATION_TIME_OFFSET, creationTime);
+        } else {
+            pending.setRawCreationTime(creationTime);
+        }
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        if (isAttached()) {
+            mem.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+        } else {
+            pending.setRawLastAccessTime(lastAccessTime);
+        }
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        if (isAttached()) {
+            mem.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+        } else {
+            pending.setRawLastUpdateTime(lastUpdateTime);
+        }
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return isAttached() ? mem.getInt(address + LAST_STORED_TIME_OFFSET) : pending.getRawLastStoredTime();
+    }
+
+    @Override
+    public void setRawLastStoredTime(int time) {
+        if (isAttached()) {
+            mem.putInt(address + LAST_STORED_TIME_OFFSET, time);
+        } else {
+            pending.setRawLastStoredTime(time);
+        }
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        return isAttached() ? mem.getInt(address + EXPIRATION_TIME_OFFSET) : pending.getRawExpirationTime();
+    }
+
+    @Override
+    public void setRawExpirationTime(int time) {
+        if (isAttached()) {
+            mem.putInt(address + EXPIRATION_TIME_OFFSET, time);
+        } else {
+            pending.setRawExpirationTime(time);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        OffHeapRecord that = (OffHeapRecord) o;
+        return isAttached() && address == that.address;
+    }
+
+    @Override
+    public int hashCode() {
+        return isAttached() ? Long.hashCode(address) : System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapRecord{"
+                + "address=" + address
+                + ", pending=" + pending
+                + '}';
+    }
+
+    // Static accessors used by the storage to navigate entry blocks without creating flyweights
+
+    /**
+     * @return the address of the next entry in the chain of the given entry
+     */
+    public static long getNext(MemoryAccessor mem, long entryAddress) {
+        return mem.getLong(entryAddress + NEXT_OFFSET);
+    }
+
+    public static void setNext(MemoryAccessor mem, long entryAddress, long nextAddress) {
+        mem.putLong(entryAddress + NEXT_OFFSET, nextAddress);
+    }
+
+    /**
+     * @return {@code true} if the key of the given entry is equal to the given key
+     */
+    public static boolean keyEquals(MemoryAccessor mem, long entryAddress, Data key) {
+        int keySize = mem.getInt(entryAddress + KEY_SIZE_OFFSET);
+        if (keySize != key.totalSize()) {
+            return false;
+        }
+        byte[] keyBytes = key.toByteArray();
+        long keyAddress = entryAddress + HEADER_SIZE;
+        for (int i = 0; i < keySize; i++) {
+            if (mem.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a heap copy of the key of the given entry
+     */
+    public static Data readKey(MemoryAccessor mem, long entryAddress) {
+        int keySize = mem.getInt(entryAddress + KEY_SIZE_OFFSET);
+        byte[] bytes = new byte[keySize];
+        if (keySize > 0) {
+            mem.copyToByteArray(entryAddress + HEADER_SIZE, bytes, 0, keySize);
+        }
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Frees the value block and the entry block of the given entry.
+     */
+    public static void free(MemoryManager memoryManager, long entryAddress) {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        MemoryAllocator malloc = memoryManager.getAllocator();
+        long valueAddress = mem.getLong(entryAddress + VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            malloc.free(valueAddress, mem.getInt(entryAddress + VALUE_SIZE_OFFSET));
+        }
+        malloc.free(entryAddress, HEADER_SIZE + mem.getInt(entryAddress + KEY_SIZE_OFFSET));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.Metadata;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Column-oriented storage of the records of a single partition, used by the
+ * {@link com.hazelcast.config.InMemoryFormat#COMPACT COMPACT} in-memory format.
+ * <p>
+ * Every record occupies a slot, and each of its fields is an element of a per-slot
+ * array. Keys, values and key hashes are always present. The metadata columns are
+ * allocated on the first write of a value which differs from the column default,
+ * so features which are never used, e.g. TTL, max-idle or JSON metadata, cost no
+ * memory per entry. Expiration and last-stored times are only kept when statistics
+ * are enabled, as with {@link DataRecord}.
+ * <p>
+ * {@link CompactRecord} instances are flyweights over a slot of this slab.
+ * <p>
+ * Not thread-safe: accessed only by the partition thread.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class RecordSlab {
+
+    static final int HITS = 0;
+    static final int TTL = 1;
+    static final int MAX_IDLE = 2;
+    static final int CREATION_TIME = 3;
+    static final int LAST_ACCESS_TIME = 4;
+    static final int LAST_UPDATE_TIME = 5;
+    static final int LAST_STORED_TIME = 6;
+    static final int EXPIRATION_TIME = 7;
+
+    private static final int[] INT_COLUMN_DEFAULTS = {0, 0, 0, UNSET, UNSET, UNSET, UNSET, UNSET};
+
+    private final boolean statisticsEnabled;
+
+    private Data[] keys;
+    private Data[] values;
+    private int[] hashes;
+    private long[] versions;
+    private Metadata[] metadata;
+    private final int[][] intColumns = new int[INT_COLUMN_DEFAULTS.length][];
+
+    private long dataCost;
+
+    public RecordSlab(int capacity, boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        this.keys = new Data[capacity];
+        this.values = new Data[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Grows all the allocated columns to the given capacity, keeping the slots of existing records.
+     */
+    public void grow(int newCapacity) {
+        assert newCapacity > capacity();
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        hashes = Arrays.copyOf(hashes, newCapacity);
+        if (versions != null) {
+            versions = Arrays.copyOf(versions, newCapacity);
+        }
+        if (metadata != null) {
+            metadata = Arrays.copyOf(metadata, newCapacity);
+        }
+        for (int column = 0; column < intColumns.length; column++) {
+            int[] oldColumn = intColumns[column];
+            if (oldColumn != null) {
+                int[] newColumn = Arrays.copyOf(oldColumn, newCapacity);
+                Arrays.fill(newColumn, oldColumn.length, newCapacity, INT_COLUMN_DEFAULTS[column]);
+                intColumns[column] = newColumn;
+            }
+        }
+    }
+
+    /**
+     * Resets the given slot to the column defaults and releases its key and value.
+     */
+    public void clearSlot(int slot) {
+        dataCost -= heapCost(keys[slot]) + heapCost(values[slot]);
+        keys[slot] = null;
+        values[slot] = null;
+        hashes[slot] = 0;
+        if (versions != null) {
+            versions[slot] = 0;
+        }
+        if (metadata != null) {
+            metadata[slot] = null;
+        }
+        for (int column = 0; column < intColumns.length; column++) {
+            if (intColumns[column] != null) {
+                intColumns[column][slot] = INT_COLUMN_DEFAULTS[column];
+            }
+        }
+    }
+
+    public Data getKey(int slot) {
+        return keys[slot];
+    }
+
+    public void setKey(int slot, Data key, int hash) {
+        dataCost += heapCost(key) - heapCost(keys[slot]);
+        keys[slot] = key;
+        hashes[slot] = hash;
+    }
+
+    public int getHash(int slot) {
+        return hashes[slot];
+    }
+
+    /**
+     * Reuses the hash column of a free slot to link it to the next free slot.
+     */
+    public void setNextFree(int slot, int nextFree) {
+        assert keys[slot] == null;
+        hashes[slot] = nextFree;
+    }
+
+    public int getNextFree(int slot) {
+        assert keys[slot] == null;
+        return hashes[slot];
+    }
+
+    Data getValue(int slot) {
+        return values[slot];
+    }
+
+    void setValue(int slot, Data value) {
+        dataCost += heapCost(value) - heapCost(values[slot]);
+        values[slot] = value;
+    }
+
+    long getVersion(int slot) {
+        return versions != null ? versions[slot] : 0;
+    }
+
+    void setVersion(int slot, long version) {
+        if (versions == null) {
+            if (version == 0) {
+                return;
+            }
+            versions = new long[capacity()];
+        }
+        versions[slot] = version;
+    }
+
+    Metadata getMetadata(int slot) {
+        return metadata != null ? metadata[slot] : null;
+    }
+
+    void setMetadata(int slot, Metadata value) {
+        if (metadata == null) {
+            if (value == null) {
+                return;
+            }
+            metadata = new Metadata[capacity()];
+        }
+        metadata[slot] = value;
+    }
+
+    int getInt(int column, int slot) {
+        int[] values = intColumns[column];
+        return values != null ? values[slot] : INT_COLUMN_DEFAULTS[column];
+    }
+
+    void setInt(int column, int slot, int value) {
+        int[] values = intColumns[column];
+        if (values == null) {
+            if (value == INT_COLUMN_DEFAULTS[column]) {
+                return;
+            }
+            values = new int[capacity()];
+            Arrays.fill(values, INT_COLUMN_DEFAULTS[column]);
+            intColumns[column] = values;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * @return the number of bytes a slot occupies in the allocated columns, excluding the key and the value
+     */
+    public long getSlotCost() {
+        long cost = 2 * REFERENCE_COST_IN_BYTES + INT_SIZE_IN_BYTES;
+        if (versions != null) {
+            cost += LONG_SIZE_IN_BYTES;
+        }
+        if (metadata != null) {
+            cost += REFERENCE_COST_IN_BYTES;
+        }
+        for (int[] column : intColumns) {
+            if (column != null) {
+                cost += INT_SIZE_IN_BYTES;
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * @return the heap cost of the allocated columns and of the keys and values they refer to
+     */
+    public long getHeapCost() {
+        return capacity() * getSlotCost() + dataCost;
+    }
+
+    private static long heapCost(Data data) {
+        return data != null ? data.getHeapCost() : 0;
+    }
+}
@@ -168,6 +168,12 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == InMemoryFormat.OFF_HEAP) {
+            return new OffHeapStorage(serializationService);
+        }
+        if (memoryFormat == InMemoryFormat.COMPACT) {
+            return new CompactStorage(serializationService, mapContainer.getMapConfig().isStatisticsEnabled());
+        }
         return new StorageImpl(memoryFormat, serializationService);
     }
 
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.CompactRecord;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordSlab;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * {@link Storage} which keeps its records in the columns of a {@link RecordSlab}, used for the
+ * {@link com.hazelcast.config.InMemoryFormat#COMPACT COMPACT} in-memory format.
+ * <p>
+ * Each entry occupies a slot of the slab. A slot is never moved while its entry is in the storage,
+ * and slots are looked up by an open-addressing table of slot numbers with linear probing, so the
+ * storage holds no per-entry objects besides the keys and the values.
+ * <p>
+ * Records handed out by this storage are flyweights over slots. Slots of removed or replaced
+ * entries are therefore not reused immediately, but released in {@link #disposeDeferredBlocks()}
+ * after the current operation completes, so that records obtained during the operation remain
+ * valid until its end. Records kept beyond that, e.g. by index entries, look their keys up again
+ * once their slots are released.
+ * <p>
+ * Not thread-safe: all the methods except {@link #size()} and the cost estimate must be called
+ * from the partition thread.
+ */
+public class CompactStorage implements Storage<Data, Record> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int NO_SLOT = -1;
+
+    private final SerializationService serializationService;
+    private final boolean statisticsEnabled;
+    private final SwCounter size = newSwCounter();
+    private final CompactRecord.SlotResolver slotResolver = new StorageSlotResolver();
+
+    private RecordSlab slab;
+    /** Open-addressing table of slot numbers plus one, zero marks an empty bucket. */
+    private int[] buckets;
+    /** Number of slots which have ever been handed out from the slab. */
+    private int usedSlots;
+    private int freeSlot = NO_SLOT;
+
+    private int[] deferredSlots = new int[INITIAL_DEFERRED_CAPACITY];
+    private int deferredSlotCount;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator = new SlabCostEstimator();
+
+    CompactStorage(SerializationService serializationService, boolean statisticsEnabled) {
+        this.serializationService = serializationService;
+        this.statisticsEnabled = statisticsEnabled;
+        reset();
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        CompactRecord compactRecord = (CompactRecord) record;
+        int hash = key.hashCode();
+        int bucket = findBucket(key, hash);
+        int existing = bucket != NO_SLOT ? buckets[bucket] - 1 : NO_SLOT;
+        if (compactRecord.isAttached()) {
+            assert compactRecord.getSlot() == existing : "Record is attached to another slot";
+            return;
+        }
+
+        int slot = allocateSlot();
+        compactRecord.attach(slotResolver, slot, key, hash);
+        if (existing != NO_SLOT) {
+            buckets[bucket] = slot + 1;
+            deferRelease(existing);
+            return;
+        }
+
+        if (size.get() + 1 > buckets.length * LOAD_FACTOR) {
+            rehash(buckets.length * 2);
+        }
+        buckets[emptyBucketOf(hash)] = slot + 1;
+        size.inc();
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        record.setValue(serializationService.toData(value));
+    }
+
+    @Override
+    public Record get(Data key) {
+        int bucket = findBucket(key, key.hashCode());
+        return bucket != NO_SLOT ? new CompactRecord(slotResolver, buckets[bucket] - 1) : null;
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("CompactStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, Record record) {
+        int bucket = findBucket(dataKey, dataKey.hashCode());
+        if (bucket == NO_SLOT) {
+            return;
+        }
+        int slot = buckets[bucket] - 1;
+        removeBucket(bucket);
+        size.inc(-1);
+        deferRelease(slot);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findBucket(key, key.hashCode()) != NO_SLOT;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return (int) size.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Replaces the slab instead of clearing it, so that records obtained before remain readable.
+     */
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredSlotCount; i++) {
+            int slot = deferredSlots[i];
+            slab.clearSlot(slot);
+            slab.setNextFree(slot, freeSlot);
+            freeSlot = slot;
+        }
+        deferredSlotCount = 0;
+    }
+
+    @Override
+    public Iterable getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || isEmpty()) {
+            return Collections.EMPTY_LIST;
+        }
+
+        List<LazyEvictableEntryView> samples = new ArrayList<>(sampleCount);
+        int firstSlot = ThreadLocalRandomProvider.get().nextInt(usedSlots);
+        for (int i = 0; i < usedSlots && samples.size() < sampleCount; i++) {
+            int slot = (firstSlot + i) % usedSlots;
+            if (isLive(slot)) {
+                samples.add(new LazyEvictableEntryView<>(slab.getKey(slot), new CompactRecord(slotResolver, slot),
+                        serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, slot -> keys.add(slab.getKey(slot)));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, slot ->
+                entries.add(new AbstractMap.SimpleEntry<>(slab.getKey(slot), new CompactRecord(slotResolver, slot).getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Record extractRecordFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getRecord();
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Walks the slots in descending order, starting from the one recorded in the last pointer, and
+     * passes the slots of the entries to the consumer until at least {@code size} entries are
+     * consumed. As entries never move between slots, an entry which stays in the storage is
+     * observed exactly once, however the storage changes between the calls.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, IntConsumer consumer) {
+        // clone pointers to avoid mutating given reference
+        IterationPointer[] updatedPointers = new IterationPointer[pointers.length];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+        IterationPointer lastPointer = updatedPointers[updatedPointers.length - 1];
+
+        int nextSlot = Math.min(lastPointer.getIndex(), usedSlots - 1);
+        int count = 0;
+        for (; nextSlot >= 0 && count < size; nextSlot--) {
+            if (isLive(nextSlot)) {
+                consumer.accept(nextSlot);
+                count++;
+            }
+        }
+        lastPointer.setIndex(nextSlot);
+        return updatedPointers;
+    }
+
+    private void reset() {
+        slab = new RecordSlab(INITIAL_CAPACITY, statisticsEnabled);
+        buckets = new int[INITIAL_CAPACITY];
+        usedSlots = 0;
+        freeSlot = NO_SLOT;
+        deferredSlotCount = 0;
+        size.set(0);
+    }
+
+    /**
+     * @return {@code true} if the given slot holds an entry of this storage, rather than being
+     * free or waiting for its release
+     */
+    private boolean isLive(int slot) {
+        if (slot >= usedSlots) {
+            return false;
+        }
+        Data key = slab.getKey(slot);
+        if (key == null) {
+            return false;
+        }
+        int bucket = findBucket(key, slab.getHash(slot));
+        return bucket != NO_SLOT && buckets[bucket] - 1 == slot;
+    }
+
+    private int findBucket(Data key, int hash) {
+        int mask = buckets.length - 1;
+        for (int bucket = fastIntMix(hash) & mask; ; bucket = (bucket + 1) & mask) {
+            int slot = buckets[bucket] - 1;
+            if (slot == NO_SLOT) {
+                return NO_SLOT;
+            }
+            if (slab.getHash(slot) == hash && key.equals(slab.getKey(slot))) {
+                return bucket;
+            }
+        }
+    }
+
+    private int emptyBucketOf(int hash) {
+        int mask = buckets.length - 1;
+        int bucket = fastIntMix(hash) & mask;
+        while (buckets[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    /**
+     * Empties the given bucket and shifts the following buckets of the probe sequence back,
+     * so that lookups do not need tombstones.
+     */
+    private void removeBucket(int bucket) {
+        int mask = buckets.length - 1;
+        int hole = bucket;
+        for (int next = (hole + 1) & mask; buckets[next] != 0; next = (next + 1) & mask) {
+            int home = fastIntMix(slab.getHash(buckets[next] - 1)) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                buckets[hole] = buckets[next];
+                hole = next;
+            }
+        }
+        buckets[hole] = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldBuckets = buckets;
+        buckets = new int[newCapacity];
+        for (int entry : oldBuckets) {
+            if (entry != 0) {
+                buckets[emptyBucketOf(slab.getHash(entry - 1))] = entry;
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeSlot != NO_SLOT) {
+            int slot = freeSlot;
+            freeSlot = slab.getNextFree(slot);
+            return slot;
+        }
+        if (usedSlots == slab.capacity()) {
+            slab.grow(usedSlots * 2);
+        }
+        return usedSlots++;
+    }
+
+    private void deferRelease(int slot) {
+        if (deferredSlotCount == deferredSlots.length) {
+            deferredSlots = Arrays.copyOf(deferredSlots, deferredSlotCount * 2);
+        }
+        deferredSlots[deferredSlotCount++] = slot;
+    }
+
+    /**
+     * Iterates over the slots in descending order. Liveness of a slot is checked when it is
+     * reached, so the iterator remains usable across operations and tolerates removals of any entry.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private int cursor = usedSlots;
+        private int nextSlot = NO_SLOT;
+
+        @Override
+        public boolean hasNext() {
+            while (nextSlot == NO_SLOT || !isLive(nextSlot)) {
+                cursor = Math.min(cursor, usedSlots) - 1;
+                if (cursor < 0) {
+                    nextSlot = NO_SLOT;
+                    return false;
+                }
+                nextSlot = cursor;
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = nextSlot;
+            nextSlot = NO_SLOT;
+            return new AbstractMap.SimpleEntry<>(slab.getKey(slot), new CompactRecord(slotResolver, slot));
+        }
+    }
+
+    private final class StorageSlotResolver implements CompactRecord.SlotResolver {
+
+        @Override
+        public RecordSlab getSlab() {
+            return slab;
+        }
+
+        @Override
+        public int getSlot(Data key) {
+            int bucket = findBucket(key, key.hashCode());
+            return bucket != NO_SLOT ? buckets[bucket] - 1 : NO_SLOT;
+        }
+    }
+
+    /**
+     * Reports the heap cost of the slab and the bucket table as the cost of the entries.
+     */
+    private final class SlabCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        @Override
+        public long getEstimate() {
+            return slab.getHeapCost() + (long) buckets.length * INT_SIZE_IN_BYTES;
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return key.getHeapCost() + record.getCost();
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+}
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.MallocMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.internal.util.function.LongLongConsumer;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.OffHeapRecord;
+import com.hazelcast.map.impl.record.Record;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.map.impl.record.OffHeapRecord.getNext;
+import static com.hazelcast.map.impl.record.OffHeapRecord.keyEquals;
+import static com.hazelcast.map.impl.record.OffHeapRecord.readKey;
+import static com.hazelcast.map.impl.record.OffHeapRecord.setNext;
+
+/**
+ * {@link Storage} which keeps its entries in native memory, used for the
+ * {@link com.hazelcast.config.InMemoryFormat#OFF_HEAP OFF_HEAP} in-memory format.
+ * <p>
+ * Every entry is a single native block holding the record metadata and the key, see
+ * {@link OffHeapRecord}. Entries are indexed by a {@link HashSlotArray8byteKeyImpl} which
+ * maps the 64-bit hash of a key to the head of the chain of entries with that hash.
+ * All memory is allocated from a {@link MallocMemoryManager} owned by this storage.
+ * <p>
+ * Records and keys handed out by this storage are flyweights and heap copies, respectively.
+ * Entry blocks of removed or replaced entries are therefore not freed immediately, but in
+ * {@link #disposeDeferredBlocks()} after the current operation completes, so that records
+ * obtained during the operation remain valid until its end.
+ * <p>
+ * Not thread-safe: all the methods except {@link #size()} must be called from the partition thread.
+ */
+public class OffHeapStorage implements Storage<Data, Record> {
+
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+
+    private final SerializationService serializationService;
+    private final MallocMemoryManager memoryManager;
+    private final MemoryAccessor mem;
+    private final EntrySlots slots;
+    private final SwCounter size = newSwCounter();
+
+    private long[] deferredEntries = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredEntryCount;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator = new NativeMemoryCostEstimator();
+
+    OffHeapStorage(SerializationService serializationService) {
+        this.serializationService = serializationService;
+        this.memoryManager = new MallocMemoryManager();
+        this.mem = memoryManager.getAccessor();
+        this.slots = new EntrySlots(memoryManager);
+        this.slots.gotoNew();
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        OffHeapRecord offHeapRecord = (OffHeapRecord) record;
+        long hash = key.hash64();
+        long slotAddress = slots.get(hash);
+        long existing = slotAddress != NULL_ADDRESS ? findEntry(mem.getLong(slotAddress), key) : NULL_ADDRESS;
+        if (offHeapRecord.isAttached()) {
+            assert offHeapRecord.getAddress() == existing : "Record is attached to another entry";
+            return;
+        }
+
+        // allocate before touching the slots, so that a failed allocation leaves the storage intact
+        long entry = offHeapRecord.attach(memoryManager, key);
+        if (existing != NULL_ADDRESS) {
+            replaceEntry(mem.getLong(slotAddress), existing, entry, slotAddress);
+            return;
+        }
+
+        SlotAssignmentResult slot = slots.ensure(hash);
+        long head = slot.isNew() ? NULL_ADDRESS : mem.getLong(slot.address());
+        setNext(mem, entry, head);
+        mem.putLong(slot.address(), entry);
+        size.inc();
+    }
+
+    private void replaceEntry(long head, long existing, long entry, long slotAddress) {
+        setNext(mem, entry, getNext(mem, existing));
+        if (head == existing) {
+            mem.putLong(slotAddress, entry);
+        } else {
+            setNext(mem, findPrevious(head, existing), entry);
+        }
+        deferFree(existing);
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        record.setValue(serializationService.toData(value));
+    }
+
+    @Override
+    public Record get(Data key) {
+        long entry = findEntry(key);
+        return entry != NULL_ADDRESS ? new OffHeapRecord(memoryManager, entry) : null;
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("OffHeapStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, Record record) {
+        long hash = dataKey.hash64();
+        long slotAddress = slots.get(hash);
+        if (slotAddress == NULL_ADDRESS) {
+            return;
+        }
+        long head = mem.getLong(slotAddress);
+        long entry = findEntry(head, dataKey);
+        if (entry == NULL_ADDRESS) {
+            return;
+        }
+
+        long next = getNext(mem, entry);
+        if (entry != head) {
+            setNext(mem, findPrevious(head, entry), next);
+        } else if (next != NULL_ADDRESS) {
+            mem.putLong(slotAddress, next);
+        } else {
+            slots.remove(hash);
+        }
+        size.inc(-1);
+        deferFree(entry);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findEntry(key) != NULL_ADDRESS;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return (int) size.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        disposeDeferredBlocks();
+        for (long slot = 0; slot < slots.capacity(); slot++) {
+            for (long entry = slots.headOfSlot(slot); entry != NULL_ADDRESS; ) {
+                long next = getNext(mem, entry);
+                OffHeapRecord.free(memoryManager, entry);
+                entry = next;
+            }
+        }
+        slots.clear();
+        slots.trimToSize();
+        size.set(0);
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+        slots.dispose();
+        memoryManager.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredEntryCount; i++) {
+            OffHeapRecord.free(memoryManager, deferredEntries[i]);
+        }
+        deferredEntryCount = 0;
+    }
+
+    @Override
+    public Iterable getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || isEmpty()) {
+            return Collections.EMPTY_LIST;
+        }
+
+        List<LazyEvictableEntryView> samples = new ArrayList<>(sampleCount);
+        long capacity = slots.capacity();
+        long firstSlot = ThreadLocalRandomProvider.get().nextInt((int) capacity);
+        for (long i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long slot = (firstSlot + i) & (capacity - 1);
+            for (long entry = slots.headOfSlot(slot); entry != NULL_ADDRESS; entry = getNext(mem, entry)) {
+                samples.add(new LazyEvictableEntryView<>(readKey(mem, entry),
+                        new OffHeapRecord(memoryManager, entry), serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, entry) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, entry) ->
+                entries.add(new AbstractMap.SimpleEntry<>(key, new OffHeapRecord(memoryManager, entry).getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Record extractRecordFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getRecord();
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * @return the number of native memory bytes allocated by this storage
+     */
+    public long getUsedMemory() {
+        return memoryManager.getUsedMemory();
+    }
+
+    /**
+     * Walks the home slots in descending order, starting from the one recorded in the last pointer, and
+     * passes the keys and entry addresses to the consumer until at least {@code size} entries are
+     * consumed. If the slot array has been resized since the previous call, a new pointer is added and
+     * the entries which have already been observed with one of the previous capacities are skipped.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, BiConsumer<Data, Long> consumer) {
+        int capacity = (int) slots.capacity();
+        pointers = checkPointers(pointers, capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextSlot = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex() : capacity - 1;
+        int[] counter = new int[1];
+        IterationPointer[] observedPointers = pointers;
+        while (nextSlot >= 0 && counter[0] < size) {
+            forEachEntryOfHomeSlot(nextSlot--, (hash, entry) -> {
+                if (hasNotBeenObserved(hash, observedPointers)) {
+                    consumer.accept(readKey(mem, entry), entry);
+                    counter[0]++;
+                }
+            });
+        }
+        lastPointer.setIndex(nextSlot);
+        return pointers;
+    }
+
+    /**
+     * Passes the hash and address of every entry whose key hash maps to the given home slot to the
+     * consumer. With linear probing these entries are found in the run of assigned slots starting at
+     * the home slot, and removals only move them closer to it, so iterating by home slot rather than
+     * by physical slot is not distorted by removals.
+     */
+    private void forEachEntryOfHomeSlot(long homeSlot, LongLongConsumer consumer) {
+        long mask = slots.capacity() - 1;
+        for (long slot = homeSlot; slots.isSlotAssigned(slot); slot = (slot + 1) & mask) {
+            long hash = slots.keyOfSlot(slot);
+            if (slots.homeSlotOf(hash) != homeSlot) {
+                continue;
+            }
+            for (long entry = slots.headOfSlot(slot); entry != NULL_ADDRESS; entry = getNext(mem, entry)) {
+                consumer.accept(hash, entry);
+            }
+        }
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int capacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean resized = lastPointer.getSize() != capacity;
+        // clone pointers to avoid mutating given reference
+        IterationPointer[] updatedPointers = Arrays.copyOf(pointers,
+                !iterationStarted && resized ? pointers.length + 1 : pointers.length);
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+        if (iterationStarted || resized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, capacity);
+        }
+        return updatedPointers;
+    }
+
+    private static boolean hasNotBeenObserved(long hash, IterationPointer[] pointers) {
+        // check only the pointers up to the last, we haven't observed it with the last pointer
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            long homeSlot = EntrySlots.homeSlotOf(hash, pointer.getSize());
+            if (homeSlot > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long findEntry(Data key) {
+        long slotAddress = slots.get(key.hash64());
+        return slotAddress != NULL_ADDRESS ? findEntry(mem.getLong(slotAddress), key) : NULL_ADDRESS;
+    }
+
+    private long findEntry(long head, Data key) {
+        long entry = head;
+        while (entry != NULL_ADDRESS && !keyEquals(mem, entry, key)) {
+            entry = getNext(mem, entry);
+        }
+        return entry;
+    }
+
+    private long findPrevious(long head, long entry) {
+        long previous = head;
+        while (getNext(mem, previous) != entry) {
+            previous = getNext(mem, previous);
+        }
+        return previous;
+    }
+
+    private void deferFree(long entry) {
+        if (deferredEntryCount == deferredEntries.length) {
+            deferredEntries = Arrays.copyOf(deferredEntries, deferredEntryCount * 2);
+        }
+        deferredEntries[deferredEntryCount++] = entry;
+    }
+
+    /**
+     * Maps key hashes to the heads of entry chains and exposes the slots for iteration.
+     */
+    private static final class EntrySlots extends HashSlotArray8byteKeyImpl {
+
+        EntrySlots(MemoryManager memoryManager) {
+            super(NULL_ADDRESS, memoryManager, LONG_SIZE_IN_BYTES);
+        }
+
+        static long homeSlotOf(long hash, long capacity) {
+            return fastLongMix(hash) & (capacity - 1);
+        }
+
+        long homeSlotOf(long hash) {
+            return homeSlotOf(hash, capacity());
+        }
+
+        boolean isSlotAssigned(long slot) {
+            return isAssigned(address(), slot);
+        }
+
+        long keyOfSlot(long slot) {
+            return key1OfSlot(address(), slot);
+        }
+
+        long headOfSlot(long slot) {
+            return isAssigned(address(), slot)
+                    ? mem().getLong(slotBase(address(), slot) + LONG_SIZE_IN_BYTES) : NULL_ADDRESS;
+        }
+    }
+
+    /**
+     * Iterates over the home slots in descending order. Only the heap copies of the keys of the current
+     * home slot are retained between the calls, and records are looked up when they are returned, so the
+     * iterator remains usable across operations and tolerates removals of any entry.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final ArrayDeque<Data> slotKeys = new ArrayDeque<>();
+        private long nextSlot = slots.capacity() - 1;
+        private Data nextKey;
+
+        @Override
+        public boolean hasNext() {
+            while (nextKey == null || !containsKey(nextKey)) {
+                nextKey = slotKeys.poll();
+                if (nextKey == null && !readNextSlot()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Data key = nextKey;
+            nextKey = null;
+            return new AbstractMap.SimpleEntry<>(key, get(key));
+        }
+
+        private boolean readNextSlot() {
+            nextSlot = Math.min(nextSlot, slots.capacity() - 1);
+            while (nextSlot >= 0) {
+                forEachEntryOfHomeSlot(nextSlot--, (hash, entry) -> slotKeys.add(readKey(mem, entry)));
+                if (!slotKeys.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reports the native memory allocated by this storage as the cost of its entries.
+     */
+    private final class NativeMemoryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        @Override
+        public long getEstimate() {
+            return memoryManager.getUsedMemory();
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+}
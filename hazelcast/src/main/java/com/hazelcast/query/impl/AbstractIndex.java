@@ -32,11 +32,13 @@ import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.Iterator;
 import java.util.Set;
 
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
 import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
 import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
+import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptySet;
 
 /**
@@ -57,6 +59,13 @@ public abstract class AbstractIndex implements InternalIndex {
     protected final IndexCopyBehavior copyBehavior;
 
     private final String[] components;
+
+    /**
+     * The indexed and the included attributes captured by this index in the
+     * indexed entries, empty if this index includes no attributes.
+     */
+    private final String[] coveredAttributes;
+
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
@@ -79,6 +88,7 @@ public abstract class AbstractIndex implements InternalIndex {
     ) {
         this.config = config;
         this.components = IndexUtils.getComponents(config);
+        this.coveredAttributes = IndexUtils.getCoveredAttributes(config);
         this.ordered = config.getType() == IndexType.SORTED;
         this.ss = ss;
         this.extractors = extractors;
@@ -136,6 +146,10 @@ public abstract class AbstractIndex implements InternalIndex {
             converter = obtainConverter(entry);
         }
 
+        if (coveredAttributes.length != 0) {
+            entry.coverAttributes(coveredAttributes);
+        }
+
         Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getTargetObject(false));
         if (oldValue == null) {
             indexStore.insert(newAttributeValue, entry, operationStats);
@@ -238,6 +252,73 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    // The hit stats are not updated by the iterators: the hit cardinality is
+    // unknown until the iteration completes, which may never happen.
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator() {
+        if (converter == null) {
+            return emptyIterator();
+        }
+
+        return indexStore.getRecordIterator();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+        if (converter == null) {
+            return emptyIterator();
+        }
+
+        return indexStore.getRecordIterator(convert(value));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value) {
+        if (converter == null) {
+            return emptyIterator();
+        }
+
+        return indexStore.getRecordIterator(comparison, convert(value));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                      boolean toInclusive) {
+        if (converter == null) {
+            return emptyIterator();
+        }
+
+        return indexStore.getRecordIterator(convert(from), fromInclusive, convert(to), toInclusive);
+    }
+
+    @Override
+    public long estimateCardinality(Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+
+        return indexStore.estimateCardinality(convert(value));
+    }
+
+    @Override
+    public long estimateCardinality(Comparison comparison, Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+
+        return indexStore.estimateCardinality(comparison, convert(value));
+    }
+
+    @Override
+    public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (converter == null) {
+            return 0;
+        }
+
+        return indexStore.estimateCardinality(convert(from), fromInclusive, convert(to), toInclusive);
+    }
+
     @Override
     public void clear() {
         indexStore.clear();
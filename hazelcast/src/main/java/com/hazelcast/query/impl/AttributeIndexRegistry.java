@@ -23,6 +23,7 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.Predicate;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -343,6 +344,80 @@ public class AttributeIndexRegistry {
             return delegate.getPerIndexStats();
         }
 
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator() {
+            return delegate.getRecordIterator(GREATER, new CompositeValue(width, NULL, POSITIVE_INFINITY));
+        }
+
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+            Comparable from = new CompositeValue(width, value, NEGATIVE_INFINITY);
+            Comparable to = new CompositeValue(width, value, POSITIVE_INFINITY);
+            return delegate.getRecordIterator(from, false, to, false);
+        }
+
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value) {
+            switch (comparison) {
+                case LESS:
+                    CompositeValue lessFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessTo = new CompositeValue(width, value, NEGATIVE_INFINITY);
+                    return delegate.getRecordIterator(lessFrom, false, lessTo, false);
+                case GREATER:
+                    return delegate.getRecordIterator(GREATER, new CompositeValue(width, value, POSITIVE_INFINITY));
+                case LESS_OR_EQUAL:
+                    CompositeValue greaterOrEqualFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue greaterOrEqualTo = new CompositeValue(width, value, POSITIVE_INFINITY);
+                    return delegate.getRecordIterator(greaterOrEqualFrom, false, greaterOrEqualTo, false);
+                case GREATER_OR_EQUAL:
+                    return delegate.getRecordIterator(GREATER_OR_EQUAL, new CompositeValue(width, value, NEGATIVE_INFINITY));
+                default:
+                    throw new IllegalStateException("unexpected comparison: " + comparison);
+            }
+        }
+
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                          boolean toInclusive) {
+            Comparable compositeFrom = new CompositeValue(width, from, fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            Comparable compositeTo = new CompositeValue(width, to, toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return delegate.getRecordIterator(compositeFrom, false, compositeTo, false);
+        }
+
+        @Override
+        public long estimateCardinality(Comparable value) {
+            Comparable from = new CompositeValue(width, value, NEGATIVE_INFINITY);
+            Comparable to = new CompositeValue(width, value, POSITIVE_INFINITY);
+            return delegate.estimateCardinality(from, false, to, false);
+        }
+
+        @Override
+        public long estimateCardinality(Comparison comparison, Comparable value) {
+            switch (comparison) {
+                case LESS:
+                    CompositeValue lessFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessTo = new CompositeValue(width, value, NEGATIVE_INFINITY);
+                    return delegate.estimateCardinality(lessFrom, false, lessTo, false);
+                case GREATER:
+                    return delegate.estimateCardinality(GREATER, new CompositeValue(width, value, POSITIVE_INFINITY));
+                case LESS_OR_EQUAL:
+                    CompositeValue greaterOrEqualFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue greaterOrEqualTo = new CompositeValue(width, value, POSITIVE_INFINITY);
+                    return delegate.estimateCardinality(greaterOrEqualFrom, false, greaterOrEqualTo, false);
+                case GREATER_OR_EQUAL:
+                    return delegate.estimateCardinality(GREATER_OR_EQUAL, new CompositeValue(width, value, NEGATIVE_INFINITY));
+                default:
+                    throw new IllegalStateException("unexpected comparison: " + comparison);
+            }
+        }
+
+        @Override
+        public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            Comparable compositeFrom = new CompositeValue(width, from, fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            Comparable compositeTo = new CompositeValue(width, to, toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return delegate.estimateCardinality(compositeFrom, false, compositeTo, false);
+        }
+
         private RuntimeException newUnsupportedException() {
             return new UnsupportedOperationException("decorated composite indexes support only querying");
         }
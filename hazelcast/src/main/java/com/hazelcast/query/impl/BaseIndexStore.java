@@ -22,9 +22,12 @@ import com.hazelcast.map.impl.record.Record;
 
 import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
@@ -50,9 +53,12 @@ public abstract class BaseIndexStore implements IndexStore {
      * <p>
      * The field is updated on every update of the index.
      * <p>
-     * The filed's access is guarded by {@link BaseIndexStore#lock}.
+     * The field is written by the index updates and read by the queries
+     * without holding any lock, the stores updating their indexes under
+     * striped locks may update it concurrently, each writer sets the value
+     * derived from the record store, so the last write wins safely.
      */
-    private boolean isIndexStoreExpirable;
+    private volatile boolean isIndexStoreExpirable;
 
     BaseIndexStore(IndexCopyBehavior copyOn) {
         if (copyOn == IndexCopyBehavior.COPY_ON_WRITE || copyOn == IndexCopyBehavior.NEVER) {
@@ -103,6 +109,23 @@ public abstract class BaseIndexStore implements IndexStore {
         return new SingleResultSet(resultCopyFunctor.invoke(records));
     }
 
+    /**
+     * Lazily flattens the given record maps into an iterator over their
+     * entries, copying every map as {@link #toSingleResultSet} does at the
+     * moment the iteration reaches it.
+     *
+     * @param recordMaps            the record maps to iterate over, may
+     *                              contain {@code null}s.
+     * @param hasToDetectDuplicates {@code true} if an entry may appear in
+     *                              several maps and has to be produced only
+     *                              once.
+     * @return the iterator over the entries.
+     */
+    final Iterator<QueryableEntry> toRecordIterator(Iterator<Map<Data, QueryableEntry>> recordMaps,
+                                                    boolean hasToDetectDuplicates) {
+        return new RecordIterator(recordMaps, hasToDetectDuplicates);
+    }
+
     @Override
     public void destroy() {
         // nothing to destroy
@@ -136,7 +159,6 @@ public abstract class BaseIndexStore implements IndexStore {
     }
 
     void markIndexStoreExpirableIfNecessary(QueryableEntry record) {
-        assert lock.isWriteLockedByCurrentThread();
         // StoreAdapter is not set in plenty of internal unit tests
         if (record.getStoreAdapter() != null) {
             isIndexStoreExpirable = record.getStoreAdapter().isExpirable();
@@ -159,6 +181,56 @@ public abstract class BaseIndexStore implements IndexStore {
 
     }
 
+    /**
+     * Iterates over the entries of a sequence of record maps, advancing to
+     * the next map only when the current one is exhausted.
+     */
+    private final class RecordIterator implements Iterator<QueryableEntry> {
+
+        private final Iterator<Map<Data, QueryableEntry>> recordMaps;
+        private final Set<Data> seenKeys;
+
+        private Iterator<QueryableEntry> current = Collections.emptyIterator();
+        private QueryableEntry next;
+
+        RecordIterator(Iterator<Map<Data, QueryableEntry>> recordMaps, boolean hasToDetectDuplicates) {
+            this.recordMaps = recordMaps;
+            this.seenKeys = hasToDetectDuplicates ? new HashSet<>() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                while (!current.hasNext()) {
+                    if (!recordMaps.hasNext()) {
+                        return false;
+                    }
+                    Map<Data, QueryableEntry> records = resultCopyFunctor.invoke(recordMaps.next());
+                    if (records != null) {
+                        current = records.values().iterator();
+                    }
+                }
+
+                QueryableEntry candidate = current.next();
+                if (seenKeys == null || seenKeys.add(candidate.getKeyData())) {
+                    next = candidate;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            QueryableEntry result = next;
+            next = null;
+            return result;
+        }
+
+    }
+
     private class PassThroughFunctor implements CopyFunctor<Data, QueryableEntry> {
 
         @Override
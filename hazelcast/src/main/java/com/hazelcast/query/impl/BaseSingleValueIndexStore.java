@@ -19,21 +19,50 @@ package com.hazelcast.query.impl;
 import com.hazelcast.internal.json.NonTerminalJsonValue;
 import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.query.impl.getters.MultiResult;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+import static com.hazelcast.internal.util.RuntimeAvailableProcessors.get;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 
 /**
  * The base store for indexes that are unable to work with multi-value
  * attributes natively. For such indexes {@link MultiResult}s are split into
  * individual values and each value is inserted/removed separately.
+ * <p>
+ * The stores are updated under striped locks: an update locks only the
+ * stripe of the attribute value it touches, so updates of different values
+ * proceed concurrently, which matters for global indexes updated by all the
+ * partition threads of a member. The underlying maps are concurrent, so the
+ * queries don't lock at all and observe the updates performed concurrently
+ * with them in a weakly consistent fashion. In particular, an entry whose
+ * attribute value is being changed may be briefly missing from the results.
  */
 public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
 
-    private boolean multiResultHasToDetectDuplicates;
+    private static final int MAX_STRIPE_COUNT = 64;
+
+    /**
+     * The number of value-record associations in this index store.
+     */
+    private final Counter entryCount = newMwCounter();
+
+    private final ReentrantLock[] stripes;
+
+    private volatile boolean multiResultHasToDetectDuplicates;
 
     BaseSingleValueIndexStore(IndexCopyBehavior copyOn) {
         super(copyOn);
+        stripes = new ReentrantLock[Math.min(MAX_STRIPE_COUNT, nextPowerOfTwo(2 * get()))];
+        for (int i = 0; i < stripes.length; ++i) {
+            stripes[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -41,6 +70,8 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      * <p>
      * Despite the name the given value acts as a key into this index store. In
      * other words, it's a value of an attribute this index store is built for.
+     * <p>
+     * Invoked while holding the stripe lock of the given value.
      *
      * @param value  the value of an attribute this index store is built for.
      * @param record the record to associate with the given value.
@@ -55,6 +86,8 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      * <p>
      * Despite the name the given value acts as a key into this index store. In
      * other words, it's a value of an attribute this index store is built for.
+     * <p>
+     * Invoked while holding the stripe lock of the given value.
      *
      * @param value     the value of an attribute this index store is built for.
      * @param recordKey the key of a record to dissociate from the given value.
@@ -67,36 +100,67 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
 
+    final long getEntryCount() {
+        return entryCount.get();
+    }
+
+    final Iterator<QueryableEntry> createRecordIterator(Iterator<Map<Data, QueryableEntry>> recordMaps) {
+        return toRecordIterator(recordMaps, multiResultHasToDetectDuplicates);
+    }
+
+    /**
+     * Locks all the stripes, so the caller may update this index store
+     * exclusively, e.g. to clear it.
+     */
+    final void lockAllStripes() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    /**
+     * Unlocks all the stripes locked by {@link #lockAllStripes()} and resets
+     * the entry count, the callers are expected to clear this index store
+     * while holding the stripes. The updates count the entries under their
+     * stripes, so the reset can't interleave with the counting.
+     */
+    final void unlockAllStripesCleared() {
+        entryCount.set(0);
+        for (int i = stripes.length - 1; i >= 0; --i) {
+            stripes[i].unlock();
+        }
+    }
+
     @Override
     public final void insert(Object value, QueryableEntry queryableEntry, IndexOperationStats operationStats) {
-        takeWriteLock();
-        try {
-            unwrapAndInsertToIndex(value, queryableEntry, operationStats);
-        } finally {
-            releaseWriteLock();
-        }
+        unwrapAndInsertToIndex(value, queryableEntry, operationStats);
     }
 
     @Override
     public final void update(Object oldValue, Object newValue, QueryableEntry entry, IndexOperationStats operationStats) {
-        takeWriteLock();
-        try {
-            Data indexKey = entry.getKeyData();
+        Data indexKey = entry.getKeyData();
+        if (oldValue instanceof MultiResult || newValue instanceof MultiResult
+                || oldValue == NonTerminalJsonValue.INSTANCE || newValue == NonTerminalJsonValue.INSTANCE) {
             unwrapAndRemoveFromIndex(oldValue, indexKey, operationStats);
             unwrapAndInsertToIndex(newValue, entry, operationStats);
-        } finally {
-            releaseWriteLock();
+            return;
+        }
+
+        Comparable sanitizedOldValue = sanitizeValue(oldValue);
+        Comparable sanitizedNewValue = sanitizeValue(newValue);
+        if (sanitizedOldValue.equals(sanitizedNewValue)) {
+            // The value is not changed, replacing the record in place keeps
+            // it visible to the concurrent queries.
+            insertSanitized(sanitizedNewValue, entry, newValue, operationStats);
+        } else {
+            removeSanitized(sanitizedOldValue, indexKey, operationStats);
+            insertSanitized(sanitizedNewValue, entry, newValue, operationStats);
         }
     }
 
     @Override
     public final void remove(Object value, Data entryKey, Object entryValue, IndexOperationStats operationStats) {
-        takeWriteLock();
-        try {
-            unwrapAndRemoveFromIndex(value, entryKey, operationStats);
-        } finally {
-            releaseWriteLock();
-        }
+        unwrapAndRemoveFromIndex(value, entryKey, operationStats);
     }
 
     @SuppressWarnings("unchecked")
@@ -108,14 +172,10 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             multiResultHasToDetectDuplicates = true;
             List<Object> results = ((MultiResult) newValue).getResults();
             for (Object o : results) {
-                Comparable sanitizedValue = sanitizeValue(o);
-                Object oldValue = insertInternal(sanitizedValue, queryableEntry);
-                operationStats.onEntryAdded(oldValue, newValue);
+                insertSanitized(sanitizeValue(o), queryableEntry, newValue, operationStats);
             }
         } else {
-            Comparable sanitizedValue = sanitizeValue(newValue);
-            Object oldValue = insertInternal(sanitizedValue, queryableEntry);
-            operationStats.onEntryAdded(oldValue, newValue);
+            insertSanitized(sanitizeValue(newValue), queryableEntry, newValue, operationStats);
         }
     }
 
@@ -127,14 +187,69 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
         if (oldValue instanceof MultiResult) {
             List<Object> results = ((MultiResult) oldValue).getResults();
             for (Object o : results) {
-                Comparable sanitizedValue = sanitizeValue(o);
-                Object removedValue = removeInternal(sanitizedValue, indexKey);
-                operationStats.onEntryRemoved(removedValue);
+                removeSanitized(sanitizeValue(o), indexKey, operationStats);
+            }
+        } else {
+            removeSanitized(sanitizeValue(oldValue), indexKey, operationStats);
+        }
+    }
+
+    private void insertSanitized(Comparable sanitizedValue, QueryableEntry queryableEntry, Object newValue,
+                                 IndexOperationStats operationStats) {
+        Object oldValue;
+        ReentrantLock stripe = stripeOf(sanitizedValue);
+        stripe.lock();
+        try {
+            oldValue = insertInternal(sanitizedValue, queryableEntry);
+            // counted under the stripe, so a concurrent clear can't reset the count in between
+            if (oldValue == null) {
+                entryCount.inc();
+            }
+        } finally {
+            stripe.unlock();
+        }
+        operationStats.onEntryAdded(oldValue, newValue);
+    }
+
+    private void removeSanitized(Comparable sanitizedValue, Data indexKey, IndexOperationStats operationStats) {
+        Object removedValue;
+        ReentrantLock stripe = stripeOf(sanitizedValue);
+        stripe.lock();
+        try {
+            removedValue = removeInternal(sanitizedValue, indexKey);
+            if (removedValue != null) {
+                entryCount.inc(-1);
+            }
+        } finally {
+            stripe.unlock();
+        }
+        operationStats.onEntryRemoved(removedValue);
+    }
+
+    private ReentrantLock stripeOf(Comparable value) {
+        int hash = stripeHash(value);
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    /**
+     * Hashes the given value consistently with the equality of the values
+     * used by the stores: numbers are compared across types by the ordered
+     * stores, so all the numbers are hashed by their double representation.
+     * The hash may be coarser than the equality, that only costs some lock
+     * contention.
+     */
+    private static int stripeHash(Comparable value) {
+        if (value instanceof Number) {
+            return Double.hashCode(((Number) value).doubleValue() + 0.0);
+        } else if (value instanceof CompositeValue) {
+            int hash = 1;
+            for (Comparable component : ((CompositeValue) value).getComponents()) {
+                hash = 31 * hash + stripeHash(component);
             }
+            return hash;
         } else {
-            Comparable sanitizedValue = sanitizeValue(oldValue);
-            Object removedValue = removeInternal(sanitizedValue, indexKey);
-            operationStats.onEntryRemoved(removedValue);
+            return value.hashCode();
         }
     }
 
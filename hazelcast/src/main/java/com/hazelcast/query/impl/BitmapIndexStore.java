@@ -328,6 +328,42 @@ public final class BitmapIndexStore extends BaseIndexStore {
         throw makeUnsupportedOperationException();
     }
 
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator() {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                      boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
     @Override
     Comparable canonicalizeScalarForStorage(Comparable value) {
         // Assuming on-heap overhead of 12 bytes for the object header and
@@ -24,6 +24,7 @@ import com.hazelcast.query.Predicate;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -211,6 +212,53 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.getPerIndexStats();
         }
 
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator() {
+            Iterator<QueryableEntry> result = delegate.getRecordIterator();
+            hasQueries = true;
+            return result;
+        }
+
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+            Iterator<QueryableEntry> result = delegate.getRecordIterator(value);
+            hasQueries = true;
+            return result;
+        }
+
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value) {
+            Iterator<QueryableEntry> result = delegate.getRecordIterator(comparison, value);
+            hasQueries = true;
+            return result;
+        }
+
+        @Override
+        public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                          boolean toInclusive) {
+            Iterator<QueryableEntry> result = delegate.getRecordIterator(from, fromInclusive, to, toInclusive);
+            hasQueries = true;
+            return result;
+        }
+
+        // The estimations are not tracked as queries: they don't access the
+        // indexed entries.
+
+        @Override
+        public long estimateCardinality(Comparable value) {
+            return delegate.estimateCardinality(value);
+        }
+
+        @Override
+        public long estimateCardinality(Comparison comparison, Comparable value) {
+            return delegate.estimateCardinality(comparison, value);
+        }
+
+        @Override
+        public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            return delegate.estimateCardinality(from, fromInclusive, to, toInclusive);
+        }
+
     }
 
 }
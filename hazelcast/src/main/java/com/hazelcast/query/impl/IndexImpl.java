@@ -52,6 +52,10 @@ public class IndexImpl extends AbstractIndex {
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
                 return new BitmapIndexStore(config, ss, extractors);
+            case TEXT:
+                return new TextIndexStore();
+            case SPATIAL:
+                return new SpatialIndexStore();
             default:
                 throw new IllegalArgumentException("unexpected index type: " + config.getType());
         }
@@ -21,6 +21,7 @@ import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.Predicate;
 
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -170,4 +171,99 @@ public interface IndexStore {
      */
     Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
 
+    /**
+     * Lazily iterates over all the entries that have non-null indexed
+     * attribute values.
+     * <p>
+     * Ordered index stores produce the entries in the order of their indexed
+     * attribute values.
+     *
+     * @return the iterator over the entries.
+     * @see #getRecordIterator(Comparable)
+     */
+    Iterator<QueryableEntry> getRecordIterator();
+
+    /**
+     * Lazily iterates over the entries that have indexed attribute value equal
+     * to the given value.
+     * <p>
+     * Unlike {@link #getRecords(Comparable)}, the entries are not collected
+     * upfront, so the iteration is weakly consistent: it reflects some of the
+     * index updates performed concurrently with it.
+     *
+     * @param value the value to iterate the entries for.
+     * @return the iterator over the entries.
+     */
+    Iterator<QueryableEntry> getRecordIterator(Comparable value);
+
+    /**
+     * Lazily iterates over the entries that have indexed attribute value
+     * satisfying the given comparison with the given value.
+     * <p>
+     * Ordered index stores produce the entries in the order of their indexed
+     * attribute values.
+     *
+     * @param comparison the comparison to perform.
+     * @param value      the value to perform the comparison with.
+     * @return the iterator over the entries.
+     * @see #getRecordIterator(Comparable)
+     */
+    Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value);
+
+    /**
+     * Lazily iterates over the entries that have indexed attribute value
+     * belonging to the given range.
+     * <p>
+     * Ordered index stores produce the entries in the order of their indexed
+     * attribute values.
+     *
+     * @param from          the beginning of the range.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the iterator over the entries.
+     * @see #getRecordIterator(Comparable)
+     */
+    Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
+    /**
+     * Estimates the number of entries that have indexed attribute value equal
+     * to the given value.
+     * <p>
+     * The estimations are cheap to obtain and are used to decide which of the
+     * indexed predicates is the most selective one, they never trigger a
+     * materialization of the entries.
+     *
+     * @param value the value to estimate the entry count for.
+     * @return the estimated number of entries.
+     */
+    long estimateCardinality(Comparable value);
+
+    /**
+     * Estimates the number of entries that have indexed attribute value
+     * satisfying the given comparison with the given value.
+     *
+     * @param comparison the comparison to perform.
+     * @param value      the value to perform the comparison with.
+     * @return the estimated number of entries.
+     * @see #estimateCardinality(Comparable)
+     */
+    long estimateCardinality(Comparison comparison, Comparable value);
+
+    /**
+     * Estimates the number of entries that have indexed attribute value
+     * belonging to the given range.
+     *
+     * @param from          the beginning of the range.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the estimated number of entries.
+     * @see #estimateCardinality(Comparable)
+     */
+    long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
 }
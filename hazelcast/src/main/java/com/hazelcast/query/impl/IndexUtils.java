@@ -77,6 +77,14 @@ public final class IndexUtils {
             throw new IllegalArgumentException("Composite bitmap indexes are not supported: " + config);
         }
 
+        if (config.getType() == IndexType.TEXT && originalAttributeNames.size() > 1) {
+            throw new IllegalArgumentException("Composite text indexes are not supported: " + config);
+        }
+
+        if (config.getType() == IndexType.SPATIAL && originalAttributeNames.size() != 2) {
+            throw new IllegalArgumentException("Spatial indexes must have exactly two attributes: " + config);
+        }
+
         List<String> normalizedAttributeNames = new ArrayList<>(originalAttributeNames.size());
 
         for (String originalAttributeName : originalAttributeNames) {
@@ -125,9 +133,44 @@ public final class IndexUtils {
             normalizedConfig.getBitmapIndexOptions().setUniqueKey(uniqueKey).setUniqueKeyTransformation(uniqueKeyTransformation);
         }
 
+        for (String normalizedIncludedAttributeName : normalizeIncludedAttributes(config, normalizedAttributeNames)) {
+            normalizedConfig.addIncludedAttribute(normalizedIncludedAttributeName);
+        }
+
         return normalizedConfig;
     }
 
+    private static List<String> normalizeIncludedAttributes(IndexConfig config, List<String> normalizedAttributeNames) {
+        List<String> originalIncludedAttributeNames = config.getIncludedAttributes();
+
+        if (originalIncludedAttributeNames.isEmpty()) {
+            return originalIncludedAttributeNames;
+        }
+
+        if (config.getType() == IndexType.BITMAP || config.getType() == IndexType.TEXT
+                || config.getType() == IndexType.SPATIAL) {
+            throw new IllegalArgumentException("Evaluate-only indexes cannot include attributes: " + config);
+        }
+
+        List<String> normalizedIncludedAttributeNames = new ArrayList<>(originalIncludedAttributeNames.size());
+
+        for (String originalIncludedAttributeName : originalIncludedAttributeNames) {
+            validateAttribute(config, originalIncludedAttributeName);
+
+            String normalizedIncludedAttributeName = canonicalizeAttribute(originalIncludedAttributeName.trim());
+
+            if (normalizedAttributeNames.contains(normalizedIncludedAttributeName)
+                    || normalizedIncludedAttributeNames.contains(normalizedIncludedAttributeName)) {
+                throw new IllegalArgumentException("Duplicate included attribute name [attributeName="
+                    + originalIncludedAttributeName + ", indexConfig=" + config + ']');
+            }
+
+            normalizedIncludedAttributeNames.add(normalizedIncludedAttributeName);
+        }
+
+        return normalizedIncludedAttributeNames;
+    }
+
     private static IndexConfig buildNormalizedConfig(String mapName, IndexType indexType, String indexName,
                                                      List<String> normalizedAttributeNames) {
         IndexConfig newConfig = new IndexConfig().setType(indexType);
@@ -221,6 +264,53 @@ public final class IndexUtils {
         return res;
     }
 
+    /**
+     * Gets the attributes captured by the index in the indexed entries: the
+     * indexed attributes followed by the included ones.
+     *
+     * @param config Index config.
+     * @return Covered attributes or an empty array if the index includes no attributes.
+     */
+    public static String[] getCoveredAttributes(IndexConfig config) {
+        assert config != null;
+
+        List<String> includedAttributes = config.getIncludedAttributes();
+
+        if (includedAttributes.isEmpty()) {
+            return new String[0];
+        }
+
+        List<String> attributes = config.getAttributes();
+
+        String[] res = new String[attributes.size() + includedAttributes.size()];
+
+        for (int i = 0; i < attributes.size(); i++) {
+            res[i] = attributes.get(i);
+        }
+
+        for (int i = 0; i < includedAttributes.size(); i++) {
+            res[attributes.size() + i] = includedAttributes.get(i);
+        }
+
+        return res;
+    }
+
+    /**
+     * Ensures that the given index configs have no included attributes. Used
+     * on paths, like the client protocol, that cannot transfer them.
+     *
+     * @param configs Index configs.
+     * @throws UnsupportedOperationException if any config has included attributes.
+     */
+    public static void checkNoIncludedAttributes(List<IndexConfig> configs) {
+        for (IndexConfig config : configs) {
+            if (!config.getIncludedAttributes().isEmpty()) {
+                throw new UnsupportedOperationException("Included attributes are not supported by clients [indexConfig="
+                    + config + ']');
+            }
+        }
+    }
+
     /**
      * Create simple index definition with the given attributes
      *
@@ -274,6 +364,14 @@ public final class IndexUtils {
             }
             gen.close();
 
+            if (!indexCfg.getIncludedAttributes().isEmpty()) {
+                gen.open("included-attributes");
+                for (String includedAttribute : indexCfg.getIncludedAttributes()) {
+                    gen.node("attribute", includedAttribute);
+                }
+                gen.close();
+            }
+
             if (indexCfg.getType() == IndexType.BITMAP) {
                 BitmapIndexOptions bitmapIndexOptions = indexCfg.getBitmapIndexOptions();
 
@@ -303,7 +401,8 @@ public final class IndexUtils {
         IndexConfig res = new IndexConfig().setName(name).setType(type);
 
         for (Node attributesNode : childElements(indexNode)) {
-            if ("attributes".equals(cleanNodeName(attributesNode))) {
+            String attributesNodeName = cleanNodeName(attributesNode);
+            if ("attributes".equals(attributesNodeName)) {
                 for (Node attributeNode : childElements(attributesNode)) {
                     if ("attribute".equals(cleanNodeName(attributeNode))) {
                         String attribute = DomConfigHelper.getTextContent(attributeNode, domLevel3);
@@ -311,6 +410,14 @@ public final class IndexUtils {
                         res.addAttribute(attribute);
                     }
                 }
+            } else if ("included-attributes".equals(attributesNodeName)) {
+                for (Node attributeNode : childElements(attributesNode)) {
+                    if ("attribute".equals(cleanNodeName(attributeNode))) {
+                        String includedAttribute = DomConfigHelper.getTextContent(attributeNode, domLevel3);
+
+                        res.addIncludedAttribute(includedAttribute);
+                    }
+                }
             }
         }
 
@@ -348,6 +455,10 @@ public final class IndexUtils {
             return IndexType.HASH;
         } else if (typeStr.equals(IndexType.BITMAP.name().toLowerCase())) {
             return IndexType.BITMAP;
+        } else if (typeStr.equals(IndexType.TEXT.name().toLowerCase())) {
+            return IndexType.TEXT;
+        } else if (typeStr.equals(IndexType.SPATIAL.name().toLowerCase())) {
+            return IndexType.SPATIAL;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -378,6 +489,10 @@ public final class IndexUtils {
             type = IndexType.HASH;
         } else if (typeStr.equals(IndexType.BITMAP.name().toLowerCase())) {
             type = IndexType.BITMAP;
+        } else if (typeStr.equals(IndexType.TEXT.name().toLowerCase())) {
+            type = IndexType.TEXT;
+        } else if (typeStr.equals(IndexType.SPATIAL.name().toLowerCase())) {
+            type = IndexType.SPATIAL;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -391,6 +506,13 @@ public final class IndexUtils {
             res.addAttribute(attribute);
         }
 
+        Node includedAttributesNode = attrs.getNamedItem("included-attributes");
+        if (includedAttributesNode != null) {
+            for (Node includedAttributeNode : childElements(includedAttributesNode)) {
+                res.addIncludedAttribute(includedAttributeNode.getNodeValue());
+            }
+        }
+
         if (type == IndexType.BITMAP) {
             Node optionsNode = DomConfigHelper.childElementWithName(indexNode, "bitmap-index-options");
             if (optionsNode != null) {
@@ -423,6 +545,12 @@ public final class IndexUtils {
             case BITMAP:
                 return "bitmap";
 
+            case TEXT:
+                return "text";
+
+            case SPATIAL:
+                return "spatial";
+
             default:
                 throw new IllegalArgumentException("Unsupported index type: " + type);
         }
@@ -64,7 +64,7 @@ public class Indexes {
 
     private final Map<String, InternalIndex> indexesByName = new ConcurrentHashMap<>(3);
     private final AttributeIndexRegistry attributeIndexRegistry = new AttributeIndexRegistry();
-    private final AttributeIndexRegistry evaluateOnlyAttributeIndexRegistry = new AttributeIndexRegistry();
+    private final Map<String, InternalIndex[]> evaluateOnlyIndexesByAttribute = new ConcurrentHashMap<>();
     private final ConverterCache converterCache = new ConverterCache(this);
     private final Map<String, IndexConfig> definitions = new ConcurrentHashMap<>();
 
@@ -139,7 +139,7 @@ public class Indexes {
 
         indexesByName.put(name, index);
         if (index.isEvaluateOnly()) {
-            evaluateOnlyAttributeIndexRegistry.register(index);
+            registerEvaluateOnlyIndex(index);
         } else {
             attributeIndexRegistry.register(index);
         }
@@ -216,7 +216,7 @@ public class Indexes {
         compositeIndexes = EMPTY_INDEXES;
         indexesByName.clear();
         attributeIndexRegistry.clear();
-        evaluateOnlyAttributeIndexRegistry.clear();
+        evaluateOnlyIndexesByAttribute.clear();
         converterCache.clear();
 
         for (InternalIndex index : indexesSnapshot) {
@@ -391,7 +391,7 @@ public class Indexes {
         if (matchHint == QueryContext.IndexMatchHint.EXACT_NAME) {
             index = indexesByName.get(pattern);
         } else {
-            index = evaluateOnlyAttributeIndexRegistry.match(pattern, matchHint);
+            index = matchEvaluateOnlyIndex(pattern, predicateClass);
             if (index == null) {
                 index = attributeIndexRegistry.match(pattern, matchHint);
             }
@@ -412,6 +412,36 @@ public class Indexes {
         return index;
     }
 
+    private void registerEvaluateOnlyIndex(InternalIndex index) {
+        // Called from the synchronized addOrGetIndex only, so copy-on-write
+        // is enough here. Composite evaluate-only indexes are matched
+        // separately through getCompositeIndexes.
+        String[] components = index.getComponents();
+        if (components.length != 1) {
+            return;
+        }
+
+        String attribute = components[0];
+        InternalIndex[] oldIndexes = evaluateOnlyIndexesByAttribute.getOrDefault(attribute, EMPTY_INDEXES);
+        InternalIndex[] newIndexes = Arrays.copyOf(oldIndexes, oldIndexes.length + 1);
+        newIndexes[oldIndexes.length] = index;
+        evaluateOnlyIndexesByAttribute.put(attribute, newIndexes);
+    }
+
+    private InternalIndex matchEvaluateOnlyIndex(String attribute, Class<? extends Predicate> predicateClass) {
+        InternalIndex[] candidates = evaluateOnlyIndexesByAttribute.get(attribute);
+        if (candidates == null) {
+            return null;
+        }
+
+        for (InternalIndex candidate : candidates) {
+            if (candidate.canEvaluate(predicateClass)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
     /**
      * @return a converter instance for the given attribute or {@code null} if
      * a converter is not available. The later may happen if the attribute is
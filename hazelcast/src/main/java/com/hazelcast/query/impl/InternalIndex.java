@@ -18,6 +18,8 @@ package com.hazelcast.query.impl;
 
 import com.hazelcast.internal.monitor.impl.PerIndexStats;
 
+import java.util.Iterator;
+
 /**
  * Provides the private index API.
  */
@@ -75,4 +77,92 @@ public interface InternalIndex extends Index {
      */
     PerIndexStats getPerIndexStats();
 
+    /**
+     * Lazily iterates over all the entries whose attribute values are not
+     * null.
+     * <p>
+     * Ordered indexes produce the entries in the order of their attribute
+     * values, so the callers may consume just a prefix of the index.
+     *
+     * @return the iterator over the matching entries.
+     * @see #getRecordIterator(Comparable)
+     */
+    Iterator<QueryableEntry> getRecordIterator();
+
+    /**
+     * Lazily iterates over the entries whose attribute values are equal to the
+     * given value.
+     * <p>
+     * In contrast to {@link #getRecords(Comparable)}, no result set is
+     * materialized, so the callers may stop consuming the entries at any
+     * point. The iteration is weakly consistent.
+     *
+     * @param value the value to compare against.
+     * @return the iterator over the matching entries.
+     */
+    Iterator<QueryableEntry> getRecordIterator(Comparable value);
+
+    /**
+     * Lazily iterates over the entries whose attribute values satisfy the
+     * comparison of the given type with the given value.
+     *
+     * @param comparison the type of the comparison to perform.
+     * @param value      the value to compare against.
+     * @return the iterator over the matching entries.
+     * @see #getRecordIterator(Comparable)
+     */
+    Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value);
+
+    /**
+     * Lazily iterates over the entries whose attribute values belong to the
+     * range defined by the passed arguments.
+     *
+     * @param from          the beginning of the range.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the iterator over the matching entries.
+     * @see #getRecordIterator(Comparable)
+     */
+    Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
+    /**
+     * Estimates the number of entries whose attribute values are equal to the
+     * given value.
+     * <p>
+     * Unlike {@link #getRecords(Comparable)}, the estimation doesn't touch the
+     * matching entries and doesn't count as an index hit.
+     *
+     * @param value the value to compare against.
+     * @return the estimated number of matching entries.
+     */
+    long estimateCardinality(Comparable value);
+
+    /**
+     * Estimates the number of entries whose attribute values satisfy the
+     * comparison of the given type with the given value.
+     *
+     * @param comparison the type of the comparison to perform.
+     * @param value      the value to compare against.
+     * @return the estimated number of matching entries.
+     * @see #estimateCardinality(Comparable)
+     */
+    long estimateCardinality(Comparison comparison, Comparable value);
+
+    /**
+     * Estimates the number of entries whose attribute values belong to the
+     * range defined by the passed arguments.
+     *
+     * @param from          the beginning of the range.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the estimated number of matching entries.
+     * @see #estimateCardinality(Comparable)
+     */
+    long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
 }
@@ -16,25 +16,30 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.internal.serialization.Data;
+
 import java.util.AbstractSet;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
-import static com.hazelcast.internal.util.SetUtil.createHashSet;
-
 /**
  * Or result set for Predicates.
+ * <p>
+ * The result set is not materialized: its iterator walks the indexed results
+ * one after another and skips the entries which were already produced by a
+ * preceding result. Such entries are detected by their keys: the iterator
+ * remembers the keys it produced from every result but the last one.
  */
 public class OrResultSet extends AbstractSet<QueryableEntry> {
 
-    private static final int ENTRY_MULTIPLE = 4;
-    private static final int ENTRY_MIN_SIZE = 8;
+    private static final int SIZE_UNINITIALIZED = -1;
 
     private final List<Set<QueryableEntry>> indexedResults;
-    private Set<QueryableEntry> entries;
+    private int cachedSize = SIZE_UNINITIALIZED;
 
     public OrResultSet(List<Set<QueryableEntry>> indexedResults) {
         this.indexedResults = indexedResults;
@@ -52,44 +57,97 @@ public class OrResultSet extends AbstractSet<QueryableEntry> {
 
     @Override
     public Iterator<QueryableEntry> iterator() {
-        return getEntries().iterator();
+        if (indexedResults.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        return new It();
     }
 
     @Override
     public int size() {
-        return getEntries().size();
+        if (cachedSize == SIZE_UNINITIALIZED) {
+            int calculatedSize = 0;
+            for (Iterator<QueryableEntry> it = iterator(); it.hasNext(); it.next()) {
+                calculatedSize++;
+            }
+            cachedSize = calculatedSize;
+        }
+        return cachedSize;
     }
 
     /**
-     * @return returns estimated size without allocating the full result set
+     * @return returns estimated size without iterating over the full result set
      */
     public int estimatedSize() {
-        if (entries == null) {
+        if (cachedSize == SIZE_UNINITIALIZED) {
             if (indexedResults.isEmpty()) {
                 return 0;
             } else {
                 return indexedResults.get(0).size();
             }
         }
-        return entries.size();
+        return cachedSize;
     }
 
-    private Set<QueryableEntry> getEntries() {
-        if (entries == null) {
-            if (indexedResults.isEmpty()) {
-                entries = Collections.emptySet();
-            } else {
-                if (indexedResults.size() == 1) {
-                    entries = new HashSet<QueryableEntry>(indexedResults.get(0));
-                } else {
-                    entries = createHashSet(Math.max(ENTRY_MIN_SIZE, indexedResults.size() * ENTRY_MULTIPLE));
-                    for (Set<QueryableEntry> result : indexedResults) {
-                        entries.addAll(result);
+    class It implements Iterator<QueryableEntry> {
+
+        int currentIndex;
+        Iterator<QueryableEntry> currentIterator = indexedResults.get(0).iterator();
+        QueryableEntry currentEntry;
+
+        /**
+         * The keys of the entries produced so far, {@code null} if there is
+         * a single result to produce the entries of.
+         */
+        final Set<Data> producedKeys = indexedResults.size() > 1 ? new HashSet<Data>() : null;
+
+        @Override
+        public boolean hasNext() {
+            if (currentEntry != null) {
+                return true;
+            }
+
+            while (true) {
+                while (!currentIterator.hasNext()) {
+                    if (++currentIndex == indexedResults.size()) {
+                        return false;
                     }
+                    currentIterator = indexedResults.get(currentIndex).iterator();
                 }
+
+                QueryableEntry entry = currentIterator.next();
+                if (isNotProducedYet(entry)) {
+                    currentEntry = entry;
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            QueryableEntry result = currentEntry;
+            currentEntry = null;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private boolean isNotProducedYet(QueryableEntry entry) {
+            if (producedKeys == null) {
+                return true;
             }
+            // no result follows the last one, so its keys are not remembered
+            return currentIndex == indexedResults.size() - 1
+                    ? !producedKeys.contains(entry.getKeyData())
+                    : producedKeys.add(entry.getKeyData());
         }
-        return entries;
     }
 
 }
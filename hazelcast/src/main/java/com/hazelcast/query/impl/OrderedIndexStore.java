@@ -22,20 +22,35 @@ import com.hazelcast.query.Predicate;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 
 /**
  * Store indexes rankly.
  */
 public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
+    /**
+     * The number of distinct values a range cardinality estimation counts the
+     * entries of exactly, the rest of the range is interpolated.
+     */
+    static final int EXACT_ESTIMATION_VALUE_LIMIT = 32;
+
+    /**
+     * The selectivity assumed for ranges over non-numeric values, when the
+     * interpolation is impossible.
+     */
+    private static final int NON_NUMERIC_RANGE_SELECTIVITY_DIVISOR = 3;
+
     private final ConcurrentSkipListMap<Comparable, Map<Data, QueryableEntry>> recordMap =
             new ConcurrentSkipListMap<>(Comparables.COMPARATOR);
 
@@ -86,12 +101,12 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     @Override
     public void clear() {
-        takeWriteLock();
+        lockAllStripes();
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
         } finally {
-            releaseWriteLock();
+            unlockAllStripesCleared();
         }
     }
 
@@ -112,99 +127,186 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     @Override
     public Set<QueryableEntry> getRecords(Comparable value) {
-        takeReadLock();
-        try {
-            if (value == NULL) {
-                return toSingleResultSet(recordsWithNullValue);
-            } else {
-                return toSingleResultSet(recordMap.get(value));
-            }
-        } finally {
-            releaseReadLock();
+        if (value == NULL) {
+            return toSingleResultSet(recordsWithNullValue);
+        } else {
+            return toSingleResultSet(recordMap.get(value));
         }
     }
 
     @Override
     public Set<QueryableEntry> getRecords(Set<Comparable> values) {
-        takeReadLock();
-        try {
-            MultiResultSet results = createMultiResultSet();
-            for (Comparable value : values) {
-                Map<Data, QueryableEntry> records;
-                if (value == NULL) {
-                    records = recordsWithNullValue;
-                } else {
-                    records = recordMap.get(value);
-                }
-                if (records != null) {
-                    copyToMultiResultSet(results, records);
-                }
+        MultiResultSet results = createMultiResultSet();
+        for (Comparable value : values) {
+            Map<Data, QueryableEntry> records;
+            if (value == NULL) {
+                records = recordsWithNullValue;
+            } else {
+                records = recordMap.get(value);
+            }
+            if (records != null) {
+                copyToMultiResultSet(results, records);
             }
-            return results;
-        } finally {
-            releaseReadLock();
         }
+        return results;
     }
 
     @Override
     public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
-        takeReadLock();
-        try {
-            MultiResultSet results = createMultiResultSet();
-            SortedMap<Comparable, Map<Data, QueryableEntry>> subMap;
-            switch (comparison) {
-                case LESS:
-                    subMap = recordMap.headMap(searchedValue, false);
-                    break;
-                case LESS_OR_EQUAL:
-                    subMap = recordMap.headMap(searchedValue, true);
-                    break;
-                case GREATER:
-                    subMap = recordMap.tailMap(searchedValue, false);
-                    break;
-                case GREATER_OR_EQUAL:
-                    subMap = recordMap.tailMap(searchedValue, true);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
-            }
-            for (Map<Data, QueryableEntry> value : subMap.values()) {
-                copyToMultiResultSet(results, value);
-            }
-            return results;
-        } finally {
-            releaseReadLock();
+        MultiResultSet results = createMultiResultSet();
+        NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap = subMap(comparison, searchedValue);
+        for (Map<Data, QueryableEntry> value : subMap.values()) {
+            copyToMultiResultSet(results, value);
         }
+        return results;
     }
 
     @Override
     public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
-        takeReadLock();
-        try {
-            int order = Comparables.compare(from, to);
-            if (order == 0) {
-                if (!fromInclusive || !toInclusive) {
-                    return emptySet();
-                }
-                return toSingleResultSet(recordMap.get(from));
-            } else if (order > 0) {
+        int order = Comparables.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
                 return emptySet();
             }
+            return toSingleResultSet(recordMap.get(from));
+        } else if (order > 0) {
+            return emptySet();
+        }
+
+        MultiResultSet results = createMultiResultSet();
+        NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap = recordMap.subMap(from, fromInclusive, to, toInclusive);
+        for (Map<Data, QueryableEntry> value : subMap.values()) {
+            copyToMultiResultSet(results, value);
+        }
+        return results;
+    }
+
+    // Like the lookups above, the iterators below take no locks: they walk the
+    // concurrent skip list lazily, long after the lookup returns, and the
+    // record maps they reach are either concurrent or copied on write.
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator() {
+        return createRecordIterator(recordMap.values().iterator());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+        Map<Data, QueryableEntry> records = value == NULL ? recordsWithNullValue : recordMap.get(value);
+        return createRecordIterator(singleton(records).iterator());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable searchedValue) {
+        return createRecordIterator(subMap(comparison, searchedValue).values().iterator());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                      boolean toInclusive) {
+        int order = Comparables.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return createRecordIterator(singleton(recordMap.get(from)).iterator());
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+
+        return createRecordIterator(recordMap.subMap(from, fromInclusive, to, toInclusive).values().iterator());
+    }
+
+    @Override
+    public long estimateCardinality(Comparable value) {
+        Map<Data, QueryableEntry> records = value == NULL ? recordsWithNullValue : recordMap.get(value);
+        return records == null ? 0 : records.size();
+    }
+
+    @Override
+    public long estimateCardinality(Comparison comparison, Comparable value) {
+        return estimateCardinality(subMap(comparison, value));
+    }
+
+    @Override
+    public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        int order = Comparables.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return 0;
+            }
+            Map<Data, QueryableEntry> records = recordMap.get(from);
+            return records == null ? 0 : records.size();
+        } else if (order > 0) {
+            return 0;
+        }
+
+        return estimateCardinality(recordMap.subMap(from, fromInclusive, to, toInclusive));
+    }
 
-            MultiResultSet results = createMultiResultSet();
-            SortedMap<Comparable, Map<Data, QueryableEntry>> subMap = recordMap.subMap(from, fromInclusive, to, toInclusive);
-            for (Map<Data, QueryableEntry> value : subMap.values()) {
-                copyToMultiResultSet(results, value);
+    /**
+     * Counts the entries of the first {@link #EXACT_ESTIMATION_VALUE_LIMIT}
+     * values of the given range exactly, so narrow ranges are estimated
+     * precisely. The cardinality of wider ranges is interpolated from the
+     * bounds of the range relative to the bounds of the whole index assuming
+     * the values are distributed uniformly.
+     */
+    private long estimateCardinality(NavigableMap<Comparable, Map<Data, QueryableEntry>> range) {
+        long count = 0;
+        int valueCount = 0;
+        Comparable first = null;
+        for (Map.Entry<Comparable, Map<Data, QueryableEntry>> entry : range.entrySet()) {
+            if (valueCount == EXACT_ESTIMATION_VALUE_LIMIT) {
+                Map.Entry<Comparable, Map<Data, QueryableEntry>> last = range.lastEntry();
+                return last == null ? count : Math.max(count, interpolateCardinality(first, last.getKey()));
             }
-            return results;
-        } finally {
-            releaseReadLock();
+            if (first == null) {
+                first = entry.getKey();
+            }
+            count += entry.getValue().size();
+            ++valueCount;
+        }
+        return count;
+    }
+
+    private long interpolateCardinality(Comparable from, Comparable to) {
+        long entryCount = getEntryCount();
+        Map.Entry<Comparable, Map<Data, QueryableEntry>> min = recordMap.firstEntry();
+        Map.Entry<Comparable, Map<Data, QueryableEntry>> max = recordMap.lastEntry();
+        if (min == null || max == null) {
+            return 0;
+        }
+
+        if (!(from instanceof Number && to instanceof Number && min.getKey() instanceof Number
+                && max.getKey() instanceof Number)) {
+            return entryCount / NON_NUMERIC_RANGE_SELECTIVITY_DIVISOR;
+        }
+        double span = ((Number) max.getKey()).doubleValue() - ((Number) min.getKey()).doubleValue();
+        double rangeSpan = ((Number) to).doubleValue() - ((Number) from).doubleValue();
+        if (!(span > 0.0) || !(rangeSpan >= 0.0)) {
+            return entryCount;
+        }
+        return (long) (entryCount * Math.min(1.0, rangeSpan / span));
+    }
+
+    private NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap(Comparison comparison, Comparable searchedValue) {
+        switch (comparison) {
+            case LESS:
+                return recordMap.headMap(searchedValue, false);
+            case LESS_OR_EQUAL:
+                return recordMap.headMap(searchedValue, true);
+            case GREATER:
+                return recordMap.tailMap(searchedValue, false);
+            case GREATER_OR_EQUAL:
+                return recordMap.tailMap(searchedValue, true);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
         }
     }
 
     /**
      * Adds entry to the given index map without copying it.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -228,7 +330,7 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     /**
      * Adds entry to the given index map copying it to secure exclusive access.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -259,7 +361,7 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     /**
      * Removes entry from the given index map without copying it.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -289,7 +391,7 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     /**
      * Removes entry from the given index map copying it to secure exclusive access.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -29,6 +29,7 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.getters.ReflectionHelper;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
@@ -50,6 +51,12 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     private StoreAdapter storeAdapter;
     private Record record;
 
+    /**
+     * The attribute values captured by the indexes including attributes,
+     * {@code null} if the entry is not stored in such indexes.
+     */
+    private volatile CoveredAttributes coveredAttributes;
+
     // overridden in some subclasses
     public Metadata getMetadata() {
         // record is not set in plenty of internal unit tests
@@ -77,9 +84,53 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     @Override
     public Object getAttributeValue(String attributeName) throws QueryException {
+        CoveredAttributes covered = coveredAttributes;
+        if (covered != null) {
+            int index = covered.indexOf(attributeName);
+            if (index != -1) {
+                return covered.values[index];
+            }
+        }
         return extractAttributeValue(attributeName);
     }
 
+    /**
+     * Captures the values of the given attributes, so the subsequent reads of
+     * the attributes are served without extracting them from the key or the
+     * value of this entry, which may involve the deserialization.
+     * <p>
+     * Invoked by the indexes including attributes before storing this entry,
+     * the key and the value of an indexed entry never change.
+     *
+     * @param attributeNames the names of the attributes to capture.
+     */
+    void coverAttributes(String[] attributeNames) {
+        CoveredAttributes covered = coveredAttributes;
+        int coveredCount = covered == null ? 0 : covered.names.length;
+
+        String[] names = new String[coveredCount + attributeNames.length];
+        Object[] values = new Object[names.length];
+        if (covered != null) {
+            System.arraycopy(covered.names, 0, names, 0, coveredCount);
+            System.arraycopy(covered.values, 0, values, 0, coveredCount);
+        }
+
+        int count = coveredCount;
+        for (String attributeName : attributeNames) {
+            if (covered != null && covered.indexOf(attributeName) != -1) {
+                continue;
+            }
+            names[count] = attributeName;
+            values[count] = extractAttributeValue(attributeName);
+            ++count;
+        }
+
+        if (count != coveredCount) {
+            coveredAttributes = new CoveredAttributes(count == names.length ? names : Arrays.copyOf(names, count),
+                    count == values.length ? values : Arrays.copyOf(values, count));
+        }
+    }
+
     public abstract V getValue();
 
     public abstract K getKey();
@@ -213,4 +264,29 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         return isKey ? metadata.getKeyMetadata() : metadata.getValueMetadata();
     }
 
+    /**
+     * The names of the covered attributes and their values, the arrays are
+     * never modified after the construction.
+     */
+    private static final class CoveredAttributes {
+
+        final String[] names;
+        final Object[] values;
+
+        CoveredAttributes(String[] names, Object[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        int indexOf(String attributeName) {
+            for (int i = 0; i < names.length; ++i) {
+                if (names[i].equals(attributeName)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+    }
+
 }
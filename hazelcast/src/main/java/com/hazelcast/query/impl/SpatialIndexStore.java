@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The store of spatial indexes.
+ * <p>
+ * Indexes two numeric attributes as points on a plane. Every point is mapped
+ * to the cell of a 2^32 x 2^32 grid containing it, the cells are ordered
+ * along the Z-order curve by interleaving the bits of their coordinates. A
+ * range query on both attributes is decomposed into a bounded number of
+ * contiguous Z-order ranges covering the queried box, only the points falling
+ * into these ranges are checked against the box bounds.
+ * <p>
+ * Entries having a non-numeric or null attribute value can't be placed on the
+ * plane, they are checked against the queried predicate directly.
+ */
+public final class SpatialIndexStore extends BaseIndexStore {
+
+    private static final int MAX_RANGES = 64;
+    private static final int QUADRANTS = 4;
+
+    private static final int DIMENSION_BITS = Integer.SIZE;
+    private static final long MAX_CELL = 0xFFFFFFFFL;
+    private static final long NO_CELL = -1;
+
+    private static final Set<Class<? extends Predicate>> EVALUABLE_PREDICATES = new HashSet<>();
+
+    static {
+        EVALUABLE_PREDICATES.add(AndPredicate.class);
+    }
+
+    private final NavigableMap<Point, Map<Data, QueryableEntry>> points = new TreeMap<>();
+    // entries which can't be placed on the plane
+    private final Map<Data, QueryableEntry> unplaced = new HashMap<>();
+
+    public SpatialIndexStore() {
+        super(IndexCopyBehavior.NEVER);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        return value;
+    }
+
+    @Override
+    Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void insert(Object value, QueryableEntry entry, IndexOperationStats operationStats) {
+        Point point = pointOf(value);
+
+        takeWriteLock();
+        try {
+            markIndexStoreExpirableIfNecessary(entry);
+            insertInternal(point, entry);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void update(Object oldValue, Object newValue, QueryableEntry entry, IndexOperationStats operationStats) {
+        Point oldPoint = pointOf(oldValue);
+        Point newPoint = pointOf(newValue);
+
+        takeWriteLock();
+        try {
+            markIndexStoreExpirableIfNecessary(entry);
+            removeInternal(oldPoint, entry.getKeyData());
+            insertInternal(newPoint, entry);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void remove(Object value, Data entryKey, Object entryValue, IndexOperationStats operationStats) {
+        Point point = pointOf(value);
+
+        takeWriteLock();
+        try {
+            removeInternal(point, entryKey);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            points.clear();
+            unplaced.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return EVALUABLE_PREDICATES.contains(predicateClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The given predicate is expected to be an {@link AndPredicate} of two
+     * {@link RangePredicate}s on the first and the second indexed attribute
+     * respectively.
+     */
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        Predicate[] ranges = ((AndPredicate) predicate).getPredicates();
+        assert ranges.length == 2;
+        Bounds x = new Bounds((RangePredicate) ranges[0], componentConverter(converter, 0));
+        Bounds y = new Bounds((RangePredicate) ranges[1], componentConverter(converter, 1));
+        List<long[]> cellRanges = cellRanges(x.lowCell(), x.highCell(), y.lowCell(), y.highCell());
+
+        Map<Data, QueryableEntry> matches = new HashMap<>();
+        List<QueryableEntry> candidates;
+        takeReadLock();
+        try {
+            for (long[] cellRange : cellRanges) {
+                NavigableMap<Point, Map<Data, QueryableEntry>> range =
+                        points.subMap(Point.lowest(cellRange[0]), true, Point.highest(cellRange[1]), true);
+                for (Map.Entry<Point, Map<Data, QueryableEntry>> pointEntry : range.entrySet()) {
+                    Point point = pointEntry.getKey();
+                    if (x.contains(point.x) && y.contains(point.y)) {
+                        matches.putAll(pointEntry.getValue());
+                    }
+                }
+            }
+            candidates = new ArrayList<>(unplaced.values());
+        } finally {
+            releaseReadLock();
+        }
+
+        // The unplaced candidates are checked outside of the lock, the check
+        // may involve the deserialization of the entry values.
+        for (QueryableEntry candidate : candidates) {
+            if (predicate.apply(candidate)) {
+                matches.put(candidate.getKeyData(), candidate);
+            }
+        }
+        return toSingleResultSet(matches);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator() {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                      boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    private void insertInternal(Point point, QueryableEntry entry) {
+        if (point == null) {
+            unplaced.put(entry.getKeyData(), entry);
+        } else {
+            points.computeIfAbsent(point, p -> new HashMap<>()).put(entry.getKeyData(), entry);
+        }
+    }
+
+    private void removeInternal(Point point, Data entryKey) {
+        if (point == null) {
+            unplaced.remove(entryKey);
+            return;
+        }
+
+        Map<Data, QueryableEntry> records = points.get(point);
+        if (records != null) {
+            records.remove(entryKey);
+            if (records.isEmpty()) {
+                points.remove(point);
+            }
+        }
+    }
+
+    private Point pointOf(Object value) {
+        if (!(value instanceof CompositeValue)) {
+            return null;
+        }
+
+        Comparable[] components = ((CompositeValue) sanitizeValue(value)).getComponents();
+        assert components.length == 2;
+        Comparable x = components[0];
+        Comparable y = components[1];
+        long xCell = cellOf(x);
+        long yCell = cellOf(y);
+        if (xCell == NO_CELL || yCell == NO_CELL) {
+            return null;
+        }
+        return new Point(interleave(xCell, yCell), x, y);
+    }
+
+    private static TypeConverter componentConverter(TypeConverter converter, int component) {
+        return converter instanceof CompositeConverter ? ((CompositeConverter) converter).getComponentConverter(component)
+                : converter;
+    }
+
+    /**
+     * Decomposes the given box of cells into at most {@link #MAX_RANGES}
+     * contiguous Z-order ranges covering it. The box is refined level by
+     * level as a quadtree, the quadrants crossing the box boundary are split
+     * until the range budget is exhausted.
+     *
+     * @return the sorted Z-order ranges, every range is a two-element array
+     * of unsigned inclusive bounds.
+     */
+    static List<long[]> cellRanges(long xLow, long xHigh, long yLow, long yHigh) {
+        List<long[]> ranges = new ArrayList<>();
+        if (xLow > xHigh || yLow > yHigh) {
+            return ranges;
+        }
+
+        // a quadrant is represented by its x, y and level
+        Queue<long[]> quadrants = new ArrayDeque<>();
+        quadrants.add(new long[]{0, 0, 0});
+        while (!quadrants.isEmpty()) {
+            long[] quadrant = quadrants.poll();
+            int shift = DIMENSION_BITS - (int) quadrant[2];
+            long quadrantXLow = quadrant[0] << shift;
+            long quadrantXHigh = quadrantXLow + (1L << shift) - 1;
+            long quadrantYLow = quadrant[1] << shift;
+            long quadrantYHigh = quadrantYLow + (1L << shift) - 1;
+
+            if (quadrantXHigh < xLow || quadrantXLow > xHigh || quadrantYHigh < yLow || quadrantYLow > yHigh) {
+                continue;
+            }
+
+            boolean inside = quadrantXLow >= xLow && quadrantXHigh <= xHigh && quadrantYLow >= yLow && quadrantYHigh <= yHigh;
+            if (inside || shift == 0 || ranges.size() + quadrants.size() + QUADRANTS > MAX_RANGES) {
+                ranges.add(new long[]{interleave(quadrantXLow, quadrantYLow), interleave(quadrantXHigh, quadrantYHigh)});
+                continue;
+            }
+
+            long level = quadrant[2] + 1;
+            long x = quadrant[0] << 1;
+            long y = quadrant[1] << 1;
+            quadrants.add(new long[]{x, y, level});
+            quadrants.add(new long[]{x, y + 1, level});
+            quadrants.add(new long[]{x + 1, y, level});
+            quadrants.add(new long[]{x + 1, y + 1, level});
+        }
+
+        ranges.sort((left, right) -> Long.compareUnsigned(left[0], right[0]));
+        List<long[]> merged = new ArrayList<>(ranges.size());
+        long[] last = null;
+        for (long[] range : ranges) {
+            if (last != null && last[1] + 1 == range[0]) {
+                last[1] = range[1];
+            } else {
+                merged.add(range);
+                last = range;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Maps the given value to its cell coordinate: the high bits of the
+     * order-preserving bit representation of its double value, so the cells
+     * are never out of order even if the values don't fit into a double
+     * exactly.
+     *
+     * @return the cell coordinate or {@link #NO_CELL} if the value is not a
+     * number or is NaN.
+     */
+    private static long cellOf(Comparable value) {
+        if (!(value instanceof Number)) {
+            return NO_CELL;
+        }
+
+        double number = ((Number) value).doubleValue();
+        if (Double.isNaN(number)) {
+            return NO_CELL;
+        }
+
+        // fold -0.0 into 0.0
+        long bits = Double.doubleToLongBits(number + 0.0);
+        long sortable = bits < 0 ? ~bits : bits | Long.MIN_VALUE;
+        return sortable >>> DIMENSION_BITS;
+    }
+
+    private static long interleave(long x, long y) {
+        return spread(x) << 1 | spread(y);
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static long spread(long value) {
+        value &= MAX_CELL;
+        value = (value | value << 16) & 0x0000FFFF0000FFFFL;
+        value = (value | value << 8) & 0x00FF00FF00FF00FFL;
+        value = (value | value << 4) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | value << 2) & 0x3333333333333333L;
+        value = (value | value << 1) & 0x5555555555555555L;
+        return value;
+    }
+
+    private static UnsupportedOperationException makeUnsupportedOperationException() {
+        return new UnsupportedOperationException("spatial indexes support only direct predicate evaluation");
+    }
+
+    /**
+     * Represents the bounds of a range predicate along one of the dimensions,
+     * {@code null} bounds are unbounded.
+     */
+    private static final class Bounds {
+
+        private final Comparable from;
+        private final boolean fromInclusive;
+        private final Comparable to;
+        private final boolean toInclusive;
+
+        Bounds(RangePredicate predicate, TypeConverter converter) {
+            this.from = predicate.getFrom() == null ? null : converter.convert(predicate.getFrom());
+            this.fromInclusive = predicate.isFromInclusive();
+            this.to = predicate.getTo() == null ? null : converter.convert(predicate.getTo());
+            this.toInclusive = predicate.isToInclusive();
+        }
+
+        long lowCell() {
+            long cell = cellOf(from);
+            return cell == NO_CELL ? 0 : cell;
+        }
+
+        long highCell() {
+            long cell = cellOf(to);
+            return cell == NO_CELL ? MAX_CELL : cell;
+        }
+
+        boolean contains(Comparable value) {
+            if (from != null) {
+                int order = Comparables.compare(value, from);
+                if (order < 0 || order == 0 && !fromInclusive) {
+                    return false;
+                }
+            }
+            if (to != null) {
+                int order = Comparables.compare(value, to);
+                return order < 0 || order == 0 && toInclusive;
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Represents an indexed point ordered by its Z-order cell first and by
+     * its coordinates then. The lowest and the highest sentinel points of a
+     * cell are ordered before and after every point of the cell.
+     */
+    private static final class Point implements Comparable<Point> {
+
+        private final long cell;
+        private final Comparable x;
+        private final Comparable y;
+        private final int sentinel;
+
+        Point(long cell, Comparable x, Comparable y) {
+            this(cell, x, y, 0);
+        }
+
+        private Point(long cell, Comparable x, Comparable y, int sentinel) {
+            this.cell = cell;
+            this.x = x;
+            this.y = y;
+            this.sentinel = sentinel;
+        }
+
+        static Point lowest(long cell) {
+            return new Point(cell, null, null, -1);
+        }
+
+        static Point highest(long cell) {
+            return new Point(cell, null, null, 1);
+        }
+
+        @Override
+        public int compareTo(Point that) {
+            int order = Long.compareUnsigned(cell, that.cell);
+            if (order != 0) {
+                return order;
+            }
+            if (sentinel != 0 || that.sentinel != 0) {
+                return Integer.compare(sentinel, that.sentinel);
+            }
+            order = Comparables.compare(x, that.x);
+            return order != 0 ? order : Comparables.compare(y, that.y);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && compareTo((Point) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(cell);
+        }
+
+    }
+
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.Object2LongHashMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.bitmap.Bitmap;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The store of text indexes.
+ * <p>
+ * Internally, manages a {@link Bitmap} instance mapping the trigrams, the
+ * sequences of three case-folded characters, of the indexed string values to
+ * the entries containing them. A {@link LikePredicate} is evaluated by
+ * intersecting the entries containing all the trigrams of the literal parts of
+ * its pattern, the resulting candidate entries are then checked against the
+ * predicate itself.
+ */
+public final class TextIndexStore extends BaseIndexStore {
+
+    private static final long NO_KEY = -1;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int CHAR_BITS = Character.SIZE;
+
+    private static final char ESCAPE = '\\';
+    private static final char ANY_SEQUENCE = '%';
+    private static final char ANY_CHARACTER = '_';
+
+    private static final Set<Class<? extends Predicate>> EVALUABLE_PREDICATES = new HashSet<>();
+
+    static {
+        EVALUABLE_PREDICATES.add(LikePredicate.class);
+        EVALUABLE_PREDICATES.add(ILikePredicate.class);
+    }
+
+    private final Bitmap<QueryableEntry> bitmap = new Bitmap<>();
+    // maps entry keys to long bitmap keys
+    private final Object2LongHashMap<Data> internalKeys = new Object2LongHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, NO_KEY);
+    private long internalKeyCounter;
+
+    public TextIndexStore() {
+        super(IndexCopyBehavior.NEVER);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        return value;
+    }
+
+    @Override
+    Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void insert(Object value, QueryableEntry entry, IndexOperationStats operationStats) {
+        Iterator<Long> grams = gramsOf(value);
+
+        takeWriteLock();
+        try {
+            markIndexStoreExpirableIfNecessary(entry);
+
+            long internalKey = internalKeyCounter++;
+            long replaced = internalKeys.put(entry.getKeyData(), internalKey);
+            assert replaced == NO_KEY;
+            bitmap.insert(grams, internalKey, entry);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void update(Object oldValue, Object newValue, QueryableEntry entry, IndexOperationStats operationStats) {
+        Iterator<Long> oldGrams = gramsOf(oldValue);
+        Iterator<Long> newGrams = gramsOf(newValue);
+
+        takeWriteLock();
+        try {
+            markIndexStoreExpirableIfNecessary(entry);
+
+            long internalKey = internalKeys.getValue(entry.getKeyData());
+            assert internalKey != NO_KEY;
+            bitmap.update(oldGrams, newGrams, internalKey, entry);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void remove(Object value, Data entryKey, Object entryValue, IndexOperationStats operationStats) {
+        Iterator<Long> grams = gramsOf(value);
+
+        takeWriteLock();
+        try {
+            long internalKey = internalKeys.removeKey(entryKey);
+            if (internalKey != NO_KEY) {
+                bitmap.remove(grams, internalKey);
+            }
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            bitmap.clear();
+            internalKeys.clear();
+            internalKeyCounter = 0;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return EVALUABLE_PREDICATES.contains(predicateClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        Set<Long> grams = patternGramsOf(((LikePredicate) predicate).getExpression());
+
+        List<QueryableEntry> candidates = new ArrayList<>();
+        takeReadLock();
+        try {
+            Iterator<QueryableEntry> iterator = bitmap.evaluateAll(grams.iterator());
+            while (iterator.hasNext()) {
+                candidates.add(iterator.next());
+            }
+        } finally {
+            releaseReadLock();
+        }
+
+        // The candidates are checked outside of the lock, the check may
+        // involve the deserialization of the entry values.
+        Map<Data, QueryableEntry> matches = new HashMap<>();
+        for (QueryableEntry candidate : candidates) {
+            if (predicate.apply(candidate)) {
+                matches.put(candidate.getKeyData(), candidate);
+            }
+        }
+        return toSingleResultSet(matches);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator() {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                      boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    /**
+     * Produces the trigrams of the given attribute value, only string values
+     * are tokenized: the other ones can't be matched by the like predicates.
+     */
+    private static Iterator<Long> gramsOf(Object value) {
+        Set<Long> grams = new HashSet<>();
+        if (value instanceof MultiResult) {
+            for (Object result : ((MultiResult) value).getResults()) {
+                addGrams(result, grams);
+            }
+        } else {
+            addGrams(value, grams);
+        }
+        return grams.iterator();
+    }
+
+    private static void addGrams(Object value, Set<Long> grams) {
+        if (!(value instanceof String)) {
+            return;
+        }
+
+        String string = (String) value;
+        for (int i = 0; i + GRAM_LENGTH <= string.length(); ++i) {
+            grams.add(gram(string.charAt(i), string.charAt(i + 1), string.charAt(i + 2)));
+        }
+    }
+
+    /**
+     * Produces the trigrams every value matching the given like pattern must
+     * contain: the trigrams of the literal runs of the pattern delimited by
+     * the wildcards. No trigrams are produced for a pattern without literal
+     * runs long enough, every entry is a candidate then.
+     *
+     * @param pattern the like pattern, may be {@code null}.
+     * @return the trigrams.
+     */
+    static Set<Long> patternGramsOf(String pattern) {
+        Set<Long> grams = new HashSet<>();
+        if (pattern == null) {
+            return grams;
+        }
+
+        StringBuilder run = new StringBuilder();
+        for (int i = 0; i < pattern.length(); ++i) {
+            char c = pattern.charAt(i);
+            if (c == ESCAPE && i + 1 < pattern.length()
+                    && (pattern.charAt(i + 1) == ANY_SEQUENCE || pattern.charAt(i + 1) == ANY_CHARACTER)) {
+                run.append(pattern.charAt(++i));
+            } else if (c == ANY_SEQUENCE || c == ANY_CHARACTER) {
+                addGrams(run.toString(), grams);
+                run.setLength(0);
+            } else {
+                run.append(c);
+            }
+        }
+        addGrams(run.toString(), grams);
+        return grams;
+    }
+
+    /**
+     * Encodes the given characters as a trigram. The characters are case
+     * folded, so the trigrams of a string matching a pattern ignoring the
+     * case always include the trigrams of the pattern.
+     */
+    private static long gram(char first, char second, char third) {
+        return (long) fold(first) << (2 * CHAR_BITS) | (long) fold(second) << CHAR_BITS | fold(third);
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static UnsupportedOperationException makeUnsupportedOperationException() {
+        return new UnsupportedOperationException("text indexes support only direct predicate evaluation");
+    }
+
+}
@@ -22,12 +22,16 @@ import com.hazelcast.query.Predicate;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.singleton;
 
 /**
  * Store indexes out of turn.
@@ -112,12 +116,12 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
     @Override
     public void clear() {
-        takeWriteLock();
+        lockAllStripes();
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
         } finally {
-            releaseWriteLock();
+            unlockAllStripesCleared();
         }
     }
 
@@ -138,117 +142,197 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
     @Override
     public Set<QueryableEntry> getRecords(Comparable value) {
-        takeReadLock();
-        try {
-            if (value == NULL) {
-                return toSingleResultSet(recordsWithNullValue);
-            } else {
-                return toSingleResultSet(recordMap.get(canonicalize(value)));
-            }
-        } finally {
-            releaseReadLock();
+        if (value == NULL) {
+            return toSingleResultSet(recordsWithNullValue);
+        } else {
+            return toSingleResultSet(recordMap.get(canonicalize(value)));
         }
     }
 
     @Override
     public Set<QueryableEntry> getRecords(Set<Comparable> values) {
-        takeReadLock();
-        try {
-            MultiResultSet results = createMultiResultSet();
-            for (Comparable value : values) {
-                Map<Data, QueryableEntry> records;
-                if (value == NULL) {
-                    records = recordsWithNullValue;
-                } else {
-                    // value is already canonicalized by the associated index
-                    records = recordMap.get(value);
-                }
-                if (records != null) {
-                    copyToMultiResultSet(results, records);
-                }
+        MultiResultSet results = createMultiResultSet();
+        for (Comparable value : values) {
+            Map<Data, QueryableEntry> records;
+            if (value == NULL) {
+                records = recordsWithNullValue;
+            } else {
+                // value is already canonicalized by the associated index
+                records = recordMap.get(value);
+            }
+            if (records != null) {
+                copyToMultiResultSet(results, records);
             }
-            return results;
-        } finally {
-            releaseReadLock();
         }
+        return results;
     }
 
     @Override
     public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
-        takeReadLock();
-        try {
-            MultiResultSet results = createMultiResultSet();
-            for (Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
-                Comparable indexedValue = recordMapEntry.getKey();
-                boolean valid;
-                int result = Comparables.compare(value, indexedValue);
-                switch (comparison) {
-                    case LESS:
-                        valid = result > 0;
-                        break;
-                    case LESS_OR_EQUAL:
-                        valid = result >= 0;
-                        break;
-                    case GREATER:
-                        valid = result < 0;
-                        break;
-                    case GREATER_OR_EQUAL:
-                        valid = result <= 0;
-                        break;
-                    default:
-                        throw new IllegalStateException("Unrecognized comparison: " + comparison);
-                }
-                if (valid) {
-                    Map<Data, QueryableEntry> records = recordMapEntry.getValue();
-                    if (records != null) {
-                        copyToMultiResultSet(results, records);
-                    }
+        MultiResultSet results = createMultiResultSet();
+        for (Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
+            Comparable indexedValue = recordMapEntry.getKey();
+            if (satisfies(comparison, value, indexedValue)) {
+                Map<Data, QueryableEntry> records = recordMapEntry.getValue();
+                if (records != null) {
+                    copyToMultiResultSet(results, records);
                 }
             }
-            return results;
-        } finally {
-            releaseReadLock();
         }
+        return results;
     }
 
     @SuppressWarnings({"checkstyle:npathcomplexity"})
     @Override
     public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
-        takeReadLock();
-        try {
-            MultiResultSet results = createMultiResultSet();
-            if (Comparables.compare(from, to) == 0) {
-                if (!fromInclusive || !toInclusive) {
-                    return results;
-                }
+        MultiResultSet results = createMultiResultSet();
+        if (Comparables.compare(from, to) == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return results;
+            }
+
+            Map<Data, QueryableEntry> records = recordMap.get(canonicalize(from));
+            if (records != null) {
+                copyToMultiResultSet(results, records);
+            }
+            return results;
+        }
 
-                Map<Data, QueryableEntry> records = recordMap.get(canonicalize(from));
+        int fromBound = fromInclusive ? 0 : +1;
+        int toBound = toInclusive ? 0 : -1;
+        for (Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
+            Comparable value = recordMapEntry.getKey();
+            if (Comparables.compare(value, from) >= fromBound && Comparables.compare(value, to) <= toBound) {
+                Map<Data, QueryableEntry> records = recordMapEntry.getValue();
                 if (records != null) {
                     copyToMultiResultSet(results, records);
                 }
-                return results;
             }
+        }
+        return results;
+    }
 
-            int fromBound = fromInclusive ? 0 : +1;
-            int toBound = toInclusive ? 0 : -1;
-            for (Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
-                Comparable value = recordMapEntry.getKey();
-                if (Comparables.compare(value, from) >= fromBound && Comparables.compare(value, to) <= toBound) {
-                    Map<Data, QueryableEntry> records = recordMapEntry.getValue();
-                    if (records != null) {
-                        copyToMultiResultSet(results, records);
-                    }
+    // Like the ones of the ordered store, the iterators below take no locks,
+    // they filter the concurrent record map lazily.
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator() {
+        return createRecordIterator(recordMap.values().iterator());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable value) {
+        Map<Data, QueryableEntry> records = value == NULL ? recordsWithNullValue : recordMap.get(canonicalize(value));
+        return createRecordIterator(singleton(records).iterator());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparison comparison, Comparable value) {
+        return createRecordIterator(new FilteringRecordMapIterator() {
+            @Override
+            boolean matches(Comparable indexedValue) {
+                return satisfies(comparison, value, indexedValue);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                      boolean toInclusive) {
+        if (Comparables.compare(from, to) == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return createRecordIterator(singleton(recordMap.get(canonicalize(from))).iterator());
+        }
+
+        int fromBound = fromInclusive ? 0 : +1;
+        int toBound = toInclusive ? 0 : -1;
+        return createRecordIterator(new FilteringRecordMapIterator() {
+            @Override
+            boolean matches(Comparable indexedValue) {
+                return Comparables.compare(indexedValue, from) >= fromBound
+                        && Comparables.compare(indexedValue, to) <= toBound;
+            }
+        });
+    }
+
+    @Override
+    public long estimateCardinality(Comparable value) {
+        Map<Data, QueryableEntry> records = value == NULL ? recordsWithNullValue : recordMap.get(canonicalize(value));
+        return records == null ? 0 : records.size();
+    }
+
+    // The values are not ordered, so the range estimations below assume the
+    // whole index is matched: the evaluation of a range has to scan it anyway.
+
+    @Override
+    public long estimateCardinality(Comparison comparison, Comparable value) {
+        return getEntryCount();
+    }
+
+    @Override
+    public long estimateCardinality(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (Comparables.compare(from, to) == 0) {
+            return fromInclusive && toInclusive ? estimateCardinality(from) : 0;
+        }
+        return getEntryCount();
+    }
+
+    private static boolean satisfies(Comparison comparison, Comparable value, Comparable indexedValue) {
+        int result = Comparables.compare(value, indexedValue);
+        switch (comparison) {
+            case LESS:
+                return result > 0;
+            case LESS_OR_EQUAL:
+                return result >= 0;
+            case GREATER:
+                return result < 0;
+            case GREATER_OR_EQUAL:
+                return result <= 0;
+            default:
+                throw new IllegalStateException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    /**
+     * Lazily iterates over the record maps whose indexed values match the
+     * condition defined by the subclass.
+     */
+    private abstract class FilteringRecordMapIterator implements Iterator<Map<Data, QueryableEntry>> {
+
+        private final Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> delegate = recordMap.entrySet().iterator();
+
+        private Map<Data, QueryableEntry> next;
+
+        abstract boolean matches(Comparable indexedValue);
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && delegate.hasNext()) {
+                Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry = delegate.next();
+                if (matches(recordMapEntry.getKey())) {
+                    next = recordMapEntry.getValue();
                 }
             }
-            return results;
-        } finally {
-            releaseReadLock();
+            return next != null;
         }
+
+        @Override
+        public Map<Data, QueryableEntry> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<Data, QueryableEntry> result = next;
+            next = null;
+            return result;
+        }
+
     }
 
     /**
      * Adds entry to the given index map without copying it.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -272,7 +356,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
     /**
      * Adds entry to the given index map copying it to secure exclusive access.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -304,7 +388,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
     /**
      * Removes entry from the given index map without copying it.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -334,7 +418,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
     /**
      * Removes entry from the given index map copying it to secure exclusive access.
-     * Needs to be invoked in a thread-safe way.
+     * Needs to be invoked under the stripe lock of the given value.
      *
      * @see IndexCopyBehavior
      */
@@ -25,8 +25,10 @@ import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,6 +45,8 @@ import java.util.Map;
 @SuppressWarnings("rawtypes")
 public final class Bitmap<E> {
 
+    private static final SparseBitSet[] EMPTY_BIT_SETS = new SparseBitSet[0];
+
     private final Map<Object, SparseBitSet> bitSets = new HashMap<>();
 
     private final SparseArray<E> entries = new SparseArray<>();
@@ -154,6 +158,36 @@ public final class Bitmap<E> {
         return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
     }
 
+    /**
+     * Finds the entries associated with all the given values.
+     *
+     * @param values the values to find the entries for, if there are no
+     *               values all the entries are matched.
+     * @return an iterator containing the entries associated with all the
+     * given values.
+     */
+    public Iterator<E> evaluateAll(Iterator values) {
+        List<SparseBitSet> valueBitSets = new ArrayList<>();
+        while (values.hasNext()) {
+            Object value = values.next();
+            assert value != null;
+
+            SparseBitSet bitSet = bitSets.get(value);
+            if (bitSet == null) {
+                return new EntryIterator<>(AscendingLongIterator.EMPTY, entries.iterator());
+            }
+            valueBitSets.add(bitSet);
+        }
+
+        AscendingLongIterator iterator;
+        if (valueBitSets.isEmpty()) {
+            iterator = BitmapAlgorithms.not(AscendingLongIterator.EMPTY, entries);
+        } else {
+            iterator = and(valueBitSets.toArray(EMPTY_BIT_SETS));
+        }
+        return new EntryIterator<>(iterator, entries.iterator());
+    }
+
     @SuppressWarnings("checkstyle:npathcomplexity")
     private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate) {
@@ -161,9 +195,18 @@ public final class Bitmap<E> {
             assert predicates.length > 0;
             if (predicates.length == 1) {
                 return predicateIterator(predicates[0], converter);
-            } else {
+            }
+
+            SparseBitSet[] equalBitSets = equalBitSets(predicates, converter);
+            if (equalBitSets == null) {
                 return BitmapAlgorithms.and(predicateIterators(predicates, converter));
             }
+            for (SparseBitSet bitSet : equalBitSets) {
+                if (bitSet == null) {
+                    return AscendingLongIterator.EMPTY;
+                }
+            }
+            return and(equalBitSets);
         }
 
         if (predicate instanceof OrPredicate) {
@@ -171,9 +214,13 @@ public final class Bitmap<E> {
             assert predicates.length > 0;
             if (predicates.length == 1) {
                 return predicateIterator(predicates[0], converter);
-            } else {
+            }
+
+            SparseBitSet[] equalBitSets = equalBitSets(predicates, converter);
+            if (equalBitSets == null) {
                 return BitmapAlgorithms.or(predicateIterators(predicates, converter));
             }
+            return or(equalBitSets);
         }
 
         if (predicate instanceof NotPredicate) {
@@ -193,7 +240,11 @@ public final class Bitmap<E> {
 
         if (predicate instanceof InPredicate) {
             Comparable[] values = ((InPredicate) predicate).getValues();
-            return BitmapAlgorithms.or(valueIterators(values, converter));
+            SparseBitSet[] valueBitSets = new SparseBitSet[values.length];
+            for (int i = 0; i < values.length; ++i) {
+                valueBitSets[i] = bitSets.get(converter.convert(values[i]));
+            }
+            return or(valueBitSets);
         }
 
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
@@ -212,12 +263,48 @@ public final class Bitmap<E> {
         return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
     }
 
-    private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
-        for (int i = 0; i < values.length; ++i) {
-            iterators[i] = valueIterator(values[i], converter);
+    /**
+     * Resolves the bit sets of the values of the given equal predicates.
+     *
+     * @return the resolved bit sets, the bit sets of unknown values are {@code
+     * null}; or {@code null} if not all the given predicates are equal
+     * predicates.
+     */
+    private SparseBitSet[] equalBitSets(Predicate[] predicates, TypeConverter converter) {
+        SparseBitSet[] equalBitSets = new SparseBitSet[predicates.length];
+        for (int i = 0; i < predicates.length; ++i) {
+            Predicate predicate = predicates[i];
+            if (!(predicate instanceof EqualPredicate)) {
+                return null;
+            }
+            equalBitSets[i] = bitSets.get(converter.convert(((EqualPredicate) predicate).getFrom()));
+        }
+        return equalBitSets;
+    }
+
+    private static AscendingLongIterator and(SparseBitSet[] bitSets) {
+        return bitSets.length == 1 ? bitSets[0].iterator() : SparseBitSet.and(bitSets);
+    }
+
+    /**
+     * Unites the given bit sets, {@code null} bit sets are ignored.
+     */
+    private static AscendingLongIterator or(SparseBitSet[] bitSets) {
+        List<SparseBitSet> nonNullBitSets = new ArrayList<>(bitSets.length);
+        for (SparseBitSet bitSet : bitSets) {
+            if (bitSet != null) {
+                nonNullBitSets.add(bitSet);
+            }
+        }
+
+        switch (nonNullBitSets.size()) {
+            case 0:
+                return AscendingLongIterator.EMPTY;
+            case 1:
+                return nonNullBitSets.get(0).iterator();
+            default:
+                return SparseBitSet.or(nonNullBitSets.toArray(EMPTY_BIT_SETS));
         }
-        return iterators;
     }
 
     /**
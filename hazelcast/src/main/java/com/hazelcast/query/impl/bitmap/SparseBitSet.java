@@ -24,6 +24,7 @@ import static com.hazelcast.query.impl.bitmap.BitmapUtils.unsignedBinarySearch;
 import static java.lang.Long.numberOfTrailingZeros;
 import static java.lang.System.arraycopy;
 import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
 
 /**
  * Stores a set of bits indexable by non-negative {@code long} indexes.
@@ -42,18 +43,24 @@ import static java.util.Arrays.copyOf;
  * the low 16 bits.
  * </ul>
  * <p>
- * {@link Storage16 Storage16} also goes in two flavors:
+ * {@link Storage16 Storage16} goes in three flavors:
  * <ul>
  * <li>{@link ArrayStorage16 ArrayStorage16} which manages sorted short array of
  * 16-bit postfixes.
  * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
  * long array of bits.
+ * <li>{@link RunStorage16 RunStorage16} which manages sorted short arrays of
+ * the bounds of runs of contiguous 16-bit postfixes.
  * </ul>
  * <p>
  * The implementation (which was inspired by Roaring Bitmap) switches between
  * various storage flavors once certain thresholds on storage size are reached.
  * <p>
  * Empty storages are never stored by the implementation.
+ * <p>
+ * Intersections and unions of bit sets ({@link #and}, {@link #or}) are
+ * computed a 16-bit chunk at a time: the members of a chunk are combined word
+ * by word in a directly indexable long array of bits.
  */
 final class SparseBitSet {
 
@@ -71,6 +78,13 @@ final class SparseBitSet {
      */
     public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
 
+    /**
+     * The maximum number of runs RunStorage16 may have. At this size the
+     * memory cost of having sorted short arrays of run bounds is just below
+     * the cost of having directly indexable long array of bits.
+     */
+    public static final int RUN_STORAGE_16_MAX_SIZE = 2047;
+
     private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
     private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
     private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
@@ -164,6 +178,62 @@ final class SparseBitSet {
         return new IteratorImpl(storages);
     }
 
+    /**
+     * @return an iterator that represents a result of intersection of the given
+     * bit sets.
+     */
+    public static AscendingLongIterator and(SparseBitSet[] bitSets) {
+        ChunkIterator iterator = new AndChunkIterator(bitSets);
+        iterator.start();
+        return iterator;
+    }
+
+    /**
+     * @return an iterator that represents a result of union over the given bit
+     * sets.
+     */
+    public static AscendingLongIterator or(SparseBitSet[] bitSets) {
+        ChunkIterator iterator = new OrChunkIterator(bitSets);
+        iterator.start();
+        return iterator;
+    }
+
+    /**
+     * Sets the bits in the given inclusive range.
+     */
+    private static void setBits(long[] bits, int from, int to) {
+        int fromLongIndex = from >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+        int toLongIndex = to >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> -(to + 1);
+
+        if (fromLongIndex == toLongIndex) {
+            bits[fromLongIndex] |= fromMask & toMask;
+        } else {
+            bits[fromLongIndex] |= fromMask;
+            fill(bits, fromLongIndex + 1, toLongIndex, -1L);
+            bits[toLongIndex] |= toMask;
+        }
+    }
+
+    /**
+     * Clears the bits in the given inclusive range.
+     */
+    private static void clearBits(long[] bits, int from, int to) {
+        int fromLongIndex = from >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+        int toLongIndex = to >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> -(to + 1);
+
+        if (fromLongIndex == toLongIndex) {
+            bits[fromLongIndex] &= ~(fromMask & toMask);
+        } else {
+            bits[fromLongIndex] &= ~fromMask;
+            fill(bits, fromLongIndex + 1, toLongIndex, 0L);
+            bits[toLongIndex] &= ~toMask;
+        }
+    }
+
     /**
      * Defines internal contract of storages responsible for storing of 32-bit
      * postfixes.
@@ -780,6 +850,21 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(short member, IteratorImpl iterator);
 
+        /**
+         * Unites the members of this storage with the given bits.
+         *
+         * @param bits the directly indexable long array of bits to unite with.
+         */
+        void orInto(long[] bits);
+
+        /**
+         * Intersects the members of this storage with the given bits.
+         *
+         * @param bits the directly indexable long array of bits to intersect
+         *             with.
+         */
+        void andInto(long[] bits);
+
     }
 
     /**
@@ -823,6 +908,27 @@ final class SparseBitSet {
             this.members = members;
         }
 
+        /**
+         * Constructs a new storage by downgrading from the given {@link
+         * RunStorage16} data.
+         */
+        ArrayStorage16(short[] starts, short[] ends, int runs, int size) {
+            assert size < ARRAY_STORAGE_16_MAX_SIZE;
+            this.size = size;
+
+            short[] members = new short[size + 1];
+            int index = 0;
+            for (int i = 0; i < runs; ++i) {
+                int end = toUnsignedInt(ends[i]);
+                for (int member = toUnsignedInt(starts[i]); member <= end; ++member) {
+                    members[index++] = (short) member;
+                }
+            }
+            assert index == size;
+
+            this.members = members;
+        }
+
         @Override
         public Storage16 add(short member) {
             int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
@@ -836,6 +942,10 @@ final class SparseBitSet {
                 // No space left: try to grow members array.
 
                 if (size == ARRAY_STORAGE_16_MAX_SIZE) {
+                    // the new member adds at most one run
+                    if (runCount(members, size) < RUN_STORAGE_16_MAX_SIZE) {
+                        return new RunStorage16(members, member, index);
+                    }
                     return new BitSetStorage16(members, member, index);
                 }
 
@@ -946,6 +1056,40 @@ final class SparseBitSet {
             return true;
         }
 
+        @Override
+        public void orInto(long[] bits) {
+            for (int i = 0; i < size; ++i) {
+                int bitIndex = toUnsignedInt(members[i]);
+                bits[bitIndex >>> BitSetStorage16.BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
+            }
+        }
+
+        @Override
+        public void andInto(long[] bits) {
+            // Build the mask of every long touched by the members and clear
+            // the untouched longs in between.
+
+            int longIndex = 0;
+            int i = 0;
+            while (i < size) {
+                int memberLongIndex = toUnsignedInt(members[i]) >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+                fill(bits, longIndex, memberLongIndex, 0L);
+
+                long mask = 0;
+                while (i < size) {
+                    int bitIndex = toUnsignedInt(members[i]);
+                    if (bitIndex >>> BitSetStorage16.BIT_SET_LONG_SHIFT != memberLongIndex) {
+                        break;
+                    }
+                    mask |= 1L << bitIndex;
+                    ++i;
+                }
+                bits[memberLongIndex] &= mask;
+                longIndex = memberLongIndex + 1;
+            }
+            fill(bits, longIndex, bits.length, 0L);
+        }
+
         /**
          * Appends the given member to this storage. The given member must be
          * greater than any member already known by this storage.
@@ -960,6 +1104,16 @@ final class SparseBitSet {
             ++size;
         }
 
+        private static int runCount(short[] members, int size) {
+            int runs = 1;
+            for (int i = 1; i < size; ++i) {
+                if (toUnsignedInt(members[i]) != toUnsignedInt(members[i - 1]) + 1) {
+                    ++runs;
+                }
+            }
+            return runs;
+        }
+
     }
 
     /**
@@ -972,6 +1126,7 @@ final class SparseBitSet {
 
         private static final int MIN_SIZE = ARRAY_STORAGE_16_MAX_SIZE - 1;
         private static final int SIZE = 1024;
+        private static final int FULL_SIZE = SIZE * Long.SIZE;
 
         // masks lower 6 bits
         private static final long POSTFIX_MASK = 0xFFFFFFFFFFFFFFC0L;
@@ -994,6 +1149,18 @@ final class SparseBitSet {
             this.size = members.length + 1;
         }
 
+        /**
+         * Constructs a new storage by downgrading from the given {@link
+         * RunStorage16} data.
+         */
+        BitSetStorage16(short[] starts, short[] ends, int runs, int size) {
+            assert size > MIN_SIZE;
+            for (int i = 0; i < runs; ++i) {
+                setBits(members, toUnsignedInt(starts[i]), toUnsignedInt(ends[i]));
+            }
+            this.size = size;
+        }
+
         @Override
         public Storage16 add(short member) {
             int bitIndex = toUnsignedInt(member);
@@ -1005,6 +1172,10 @@ final class SparseBitSet {
 
             if (newBitSet != bitSet) {
                 ++size;
+                if (size == FULL_SIZE) {
+                    // a single run is enough to represent all the members
+                    return new RunStorage16();
+                }
             }
             return this;
         }
@@ -1095,6 +1266,24 @@ final class SparseBitSet {
             return advance(iterator);
         }
 
+        @Override
+        public void orInto(long[] bits) {
+            // simple enough to be vectorized by the JIT compiler
+            long[] members = this.members;
+            for (int i = 0; i < SIZE; ++i) {
+                bits[i] |= members[i];
+            }
+        }
+
+        @Override
+        public void andInto(long[] bits) {
+            // simple enough to be vectorized by the JIT compiler
+            long[] members = this.members;
+            for (int i = 0; i < SIZE; ++i) {
+                bits[i] &= members[i];
+            }
+        }
+
         private void append(short member) {
             int bitIndex = toUnsignedInt(member);
             members[bitIndex >>> BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
@@ -1102,6 +1291,270 @@ final class SparseBitSet {
 
     }
 
+    /**
+     * Manages sorted short arrays of the inclusive bounds of runs of set bits.
+     */
+    private static final class RunStorage16 implements Storage16 {
+
+        private static final int MIN_CAPACITY = 2;
+
+        // the number of runs
+        private int size;
+        // the number of members
+        private int cardinality;
+        private short[] starts;
+        private short[] ends;
+
+        /**
+         * Constructs a new storage by upgrading from a full {@link
+         * BitSetStorage16}.
+         */
+        RunStorage16() {
+            this.starts = new short[MIN_CAPACITY];
+            this.ends = new short[MIN_CAPACITY];
+            this.size = 1;
+            this.cardinality = BitSetStorage16.FULL_SIZE;
+            ends[0] = (short) SHORT_POSTFIX_MASK;
+        }
+
+        /**
+         * Constructs a new run storage for the given sorted members array and
+         * the given member to insert at the given index.
+         */
+        RunStorage16(short[] members, short member, int index) {
+            this.starts = new short[MIN_CAPACITY];
+            this.ends = new short[MIN_CAPACITY];
+
+            for (int i = 0; i < index; ++i) {
+                append(members[i]);
+            }
+            append(member);
+            for (int i = index; i < members.length; ++i) {
+                append(members[i]);
+            }
+        }
+
+        @Override
+        public Storage16 add(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember);
+            if (run >= 0 && unsignedMember <= toUnsignedInt(ends[run])) {
+                // already in a run
+                return this;
+            }
+
+            boolean joinsPrevious = run >= 0 && toUnsignedInt(ends[run]) + 1 == unsignedMember;
+            boolean joinsNext = run + 1 < size && toUnsignedInt(starts[run + 1]) == unsignedMember + 1;
+            if (joinsPrevious && joinsNext) {
+                ends[run] = ends[run + 1];
+                removeRun(run + 1);
+            } else if (joinsPrevious) {
+                ends[run] = member;
+            } else if (joinsNext) {
+                starts[run + 1] = member;
+            } else {
+                if (size == RUN_STORAGE_16_MAX_SIZE) {
+                    return downgrade().add(member);
+                }
+                insertRun(run + 1, member, member);
+            }
+            ++cardinality;
+            return this;
+        }
+
+        @Override
+        public Storage16 remove(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember);
+            if (run < 0 || unsignedMember > toUnsignedInt(ends[run])) {
+                // not a member
+                return this;
+            }
+
+            if (cardinality == 1) {
+                // emptied
+                return null;
+            }
+
+            int start = toUnsignedInt(starts[run]);
+            int end = toUnsignedInt(ends[run]);
+            if (start == end) {
+                removeRun(run);
+            } else if (unsignedMember == start) {
+                starts[run] = (short) (unsignedMember + 1);
+            } else if (unsignedMember == end) {
+                ends[run] = (short) (unsignedMember - 1);
+            } else {
+                // split the run
+                if (size == RUN_STORAGE_16_MAX_SIZE) {
+                    return downgrade().remove(member);
+                }
+                insertRun(run + 1, (short) (unsignedMember + 1), ends[run]);
+                ends[run] = (short) (unsignedMember - 1);
+            }
+            --cardinality;
+            return this;
+        }
+
+        @Override
+        public void iterate(IteratorImpl iterator) {
+            assert size > 0;
+            iterator.position16 = 0;
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(starts[0]);
+        }
+
+        @Override
+        public boolean advance(IteratorImpl iterator) {
+            long current = iterator.index;
+            int run = iterator.position16;
+            if ((current & SHORT_POSTFIX_MASK) < toUnsignedInt(ends[run])) {
+                iterator.index = current + 1;
+                return true;
+            }
+
+            ++run;
+            if (run == size) {
+                return false;
+            }
+            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(starts[run]);
+            iterator.position16 = run;
+            return true;
+        }
+
+        @Override
+        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
+            return iterateAtLeastFrom(toUnsignedInt(member), 0, iterator);
+        }
+
+        @Override
+        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
+            int unsignedMember = toUnsignedInt(member);
+            assert (iterator.index & SHORT_POSTFIX_MASK) < unsignedMember;
+            return iterateAtLeastFrom(unsignedMember, iterator.position16, iterator);
+        }
+
+        @Override
+        public void orInto(long[] bits) {
+            for (int i = 0; i < size; ++i) {
+                setBits(bits, toUnsignedInt(starts[i]), toUnsignedInt(ends[i]));
+            }
+        }
+
+        @Override
+        public void andInto(long[] bits) {
+            // clear the gaps between the runs
+            int gapStart = 0;
+            for (int i = 0; i < size; ++i) {
+                int start = toUnsignedInt(starts[i]);
+                if (start > gapStart) {
+                    clearBits(bits, gapStart, start - 1);
+                }
+                gapStart = toUnsignedInt(ends[i]) + 1;
+            }
+            if (gapStart < BitSetStorage16.FULL_SIZE) {
+                clearBits(bits, gapStart, BitSetStorage16.FULL_SIZE - 1);
+            }
+        }
+
+        private boolean iterateAtLeastFrom(int unsignedMember, int fromRun, IteratorImpl iterator) {
+            int run = unsignedBinarySearch(starts, fromRun, size, unsignedMember);
+            int member = unsignedMember;
+
+            if (run < 0) {
+                int insertion = -(run + 1);
+                run = insertion - 1;
+                if (run < fromRun || unsignedMember > toUnsignedInt(ends[run])) {
+                    // the member is not in the preceding run, if any
+                    run = insertion;
+                    if (run == size) {
+                        return false;
+                    }
+                    member = toUnsignedInt(starts[run]);
+                }
+            }
+
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | member;
+            iterator.position16 = run;
+            return true;
+        }
+
+        /**
+         * @return the index of the last run starting at or before the given
+         * member or {@code -1} if there is no such run.
+         */
+        private int findRun(int unsignedMember) {
+            int index = unsignedBinarySearch(starts, size, unsignedMember);
+            return index >= 0 ? index : -(index + 1) - 1;
+        }
+
+        private void append(short member) {
+            if (size != 0 && toUnsignedInt(ends[size - 1]) + 1 == toUnsignedInt(member)) {
+                ends[size - 1] = member;
+            } else {
+                insertRun(size, member, member);
+            }
+            ++cardinality;
+        }
+
+        private void insertRun(int index, short start, short end) {
+            if (size == starts.length) {
+                int newCapacity = Math.min(RUN_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(starts.length));
+                short[] newStarts = new short[newCapacity];
+                arraycopy(starts, 0, newStarts, 0, index);
+                arraycopy(starts, index, newStarts, index + 1, size - index);
+                starts = newStarts;
+                short[] newEnds = new short[newCapacity];
+                arraycopy(ends, 0, newEnds, 0, index);
+                arraycopy(ends, index, newEnds, index + 1, size - index);
+                ends = newEnds;
+            } else {
+                // shift runs right to free a slot for the new run
+                arraycopy(starts, index, starts, index + 1, size - index);
+                arraycopy(ends, index, ends, index + 1, size - index);
+            }
+            starts[index] = start;
+            ends[index] = end;
+            ++size;
+        }
+
+        private void removeRun(int index) {
+            --size;
+
+            int delta = capacityDeltaShort(starts.length);
+            int wasted = starts.length - size;
+            int newCapacity = starts.length - delta;
+            if (wasted >= delta && newCapacity >= MIN_CAPACITY) {
+                // We are wasting too much: shrink the arrays.
+
+                short[] newStarts = new short[newCapacity];
+                arraycopy(starts, 0, newStarts, 0, index);
+                arraycopy(starts, index + 1, newStarts, index, size - index);
+                starts = newStarts;
+                short[] newEnds = new short[newCapacity];
+                arraycopy(ends, 0, newEnds, 0, index);
+                arraycopy(ends, index + 1, newEnds, index, size - index);
+                ends = newEnds;
+            } else {
+                // shift runs left to fill the gap
+                arraycopy(starts, index + 1, starts, index, size - index);
+                arraycopy(ends, index + 1, ends, index, size - index);
+            }
+        }
+
+        /**
+         * Converts this storage to another storage flavor once the runs are
+         * too fragmented.
+         */
+        private Storage16 downgrade() {
+            if (cardinality >= ARRAY_STORAGE_16_MAX_SIZE) {
+                return new BitSetStorage16(starts, ends, size, cardinality);
+            } else {
+                return new ArrayStorage16(starts, ends, size, cardinality);
+            }
+        }
+
+    }
+
     /**
      * Iterates over sparse bit sets.
      */
@@ -1241,6 +1694,45 @@ final class SparseBitSet {
             return AscendingLongIterator.END;
         }
 
+        /**
+         * Unites the members of the 16-bit chunk this iterator is currently
+         * at with the given bits and advances this iterator beyond the chunk.
+         */
+        void orChunkInto(long[] bits) {
+            long chunkEnd = (index | SHORT_POSTFIX_MASK) + 1;
+            if (getStorage32() instanceof PrefixStorage32) {
+                storage16.orInto(bits);
+                advanceAtLeastTo(chunkEnd);
+            } else {
+                long current = index;
+                while (current != AscendingLongIterator.END && current < chunkEnd) {
+                    int bitIndex = (int) (current & SHORT_POSTFIX_MASK);
+                    bits[bitIndex >>> BitSetStorage16.BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
+                    advance();
+                    current = index;
+                }
+            }
+        }
+
+        /**
+         * Intersects the members of the 16-bit chunk this iterator is
+         * currently at with the given bits and advances this iterator beyond
+         * the chunk.
+         */
+        void andChunkInto(long[] bits, long[] scratch) {
+            if (getStorage32() instanceof PrefixStorage32) {
+                long chunkEnd = (index | SHORT_POSTFIX_MASK) + 1;
+                storage16.andInto(bits);
+                advanceAtLeastTo(chunkEnd);
+            } else {
+                fill(scratch, 0L);
+                orChunkInto(scratch);
+                for (int i = 0; i < bits.length; ++i) {
+                    bits[i] &= scratch[i];
+                }
+            }
+        }
+
         // just an alias for getValue
         private Storage32 getStorage32() {
             return getValue();
@@ -1248,4 +1740,202 @@ final class SparseBitSet {
 
     }
 
+    /**
+     * Iterates over a result of a set operation on sparse bit sets computed a
+     * 16-bit chunk at a time: the members of the chunk are combined in a
+     * directly indexable long array of bits.
+     */
+    private abstract static class ChunkIterator implements AscendingLongIterator {
+
+        final IteratorImpl[] iterators;
+        final long[] bits = new long[BitSetStorage16.SIZE];
+
+        // the current chunk, i.e. the high 48 bits of the members
+        long chunk;
+
+        // the current position in the bits
+        private int position;
+        // the not yet consumed bits of the current position
+        private long bitSet;
+
+        private long index;
+
+        ChunkIterator(SparseBitSet[] bitSets) {
+            IteratorImpl[] iterators = new IteratorImpl[bitSets.length];
+            for (int i = 0; i < iterators.length; ++i) {
+                iterators[i] = new IteratorImpl(bitSets[i].storages);
+            }
+            this.iterators = iterators;
+        }
+
+        /**
+         * Computes the bits of the first chunk having the given index or
+         * following it.
+         *
+         * @param fromChunk the chunk to start from.
+         * @return {@code true} if such a chunk exists and the current chunk is
+         * updated, {@code false} otherwise.
+         */
+        abstract boolean load(long fromChunk);
+
+        @Override
+        public long getIndex() {
+            return index;
+        }
+
+        @Override
+        public long advance() {
+            long current = index;
+            if (current != AscendingLongIterator.END) {
+                seek();
+            }
+            return current;
+        }
+
+        @Override
+        public long advanceAtLeastTo(long member) {
+            long current = index;
+            if (current == AscendingLongIterator.END || current >= member) {
+                return current;
+            }
+
+            long memberChunk = member >>> Short.SIZE;
+            if (memberChunk != chunk) {
+                if (!load(memberChunk)) {
+                    index = AscendingLongIterator.END;
+                    return AscendingLongIterator.END;
+                }
+
+                if (chunk != memberChunk) {
+                    // the member chunk has no members, start from the loaded one
+                    position = 0;
+                    bitSet = bits[0];
+                    seek();
+                    return index;
+                }
+            }
+
+            int bitIndex = (int) (member & SHORT_POSTFIX_MASK);
+            position = bitIndex >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+            // consume all preceding bits by zeroing them out
+            bitSet = bits[position] & -(1L << bitIndex);
+            seek();
+            return index;
+        }
+
+        void start() {
+            if (load(0)) {
+                position = 0;
+                bitSet = bits[0];
+                seek();
+            } else {
+                index = AscendingLongIterator.END;
+            }
+        }
+
+        private void seek() {
+            int position = this.position;
+            long bitSet = this.bitSet;
+            while (bitSet == 0) {
+                ++position;
+                if (position == bits.length) {
+                    if (!load(chunk + 1)) {
+                        index = AscendingLongIterator.END;
+                        return;
+                    }
+                    position = 0;
+                }
+                bitSet = bits[position];
+            }
+
+            index = chunk << Short.SIZE | (long) position << BitSetStorage16.BIT_SET_LONG_SHIFT | numberOfTrailingZeros(bitSet);
+            // zero out the consumed bit
+            this.bitSet = bitSet & bitSet - 1;
+            this.position = position;
+        }
+
+    }
+
+    /**
+     * Intersects sparse bit sets: the chunks present in all the bit sets are
+     * found by leapfrogging, then their bits are intersected long by long.
+     */
+    private static final class AndChunkIterator extends ChunkIterator {
+
+        private final long[] scratch = new long[BitSetStorage16.SIZE];
+
+        AndChunkIterator(SparseBitSet[] bitSets) {
+            super(bitSets);
+        }
+
+        @Override
+        boolean load(long fromChunk) {
+            IteratorImpl[] iterators = this.iterators;
+
+            long target = fromChunk;
+            int matched = 0;
+            int i = 0;
+            while (matched < iterators.length) {
+                long member = iterators[i].advanceAtLeastTo(target << Short.SIZE);
+                if (member == AscendingLongIterator.END) {
+                    return false;
+                }
+
+                long memberChunk = member >>> Short.SIZE;
+                if (memberChunk == target) {
+                    ++matched;
+                } else {
+                    target = memberChunk;
+                    matched = 1;
+                }
+                i = i + 1 == iterators.length ? 0 : i + 1;
+            }
+
+            chunk = target;
+            fill(bits, 0L);
+            iterators[0].orChunkInto(bits);
+            for (i = 1; i < iterators.length; ++i) {
+                iterators[i].andChunkInto(bits, scratch);
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Unites sparse bit sets: the bits of the minimum chunk among the bit sets
+     * are united long by long.
+     */
+    private static final class OrChunkIterator extends ChunkIterator {
+
+        OrChunkIterator(SparseBitSet[] bitSets) {
+            super(bitSets);
+        }
+
+        @Override
+        boolean load(long fromChunk) {
+            long minChunk = Long.MAX_VALUE;
+            for (IteratorImpl iterator : iterators) {
+                long member = iterator.advanceAtLeastTo(fromChunk << Short.SIZE);
+                if (member != AscendingLongIterator.END) {
+                    minChunk = Math.min(minChunk, member >>> Short.SIZE);
+                }
+            }
+            if (minChunk == Long.MAX_VALUE) {
+                return false;
+            }
+
+            chunk = minChunk;
+            fill(bits, 0L);
+            for (IteratorImpl iterator : iterators) {
+                long member = iterator.getIndex();
+                if (member != AscendingLongIterator.END && member >>> Short.SIZE == minChunk) {
+                    iterator.orChunkInto(bits);
+                }
+            }
+            return true;
+        }
+
+    }
+
 }
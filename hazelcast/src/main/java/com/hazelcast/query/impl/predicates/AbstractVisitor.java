@@ -60,4 +60,9 @@ public abstract class AbstractVisitor implements Visitor {
         return predicate;
     }
 
+    @Override
+    public Predicate visit(LikePredicate predicate, Indexes indexes) {
+        return predicate;
+    }
+
 }
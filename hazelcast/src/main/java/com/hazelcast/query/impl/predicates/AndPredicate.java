@@ -25,6 +25,7 @@ import com.hazelcast.query.impl.AndResultSet;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.SingleResultSet;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
@@ -36,6 +37,7 @@ import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
 import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCostOf;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.estimatedSizeOf;
 
 /**
@@ -43,7 +45,7 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.estimatedSizeOf
  */
 @BinaryInterface
 public final class AndPredicate
-        implements IndexAwarePredicate, IdentifiedDataSerializable, VisitablePredicate, NegatablePredicate, CompoundPredicate {
+        implements CostAwarePredicate, IdentifiedDataSerializable, VisitablePredicate, NegatablePredicate, CompoundPredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -67,14 +69,29 @@ public final class AndPredicate
         return visitor.visit(this, indexes);
     }
 
+    /**
+     * Looks up the conjunct estimated to be the most selective one in the
+     * indexes and evaluates the other conjuncts having cost estimations on the
+     * entries it produces, so an unselective conjunct never gets its result
+     * set produced. The indexed conjuncts without cost estimations are still
+     * looked up and compete on the sizes of their actual result sets.
+     */
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Set<QueryableEntry> smallestResultSet = null;
+        Predicate smallestPredicate = null;
         List<Set<QueryableEntry>> otherResultSets = null;
         List<Predicate> unindexedPredicates = null;
 
-        for (Predicate predicate : predicates) {
-            if (isIndexedPredicate(predicate, queryContext)) {
+        boolean[] indexed = new boolean[predicates.length];
+        long[] costs = new long[predicates.length];
+        int drivingPosition = estimateCosts(queryContext, indexed, costs);
+
+        for (int i = 0; i < predicates.length; ++i) {
+            // the driving conjunct is looked up first by swapping it with the first one
+            int position = i == 0 ? drivingPosition : i == drivingPosition ? 0 : i;
+            Predicate predicate = predicates[position];
+            if (indexed[position] && (position == drivingPosition || costs[position] == UNKNOWN_COST)) {
                 // Avoid checking indexed partitions count twice to avoid
                 // scenario when the owner partitions count changes concurrently and null
                 // value from the filter method may indicate that the index is under
@@ -83,15 +100,32 @@ public final class AndPredicate
                 queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
                 Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
                 queryContext.setOwnedPartitionCount(ownedPartitionsCount);
+                Set<QueryableEntry> otherResultSet;
+                Predicate otherPredicate;
                 if (smallestResultSet == null) {
                     smallestResultSet = currentResultSet;
+                    smallestPredicate = predicate;
+                    continue;
                 } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(smallestResultSet);
+                    otherResultSet = smallestResultSet;
+                    otherPredicate = smallestPredicate;
                     smallestResultSet = currentResultSet;
+                    smallestPredicate = predicate;
                 } else {
+                    otherResultSet = currentResultSet;
+                    otherPredicate = predicate;
+                }
+
+                // Only the smallest result set is iterated. The entries are probed against a
+                // single-lookup result set directly, and against the other predicates by
+                // evaluating them: probing a result set spanning many index values would
+                // require materializing its keys.
+                if (otherResultSet instanceof SingleResultSet) {
                     otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(currentResultSet);
+                    otherResultSets.add(otherResultSet);
+                } else {
+                    unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                    unindexedPredicates.add(otherPredicate);
                 }
             } else {
                 unindexedPredicates = initOrGetListOf(unindexedPredicates);
@@ -105,6 +139,39 @@ public final class AndPredicate
         return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
     }
 
+    /**
+     * Determines which of the conjuncts are indexed and estimates the costs of
+     * the indexed ones.
+     *
+     * @return the position of the conjunct with the lowest known cost, or
+     * {@code 0} if no cost is known.
+     */
+    private int estimateCosts(QueryContext queryContext, boolean[] indexed, long[] costs) {
+        int drivingPosition = 0;
+        long drivingCost = UNKNOWN_COST;
+        for (int i = 0; i < predicates.length; ++i) {
+            Predicate predicate = predicates[i];
+            indexed[i] = isIndexedPredicate(predicate, queryContext);
+            costs[i] = indexed[i] ? estimateCostOf(predicate, queryContext) : UNKNOWN_COST;
+            if (costs[i] < drivingCost) {
+                drivingCost = costs[i];
+                drivingPosition = i;
+            }
+        }
+        return drivingPosition;
+    }
+
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        long cost = UNKNOWN_COST;
+        for (Predicate predicate : predicates) {
+            if (isIndexedPredicate(predicate, queryContext)) {
+                cost = Math.min(cost, estimateCostOf(predicate, queryContext));
+            }
+        }
+        return cost;
+    }
+
     private static boolean isIndexedPredicate(Predicate predicate, QueryContext queryContext) {
         return predicate instanceof IndexAwarePredicate
                 && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
@@ -29,11 +29,14 @@ import com.hazelcast.query.impl.QueryableEntry;
 import java.io.IOException;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCardinality;
+
 /**
  * Between Predicate
  */
 @BinaryInterface
-public class BetweenPredicate extends AbstractIndexAwarePredicate implements VisitablePredicate, RangePredicate {
+public class BetweenPredicate extends AbstractIndexAwarePredicate
+        implements VisitablePredicate, RangePredicate, CostAwarePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -76,6 +79,12 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate implements Vis
         return index.getRecords(from, true, to, true);
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return estimateCardinality(index, i -> i.estimateCardinality(from, true, to, true));
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCardinality;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
 /**
@@ -33,7 +34,7 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
  * Instances of this class are never transferred between members, the
  * serialization is disabled.
  */
-public class BoundedRangePredicate extends AbstractIndexAwarePredicate implements RangePredicate {
+public class BoundedRangePredicate extends AbstractIndexAwarePredicate implements RangePredicate, CostAwarePredicate {
 
     private final Comparable from;
     private final boolean fromInclusive;
@@ -73,6 +74,12 @@ public class BoundedRangePredicate extends AbstractIndexAwarePredicate implement
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return estimateCardinality(index, i -> i.estimateCardinality(from, fromInclusive, to, toInclusive));
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable value) {
         if (value == null) {
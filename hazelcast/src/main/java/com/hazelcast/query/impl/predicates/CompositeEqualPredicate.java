@@ -30,12 +30,14 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCardinality;
+
 /**
  * Does the same thing as {@link EqualPredicate} but for composite indexes and
  * values.
  */
 @SuppressFBWarnings("SE_BAD_FIELD")
-public class CompositeEqualPredicate implements IndexAwarePredicate {
+public class CompositeEqualPredicate implements CostAwarePredicate {
 
     final String indexName;
     final String[] components;
@@ -88,6 +90,12 @@ public class CompositeEqualPredicate implements IndexAwarePredicate {
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        return estimateCardinality(index, i -> i.estimateCardinality(value));
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(components) + " = " + value;
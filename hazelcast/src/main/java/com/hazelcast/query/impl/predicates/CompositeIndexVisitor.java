@@ -143,10 +143,12 @@ public class CompositeIndexVisitor extends AbstractVisitor {
 
             for (InternalIndex index : compositeIndexes) {
                 String[] components = index.getComponents();
-                if (components.length < bestPrefix || !index.isOrdered() && prefixes.size() < components.length) {
-                    // Skip the index if: (a) it has fewer components than the
-                    // best found prefix; (b) if index is unordered and we have
-                    // fewer components to match than the index has.
+                if (index.isEvaluateOnly() || components.length < bestPrefix
+                        || !index.isOrdered() && prefixes.size() < components.length) {
+                    // Skip the index if: (a) it supports only the direct
+                    // predicate evaluation; (b) it has fewer components than
+                    // the best found prefix; (c) if index is unordered and we
+                    // have fewer components to match than the index has.
                     continue;
                 }
 
@@ -33,13 +33,14 @@ import java.util.Set;
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
 import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCardinality;
 
 /**
  * Does the same thing as {@link GreaterLessPredicate}, {@link BetweenPredicate}
  * and {@link BoundedRangePredicate} but for composite indexes and values.
  */
 @SuppressFBWarnings("SE_BAD_FIELD")
-public class CompositeRangePredicate implements IndexAwarePredicate {
+public class CompositeRangePredicate implements CostAwarePredicate {
 
     final String indexName;
     final String[] components;
@@ -123,6 +124,12 @@ public class CompositeRangePredicate implements IndexAwarePredicate {
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        return estimateCardinality(index, i -> i.estimateCardinality(from, fromInclusive, to, toInclusive));
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.impl.QueryContext;
+
+/**
+ * Extends the {@link IndexAwarePredicate} interface with the ability to
+ * estimate the cost of the index lookups performed by the {@link #filter}
+ * method before actually performing them.
+ * <p>
+ * The estimations are used to decide which of the conjuncts of an {@link
+ * AndPredicate} is the most selective one and should drive the query: only the
+ * driving conjunct is looked up in the indexes, the other ones are evaluated on
+ * the entries it produces.
+ */
+public interface CostAwarePredicate<K, V> extends IndexAwarePredicate<K, V> {
+
+    /**
+     * Denotes a cost that is impossible to estimate.
+     */
+    long UNKNOWN_COST = Long.MAX_VALUE;
+
+    /**
+     * Estimates the cost of the {@link #filter} invocation in the given query
+     * context, the cost is measured as the number of entries the produced
+     * result set is expected to have.
+     * <p>
+     * Invoked only if the predicate is {@link #isIndexed indexed} in the given
+     * query context.
+     *
+     * @param queryContext the query context to estimate the cost in.
+     * @return the estimated cost or {@link #UNKNOWN_COST} if the cost can't be
+     * estimated.
+     */
+    long estimateCost(QueryContext queryContext);
+
+}
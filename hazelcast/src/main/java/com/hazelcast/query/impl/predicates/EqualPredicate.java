@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCardinality;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
 /**
@@ -37,7 +38,7 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
  */
 @BinaryInterface
 public class EqualPredicate extends AbstractIndexAwarePredicate
-        implements NegatablePredicate, RangePredicate, VisitablePredicate {
+        implements NegatablePredicate, RangePredicate, VisitablePredicate, CostAwarePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -69,6 +70,12 @@ public class EqualPredicate extends AbstractIndexAwarePredicate
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        return estimateCardinality(index, i -> i.estimateCardinality(value));
+    }
+
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
             return isNull(value);
@@ -16,10 +16,12 @@
 
 package com.hazelcast.query.impl.predicates;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
 
 import java.util.ArrayList;
@@ -40,7 +42,11 @@ public class EvaluateVisitor extends AbstractVisitor {
     @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
     @Override
     public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
-        Predicate[] predicates = andPredicate.predicates;
+        Predicate[] predicates = matchSpatialIndexes(andPredicate.predicates, indexes);
+        if (predicates.length == 1) {
+            return predicates[0];
+        }
+        boolean spatiallyMatched = predicates != andPredicate.predicates;
 
         // Try to group evaluable predicates by their indexes.
 
@@ -73,8 +79,9 @@ public class EvaluateVisitor extends AbstractVisitor {
         }
 
         if (!requiresGeneration) {
-            // no changes to the predicates required
-            return andPredicate;
+            // no changes to the predicates required except for the spatial
+            // index matches
+            return spatiallyMatched ? new AndPredicate(predicates) : andPredicate;
         }
 
         // Add non-evaluable predicates to the output.
@@ -261,4 +268,82 @@ public class EvaluateVisitor extends AbstractVisitor {
         return new EvaluatePredicate(predicate, index.getName());
     }
 
+    @Override
+    public Predicate visit(LikePredicate predicate, Indexes indexes) {
+        Index index = indexes.matchIndex(predicate.attributeName, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null) {
+            return predicate;
+        }
+
+        TypeConverter converter = index.getConverter();
+        if (converter == null) {
+            return predicate;
+        }
+
+        return new EvaluatePredicate(predicate, index.getName());
+    }
+
+    /**
+     * Replaces every pair of range predicates on the both attributes of a
+     * spatial index with a single predicate evaluated by the index. The
+     * range predicates of the pair are ordered as the index components.
+     */
+    private static Predicate[] matchSpatialIndexes(Predicate[] predicates, Indexes indexes) {
+        Predicate[] output = predicates;
+        for (InternalIndex candidate : indexes.getCompositeIndexes()) {
+            if (output.length < 2) {
+                break;
+            }
+            if (candidate.getConfig().getType() != IndexType.SPATIAL) {
+                continue;
+            }
+
+            String[] components = candidate.getComponents();
+            int first = findRangePredicate(output, components[0]);
+            int second = findRangePredicate(output, components[1]);
+            if (first == -1 || second == -1) {
+                continue;
+            }
+
+            Index index = indexes.matchIndex(candidate.getName(), AndPredicate.class, IndexMatchHint.EXACT_NAME,
+                    SKIP_PARTITIONS_COUNT_CHECK);
+            if (index == null || index.getConverter() == null) {
+                continue;
+            }
+
+            Predicate pair = new EvaluatePredicate(new AndPredicate(output[first], output[second]), index.getName());
+            Predicate[] reduced = new Predicate[output.length - 1];
+            int size = 0;
+            for (int i = 0; i < output.length; ++i) {
+                if (i == first) {
+                    reduced[size++] = pair;
+                } else if (i != second) {
+                    reduced[size++] = output[i];
+                }
+            }
+            output = reduced;
+        }
+        return output;
+    }
+
+    private static int findRangePredicate(Predicate[] predicates, String attribute) {
+        for (int i = 0; i < predicates.length; ++i) {
+            Predicate predicate = predicates[i];
+            if (!(predicate instanceof RangePredicate)) {
+                continue;
+            }
+
+            RangePredicate rangePredicate = (RangePredicate) predicate;
+            if (rangePredicate instanceof EqualPredicate && rangePredicate.getFrom() == null) {
+                // null equality is not a range
+                continue;
+            }
+            if (rangePredicate.getAttribute().equals(attribute)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
 }
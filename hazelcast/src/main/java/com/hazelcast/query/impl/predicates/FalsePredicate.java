@@ -34,7 +34,7 @@ import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICAT
  * A {@link com.hazelcast.query.Predicate} which always returns false.
  */
 @BinaryInterface
-public class FalsePredicate<K, V> implements IdentifiedDataSerializable, IndexAwarePredicate<K, V> {
+public class FalsePredicate<K, V> implements IdentifiedDataSerializable, CostAwarePredicate<K, V> {
 
     /**
      * An instance of the FalsePredicate.
@@ -58,6 +58,11 @@ public class FalsePredicate<K, V> implements IdentifiedDataSerializable, IndexAw
         return Collections.emptySet();
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        return 0;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
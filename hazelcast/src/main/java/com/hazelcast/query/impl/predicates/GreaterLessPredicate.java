@@ -29,11 +29,14 @@ import com.hazelcast.query.impl.QueryableEntry;
 import java.io.IOException;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCardinality;
+
 /**
  * Greater Less Predicate
  */
 @BinaryInterface
-public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate {
+public final class GreaterLessPredicate extends AbstractIndexAwarePredicate
+        implements NegatablePredicate, RangePredicate, CostAwarePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -73,13 +76,21 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         if (index == null) {
             return null;
         }
-        final Comparison comparison;
+        return index.getRecords(comparison(), value);
+    }
+
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return estimateCardinality(index, i -> i.estimateCardinality(comparison(), value));
+    }
+
+    private Comparison comparison() {
         if (less) {
-            comparison = equal ? Comparison.LESS_OR_EQUAL : Comparison.LESS;
+            return equal ? Comparison.LESS_OR_EQUAL : Comparison.LESS;
         } else {
-            comparison = equal ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER;
+            return equal ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER;
         }
-        return index.getRecords(comparison, value);
     }
 
     @Override
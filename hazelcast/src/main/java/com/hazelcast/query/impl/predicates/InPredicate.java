@@ -32,13 +32,14 @@ import java.util.Arrays;
 import java.util.Set;
 
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCardinality;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
 /**
  * In Predicate
  */
 @BinaryInterface
-public class InPredicate extends AbstractIndexAwarePredicate implements VisitablePredicate {
+public class InPredicate extends AbstractIndexAwarePredicate implements VisitablePredicate, CostAwarePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -120,6 +121,18 @@ public class InPredicate extends AbstractIndexAwarePredicate implements Visitabl
         }
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        return estimateCardinality(index, i -> {
+            long cost = 0;
+            for (Comparable value : values) {
+                cost += i.estimateCardinality(value);
+            }
+            return cost;
+        });
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -28,21 +28,22 @@ import com.hazelcast.query.impl.QueryableEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
 import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimateCostOf;
 
 /**
  * Or Predicate
  */
 @BinaryInterface
 public final class OrPredicate
-        implements IndexAwarePredicate, VisitablePredicate, NegatablePredicate, IdentifiedDataSerializable, CompoundPredicate {
+        implements CostAwarePredicate, VisitablePredicate, NegatablePredicate, IdentifiedDataSerializable, CompoundPredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -57,7 +58,8 @@ public final class OrPredicate
 
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        List<Set<QueryableEntry>> indexedResults = new LinkedList<Set<QueryableEntry>>();
+        // array lists, since the or result set accesses them by index
+        List<Set<QueryableEntry>> indexedResults = new ArrayList<Set<QueryableEntry>>(predicates.length);
         for (Predicate predicate : predicates) {
             if (predicate instanceof IndexAwarePredicate) {
                 IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
@@ -96,6 +98,19 @@ public final class OrPredicate
         return true;
     }
 
+    @Override
+    public long estimateCost(QueryContext queryContext) {
+        long cost = 0;
+        for (Predicate predicate : predicates) {
+            long predicateCost = estimateCostOf(predicate, queryContext);
+            if (predicateCost == UNKNOWN_COST) {
+                return UNKNOWN_COST;
+            }
+            cost += predicateCost;
+        }
+        return cost;
+    }
+
     @Override
     public boolean apply(Map.Entry mapEntry) {
         for (Predicate predicate : predicates) {
@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl.predicates;
 
+import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.internal.util.SortingUtil;
@@ -24,20 +25,29 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.TypeConverters;
 
 import java.io.IOException;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.estimatedSizeOf;
 
 /**
  * Implementaiton of {@link PagingPredicate}.
@@ -177,23 +187,42 @@ public class PagingPredicateImpl<K, V>
     }
 
     /**
-     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering.
+     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering
+     * or if the natural ordering of the page is backed by a sorted index.
+     * <p>
+     * In the latter case, the page is produced by seeking the sorted index to
+     * the nearest anchor and consuming just enough entries to fill the pages
+     * requested, instead of sorting all the matching entries.
      *
      * @param queryContext
      * @return
      */
     @Override
     public Set<QueryableEntry<K, V>> filter(QueryContext queryContext) {
-        if (!(predicate instanceof IndexAwarePredicate)) {
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        long limit = pageSize * ((long) page - nearestAnchorEntry.getKey());
+        InternalIndex orderingIndex = matchOrderingIndex(queryContext);
+
+        Set<QueryableEntry<K, V>> set = null;
+        if (predicate instanceof IndexAwarePredicate && ((IndexAwarePredicate) predicate).isIndexed(queryContext)) {
+            set = ((IndexAwarePredicate<K, V>) predicate).filter(queryContext);
+            if (set != null && (set.isEmpty() || orderingIndex == null || estimatedSizeOf((Set) set) <= limit)) {
+                // the inner result is small enough, sorting it is cheaper than walking the index
+                return sortAndLimit(set, nearestAnchorEntry);
+            }
+        }
+        if (orderingIndex == null) {
             return null;
         }
+        return walkOrderingIndex(orderingIndex, set, nearestAnchorEntry, limit);
+    }
 
-        Set<QueryableEntry<K, V>> set = ((IndexAwarePredicate<K, V>) predicate).filter(queryContext);
-        if (set == null || set.isEmpty()) {
+    private Set<QueryableEntry<K, V>> sortAndLimit(Set<QueryableEntry<K, V>> set,
+                                                   Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        if (set.isEmpty()) {
             return set;
         }
         List<QueryableEntry<K, V>> resultList = new ArrayList<QueryableEntry<K, V>>();
-        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
         for (QueryableEntry<K, V> queryableEntry : set) {
             if (SortingUtil.compareAnchor(this, queryableEntry, nearestAnchorEntry)) {
                 resultList.add(queryableEntry);
@@ -205,18 +234,99 @@ public class PagingPredicateImpl<K, V>
         return new LinkedHashSet<QueryableEntry<K, V>>(sortedSubList);
     }
 
+    /**
+     * Collects the entries of the requested pages by walking the given sorted
+     * index in ascending order starting at the nearest anchor.
+     * <p>
+     * The walk stops as soon as {@code limit} matching entries are collected
+     * and the ordering value changes, the entries sharing the last ordering
+     * value are still collected since their relative order is defined by the
+     * key hash tie-breaker of {@link SortingUtil#compare}.
+     *
+     * @param index              the sorted index to walk.
+     * @param filter             the result of the inner predicate to probe
+     *                           the entries against or {@code null} if the
+     *                           inner predicate should be applied to every
+     *                           entry.
+     * @param nearestAnchorEntry the nearest anchor to start the walk at.
+     * @param limit              the number of entries to collect.
+     * @return the sorted entries of the requested pages.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<QueryableEntry<K, V>> walkOrderingIndex(InternalIndex index, Set<QueryableEntry<K, V>> filter,
+                                                        Map.Entry<Integer, Map.Entry> nearestAnchorEntry, long limit) {
+        Map.Entry anchor = nearestAnchorEntry.getValue();
+        Iterator<QueryableEntry> iterator = anchor == null ? index.getRecordIterator()
+                : index.getRecordIterator(Comparison.GREATER_OR_EQUAL, orderingValueOf(anchor));
+
+        List<QueryableEntry<K, V>> resultList = new ArrayList<QueryableEntry<K, V>>();
+        Comparable lastOrderingValue = null;
+        while (iterator.hasNext()) {
+            QueryableEntry<K, V> queryableEntry = iterator.next();
+            Comparable orderingValue = orderingValueOf(queryableEntry);
+            if (resultList.size() >= limit && Comparables.compare(orderingValue, lastOrderingValue) != 0) {
+                break;
+            }
+
+            boolean matches = filter == null ? apply(queryableEntry) : filter.contains(queryableEntry);
+            if (matches && SortingUtil.compareAnchor(this, queryableEntry, nearestAnchorEntry)) {
+                resultList.add(queryableEntry);
+                lastOrderingValue = orderingValue;
+            }
+        }
+
+        List<QueryableEntry<K, V>> sortedSubList =
+                (List) SortingUtil.getSortedSubList((List) resultList, this, nearestAnchorEntry);
+        return new LinkedHashSet<QueryableEntry<K, V>>(sortedSubList);
+    }
+
+    /**
+     * Matches a sorted index producing the entries in the natural order of the
+     * pages, i.e. a sorted index on {@code __key} for {@link IterationType#KEY}
+     * and {@link IterationType#ENTRY} or on {@code this} for {@link
+     * IterationType#VALUE}. Custom comparators are opaque to the indexes, so
+     * no index is matched for them.
+     */
+    private InternalIndex matchOrderingIndex(QueryContext queryContext) {
+        if (comparator != null || iterationType == null) {
+            return null;
+        }
+
+        String attribute = iterationType == IterationType.VALUE ? THIS_ATTRIBUTE_NAME.value() : KEY_ATTRIBUTE_NAME.value();
+        Index index = queryContext.matchIndex(attribute, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (!(index instanceof InternalIndex) || !index.isOrdered()) {
+            return null;
+        }
+
+        // enums and portables are indexed in an order different from their natural one
+        TypeConverter converter = index.getConverter();
+        if (converter == TypeConverters.ENUM_CONVERTER || converter == TypeConverters.PORTABLE_CONVERTER) {
+            return null;
+        }
+        return (InternalIndex) index;
+    }
+
+    private Comparable orderingValueOf(Map.Entry entry) {
+        Object value = iterationType == IterationType.VALUE ? entry.getValue() : entry.getKey();
+        if (!(value instanceof Comparable)) {
+            throw new IllegalArgumentException("Not comparable " + value);
+        }
+        return (Comparable) value;
+    }
 
     /**
-     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed.
+     * Used if inner predicate is instanceof {@link IndexAwarePredicate} or if
+     * the natural ordering of the page is backed by a sorted index for checking
+     * if indexed.
      *
      * @param queryContext
      * @return
      */
     public boolean isIndexed(QueryContext queryContext) {
-        if (predicate instanceof IndexAwarePredicate) {
-            return ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+        if (predicate instanceof IndexAwarePredicate && ((IndexAwarePredicate) predicate).isIndexed(queryContext)) {
+            return true;
         }
-        return false;
+        return matchOrderingIndex(queryContext) != null;
     }
 
     /**
@@ -19,13 +19,18 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.AndResultSet;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.OrResultSet;
+import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.ToLongFunction;
 
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
 
 public final class PredicateUtils {
     private PredicateUtils() {
@@ -50,6 +55,48 @@ public final class PredicateUtils {
         return result.size();
     }
 
+    /**
+     * Estimates the cardinality of a lookup in the given index.
+     *
+     * @param index     the index to estimate the lookup cardinality in, may be
+     *                  {@code null}.
+     * @param estimator the estimation to perform.
+     * @return the estimated cardinality or {@link CostAwarePredicate#UNKNOWN_COST}
+     * if the given index is unable to provide estimations.
+     */
+    public static long estimateCardinality(Index index, ToLongFunction<InternalIndex> estimator) {
+        if (!(index instanceof InternalIndex) || index.isEvaluateOnly()) {
+            return CostAwarePredicate.UNKNOWN_COST;
+        }
+        return estimator.applyAsLong((InternalIndex) index);
+    }
+
+    /**
+     * Estimates the cost of the given indexed predicate.
+     * <p>
+     * Like the index lookups performed by the compound predicates, the
+     * estimation skips the indexed partitions count check: the check is
+     * performed once by the top-level predicate.
+     *
+     * @param predicate    the predicate to estimate the cost of.
+     * @param queryContext the query context to estimate the cost in.
+     * @return the estimated cost or {@link CostAwarePredicate#UNKNOWN_COST} if
+     * the cost can't be estimated.
+     */
+    public static long estimateCostOf(Predicate predicate, QueryContext queryContext) {
+        if (!(predicate instanceof CostAwarePredicate)) {
+            return CostAwarePredicate.UNKNOWN_COST;
+        }
+
+        int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
+        queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
+        try {
+            return ((CostAwarePredicate) predicate).estimateCost(queryContext);
+        } finally {
+            queryContext.setOwnedPartitionCount(ownedPartitionsCount);
+        }
+    }
+
     /**
      * @return {@code true} if the given value is considered as a null-like by
      * predicates and indexes, {@code false} otherwise.
@@ -78,4 +125,5 @@ public final class PredicateUtils {
         Predicate unwrappedPredicate = ((PartitionPredicate) predicate).getTarget();
         return (PagingPredicateImpl) unwrappedPredicate;
     }
+
 }
@@ -42,4 +42,6 @@ public interface Visitor {
 
     Predicate visit(BetweenPredicate predicate, Indexes indexes);
 
+    Predicate visit(LikePredicate predicate, Indexes indexes);
+
 }
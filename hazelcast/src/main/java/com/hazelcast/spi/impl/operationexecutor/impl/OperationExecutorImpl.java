@@ -158,10 +158,11 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
             threadCount = threadAffinity.getThreadCount();
         }
 
-        IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
+            // each thread gets its own idle strategy since an adaptive one keeps track of the load of its thread
+            IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
             // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
             MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(idleStrategy);
 
@@ -170,6 +171,7 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
             PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
                     nodeExtension, partitionOperationRunners, configClassLoader);
             partitionThread.setThreadAffinity(threadAffinity);
+            partitionThread.setIdleStrategy(idleStrategy);
             threads[threadId] = partitionThread;
             normalQueue.setConsumerThread(partitionThread);
         }
@@ -23,6 +23,7 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.internal.util.executor.HazelcastManagedThread;
 import com.hazelcast.logging.ILogger;
@@ -85,6 +86,7 @@ public abstract class OperationThread extends HazelcastManagedThread implements
     private final NodeExtension nodeExtension;
     private final ILogger logger;
     private volatile boolean shutdown;
+    private IdleStrategy idleStrategy;
 
     public OperationThread(String name,
                            int threadId,
@@ -106,6 +108,16 @@ public abstract class OperationThread extends HazelcastManagedThread implements
         return threadId;
     }
 
+    /**
+     * Sets the idle strategy used by the queue of this thread, so its metrics
+     * can be provided along with the ones of this thread.
+     *
+     * @param idleStrategy the idle strategy or null if the thread blocks.
+     */
+    public void setIdleStrategy(IdleStrategy idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
+
     public abstract OperationRunner operationRunner(int partitionId);
 
     @Override
@@ -205,6 +217,9 @@ public abstract class OperationThread extends HazelcastManagedThread implements
                 .withPrefix(OPERATION_PREFIX_THREAD)
                 .withDiscriminator(OPERATION_DISCRIMINATOR_THREAD, getName());
         registry.registerStaticMetrics(descriptor, this);
+        if (idleStrategy != null) {
+            registry.registerStaticMetrics(descriptor, idleStrategy);
+        }
     }
 
     public final void shutdown() {
@@ -22,6 +22,7 @@ import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.MutableInteger;
+import com.hazelcast.internal.util.concurrent.AdaptiveIdleStrategy;
 import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
 import com.hazelcast.internal.util.concurrent.BusySpinIdleStrategy;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
@@ -51,6 +52,7 @@ import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.HashUtil.hashToIndex;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
+import static com.hazelcast.internal.util.concurrent.AdaptiveIdleStrategy.createAdaptiveIdleStrategy;
 import static com.hazelcast.internal.util.concurrent.BackoffIdleStrategy.createBackoffIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.RESPONSE_THREAD_COUNT;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
@@ -234,6 +236,10 @@ public class InboundResponseHandlerSupplier implements StaticMetricsProvider, Su
             return new BackoffIdleStrategy(IDLE_MAX_SPINS, IDLE_MAX_YIELDS, IDLE_MIN_PARK_NS, IDLE_MAX_PARK_NS);
         } else if (idleStrategyString.startsWith("backoff,")) {
             return createBackoffIdleStrategy(idleStrategyString);
+        } else if ("adaptive".equals(idleStrategyString)) {
+            return new AdaptiveIdleStrategy(IDLE_MAX_SPINS, IDLE_MAX_YIELDS, IDLE_MIN_PARK_NS, IDLE_MAX_PARK_NS);
+        } else if (idleStrategyString.startsWith("adaptive,")) {
+            return createAdaptiveIdleStrategy(idleStrategyString);
         } else {
             throw new IllegalStateException("Unrecognized " + property.getName() + " value=" + idleStrategyString);
         }
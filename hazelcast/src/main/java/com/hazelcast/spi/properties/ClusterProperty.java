@@ -286,6 +286,47 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * The capacity of the ring buffer backing each of the write queues of a connection. Offering a frame to
+     * a ring buffer doesn't allocate and the pending bytes of the queue are tracked instead of computed.
+     * Once the ring buffer is full, the frames are queued in an unbounded linked queue till it's drained.
+     * <p>
+     * The value is rounded up to the next power of two. The default is 0, which means the write queues are
+     * unbounded linked queues.
+     */
+    public static final HazelcastProperty IO_WRITE_QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.io.write.queue.capacity", 0);
+
+    /**
+     * If the payloads of large packets should be written to the socket directly from their byte arrays using
+     * a gathering write, instead of being copied to the send buffer first. It's only used if nothing needs to
+     * process the bytes of the packets before they are written, e.g. it isn't used by compressed connections.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty IO_GATHERING_WRITES_ENABLED
+            = new HazelcastProperty("hazelcast.io.gathering.writes.enabled", false);
+
+    /**
+     * The idle strategy of the IO threads, if they don't use the {@code selectnow} selector mode. An IO
+     * thread without work to do idles using this strategy till it reaches its longest pause, and then it
+     * blocks on its selector. Idling avoids the cost of waking up the thread if work arrives soon.
+     * <p>
+     * The value is one of:
+     * <ul>
+     * <li>{@code block}: the IO threads block on their selector right away. This is the default.</li>
+     * <li>{@code backoff}: the IO threads spin, yield and park with an exponential backoff before they block.
+     * The arguments can be set using {@code backoff,maxSpins,maxYields,minParkNs,maxParkNs}.</li>
+     * <li>{@code adaptive}: like {@code backoff}, but each IO thread adapts the time it idles before it
+     * blocks to its load, so it only spins while the load is high. The arguments can be set using
+     * {@code adaptive,maxSpins,maxYields,minParkNs,maxParkNs}.</li>
+     * </ul>
+     * The same values can be used for the {@code hazelcast.operation.partitionthread.idlestrategy} property
+     * of the partition threads.
+     */
+    public static final HazelcastProperty IO_IDLE_STRATEGY
+            = new HazelcastProperty("hazelcast.io.idlestrategy", "block");
+
     /**
      * Property needed for concurrency detection so that write through can be done correctly.
      * This property sets the window the concurrency detection will signalling
@@ -430,6 +471,28 @@ public final class ClusterProperty {
     public static final HazelcastProperty SOCKET_CLIENT_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.client.buffer.direct", false);
 
+    /**
+     * If the byte stream of the connections opened by this member should be compressed.
+     * <p>
+     * The compression is negotiated when the connection is opened, so it's used by both
+     * sides of the connection. It's supported only by the connections accepted on the
+     * member's unified endpoint and not by the endpoints of the advanced network config.
+     * All the members of the cluster need to support it, so it shouldn't be enabled
+     * during a rolling upgrade from a version not supporting it.
+     * <p>
+     * The Java client enables it with {@code hazelcast.client.socket.compression.enabled}.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.socket.compression.enabled", false);
+
+    /**
+     * The minimum number of bytes written at once to a compressed connection to get them compressed.
+     * Smaller writes, e.g. small operations and their responses, are sent uncompressed, since their
+     * compression costs more time than their transfer.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.socket.compression.threshold.bytes", 1024);
+
     public static final HazelcastProperty SOCKET_LINGER_SECONDS
             = new HazelcastProperty("hazelcast.socket.linger.seconds", -1, SECONDS);
     public static final HazelcastProperty SOCKET_CONNECT_TIMEOUT_SECONDS
@@ -942,6 +1005,18 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * Maximum number of partition entries indexed in one go when an index is
+     * added to a map that already has data. The remaining entries are indexed
+     * in further slices of the same size, interleaved with the other operations
+     * of the partition, so a large partition doesn't block its partition thread
+     * for the duration of the whole index build.
+     * <p>
+     * The index isn't used by queries until it's populated in all the partitions.
+     */
+    public static final HazelcastProperty INDEX_BUILD_SLICE_SIZE
+            = new HazelcastProperty("hazelcast.index.build.slice.size", 10000);
+
     /**
      * Forces the JCache provider, which can have values client or server, to force the provider type.
      * If not provided, the provider will be client or server, whichever is found on the classpath first respectively.
@@ -50,6 +50,12 @@ public final class SqlErrorCode {
     /** Generic parsing error. */
     public static final int PARSING = 1008;
 
+    /** Index is not available or not fully populated yet. */
+    public static final int INDEX_INVALID = 1009;
+
+    /** Operator exceeded the memory available to it. */
+    public static final int MEMORY_LIMIT_EXCEEDED = 1010;
+
     /** An error with data conversion or transformation. */
     public static final int DATA_EXCEPTION = 2000;
 
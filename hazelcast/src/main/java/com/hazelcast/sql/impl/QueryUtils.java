@@ -16,6 +16,17 @@
 
 package com.hazelcast.sql.impl;
 
+import com.hazelcast.cluster.Member;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.partition.Partition;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.SqlErrorCode;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * Common SQL engine utility methods used by both "core" and "sql" modules.
  */
@@ -39,4 +50,31 @@ public final class QueryUtils {
     public static String workerName(String instanceName, String workerType, long index) {
         return instanceName + "-" + workerType + "-" + index;
     }
+
+    /**
+     * Get the current distribution of partitions between members.
+     *
+     * @param nodeEngine Node engine.
+     * @return Map from member ID to partitions owned by the member.
+     */
+    public static Map<UUID, PartitionIdSet> getPartitionMap(NodeEngine nodeEngine) {
+        Collection<Partition> parts = nodeEngine.getHazelcastInstance().getPartitionService().getPartitions();
+
+        int partCnt = parts.size();
+
+        Map<UUID, PartitionIdSet> partMap = new LinkedHashMap<>();
+
+        for (Partition part : parts) {
+            Member owner = part.getOwner();
+
+            if (owner == null) {
+                throw QueryException.error(SqlErrorCode.PARTITION_MIGRATED, "Partition is not assigned to any member: "
+                    + part.getPartitionId());
+            }
+
+            partMap.computeIfAbsent(owner.getUuid(), (key) -> new PartitionIdSet(partCnt)).add(part.getPartitionId());
+        }
+
+        return partMap;
+    }
 }
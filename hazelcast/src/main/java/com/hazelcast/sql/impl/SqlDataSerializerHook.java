@@ -22,7 +22,20 @@ import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexRangeFilter;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.DecimalSumAggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.DoubleSumAggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.LongSumAggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.MaxAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinMaxAggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
 import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
 import com.hazelcast.sql.impl.extract.QueryPath;
@@ -33,12 +46,20 @@ import com.hazelcast.sql.impl.operation.QueryCheckResponseOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.JoinRow;
@@ -86,7 +107,36 @@ public class SqlDataSerializerHook implements DataSerializerHook {
 
     public static final int QUERY_PATH = 22;
 
-    public static final int LEN = QUERY_PATH + 1;
+    public static final int NODE_AGGREGATE = 23;
+
+    public static final int EXPRESSION_COUNT = 24;
+    public static final int EXPRESSION_SUM = 25;
+    public static final int EXPRESSION_AVG = 26;
+    public static final int EXPRESSION_MIN = 27;
+    public static final int EXPRESSION_MAX = 28;
+
+    public static final int COLLECTOR_COUNT = 29;
+    public static final int COLLECTOR_SUM_LONG = 30;
+    public static final int COLLECTOR_SUM_DOUBLE = 31;
+    public static final int COLLECTOR_SUM_DECIMAL = 32;
+    public static final int COLLECTOR_AVG = 33;
+    public static final int COLLECTOR_MIN_MAX = 34;
+
+    public static final int NODE_MAP_INDEX_SCAN = 35;
+
+    public static final int INDEX_FILTER_EQUALS = 36;
+    public static final int INDEX_FILTER_RANGE = 37;
+
+    public static final int NODE_SORT = 38;
+    public static final int NODE_RECEIVE_SORT_MERGE = 39;
+
+    public static final int NODE_HASH_JOIN = 40;
+    public static final int NODE_BROADCAST_SEND = 41;
+    public static final int NODE_UNICAST_SEND = 42;
+
+    public static final int NODE_MAP_KEY_LOOKUP = 43;
+
+    public static final int LEN = NODE_MAP_KEY_LOOKUP + 1;
 
     @Override
     public int getFactoryId() {
@@ -129,6 +179,34 @@ public class SqlDataSerializerHook implements DataSerializerHook {
 
         constructors[QUERY_PATH] = arg -> new QueryPath();
 
+        constructors[NODE_AGGREGATE] = arg -> new AggregatePlanNode();
+
+        constructors[EXPRESSION_COUNT] = arg -> new CountAggregateExpression();
+        constructors[EXPRESSION_SUM] = arg -> new SumAggregateExpression<>();
+        constructors[EXPRESSION_AVG] = arg -> new AvgAggregateExpression<>();
+        constructors[EXPRESSION_MIN] = arg -> new MinAggregateExpression<>();
+        constructors[EXPRESSION_MAX] = arg -> new MaxAggregateExpression<>();
+
+        constructors[COLLECTOR_COUNT] = arg -> new CountAggregateCollector();
+        constructors[COLLECTOR_SUM_LONG] = arg -> new LongSumAggregateCollector();
+        constructors[COLLECTOR_SUM_DOUBLE] = arg -> new DoubleSumAggregateCollector();
+        constructors[COLLECTOR_SUM_DECIMAL] = arg -> new DecimalSumAggregateCollector();
+        constructors[COLLECTOR_AVG] = arg -> new AvgAggregateCollector();
+        constructors[COLLECTOR_MIN_MAX] = arg -> new MinMaxAggregateCollector();
+
+        constructors[NODE_MAP_INDEX_SCAN] = arg -> new MapIndexScanPlanNode();
+
+        constructors[INDEX_FILTER_EQUALS] = arg -> new IndexEqualsFilter();
+        constructors[INDEX_FILTER_RANGE] = arg -> new IndexRangeFilter();
+
+        constructors[NODE_SORT] = arg -> new SortPlanNode();
+        constructors[NODE_RECEIVE_SORT_MERGE] = arg -> new ReceiveSortMergePlanNode();
+
+        constructors[NODE_HASH_JOIN] = arg -> new HashJoinPlanNode();
+        constructors[NODE_BROADCAST_SEND] = arg -> new BroadcastSendPlanNode();
+        constructors[NODE_UNICAST_SEND] = arg -> new UnicastSendPlanNode();
+        constructors[NODE_MAP_KEY_LOOKUP] = arg -> new MapKeyLookupPlanNode();
+
         return new ArrayDataSerializableFactory(constructors);
     }
 }
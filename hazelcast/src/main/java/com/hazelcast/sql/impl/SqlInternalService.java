@@ -21,6 +21,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
 import com.hazelcast.sql.impl.exec.root.BlockingRootResultConsumer;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFactory;
 import com.hazelcast.sql.impl.operation.QueryOperationHandlerImpl;
@@ -60,6 +61,7 @@ public class SqlInternalService {
         String instanceName,
         NodeServiceProvider nodeServiceProvider,
         InternalSerializationService serializationService,
+        ExpressionCompiler expressionCompiler,
         int operationThreadCount,
         int fragmentThreadCount,
         int outboxBatchSize,
@@ -75,6 +77,7 @@ public class SqlInternalService {
             instanceName,
             nodeServiceProvider,
             serializationService,
+            expressionCompiler,
             stateRegistry,
             outboxBatchSize,
             FLOW_CONTROL_FACTORY,
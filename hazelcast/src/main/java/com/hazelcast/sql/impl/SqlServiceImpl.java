@@ -22,18 +22,28 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.sql.impl.expression.compiler.DisabledExpressionCompiler;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
 import com.hazelcast.sql.impl.optimizer.DisabledSqlOptimizer;
 import com.hazelcast.sql.impl.optimizer.OptimizationTask;
 import com.hazelcast.sql.impl.optimizer.SqlOptimizer;
 import com.hazelcast.sql.impl.optimizer.SqlPlan;
 import com.hazelcast.sql.impl.plan.Plan;
+import com.hazelcast.sql.impl.plan.cache.CacheablePlan;
+import com.hazelcast.sql.impl.plan.cache.PlanCache;
+import com.hazelcast.sql.impl.plan.cache.PlanCacheChecker;
+import com.hazelcast.sql.impl.plan.cache.PlanCacheKey;
 import com.hazelcast.sql.impl.state.QueryState;
 
 import java.lang.reflect.Constructor;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_PREFIX_PLAN_CACHE;
+
 /**
  * Base SQL service implementation that bridges optimizer implementation, public and private APIs.
  */
@@ -44,12 +54,27 @@ public class SqlServiceImpl implements Consumer<Packet> {
     /** Default state check frequency. */
     private static final long STATE_CHECK_FREQUENCY = 10_000L;
 
+    /** Maximum number of cached plans. */
+    private static final int PLAN_CACHE_SIZE = 10_000;
+
+    /** Frequency of the background plan cache validation, cached plans are also validated on every reuse. */
+    private static final long PLAN_CACHE_CHECK_FREQUENCY = 1_000L;
+
     private static final String OPTIMIZER_CLASS_PROPERTY_NAME = "hazelcast.sql.optimizerClass";
     private static final String SQL_MODULE_OPTIMIZER_CLASS = "com.hazelcast.sql.impl.calcite.CalciteSqlOptimizer";
 
+    private static final String EXPRESSION_COMPILER_ENABLED_PROPERTY_NAME = "hazelcast.sql.expressionCompilerEnabled";
+    private static final String SQL_MODULE_EXPRESSION_COMPILER_CLASS =
+        "com.hazelcast.sql.impl.calcite.compiler.JaninoExpressionCompiler";
+
     private SqlOptimizer optimizer;
+    private final ExpressionCompiler expressionCompiler;
     private final ILogger logger;
     private final NodeEngineImpl nodeEngine;
+    private final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
+    private final PlanCacheChecker planCacheChecker;
+
+    private ScheduledFuture<?> planCacheCheckerFuture;
 
     private volatile SqlInternalService internalService;
 
@@ -66,10 +91,13 @@ public class SqlServiceImpl implements Consumer<Packet> {
         String instanceName = nodeEngine.getHazelcastInstance().getName();
         InternalSerializationService serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
 
+        expressionCompiler = createExpressionCompiler(nodeEngine);
+
         internalService = new SqlInternalService(
             instanceName,
             nodeServiceProvider,
             serializationService,
+            expressionCompiler,
             operationThreadCount,
             fragmentThreadCount,
             OUTBOX_BATCH_SIZE,
@@ -77,19 +105,38 @@ public class SqlServiceImpl implements Consumer<Packet> {
         );
 
         optimizer = createOptimizer(nodeEngine);
+
+        planCacheChecker = new PlanCacheChecker(nodeEngine, planCache);
     }
 
     public void start() {
         optimizer = createOptimizer(nodeEngine);
 
         internalService.start();
+
+        nodeEngine.getMetricsRegistry().registerStaticMetrics(planCache, SQL_PREFIX_PLAN_CACHE);
+
+        planCacheCheckerFuture = nodeEngine.getExecutionService().scheduleWithRepetition(
+            planCacheChecker,
+            PLAN_CACHE_CHECK_FREQUENCY,
+            PLAN_CACHE_CHECK_FREQUENCY,
+            TimeUnit.MILLISECONDS
+        );
     }
 
     public void reset() {
+        planCache.clear();
+
         internalService.reset();
     }
 
     public void shutdown() {
+        if (planCacheCheckerFuture != null) {
+            planCacheCheckerFuture.cancel(false);
+        }
+
+        planCache.clear();
+
         internalService.shutdown();
     }
 
@@ -108,6 +155,18 @@ public class SqlServiceImpl implements Consumer<Packet> {
         return optimizer;
     }
 
+    ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
+    PlanCache getPlanCache() {
+        return planCache;
+    }
+
+    PlanCacheChecker getPlanCacheChecker() {
+        return planCacheChecker;
+    }
+
     @Override
     public void accept(Packet packet) {
         internalService.onPacket(packet);
@@ -118,7 +177,28 @@ public class SqlServiceImpl implements Consumer<Packet> {
     }
 
     SqlPlan prepare(String sql) {
-        return optimizer.prepare(new OptimizationTask.Builder(sql).build());
+        OptimizationTask task = new OptimizationTask.Builder(sql).build();
+
+        PlanCacheKey planKey = new PlanCacheKey(task.getSearchPaths(), sql);
+
+        SqlPlan plan = planCache.get(planKey);
+
+        // The plan could have become stale since the last periodic check, e.g. after a migration or an index creation.
+        if (plan != null && !planCacheChecker.isReusable((CacheablePlan) plan)) {
+            planCache.invalidate(planKey, (CacheablePlan) plan);
+
+            plan = null;
+        }
+
+        if (plan == null) {
+            plan = optimizer.prepare(task);
+
+            if (plan instanceof CacheablePlan && ((CacheablePlan) plan).isCacheable()) {
+                planCache.put(planKey, (CacheablePlan) plan);
+            }
+        }
+
+        return plan;
     }
 
     /**
@@ -163,4 +243,34 @@ public class SqlServiceImpl implements Consumer<Packet> {
             throw new HazelcastException("Failed to instantiate the optimizer class " + className + ": " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Create either Janino-based or no-op expression compiler instance. In the latter case expressions are interpreted.
+     *
+     * @param nodeEngine Node engine.
+     * @return Expression compiler.
+     */
+    private ExpressionCompiler createExpressionCompiler(NodeEngine nodeEngine) {
+        if (!Boolean.parseBoolean(System.getProperty(EXPRESSION_COMPILER_ENABLED_PROPERTY_NAME, "true"))) {
+            return DisabledExpressionCompiler.INSTANCE;
+        }
+
+        Class<?> clazz;
+
+        try {
+            clazz = Class.forName(SQL_MODULE_EXPRESSION_COMPILER_CLASS);
+        } catch (ClassNotFoundException e) {
+            logger.fine("Expression compiler class \"" + SQL_MODULE_EXPRESSION_COMPILER_CLASS + "\" not found, falling back to "
+                + DisabledExpressionCompiler.class.getName());
+
+            return DisabledExpressionCompiler.INSTANCE;
+        }
+
+        try {
+            return (ExpressionCompiler) clazz.getConstructor(NodeEngine.class).newInstance(nodeEngine);
+        } catch (ReflectiveOperationException e) {
+            throw new HazelcastException("Failed to instantiate the expression compiler class "
+                + SQL_MODULE_EXPRESSION_COMPILER_CLASS + ": " + e.getMessage(), e);
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
@@ -29,6 +30,9 @@ import java.util.List;
  * Currently the executor batches rows, and reports progress only when the batch is full or when EOS has been reached.
  * This is done to minimize the operator evaluation overhead.
  * <p>
+ * Columnar batches are filtered as a whole: the condition is evaluated for all rows of the batch at once, and the
+ * result shares the columns of the input batch.
+ * <p>
  * The compiled counterpart does not require batching.
  */
 public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
@@ -36,7 +40,7 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
     static final int BATCH_SIZE = 1024;
 
     private List<Row> currentRows;
-    private ListRowBatch currentBatch;
+    private RowBatch currentBatch;
 
     protected AbstractFilterExec(int id, Exec upstream) {
         super(id, upstream);
@@ -57,6 +61,21 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
                 return IterationResult.WAIT;
             }
 
+            // Filter columnar batch at once, unless there are pending rows from the previous batches.
+            if (count == 0) {
+                ColumnarRowBatch upstreamBatch = state.tryConsumeColumnarBatch();
+
+                if (upstreamBatch != null) {
+                    IterationResult result = prepareColumnarBatch(upstreamBatch);
+
+                    if (result != null) {
+                        return result;
+                    }
+
+                    continue;
+                }
+            }
+
             // Consume results until the batch is full.
             for (Row upstreamRow : state) {
                 boolean matches = eval(upstreamRow);
@@ -76,6 +95,25 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
         }
     }
 
+    /**
+     * Filter the columnar batch.
+     *
+     * @param upstreamBatch Upstream batch.
+     * @return Iteration result, or {@code null} if no rows passed the filter and more rows should be fetched.
+     */
+    private IterationResult prepareColumnarBatch(ColumnarRowBatch upstreamBatch) {
+        ColumnarRowBatch batch = evalBatch(upstreamBatch);
+
+        if (batch.getRowCount() == 0 && !state.isDone()) {
+            return null;
+        }
+
+        currentBatch = batch;
+        currentRows = null;
+
+        return state.isDone() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+
     private IterationResult prepareBatch(IterationResult result) {
         currentBatch = new ListRowBatch(currentRows);
         currentRows = null;
@@ -89,4 +127,12 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
     }
 
     protected abstract boolean eval(Row row);
+
+    /**
+     * Evaluate the condition for all rows of the batch.
+     *
+     * @param batch Batch.
+     * @return Batch with rows which satisfy the condition.
+     */
+    protected abstract ColumnarRowBatch evalBatch(ColumnarRowBatch batch);
 }
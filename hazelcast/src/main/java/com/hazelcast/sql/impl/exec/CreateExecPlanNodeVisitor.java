@@ -20,39 +20,60 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.sql.impl.NodeServiceProvider;
+import com.hazelcast.sql.impl.exec.agg.AggregateExec;
+import com.hazelcast.sql.impl.exec.io.BroadcastSendExec;
 import com.hazelcast.sql.impl.exec.io.InboundHandler;
 import com.hazelcast.sql.impl.exec.io.Inbox;
 import com.hazelcast.sql.impl.exec.io.OutboundHandler;
 import com.hazelcast.sql.impl.exec.io.Outbox;
 import com.hazelcast.sql.impl.exec.io.ReceiveExec;
+import com.hazelcast.sql.impl.exec.io.ReceiveSortMergeExec;
 import com.hazelcast.sql.impl.exec.io.SendExec;
+import com.hazelcast.sql.impl.exec.io.StripedInbox;
+import com.hazelcast.sql.impl.exec.io.UnicastSendExec;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.exec.join.HashJoinExec;
 import com.hazelcast.sql.impl.exec.root.RootExec;
+import com.hazelcast.sql.impl.exec.scan.MapIndexScanExec;
+import com.hazelcast.sql.impl.exec.scan.MapKeyLookupExec;
 import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.exec.sort.SortExec;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapping;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.EdgeAwarePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Visitor which builds an executor for every observed physical node.
  */
+@SuppressWarnings({"checkstyle:ClassDataAbstractionCoupling", "checkstyle:ClassFanOutComplexity"})
 public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
     /** Operation handler. */
     private final QueryOperationHandler operationHandler;
@@ -63,6 +84,9 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
     /** Serialization service. */
     private final InternalSerializationService serializationService;
 
+    /** Expression compiler. */
+    private final ExpressionCompiler expressionCompiler;
+
     /** Local member ID. */
     private final UUID localMemberId;
 
@@ -94,6 +118,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         QueryOperationHandler operationHandler,
         NodeServiceProvider nodeServiceProvider,
         InternalSerializationService serializationService,
+        ExpressionCompiler expressionCompiler,
         UUID localMemberId,
         QueryExecuteOperation operation,
         FlowControlFactory flowControlFactory,
@@ -103,6 +128,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         this.operationHandler = operationHandler;
         this.nodeServiceProvider = nodeServiceProvider;
         this.serializationService = serializationService;
+        this.expressionCompiler = expressionCompiler;
         this.localMemberId = localMemberId;
         this.operation = operation;
         this.flowControlFactory = flowControlFactory;
@@ -151,6 +177,42 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
+        // Navigate to sender exec and collect sender members, every sender produces its own sorted stream.
+        int edgeId = node.getEdgeId();
+
+        int sendFragmentPos = operation.getOutboundEdgeMap().get(edgeId);
+        QueryExecuteOperationFragment sendFragment = operation.getFragments().get(sendFragmentPos);
+
+        List<UUID> senderMemberIds = new ArrayList<>(getFragmentMembers(sendFragment));
+
+        // Create and register inbox.
+        StripedInbox inbox = new StripedInbox(
+            operationHandler,
+            operation.getQueryId(),
+            edgeId,
+            node.getSchema().getEstimatedRowSize(),
+            localMemberId,
+            senderMemberIds,
+            createFlowControl(edgeId)
+        );
+
+        inboxes.put(edgeId, inbox);
+
+        // Instantiate executor and put it to stack.
+        ReceiveSortMergeExec res = new ReceiveSortMergeExec(
+            node.getId(),
+            inbox,
+            node.getColumnIndexes(),
+            node.getAscs(),
+            node.getFetch(),
+            node.getOffset()
+        );
+
+        push(res);
+    }
+
     @Override
     public void onRootSendNode(RootSendPlanNode node) {
         Outbox[] outboxes = prepareOutboxes(node);
@@ -160,6 +222,45 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         exec = new SendExec(node.getId(), pop(), outboxes[0]);
     }
 
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        Outbox[] outboxes = prepareOutboxes(node);
+
+        exec = new BroadcastSendExec(node.getId(), pop(), outboxes);
+    }
+
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        Outbox[] outboxes = prepareOutboxes(node);
+
+        // Map every partition to the index of the outbox of its owner.
+        Map<UUID, Integer> memberOutboxIndexes = new HashMap<>();
+
+        for (int i = 0; i < outboxes.length; i++) {
+            memberOutboxIndexes.put(outboxes[i].getTargetMemberId(), i);
+        }
+
+        int[] partitionOutboxIndexes = new int[localParts.getPartitionCount()];
+
+        for (Map.Entry<UUID, PartitionIdSet> entry : operation.getPartitionMap().entrySet()) {
+            Integer outboxIndex = memberOutboxIndexes.get(entry.getKey());
+
+            assert outboxIndex != null : "Receiver is not a data member: " + entry.getKey();
+
+            for (int partition : entry.getValue()) {
+                partitionOutboxIndexes[partition] = outboxIndex;
+            }
+        }
+
+        exec = new UnicastSendExec(
+            node.getId(),
+            pop(),
+            outboxes,
+            node.getPartitioningColumnIndexes(),
+            partitionOutboxIndexes
+        );
+    }
+
     /**
      * Prepare outboxes for the given sender node.
      *
@@ -206,7 +307,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         Exec res = new ProjectExec(
             node.getId(),
             pop(),
-            node.getProjects()
+            compile(node.getProjects())
         );
 
         push(res);
@@ -217,7 +318,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         Exec res = new FilterExec(
             node.getId(),
             pop(),
-            node.getFilter()
+            compile(node.getFilter())
         );
 
         push(res);
@@ -246,7 +347,41 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
                     node.getFieldPaths(),
                     node.getFieldTypes(),
                     node.getProjects(),
-                    node.getFilter(),
+                    compile(node.getFilter()),
+                    serializationService
+                );
+            }
+        }
+
+        push(res);
+    }
+
+    @Override
+    public void onMapIndexScanNode(MapIndexScanPlanNode node) {
+        Exec res;
+
+        if (localParts.isEmpty()) {
+            res = new EmptyExec(node.getId());
+        } else {
+            String mapName = node.getMapName();
+
+            MapContainer map = nodeServiceProvider.getMap(mapName);
+
+            if (map == null) {
+                res = new EmptyExec(node.getId());
+            } else {
+                res = new MapIndexScanExec(
+                    node.getId(),
+                    map,
+                    localParts,
+                    node.getKeyDescriptor(),
+                    node.getValueDescriptor(),
+                    node.getFieldPaths(),
+                    node.getFieldTypes(),
+                    node.getProjects(),
+                    node.getIndexName(),
+                    node.getIndexFilter(),
+                    compile(node.getFilter()),
                     serializationService
                 );
             }
@@ -255,6 +390,86 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onMapKeyLookupNode(MapKeyLookupPlanNode node) {
+        Exec res;
+
+        if (localParts.isEmpty()) {
+            res = new EmptyExec(node.getId());
+        } else {
+            String mapName = node.getMapName();
+
+            MapContainer map = nodeServiceProvider.getMap(mapName);
+
+            if (map == null) {
+                res = new EmptyExec(node.getId());
+            } else {
+                res = new MapKeyLookupExec(
+                    node.getId(),
+                    map,
+                    localParts,
+                    node.getKeyDescriptor(),
+                    node.getValueDescriptor(),
+                    node.getFieldPaths(),
+                    node.getFieldTypes(),
+                    node.getProjects(),
+                    node.getKeys(),
+                    compile(node.getFilter()),
+                    serializationService
+                );
+            }
+        }
+
+        push(res);
+    }
+
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        Exec res = new AggregateExec(
+            node.getId(),
+            pop(),
+            node.getGroupKey(),
+            node.getExpressions(),
+            node.getPhase()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        Exec res = new SortExec(
+            node.getId(),
+            pop(),
+            node.getColumnIndexes(),
+            node.getAscs(),
+            node.getFetch(),
+            node.getOffset()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        Exec right = pop();
+        Exec left = pop();
+
+        Exec res = new HashJoinExec(
+            node.getId(),
+            left,
+            right,
+            node.getLeftHashKeys(),
+            node.getRightHashKeys(),
+            node.isOuter(),
+            node.getRight().getSchema().getTypes().size(),
+            node.getRight().getSchema().getEstimatedRowSize(),
+            HashJoinExec.DEFAULT_MEMORY_LIMIT
+        );
+
+        push(res);
+    }
+
     @Override
     public void onOtherNode(PlanNode node) {
         if (node instanceof CreateExecPlanNodeVisitorCallback) {
@@ -297,6 +512,21 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         stack.add(exec);
     }
 
+    private <T> Expression<T> compile(Expression<T> expression) {
+        return expression != null ? expressionCompiler.compile(expression) : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Expression> compile(List<Expression> expressions) {
+        List<Expression> res = new ArrayList<>(expressions.size());
+
+        for (Expression expression : expressions) {
+            res.add(compile(expression));
+        }
+
+        return res;
+    }
+
     private FlowControl createFlowControl(int edgeId) {
         long initialMemory = operation.getEdgeInitialMemoryMap().get(edgeId);
 
@@ -17,6 +17,7 @@
 package com.hazelcast.sql.impl.exec;
 
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 
 /**
@@ -39,6 +40,11 @@ public class FilterExec extends AbstractFilterExec {
         return res != null && res;
     }
 
+    @Override
+    protected ColumnarRowBatch evalBatch(ColumnarRowBatch batch) {
+        return batch.select(filter.evalBatch(batch, ctx));
+    }
+
     public Expression<Boolean> getFilter() {
         return filter;
     }
@@ -17,6 +17,8 @@
 package com.hazelcast.sql.impl.exec;
 
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.ListRowBatch;
@@ -28,6 +30,8 @@ import java.util.List;
 
 /**
  * Project executor. Get rows from the incoming batch, projects them, and put into the output batch.
+ * <p>
+ * Columnar batches are projected column by column, and the result shares the selection vector of the input batch.
  */
 @SuppressWarnings("rawtypes")
 public class ProjectExec extends AbstractUpstreamAwareExec {
@@ -79,6 +83,10 @@ public class ProjectExec extends AbstractUpstreamAwareExec {
     }
 
     private RowBatch projectBatch(RowBatch upstreamBatch) {
+        if (upstreamBatch instanceof ColumnarRowBatch) {
+            return projectColumnarBatch((ColumnarRowBatch) upstreamBatch);
+        }
+
         List<Row> rows = new ArrayList<>(upstreamBatch.getRowCount());
 
         for (int i = 0; i < upstreamBatch.getRowCount(); i++) {
@@ -91,6 +99,16 @@ public class ProjectExec extends AbstractUpstreamAwareExec {
         return new ListRowBatch(rows);
     }
 
+    private RowBatch projectColumnarBatch(ColumnarRowBatch upstreamBatch) {
+        ColumnVector[] columns = new ColumnVector[projects.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = projects.get(i).evalBatch(upstreamBatch, ctx);
+        }
+
+        return upstreamBatch.withColumns(columns);
+    }
+
     private Row projectRow(Row upstreamRow) {
         HeapRow row = new HeapRow(projects.size());
 
@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.exec;
 
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
@@ -108,6 +109,21 @@ public class UpstreamState implements Iterable<Row> {
         return batch;
     }
 
+    /**
+     * Consume the current batch as a whole if it is columnar and none of its rows were consumed yet.
+     *
+     * @return The batch or {@code null} if the current batch cannot be consumed as a columnar batch.
+     */
+    public ColumnarRowBatch tryConsumeColumnarBatch() {
+        if (currentBatchPos != 0 || !(currentBatch instanceof ColumnarRowBatch)) {
+            return null;
+        }
+
+        currentBatchPos = currentBatch.getRowCount();
+
+        return (ColumnarRowBatch) currentBatch;
+    }
+
     /**
      * @return {@code true} if no more results will appear in future.
      */
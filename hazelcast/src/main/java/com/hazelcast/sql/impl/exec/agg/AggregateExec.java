@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking hash aggregation.
+ * <p>
+ * All rows from the upstream are consumed first, and collectors are grouped by the values of group key columns. Then
+ * the groups are emitted in batches. Depending on the {@link AggregatePhase}, the operator either collects input rows
+ * or merges intermediate collectors, and either emits final results or collectors.
+ * <p>
+ * The output row contains values of the group key columns followed by the values of the aggregate expressions.
+ */
+@SuppressWarnings("rawtypes")
+public class AggregateExec extends AbstractUpstreamAwareExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    /** Key of the group when there is exactly one group key column and its value is null. */
+    private static final Object NULL_KEY = new Object();
+
+    /** Key of the single group when there are no group key columns. */
+    private static final Object GLOBAL_KEY = new Object();
+
+    private final List<Integer> groupKey;
+    private final List<AggregateExpression> expressions;
+    private final AggregatePhase phase;
+
+    /** Collectors of groups. */
+    private final Map<Object, AggregateCollector[]> groups = new HashMap<>();
+
+    /** Iterator over groups, not null when the upstream is consumed. */
+    private Iterator<Map.Entry<Object, AggregateCollector[]>> groupIterator;
+
+    /** Current batch. */
+    private RowBatch currentBatch;
+
+    public AggregateExec(int id, Exec upstream, List<Integer> groupKey, List<AggregateExpression> expressions,
+                         AggregatePhase phase) {
+        super(id, upstream);
+
+        this.groupKey = groupKey;
+        this.expressions = expressions;
+        this.phase = phase;
+    }
+
+    @Override
+    public IterationResult advance0() {
+        if (groupIterator == null) {
+            while (true) {
+                if (!state.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                for (Row row : state) {
+                    consumeRow(row);
+                }
+
+                if (state.isDone()) {
+                    break;
+                }
+            }
+
+            // Aggregation without grouping always produces exactly one row, even if the input is empty.
+            if (groupKey.isEmpty() && groups.isEmpty()) {
+                groups.put(GLOBAL_KEY, createCollectors());
+            }
+
+            groupIterator = groups.entrySet().iterator();
+        }
+
+        return prepareBatch();
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public List<Integer> getGroupKey() {
+        return groupKey;
+    }
+
+    public List<AggregateExpression> getExpressions() {
+        return expressions;
+    }
+
+    public AggregatePhase getPhase() {
+        return phase;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void consumeRow(Row row) {
+        Object key = getKey(row);
+
+        AggregateCollector[] collectors = groups.get(key);
+
+        if (collectors == null) {
+            collectors = createCollectors();
+
+            groups.put(key, collectors);
+        }
+
+        boolean merging = phase.isMerging();
+
+        for (int i = 0; i < collectors.length; i++) {
+            AggregateExpression<?> expression = expressions.get(i);
+
+            if (merging) {
+                expression.merge(row, collectors[i], ctx);
+            } else {
+                expression.collect(row, collectors[i], ctx);
+            }
+        }
+    }
+
+    private Object getKey(Row row) {
+        switch (groupKey.size()) {
+            case 0:
+                return GLOBAL_KEY;
+
+            case 1:
+                Object value = row.get(groupKey.get(0));
+
+                return value != null ? value : NULL_KEY;
+
+            default:
+                Object[] values = new Object[groupKey.size()];
+
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = row.get(groupKey.get(i));
+                }
+
+                return new AggregateKey(values);
+        }
+    }
+
+    private AggregateCollector[] createCollectors() {
+        AggregateCollector[] res = new AggregateCollector[expressions.size()];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = expressions.get(i).createCollector();
+        }
+
+        return res;
+    }
+
+    private IterationResult prepareBatch() {
+        List<Row> rows = new ArrayList<>(Math.min(BATCH_SIZE, groups.size()));
+
+        while (groupIterator.hasNext() && rows.size() < BATCH_SIZE) {
+            Map.Entry<Object, AggregateCollector[]> group = groupIterator.next();
+
+            rows.add(createRow(group.getKey(), group.getValue()));
+        }
+
+        currentBatch = new ListRowBatch(rows);
+
+        return groupIterator.hasNext() ? IterationResult.FETCHED : IterationResult.FETCHED_DONE;
+    }
+
+    private Row createRow(Object key, AggregateCollector[] collectors) {
+        int keySize = groupKey.size();
+
+        HeapRow row = new HeapRow(keySize + collectors.length);
+
+        if (keySize == 1) {
+            row.set(0, key != NULL_KEY ? key : null);
+        } else if (keySize > 1) {
+            AggregateKey key0 = (AggregateKey) key;
+
+            for (int i = 0; i < keySize; i++) {
+                row.set(i, key0.get(i));
+            }
+        }
+
+        boolean producingResults = phase.isProducingResults();
+
+        for (int i = 0; i < collectors.length; i++) {
+            Object value = producingResults ? expressions.get(i).getResult(collectors[i]) : collectors[i];
+
+            row.set(keySize + i, value);
+        }
+
+        return row;
+    }
+}
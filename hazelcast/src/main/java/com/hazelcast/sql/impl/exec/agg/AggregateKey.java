@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import java.util.Arrays;
+
+/**
+ * Composite key of a group.
+ */
+final class AggregateKey {
+
+    private final Object[] values;
+    private final int hash;
+
+    AggregateKey(Object[] values) {
+        this.values = values;
+
+        hash = Arrays.hashCode(values);
+    }
+
+    Object get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AggregateKey that = (AggregateKey) o;
+
+        return hash == that.hash && Arrays.equals(values, that.values);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+/**
+ * Phase of the aggregation.
+ */
+public enum AggregatePhase {
+    /** Aggregation is performed in one step: input rows are collected and final results are produced. */
+    COMPLETE(1),
+
+    /** Input rows are collected, and intermediate collectors are produced instead of the final results. */
+    LOCAL(2),
+
+    /** Intermediate collectors produced by the local phase are merged, and final results are produced. */
+    FINAL(3);
+
+    private static final AggregatePhase[] VALUES = values();
+
+    private final int id;
+
+    AggregatePhase(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public static AggregatePhase getById(final int id) {
+        for (AggregatePhase phase : VALUES) {
+            if (phase.id == id) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if the aggregate produces final results.
+     */
+    public boolean isProducingResults() {
+        return this != LOCAL;
+    }
+
+    /**
+     * @return {@code true} if the aggregate consumes intermediate collectors rather than raw input rows.
+     */
+    public boolean isMerging() {
+        return this == FINAL;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.Arrays;
+
+/**
+ * Sender that communicates with several outboxes. Tracks the pending position of every outbox independently.
+ */
+public abstract class AbstractMultiOutboxSendExec extends AbstractSendExec {
+    /** Marker of an outbox which has no pending rows. */
+    private static final int NO_PENDING_POSITION = -1;
+
+    protected final Outbox[] outboxes;
+
+    /** Pending positions of outboxes. */
+    private final int[] pendingPositions;
+
+    protected AbstractMultiOutboxSendExec(int id, Exec upstream, Outbox[] outboxes) {
+        super(id, upstream);
+
+        this.outboxes = outboxes;
+
+        pendingPositions = new int[outboxes.length];
+        Arrays.fill(pendingPositions, NO_PENDING_POSITION);
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        for (Outbox outbox : outboxes) {
+            outbox.setup();
+        }
+    }
+
+    @Override
+    protected int getOutboxCount() {
+        return outboxes.length;
+    }
+
+    @Override
+    protected Outbox getOutbox(int outboxIndex) {
+        return outboxes[outboxIndex];
+    }
+
+    @Override
+    protected void addPendingPosition(int outboxIndex, int position) {
+        pendingPositions[outboxIndex] = position;
+    }
+
+    @Override
+    protected boolean pushPendingBatch(RowBatch pendingBatch, boolean pendingLast) {
+        boolean res = true;
+
+        for (int outboxIndex = 0; outboxIndex < outboxes.length; outboxIndex++) {
+            int position = pendingPositions[outboxIndex];
+
+            if (position == NO_PENDING_POSITION) {
+                continue;
+            }
+
+            int newPosition = outboxes[outboxIndex].onRowBatch(
+                pendingBatch,
+                pendingLast,
+                position,
+                getOutboxQualifier(outboxIndex)
+            );
+
+            if (newPosition == pendingBatch.getRowCount()) {
+                pendingPositions[outboxIndex] = NO_PENDING_POSITION;
+            } else {
+                pendingPositions[outboxIndex] = newPosition;
+
+                res = false;
+            }
+        }
+
+        return res;
+    }
+
+    public Outbox[] getOutboxes() {
+        return outboxes;
+    }
+}
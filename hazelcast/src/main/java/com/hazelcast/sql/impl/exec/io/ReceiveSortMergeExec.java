@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.sort.RowComparator;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executor which receives sorted streams from several senders and merges them into a single sorted stream.
+ * <p>
+ * The next row could be emitted only when the current row of every active stream is known. Hence, if some stream
+ * has no rows available, the executor waits for it. The offset and fetch are applied to the merged stream.
+ */
+public class ReceiveSortMergeExec extends AbstractExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final StripedInbox inbox;
+    private final List<Integer> columnIndexes;
+    private final List<Boolean> ascs;
+    private final long fetch;
+    private final long offset;
+
+    private final RowComparator comparator;
+
+    /** Current batches of the stripes. */
+    private final RowBatch[] batches;
+
+    /** Positions of the current rows in the current batches. */
+    private final int[] positions;
+
+    /** Whether the last batch was received from the stripe. */
+    private final boolean[] lastReceived;
+
+    /** Whether the stripe has no more rows. */
+    private final boolean[] done;
+
+    /** Number of rows skipped due to offset. */
+    private long skipped;
+
+    /** Number of rows returned. */
+    private long returned;
+
+    /** Current batch. */
+    private RowBatch currentBatch;
+
+    public ReceiveSortMergeExec(
+        int id,
+        StripedInbox inbox,
+        List<Integer> columnIndexes,
+        List<Boolean> ascs,
+        long fetch,
+        long offset
+    ) {
+        super(id);
+
+        this.inbox = inbox;
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+
+        comparator = new RowComparator(columnIndexes, ascs);
+
+        int stripeCount = inbox.getStripeCount();
+
+        batches = new RowBatch[stripeCount];
+        positions = new int[stripeCount];
+        lastReceived = new boolean[stripeCount];
+        done = new boolean[stripeCount];
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        inbox.setup();
+    }
+
+    @Override
+    public IterationResult advance0() {
+        List<Row> rows = new ArrayList<>();
+
+        currentBatch = new ListRowBatch(rows);
+
+        while (fetch < 0 || returned < fetch) {
+            // Make sure that the current row is available for every active stripe.
+            for (int i = 0; i < batches.length; i++) {
+                if (!prepareStripe(i)) {
+                    return rows.isEmpty() ? IterationResult.WAIT : IterationResult.FETCHED;
+                }
+            }
+
+            int stripe = nextStripe();
+
+            if (stripe == -1) {
+                return IterationResult.FETCHED_DONE;
+            }
+
+            Row row = batches[stripe].getRow(positions[stripe]++);
+
+            if (skipped < offset) {
+                skipped++;
+
+                continue;
+            }
+
+            rows.add(row);
+            returned++;
+
+            if (rows.size() == BATCH_SIZE) {
+                return fetch >= 0 && returned == fetch ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+            }
+        }
+
+        return IterationResult.FETCHED_DONE;
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public StripedInbox getInbox() {
+        return inbox;
+    }
+
+    public List<Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public List<Boolean> getAscs() {
+        return ascs;
+    }
+
+    public long getFetch() {
+        return fetch;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Make sure that the stripe either has the current row, or has no more rows.
+     *
+     * @param stripe Stripe.
+     * @return {@code false} if the stripe has no rows available at the moment and more rows are expected.
+     */
+    private boolean prepareStripe(int stripe) {
+        while (!done[stripe]) {
+            RowBatch batch = batches[stripe];
+
+            if (batch != null && positions[stripe] < batch.getRowCount()) {
+                return true;
+            }
+
+            if (lastReceived[stripe]) {
+                done[stripe] = true;
+
+                batches[stripe] = null;
+
+                return true;
+            }
+
+            InboundBatch inboundBatch = inbox.poll(stripe);
+
+            if (inboundBatch == null) {
+                return false;
+            }
+
+            batches[stripe] = inboundBatch.getBatch();
+            positions[stripe] = 0;
+            lastReceived[stripe] = inboundBatch.isLast();
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The stripe with the smallest current row, or {@code -1} if all stripes are done.
+     */
+    private int nextStripe() {
+        int res = -1;
+        Row resRow = null;
+
+        for (int i = 0; i < batches.length; i++) {
+            if (done[i]) {
+                continue;
+            }
+
+            Row row = batches[i].getRow(positions[i]);
+
+            if (resRow == null || comparator.compare(row, resRow) < 0) {
+                res = i;
+                resRow = row;
+            }
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.internal.util.HashUtil;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sender that sends every row to exactly one outbox.
+ * <p>
+ * The hash of the partitioning columns is mapped to a partition, and the row is sent to the outbox of the member
+ * owning that partition. Hence, rows with equal values of partitioning columns are sent to the same member on all
+ * senders of the fragment.
+ */
+public class UnicastSendExec extends AbstractMultiOutboxSendExec {
+    /** Multiplier used to combine hashes of partitioning columns. */
+    private static final int HASH_MULTIPLIER = 31;
+
+    /** Indexes of partitioning columns. */
+    private final List<Integer> partitioningColumnIndexes;
+
+    /** Outbox index for every partition. */
+    private final int[] partitionOutboxIndexes;
+
+    /** Qualifiers, one per outbox. */
+    private final OutboxSendQualifier[] qualifiers;
+
+    /** Outbox index of every row of the current batch. */
+    private int[] rowOutboxIndexes = new int[0];
+
+    public UnicastSendExec(
+        int id,
+        Exec upstream,
+        Outbox[] outboxes,
+        List<Integer> partitioningColumnIndexes,
+        int[] partitionOutboxIndexes
+    ) {
+        super(id, upstream, outboxes);
+
+        this.partitioningColumnIndexes = partitioningColumnIndexes;
+        this.partitionOutboxIndexes = partitionOutboxIndexes;
+
+        qualifiers = new OutboxSendQualifier[outboxes.length];
+
+        for (int i = 0; i < outboxes.length; i++) {
+            int outboxIndex = i;
+
+            qualifiers[i] = rowIndex -> rowOutboxIndexes[rowIndex] == outboxIndex;
+        }
+    }
+
+    @Override
+    protected void setCurrentBatch(RowBatch batch) {
+        int rowCount = batch.getRowCount();
+
+        if (rowOutboxIndexes.length < rowCount) {
+            rowOutboxIndexes = new int[rowCount];
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            int partition = HashUtil.hashToIndex(hash(batch.getRow(i)), partitionOutboxIndexes.length);
+
+            rowOutboxIndexes[i] = partitionOutboxIndexes[partition];
+        }
+    }
+
+    @Override
+    protected OutboxSendQualifier getOutboxQualifier(int outboxIndex) {
+        return qualifiers[outboxIndex];
+    }
+
+    public List<Integer> getPartitioningColumnIndexes() {
+        return partitioningColumnIndexes;
+    }
+
+    public int[] getPartitionOutboxIndexes() {
+        return partitionOutboxIndexes;
+    }
+
+    private int hash(Row row) {
+        int res = 1;
+
+        for (int columnIndex : partitioningColumnIndexes) {
+            res = HASH_MULTIPLIER * res + Objects.hashCode(row.get(columnIndex));
+        }
+
+        return res;
+    }
+}
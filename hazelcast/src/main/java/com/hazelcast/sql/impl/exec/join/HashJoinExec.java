@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.UpstreamState;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.JoinRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash join.
+ * <p>
+ * All rows from the right (build) input are consumed first and put into a hash table keyed by the values of the right
+ * join key columns. Then rows from the left (probe) input are matched against the hash table, and the joined rows are
+ * emitted in batches. Rows with a null value in any of the join key columns never match.
+ * <p>
+ * The memory occupied by the hash table is estimated from the number of rows and the estimated width of the right row.
+ * If the estimate exceeds the limit, the query fails.
+ */
+public class HashJoinExec extends AbstractExec {
+    /** Memory limit of the hash table. To be moved outside when the memory management is ready. */
+    public static final long DEFAULT_MEMORY_LIMIT = 64 * 1024 * 1024;
+
+    static final int BATCH_SIZE = 1024;
+
+    private final Exec left;
+    private final Exec right;
+    private final UpstreamState leftState;
+    private final UpstreamState rightState;
+    private final List<Integer> leftHashKeys;
+    private final List<Integer> rightHashKeys;
+    private final boolean outer;
+    private final int rightRowWidth;
+    private final long memoryLimit;
+
+    /** Rows of the right input grouped by the join key. */
+    private final Map<Object, List<Row>> table = new HashMap<>();
+
+    /** Estimated memory occupied by the hash table. */
+    private long memory;
+
+    /** Whether the right input is consumed and the hash table is ready. */
+    private boolean built;
+
+    /** Row with nulls used for unmatched left rows of the outer join. */
+    private final Row nullRightRow;
+
+    /** Current batch. */
+    private RowBatch currentBatch;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public HashJoinExec(
+        int id,
+        Exec left,
+        Exec right,
+        List<Integer> leftHashKeys,
+        List<Integer> rightHashKeys,
+        boolean outer,
+        int rightColumnCount,
+        int rightRowWidth,
+        long memoryLimit
+    ) {
+        super(id);
+
+        this.left = left;
+        this.right = right;
+
+        leftState = new UpstreamState(left);
+        rightState = new UpstreamState(right);
+
+        this.leftHashKeys = leftHashKeys;
+        this.rightHashKeys = rightHashKeys;
+        this.outer = outer;
+        this.rightRowWidth = rightRowWidth;
+        this.memoryLimit = memoryLimit;
+
+        nullRightRow = new HeapRow(rightColumnCount);
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        leftState.setup(ctx);
+        rightState.setup(ctx);
+    }
+
+    @Override
+    public IterationResult advance0() {
+        if (!built) {
+            if (!build()) {
+                return IterationResult.WAIT;
+            }
+
+            built = true;
+        }
+
+        return probe();
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public Exec getLeft() {
+        return left;
+    }
+
+    public Exec getRight() {
+        return right;
+    }
+
+    public List<Integer> getLeftHashKeys() {
+        return leftHashKeys;
+    }
+
+    public List<Integer> getRightHashKeys() {
+        return rightHashKeys;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    /**
+     * Consume the right input.
+     *
+     * @return {@code true} if the right input is consumed completely.
+     */
+    private boolean build() {
+        while (true) {
+            if (!rightState.advance()) {
+                return false;
+            }
+
+            for (Row row : rightState) {
+                Object key = getKey(row, rightHashKeys);
+
+                if (key == null) {
+                    continue;
+                }
+
+                memory += rightRowWidth;
+
+                if (memory > memoryLimit) {
+                    throw QueryException.error(SqlErrorCode.MEMORY_LIMIT_EXCEEDED, "Hash join exceeded the memory limit of "
+                        + memoryLimit + " bytes while building the hash table, consider swapping the join inputs");
+                }
+
+                table.computeIfAbsent(key, k -> new ArrayList<>(1)).add(row);
+            }
+
+            if (rightState.isDone()) {
+                return true;
+            }
+        }
+    }
+
+    private IterationResult probe() {
+        List<Row> rows = new ArrayList<>();
+
+        while (leftState.advance()) {
+            Row leftRow;
+
+            while (rows.size() < BATCH_SIZE && (leftRow = leftState.nextIfExists()) != null) {
+                join(leftRow, rows);
+            }
+
+            if (leftState.isDone() || rows.size() >= BATCH_SIZE) {
+                break;
+            }
+        }
+
+        boolean done = leftState.isDone();
+
+        if (rows.isEmpty() && !done) {
+            return IterationResult.WAIT;
+        }
+
+        currentBatch = new ListRowBatch(rows);
+
+        return done ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+
+    /**
+     * Add joined rows for the given left row to the result.
+     */
+    private void join(Row leftRow, List<Row> rows) {
+        List<Row> matches = match(leftRow);
+
+        if (matches.isEmpty()) {
+            if (outer) {
+                rows.add(new JoinRow(leftRow, nullRightRow));
+            }
+        } else {
+            for (Row rightRow : matches) {
+                rows.add(new JoinRow(leftRow, rightRow));
+            }
+        }
+    }
+
+    private List<Row> match(Row leftRow) {
+        Object key = getKey(leftRow, leftHashKeys);
+
+        if (key == null) {
+            return Collections.emptyList();
+        }
+
+        List<Row> res = table.get(key);
+
+        return res != null ? res : Collections.emptyList();
+    }
+
+    /**
+     * Get the join key of the row.
+     *
+     * @return The key or {@code null} if any of the key columns is null.
+     */
+    private static Object getKey(Row row, List<Integer> hashKeys) {
+        if (hashKeys.size() == 1) {
+            return row.get(hashKeys.get(0));
+        }
+
+        Object[] values = new Object[hashKeys.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            Object value = row.get(hashKeys.get(i));
+
+            if (value == null) {
+                return null;
+            }
+
+            values[i] = value;
+        }
+
+        return new JoinKey(values);
+    }
+}
@@ -24,6 +24,7 @@ import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ObjectColumnVector;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 import java.util.List;
@@ -113,6 +114,47 @@ public abstract class AbstractMapScanExec extends AbstractExec {
         return row;
     }
 
+    /**
+     * Prepare the row for the given key and value, and write projected values to the given position of the columns.
+     *
+     * @param rawKey Key (data or object)
+     * @param rawValue Value (data or object)
+     * @param columns Columns, one per projection.
+     * @param position Position in the columns.
+     * @return {@code true} if the row has passed the filter.
+     */
+    protected boolean prepareRow(Object rawKey, Object rawValue, ObjectColumnVector[] columns, int position) {
+        row.setKeyValue(rawKey, rawValue);
+
+        // Filter.
+        if (filter != null && !filter.eval(row, ctx)) {
+            return false;
+        }
+
+        // Project.
+        for (int j = 0; j < columns.length; j++) {
+            columns[j].set(position, row.get(projects.get(j)));
+        }
+
+        return true;
+    }
+
+    /**
+     * Create columns for a batch of the given size.
+     *
+     * @param capacity Number of rows in the batch.
+     * @return Columns, one per projection.
+     */
+    protected ObjectColumnVector[] createColumns(int capacity) {
+        ObjectColumnVector[] res = new ObjectColumnVector[projects.size()];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = new ObjectColumnVector(capacity);
+        }
+
+        return res;
+    }
+
     /**
      * Create extractors for the given operator.
      *
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Executor for map scan with the help of an index.
+ * <p>
+ * Entries matching the index filter are looked up in the index instead of iterating over the whole partitions. The
+ * remainder filter, if any, is applied to the entries returned from the index.
+ */
+@SuppressWarnings("rawtypes")
+public class MapIndexScanExec extends AbstractMapScanExec {
+    /** Batch size. To be moved outside when the memory management is ready. */
+    static final int BATCH_SIZE = MapScanExec.BATCH_SIZE;
+
+    private final MapContainer map;
+    private final PartitionIdSet partitions;
+    private final String indexName;
+    private final IndexFilter indexFilter;
+
+    private int migrationStamp;
+    private Iterator<Integer> partitionIterator;
+    private Iterator<QueryableEntry> entryIterator;
+
+    private List<Row> currentRows;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public MapIndexScanExec(
+        int id,
+        MapContainer map,
+        PartitionIdSet partitions,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        List<QueryPath> fieldPaths,
+        List<QueryDataType> fieldTypes,
+        List<Integer> projects,
+        String indexName,
+        IndexFilter indexFilter,
+        Expression<Boolean> remainderFilter,
+        InternalSerializationService serializationService
+    ) {
+        super(
+            id,
+            map.getName(),
+            keyDescriptor,
+            valueDescriptor,
+            fieldPaths,
+            fieldTypes,
+            projects,
+            remainderFilter,
+            serializationService
+        );
+
+        this.map = map;
+        this.partitions = partitions;
+        this.indexName = indexName;
+        this.indexFilter = indexFilter;
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        migrationStamp = map.getMapServiceContext().getService().getMigrationStamp();
+
+        if (map.isGlobalIndexEnabled()) {
+            // Global index contains entries of all local partitions, so only one lookup is required.
+            InternalIndex index = getIndex(map.getIndexes());
+
+            PartitionIdSet ownedPartitions = map.getMapServiceContext().getOwnedPartitions();
+
+            for (int partition : partitions) {
+                if (!ownedPartitions.contains(partition)) {
+                    throw QueryException.error(SqlErrorCode.PARTITION_MIGRATED, "Partition is not owned by member: "
+                        + partition);
+                }
+            }
+
+            int ownedPartitionCount = ownedPartitions.size();
+
+            if (index == null || !index.allPartitionsIndexed(ownedPartitionCount)) {
+                throw QueryException.error(SqlErrorCode.INDEX_INVALID, "Index \"" + indexName + "\" of the IMap \""
+                    + mapName + "\" is not ready");
+            }
+
+            partitionIterator = Collections.emptyIterator();
+            entryIterator = new PartitionFilteringIterator(indexFilter.getEntries(index));
+        } else {
+            partitionIterator = partitions.iterator();
+            entryIterator = Collections.emptyIterator();
+        }
+    }
+
+    @Override
+    public IterationResult advance0() {
+        currentRows = null;
+
+        while (nextEntryIterator()) {
+            QueryableEntry entry = entryIterator.next();
+
+            HeapRow row = prepareRow(entry.getKeyData(), getValue(entry));
+
+            if (row != null) {
+                if (currentRows == null) {
+                    currentRows = new ArrayList<>(BATCH_SIZE);
+                }
+
+                currentRows.add(row);
+
+                if (currentRows.size() == BATCH_SIZE) {
+                    break;
+                }
+            }
+        }
+
+        boolean done = !nextEntryIterator();
+
+        // Check for concurrent migration
+        if (!map.getMapServiceContext().getService().validateMigrationStamp(migrationStamp)) {
+            throw QueryException.error(SqlErrorCode.PARTITION_MIGRATED, "Map index scan failed due to concurrent partition "
+                + "migration (result consistency cannot be guaranteed)");
+        }
+
+        // Check for concurrent map destroy
+        if (map.isDestroyed()) {
+            throw QueryException.error(SqlErrorCode.MAP_DESTROYED, "IMap has been destroyed concurrently: " + mapName);
+        }
+
+        return done ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentRows != null ? new ListRowBatch(currentRows) : null;
+    }
+
+    @Override
+    protected Extractors createExtractors() {
+        return MapScanExecUtils.createExtractors(map);
+    }
+
+    public MapContainer getMap() {
+        return map;
+    }
+
+    public PartitionIdSet getPartitions() {
+        return partitions;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public IndexFilter getIndexFilter() {
+        return indexFilter;
+    }
+
+    /**
+     * Make sure that the current entry iterator has more entries, moving to the next partition if needed.
+     *
+     * @return {@code true} if there are more entries.
+     */
+    private boolean nextEntryIterator() {
+        while (!entryIterator.hasNext()) {
+            if (!partitionIterator.hasNext()) {
+                return false;
+            }
+
+            int partition = partitionIterator.next();
+
+            if (!map.getMapServiceContext().getOwnedPartitions().contains(partition)) {
+                throw QueryException.error(SqlErrorCode.PARTITION_MIGRATED, "Partition is not owned by member: " + partition);
+            }
+
+            InternalIndex index = getIndex(map.getIndexes(partition));
+
+            if (index == null) {
+                // Partition indexes are created together with the record store, so the partition is empty.
+                continue;
+            }
+
+            entryIterator = indexFilter.getEntries(index);
+        }
+
+        return true;
+    }
+
+    private InternalIndex getIndex(Indexes indexes) {
+        return indexes != null ? indexes.getIndex(indexName) : null;
+    }
+
+    private static Object getValue(QueryableEntry entry) {
+        // Avoid deserialization or serialization of the value if possible, the target will do the conversion if needed.
+        if (entry instanceof CachedQueryEntry) {
+            return ((CachedQueryEntry) entry).getByPrioritizingDataValue();
+        } else {
+            return entry.getValue();
+        }
+    }
+
+    /**
+     * Iterator which skips entries of partitions that do not belong to the query.
+     */
+    private final class PartitionFilteringIterator implements Iterator<QueryableEntry> {
+
+        private final Iterator<QueryableEntry> delegate;
+        private final IPartitionService partitionService;
+
+        private QueryableEntry next;
+
+        private PartitionFilteringIterator(Iterator<QueryableEntry> delegate) {
+            this.delegate = delegate;
+
+            partitionService = map.getMapServiceContext().getNodeEngine().getPartitionService();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && delegate.hasNext()) {
+                QueryableEntry candidate = delegate.next();
+
+                if (partitions.contains(partitionService.getPartitionId(candidate.getKeyData()))) {
+                    next = candidate;
+                }
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            QueryableEntry res = next;
+
+            next = null;
+
+            return res;
+        }
+    }
+}
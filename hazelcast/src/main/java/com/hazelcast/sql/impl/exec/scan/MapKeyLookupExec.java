@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executor for map lookup by keys.
+ * <p>
+ * Instead of iterating over the partitions, the entries are fetched directly from the record stores of the partitions
+ * owning the keys. Keys of partitions which are not assigned to this executor are skipped. The remainder filter, if any,
+ * is applied to the fetched entries.
+ */
+@SuppressWarnings("rawtypes")
+public class MapKeyLookupExec extends AbstractMapScanExec {
+
+    private final MapContainer map;
+    private final PartitionIdSet partitions;
+    private final List<Object> keys;
+    private final InternalSerializationService serializationService;
+
+    private int migrationStamp;
+    private List<Row> currentRows;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public MapKeyLookupExec(
+        int id,
+        MapContainer map,
+        PartitionIdSet partitions,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        List<QueryPath> fieldPaths,
+        List<QueryDataType> fieldTypes,
+        List<Integer> projects,
+        List<Object> keys,
+        Expression<Boolean> remainderFilter,
+        InternalSerializationService serializationService
+    ) {
+        super(
+            id,
+            map.getName(),
+            keyDescriptor,
+            valueDescriptor,
+            fieldPaths,
+            fieldTypes,
+            projects,
+            remainderFilter,
+            serializationService
+        );
+
+        this.map = map;
+        this.partitions = partitions;
+        this.keys = keys;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        migrationStamp = map.getMapServiceContext().getService().getMigrationStamp();
+    }
+
+    @Override
+    public IterationResult advance0() {
+        // The number of keys is small, so all entries are returned in a single batch.
+        MapServiceContext mapServiceContext = map.getMapServiceContext();
+        IPartitionService partitionService = mapServiceContext.getNodeEngine().getPartitionService();
+        PartitionIdSet ownedPartitions = mapServiceContext.getOwnedPartitions();
+
+        long now = Clock.currentTimeMillis();
+
+        List<Row> rows = new ArrayList<>(keys.size());
+
+        for (Object key : keys) {
+            Data keyData = MapScanExecUtils.getKeyData(map, serializationService, key);
+
+            int partition = partitionService.getPartitionId(keyData);
+
+            if (!partitions.contains(partition)) {
+                continue;
+            }
+
+            if (!ownedPartitions.contains(partition)) {
+                throw QueryException.error(SqlErrorCode.PARTITION_MIGRATED, "Partition is not owned by member: " + partition);
+            }
+
+            Object value = getValue(mapServiceContext.getExistingRecordStore(partition, mapName), keyData, now);
+
+            if (value == null) {
+                continue;
+            }
+
+            HeapRow row = prepareRow(keyData, value);
+
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+
+        // Check for concurrent migration
+        if (!mapServiceContext.getService().validateMigrationStamp(migrationStamp)) {
+            throw QueryException.error(SqlErrorCode.PARTITION_MIGRATED, "Map key lookup failed due to concurrent partition "
+                + "migration (result consistency cannot be guaranteed)");
+        }
+
+        // Check for concurrent map destroy
+        if (map.isDestroyed()) {
+            throw QueryException.error(SqlErrorCode.MAP_DESTROYED, "IMap has been destroyed concurrently: " + mapName);
+        }
+
+        currentRows = rows;
+
+        return IterationResult.FETCHED_DONE;
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentRows != null ? new ListRowBatch(currentRows) : null;
+    }
+
+    @Override
+    protected Extractors createExtractors() {
+        return MapScanExecUtils.createExtractors(map);
+    }
+
+    public MapContainer getMap() {
+        return map;
+    }
+
+    public PartitionIdSet getPartitions() {
+        return partitions;
+    }
+
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object getValue(RecordStore recordStore, Data keyData, long now) {
+        if (recordStore == null) {
+            // RecordStore might be missing if the associated partition is empty.
+            return null;
+        }
+
+        try {
+            recordStore.checkIfLoaded();
+        } catch (RetryableHazelcastException e) {
+            throw QueryException.error(SqlErrorCode.MAP_LOADING_IN_PROGRESS, "Map loading is in progress: " + mapName, e);
+        }
+
+        Record record = (Record) recordStore.getStorage().get(keyData);
+
+        if (record == null || recordStore.isExpired(record, now, false)) {
+            return null;
+        }
+
+        return record.getValue();
+    }
+}
@@ -26,18 +26,18 @@ import com.hazelcast.sql.impl.exec.IterationResult;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
-import com.hazelcast.sql.impl.row.HeapRow;
-import com.hazelcast.sql.impl.row.ListRowBatch;
-import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.ObjectColumnVector;
 import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Executor for map scan.
+ * <p>
+ * Rows are produced in columnar batches, so that parent operators could process them batch-at-a-time.
  */
 public class MapScanExec extends AbstractMapScanExec {
     /** Batch size. To be moved outside when the memory management is ready. */
@@ -49,7 +49,7 @@ public class MapScanExec extends AbstractMapScanExec {
     private int migrationStamp;
     private MapScanExecIterator recordIterator;
 
-    private List<Row> currentRows;
+    private RowBatch currentBatch;
 
     public MapScanExec(
         int id,
@@ -77,24 +77,27 @@ public class MapScanExec extends AbstractMapScanExec {
 
     @Override
     public IterationResult advance0() {
-        currentRows = null;
+        currentBatch = null;
 
-        while (recordIterator.tryAdvance()) {
-            HeapRow row = prepareRow(recordIterator.getKey(), recordIterator.getValue());
-
-            if (row != null) {
-                if (currentRows == null) {
-                    currentRows = new ArrayList<>(BATCH_SIZE);
-                }
+        ObjectColumnVector[] columns = null;
+        int rowCount = 0;
 
-                currentRows.add(row);
+        while (recordIterator.tryAdvance()) {
+            if (columns == null) {
+                columns = createColumns(BATCH_SIZE);
+            }
 
-                if (currentRows.size() == BATCH_SIZE) {
+            if (prepareRow(recordIterator.getKey(), recordIterator.getValue(), columns, rowCount)) {
+                if (++rowCount == BATCH_SIZE) {
                     break;
                 }
             }
         }
 
+        if (rowCount > 0) {
+            currentBatch = new ColumnarRowBatch(columns, rowCount);
+        }
+
         boolean done = !recordIterator.hasNext();
 
         // Check for concurrent migration
@@ -113,7 +116,7 @@ public class MapScanExec extends AbstractMapScanExec {
 
     @Override
     public RowBatch currentBatch0() {
-        return currentRows != null ? new ListRowBatch(currentRows) : null;
+        return currentBatch;
     }
 
     @Override
@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.exec.scan;
 
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.query.impl.getters.Extractors;
@@ -32,6 +34,19 @@ public final class MapScanExecUtils {
         return map.getExtractors();
     }
 
+    /**
+     * Convert the key to the form in which it is stored in the map. The partitioning strategy of the map is applied, so
+     * that the partition of the returned key is the partition of the entry.
+     *
+     * @param map Map.
+     * @param serializationService Serialization service.
+     * @param key Key.
+     * @return Serialized key.
+     */
+    public static Data getKeyData(MapContainer map, InternalSerializationService serializationService, Object key) {
+        return serializationService.toData(key, map.getPartitioningStrategy());
+    }
+
     public static MapScanExecIterator createIterator(MapContainer map, PartitionIdSet parts) {
         return new MapScanExecIterator(map, parts.iterator());
     }
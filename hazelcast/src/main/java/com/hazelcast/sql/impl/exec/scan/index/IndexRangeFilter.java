@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan.index;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Filter that looks up the entries which have the indexed attribute within the given range. Either bound may be absent,
+ * but not both. Could be used only with sorted indexes.
+ */
+@SuppressWarnings("rawtypes")
+public class IndexRangeFilter implements IndexFilter {
+    /** Lower bound, {@code null} if there is no lower bound. */
+    private Comparable from;
+
+    /** Whether the lower bound is inclusive. */
+    private boolean fromInclusive;
+
+    /** Upper bound, {@code null} if there is no upper bound. */
+    private Comparable to;
+
+    /** Whether the upper bound is inclusive. */
+    private boolean toInclusive;
+
+    public IndexRangeFilter() {
+        // No-op.
+    }
+
+    public IndexRangeFilter(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        assert from != null || to != null;
+
+        this.from = from;
+        this.fromInclusive = fromInclusive;
+        this.to = to;
+        this.toInclusive = toInclusive;
+    }
+
+    public Comparable getFrom() {
+        return from;
+    }
+
+    public boolean isFromInclusive() {
+        return fromInclusive;
+    }
+
+    public Comparable getTo() {
+        return to;
+    }
+
+    public boolean isToInclusive() {
+        return toInclusive;
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getEntries(InternalIndex index) {
+        if (from != null && to != null) {
+            return index.getRecordIterator(from, fromInclusive, to, toInclusive);
+        } else if (from != null) {
+            return index.getRecordIterator(fromInclusive ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER, from);
+        } else {
+            return index.getRecordIterator(toInclusive ? Comparison.LESS_OR_EQUAL : Comparison.LESS, to);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.INDEX_FILTER_RANGE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(from);
+        out.writeBoolean(fromInclusive);
+        out.writeObject(to);
+        out.writeBoolean(toInclusive);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        from = in.readObject();
+        fromInclusive = in.readBoolean();
+        to = in.readObject();
+        toInclusive = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(from);
+        result = 31 * result + Boolean.hashCode(fromInclusive);
+        result = 31 * result + Objects.hashCode(to);
+        result = 31 * result + Boolean.hashCode(toInclusive);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IndexRangeFilter that = (IndexRangeFilter) o;
+
+        return Objects.equals(from, that.from) && fromInclusive == that.fromInclusive
+            && Objects.equals(to, that.to) && toInclusive == that.toInclusive;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{from=" + from + ", fromInclusive=" + fromInclusive + ", to=" + to
+            + ", toInclusive=" + toInclusive + '}';
+    }
+}
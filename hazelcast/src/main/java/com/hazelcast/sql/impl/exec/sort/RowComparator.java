@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.row.Row;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Comparator of rows by the given columns.
+ * <p>
+ * {@code NULL} is considered greater than any other value, so {@code NULL}s go last in ascending order and first in
+ * descending order.
+ */
+@SuppressWarnings("rawtypes")
+public class RowComparator implements Comparator<Row> {
+
+    private final int[] columnIndexes;
+    private final boolean[] ascs;
+
+    public RowComparator(List<Integer> columnIndexes, List<Boolean> ascs) {
+        assert columnIndexes.size() == ascs.size();
+
+        this.columnIndexes = new int[columnIndexes.size()];
+        this.ascs = new boolean[ascs.size()];
+
+        for (int i = 0; i < columnIndexes.size(); i++) {
+            this.columnIndexes[i] = columnIndexes.get(i);
+            this.ascs[i] = ascs.get(i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int compare(Row row1, Row row2) {
+        for (int i = 0; i < columnIndexes.length; i++) {
+            int columnIndex = columnIndexes[i];
+
+            Comparable value1 = row1.get(columnIndex);
+            Comparable value2 = row2.get(columnIndex);
+
+            int res;
+
+            if (value1 == null) {
+                res = value2 == null ? 0 : 1;
+            } else if (value2 == null) {
+                res = -1;
+            } else {
+                res = value1.compareTo(value2);
+            }
+
+            if (res != 0) {
+                return ascs[i] ? res : -res;
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Blocking sort.
+ * <p>
+ * All rows from the upstream are consumed first, then they are sorted and emitted in batches. If the fetch is set, only
+ * the top {@code offset + fetch} rows are retained in a bounded heap, so that the memory consumption and the sorting
+ * cost do not depend on the size of the input.
+ */
+public class SortExec extends AbstractUpstreamAwareExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final List<Integer> columnIndexes;
+    private final List<Boolean> ascs;
+    private final long fetch;
+    private final long offset;
+
+    private final RowComparator comparator;
+
+    /** Maximum number of rows to retain, or negative value if all rows should be retained. */
+    private final int limit;
+
+    /** Bounded max-heap of rows, used when the limit is set. */
+    private final PriorityQueue<Row> heap;
+
+    /** All rows, used when the limit is not set. */
+    private final List<Row> rows;
+
+    /** Sorted rows, not null when the upstream is consumed. */
+    private List<Row> sortedRows;
+
+    /** Position of the next row to be emitted. */
+    private int position;
+
+    /** Current batch. */
+    private RowBatch currentBatch;
+
+    public SortExec(int id, Exec upstream, List<Integer> columnIndexes, List<Boolean> ascs, long fetch, long offset) {
+        super(id, upstream);
+
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+
+        comparator = new RowComparator(columnIndexes, ascs);
+
+        if (fetch >= 0) {
+            limit = (int) Math.min(fetch + offset, Integer.MAX_VALUE);
+
+            heap = new PriorityQueue<>(Math.max(1, Math.min(limit, BATCH_SIZE)), comparator.reversed());
+            rows = null;
+        } else {
+            limit = -1;
+
+            heap = null;
+            rows = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public IterationResult advance0() {
+        if (sortedRows == null) {
+            while (true) {
+                if (!state.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                for (Row row : state) {
+                    consumeRow(row);
+                }
+
+                if (state.isDone()) {
+                    break;
+                }
+            }
+
+            sortedRows = heap != null ? new ArrayList<>(heap) : rows;
+            sortedRows.sort(comparator);
+
+            position = (int) Math.min(offset, sortedRows.size());
+        }
+
+        return prepareBatch();
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public List<Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public List<Boolean> getAscs() {
+        return ascs;
+    }
+
+    public long getFetch() {
+        return fetch;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    private void consumeRow(Row row) {
+        if (heap == null) {
+            rows.add(row);
+        } else if (heap.size() < limit) {
+            heap.add(row);
+        } else if (limit > 0 && comparator.compare(row, heap.peek()) < 0) {
+            // The row is smaller than the greatest retained row, replace it.
+            heap.poll();
+            heap.add(row);
+        }
+    }
+
+    private IterationResult prepareBatch() {
+        int end = Math.min(position + BATCH_SIZE, sortedRows.size());
+
+        currentBatch = new ListRowBatch(new ArrayList<>(sortedRows.subList(position, end)));
+
+        position = end;
+
+        return position == sortedRows.size() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+}
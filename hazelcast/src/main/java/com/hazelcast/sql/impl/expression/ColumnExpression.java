@@ -20,6 +20,8 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -54,6 +56,15 @@ public class ColumnExpression<T> implements Expression<T>, IdentifiedDataSeriali
         return (T) row.get(index);
     }
 
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return batch.getColumn(index);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
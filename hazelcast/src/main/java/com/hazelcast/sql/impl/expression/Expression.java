@@ -17,6 +17,10 @@
 package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRow;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.ObjectColumnVector;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -35,6 +39,30 @@ public interface Expression<T> extends DataSerializable {
      */
     T eval(Row row, ExpressionEvalContext context);
 
+    /**
+     * Evaluates this expression on all rows of the batch.
+     * <p>
+     * The default implementation evaluates the expression row by row. Expressions which could process the batch
+     * faster should override this method.
+     *
+     * @param batch   the batch to evaluate this expression on.
+     * @param context the expression evaluation context.
+     * @return the vector with results for the selected positions of the batch.
+     */
+    default ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        ObjectColumnVector res = new ObjectColumnVector(batch.getPositionCount());
+        ColumnarRow row = new ColumnarRow(batch);
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            row.setPosition(position);
+            res.set(position, eval(row, context));
+        }
+
+        return res;
+    }
+
     /**
      * @return the return query data type of this expression.
      */
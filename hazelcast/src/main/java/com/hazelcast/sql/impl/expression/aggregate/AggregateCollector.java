@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+/**
+ * Mutable state of a single aggregate function for a single group.
+ * <p>
+ * Collectors keep the accumulated state in primitive fields where possible, so that the values are not re-boxed on every
+ * update. Collectors are serializable, because in the two-phase aggregation they are produced by the local phase and
+ * transferred to the final phase through the exchange.
+ */
+public abstract class AggregateCollector implements IdentifiedDataSerializable {
+    /**
+     * Collect a single value.
+     *
+     * @param value Value, never null.
+     * @param converter Converter of the value type.
+     */
+    public abstract void collect(Object value, Converter converter);
+
+    /**
+     * Merge the state of another collector of the same type into this collector.
+     *
+     * @param other Other collector.
+     */
+    public abstract void merge(AggregateCollector other);
+
+    /**
+     * @return Result of the aggregation, may be null.
+     */
+    public abstract Object getResult();
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+}
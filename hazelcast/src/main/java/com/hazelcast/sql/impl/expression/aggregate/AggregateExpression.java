@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Base class for aggregate expressions.
+ * <p>
+ * Aggregate expressions are not evaluated directly. Instead, the aggregate operator creates a collector per group
+ * with {@link #createCollector()}, and then passes the input rows to the expression, which in turn updates the collector.
+ *
+ * @param <T> the return type of this expression.
+ */
+public abstract class AggregateExpression<T> implements Expression<T>, IdentifiedDataSerializable {
+    /** Operand, or {@code null} if the aggregate doesn't depend on column values, e.g. {@code COUNT(*)}. */
+    protected Expression<?> operand;
+
+    /** Type of the result. */
+    protected QueryDataType resultType;
+
+    protected AggregateExpression() {
+        // No-op.
+    }
+
+    protected AggregateExpression(Expression<?> operand, QueryDataType resultType) {
+        this.operand = operand;
+        this.resultType = resultType;
+    }
+
+    /**
+     * @return New collector for a single group.
+     */
+    public abstract AggregateCollector createCollector();
+
+    /**
+     * Collect the value of the operand from the input row. Null values are ignored.
+     *
+     * @param row Row.
+     * @param collector Collector of the group the row belongs to.
+     * @param context Context.
+     */
+    public void collect(Row row, AggregateCollector collector, ExpressionEvalContext context) {
+        Object value = operand.eval(row, context);
+
+        if (value != null) {
+            collector.collect(value, operand.getType().getConverter());
+        }
+    }
+
+    /**
+     * Merge the partial state produced by the local aggregation phase. The operand of the expression is expected to
+     * reference a column holding the {@link AggregateCollector} created by this expression on a remote member.
+     *
+     * @param row Row.
+     * @param collector Collector of the group the row belongs to.
+     * @param context Context.
+     */
+    public void merge(Row row, AggregateCollector collector, ExpressionEvalContext context) {
+        AggregateCollector other = (AggregateCollector) operand.eval(row, context);
+
+        collector.merge(other);
+    }
+
+    /**
+     * Get the final result from the collector.
+     *
+     * @param collector Collector.
+     * @return Result converted to the return type of the expression.
+     */
+    @SuppressWarnings("unchecked")
+    public T getResult(AggregateCollector collector) {
+        return (T) resultType.convert(collector.getResult());
+    }
+
+    public Expression<?> getOperand() {
+        return operand;
+    }
+
+    @Override
+    public T eval(Row row, ExpressionEvalContext context) {
+        throw new UnsupportedOperationException("Aggregate expression cannot be evaluated directly: " + this);
+    }
+
+    @Override
+    public QueryDataType getType() {
+        return resultType;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(operand);
+        out.writeObject(resultType);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        operand = in.readObject();
+        resultType = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operand, resultType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AggregateExpression<?> that = (AggregateExpression<?>) o;
+
+        return Objects.equals(operand, that.operand) && resultType.equals(that.resultType);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{operand=" + operand + ", resultType=" + resultType + '}';
+    }
+}
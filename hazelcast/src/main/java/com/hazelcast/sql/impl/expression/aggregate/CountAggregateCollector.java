@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.io.IOException;
+
+/**
+ * Collector for the {@code COUNT} function.
+ */
+public class CountAggregateCollector extends AggregateCollector {
+
+    private long count;
+
+    public CountAggregateCollector() {
+        // No-op.
+    }
+
+    public void increment() {
+        count++;
+    }
+
+    @Override
+    public void collect(Object value, Converter converter) {
+        count++;
+    }
+
+    @Override
+    public void merge(AggregateCollector other) {
+        count += ((CountAggregateCollector) other).count;
+    }
+
+    @Override
+    public Object getResult() {
+        return count;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.COLLECTOR_COUNT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(count);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        count = in.readLong();
+    }
+}
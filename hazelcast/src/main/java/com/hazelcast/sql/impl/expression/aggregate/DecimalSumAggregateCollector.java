@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Sum collector for exact numeric types which cannot be represented as {@code long}.
+ */
+public class DecimalSumAggregateCollector extends SumAggregateCollector {
+
+    private BigDecimal sum;
+
+    public DecimalSumAggregateCollector() {
+        // No-op.
+    }
+
+    @Override
+    public void collect(Object value, Converter converter) {
+        add(converter.asDecimal(value));
+    }
+
+    @Override
+    public void merge(AggregateCollector other) {
+        BigDecimal otherSum = ((DecimalSumAggregateCollector) other).sum;
+
+        if (otherSum != null) {
+            add(otherSum);
+        }
+    }
+
+    @Override
+    public Object getResult() {
+        return sum;
+    }
+
+    @Override
+    public Object getAverage(long count) {
+        return sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL128);
+    }
+
+    private void add(BigDecimal value) {
+        sum = sum == null ? value : sum.add(value);
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.COLLECTOR_SUM_DECIMAL;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(sum);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        sum = in.readObject();
+    }
+}
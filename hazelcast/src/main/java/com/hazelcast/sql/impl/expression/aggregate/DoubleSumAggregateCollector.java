@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.io.IOException;
+
+/**
+ * Sum collector for approximate numeric types.
+ */
+public class DoubleSumAggregateCollector extends SumAggregateCollector {
+
+    private double sum;
+    private boolean empty = true;
+
+    public DoubleSumAggregateCollector() {
+        // No-op.
+    }
+
+    @Override
+    public void collect(Object value, Converter converter) {
+        sum += converter.asDouble(value);
+        empty = false;
+    }
+
+    @Override
+    public void merge(AggregateCollector other) {
+        DoubleSumAggregateCollector other0 = (DoubleSumAggregateCollector) other;
+
+        if (!other0.empty) {
+            sum += other0.sum;
+            empty = false;
+        }
+    }
+
+    @Override
+    public Object getResult() {
+        return empty ? null : sum;
+    }
+
+    @Override
+    public Object getAverage(long count) {
+        return sum / count;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.COLLECTOR_SUM_DOUBLE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeDouble(sum);
+        out.writeBoolean(empty);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        sum = in.readDouble();
+        empty = in.readBoolean();
+    }
+}
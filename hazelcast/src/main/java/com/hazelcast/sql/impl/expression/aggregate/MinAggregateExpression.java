@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+/**
+ * {@code MIN} aggregate function.
+ */
+public class MinAggregateExpression<T> extends AggregateExpression<T> {
+    public MinAggregateExpression() {
+        // No-op.
+    }
+
+    private MinAggregateExpression(Expression<?> operand, QueryDataType resultType) {
+        super(operand, resultType);
+    }
+
+    public static MinAggregateExpression<?> create(Expression<?> operand, QueryDataType resultType) {
+        return new MinAggregateExpression<>(operand, resultType);
+    }
+
+    @Override
+    public AggregateCollector createCollector() {
+        return new MinMaxAggregateCollector(true);
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.EXPRESSION_MIN;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.io.IOException;
+
+/**
+ * Collector for {@code MIN} and {@code MAX} functions.
+ */
+public class MinMaxAggregateCollector extends AggregateCollector {
+
+    private boolean min;
+    private Object value;
+
+    public MinMaxAggregateCollector() {
+        // No-op.
+    }
+
+    public MinMaxAggregateCollector(boolean min) {
+        this.min = min;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public void collect(Object value, Converter converter) {
+        if (this.value == null) {
+            this.value = value;
+
+            return;
+        }
+
+        int res = ((Comparable) value).compareTo(this.value);
+
+        if (min ? res < 0 : res > 0) {
+            this.value = value;
+        }
+    }
+
+    @Override
+    public void merge(AggregateCollector other) {
+        Object otherValue = ((MinMaxAggregateCollector) other).value;
+
+        if (otherValue != null) {
+            collect(otherValue, null);
+        }
+    }
+
+    @Override
+    public Object getResult() {
+        return value;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.COLLECTOR_MIN_MAX;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeBoolean(min);
+        out.writeObject(value);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        min = in.readBoolean();
+        value = in.readObject();
+    }
+}
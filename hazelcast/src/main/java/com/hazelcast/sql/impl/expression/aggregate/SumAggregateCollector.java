@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+/**
+ * Base class for {@code SUM} collectors. Concrete implementations are specialized for the accumulator type.
+ */
+public abstract class SumAggregateCollector extends AggregateCollector {
+    /**
+     * Create the collector which is able to produce the result of the given type without loss of precision.
+     *
+     * @param type Result type.
+     * @return Collector.
+     */
+    public static SumAggregateCollector create(QueryDataType type) {
+        switch (type.getTypeFamily()) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+                return new LongSumAggregateCollector();
+
+            case REAL:
+            case DOUBLE:
+                return new DoubleSumAggregateCollector();
+
+            case DECIMAL:
+                return new DecimalSumAggregateCollector();
+
+            default:
+                throw QueryException.error("Unsupported type of the sum: " + type);
+        }
+    }
+
+    /**
+     * Get the average value for the given number of collected values.
+     *
+     * @param count Number of collected values, positive.
+     * @return Average.
+     */
+    public abstract Object getAverage(long count);
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+/**
+ * Base class for generated expressions.
+ * <p>
+ * A subclass evaluates the whole expression tree in a single {@link #eval} method. Nodes which are not supported by the
+ * {@link ExpressionCodeGenerator} are passed to the constructor as references, and are evaluated by the interpreter.
+ * <p>
+ * Compiled expressions are created locally when executors are built, and are never serialized.
+ *
+ * @param <T> the return type of this expression.
+ */
+public abstract class CompiledExpression<T> implements Expression<T> {
+    /** Original expression. */
+    protected final Expression<T> original;
+
+    /** Expressions evaluated by the interpreter. */
+    protected final Expression<?>[] refs;
+
+    protected CompiledExpression(Expression<T> original, Expression<?>[] refs) {
+        this.original = original;
+        this.refs = refs;
+    }
+
+    public Expression<T> getOriginal() {
+        return original;
+    }
+
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        // Batch evaluation is already vectorized, so there is no need for the generated code.
+        return original.evalBatch(batch, context);
+    }
+
+    @Override
+    public QueryDataType getType() {
+        return original.getType();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) {
+        throw new UnsupportedOperationException("Compiled expressions cannot be serialized");
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) {
+        throw new UnsupportedOperationException("Compiled expressions cannot be serialized");
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{original=" + original + '}';
+    }
+}
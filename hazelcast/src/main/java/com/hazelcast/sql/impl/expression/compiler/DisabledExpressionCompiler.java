@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.sql.impl.expression.Expression;
+
+/**
+ * A compiler that is instantiated when {@code hazelcast-sql} is not in the classpath or compilation is disabled.
+ * Expressions are evaluated by the interpreter.
+ */
+public final class DisabledExpressionCompiler implements ExpressionCompiler {
+
+    public static final DisabledExpressionCompiler INSTANCE = new DisabledExpressionCompiler();
+
+    private DisabledExpressionCompiler() {
+        // No-op.
+    }
+
+    @Override
+    public <T> Expression<T> compile(Expression<T> expression) {
+        return expression;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.row.Row;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates Java source code of a {@link CompiledExpression} subclass for the given expression tree.
+ * <p>
+ * The tree is flattened into a sequence of local variable assignments, one per node, so that the whole tree is
+ * evaluated by a single monomorphic method. Nodes which are not supported by the generator are evaluated by the
+ * interpreter through the {@link CompiledExpression#refs} array. The generated source depends only on the shape of
+ * the tree, so that equal trees produce equal sources and the compiled class could be reused.
+ */
+public final class ExpressionCodeGenerator {
+
+    private static final String INDENT = "        ";
+
+    private final String className;
+    private final StringBuilder body = new StringBuilder();
+    private final List<Expression<?>> refs = new ArrayList<>();
+
+    private int variableCount;
+
+    public ExpressionCodeGenerator(String className) {
+        this.className = className;
+    }
+
+    /**
+     * Generates the source code of the class.
+     *
+     * @param expression the expression.
+     * @return the source code.
+     */
+    public String generate(Expression<?> expression) {
+        Variable result = visit(expression);
+
+        body.append(INDENT).append("return ").append(result.primitive ? "Boolean.valueOf(" + result.name + ")" : result.name)
+            .append(";\n");
+
+        return "import " + CompiledExpression.class.getName() + ";\n"
+            + "import " + Expression.class.getName() + ";\n"
+            + "import " + ExpressionEvalContext.class.getName() + ";\n"
+            + "import " + Row.class.getName() + ";\n"
+            + "\n"
+            + "public final class " + className + " extends " + CompiledExpression.class.getSimpleName() + " {\n"
+            + "    public " + className + "(Expression original, Expression[] refs) {\n"
+            + "        super(original, refs);\n"
+            + "    }\n"
+            + "\n"
+            + "    public Object eval(Row row, ExpressionEvalContext context) {\n"
+            + body
+            + "    }\n"
+            + "}\n";
+    }
+
+    /**
+     * @return expressions which should be passed to the constructor of the generated class.
+     */
+    public Expression<?>[] getRefs() {
+        return refs.toArray(new Expression<?>[0]);
+    }
+
+    private Variable visit(Expression<?> expression) {
+        if (expression instanceof ColumnExpression) {
+            return declare("Object", "row.get(" + ((ColumnExpression<?>) expression).getIndex() + ")", false);
+        } else if (expression instanceof IsNullPredicate) {
+            Variable operand = visit(((IsNullPredicate) expression).getOperand());
+
+            // Primitive values are never null.
+            return declare("boolean", operand.primitive ? "false" : operand.name + " == null", true);
+        } else {
+            int index = refs.size();
+
+            refs.add(expression);
+
+            return declare("Object", "refs[" + index + "].eval(row, context)", false);
+        }
+    }
+
+    private Variable declare(String type, String value, boolean primitive) {
+        String name = "v" + variableCount++;
+
+        body.append(INDENT).append(type).append(' ').append(name).append(" = ").append(value).append(";\n");
+
+        return new Variable(name, primitive);
+    }
+
+    /**
+     * Local variable holding the result of a node.
+     */
+    private static final class Variable {
+
+        private final String name;
+        private final boolean primitive;
+
+        private Variable(String name, boolean primitive) {
+            this.name = name;
+            this.primitive = primitive;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.sql.impl.expression.Expression;
+
+/**
+ * Compiles expression trees into generated classes, so that the tree is not traversed for every row.
+ * <p>
+ * Compilation is optional: if the expression cannot be compiled, the original expression is returned and evaluated
+ * by the interpreter.
+ */
+public interface ExpressionCompiler {
+    /**
+     * Compiles the expression.
+     *
+     * @param expression the expression to compile.
+     * @return the compiled expression, or the original expression if it cannot be compiled.
+     */
+    <T> Expression<T> compile(Expression<T> expression);
+}
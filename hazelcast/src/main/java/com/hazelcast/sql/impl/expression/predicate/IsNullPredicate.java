@@ -21,6 +21,9 @@ import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.row.BooleanColumnVector;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -42,6 +45,21 @@ public class IsNullPredicate extends UniExpression<Boolean> implements Identifie
         return TernaryLogic.isNull(operand.eval(row, context));
     }
 
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        ColumnVector operandValues = operand.evalBatch(batch, context);
+
+        BooleanColumnVector res = new BooleanColumnVector(batch.getPositionCount());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            res.set(position, operandValues.isNull(position));
+        }
+
+        return res;
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
@@ -28,6 +28,7 @@ import com.hazelcast.sql.impl.exec.Exec;
 import com.hazelcast.sql.impl.exec.io.InboundHandler;
 import com.hazelcast.sql.impl.exec.io.OutboundHandler;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
 import com.hazelcast.sql.impl.state.QueryState;
 import com.hazelcast.sql.impl.state.QueryStateCompletionCallback;
 import com.hazelcast.sql.impl.state.QueryStateRegistry;
@@ -49,6 +50,7 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
 
     private final NodeServiceProvider nodeServiceProvider;
     private final InternalSerializationService serializationService;
+    private final ExpressionCompiler expressionCompiler;
     private final QueryStateRegistry stateRegistry;
     private final QueryFragmentWorkerPool fragmentPool;
     private final QueryOperationWorkerPool operationPool;
@@ -59,6 +61,7 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
         String instanceName,
         NodeServiceProvider nodeServiceProvider,
         InternalSerializationService serializationService,
+        ExpressionCompiler expressionCompiler,
         QueryStateRegistry stateRegistry,
         int outboxBatchSize,
         FlowControlFactory flowControlFactory,
@@ -67,6 +70,7 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
     ) {
         this.nodeServiceProvider = nodeServiceProvider;
         this.serializationService = serializationService;
+        this.expressionCompiler = expressionCompiler;
         this.stateRegistry = stateRegistry;
         this.outboxBatchSize = outboxBatchSize;
         this.flowControlFactory = flowControlFactory;
@@ -191,6 +195,7 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
                 this,
                 nodeServiceProvider,
                 serializationService,
+                expressionCompiler,
                 localMemberId,
                 operation,
                 flowControlFactory,
@@ -17,19 +17,23 @@
 package com.hazelcast.sql.impl.plan;
 
 import com.hazelcast.internal.util.collection.PartitionIdSet;
-import com.hazelcast.sql.impl.optimizer.SqlPlan;
 import com.hazelcast.sql.impl.optimizer.SqlPlanType;
+import com.hazelcast.sql.impl.plan.cache.CacheablePlan;
+import com.hazelcast.sql.impl.plan.cache.PlanCheckContext;
+import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Query plan implementation.
  */
-public class Plan implements SqlPlan {
+public class Plan extends CacheablePlan {
     /** Partition mapping. */
     private final Map<UUID, PartitionIdSet> partMap;
 
@@ -48,13 +52,20 @@ public class Plan implements SqlPlan {
     /** Map from inbound edge ID to number of members which will write into it. */
     private final Map<Integer, Integer> inboundEdgeMemberCountMap;
 
+    /** Members which execute at least one fragment. */
+    private final Collection<UUID> memberIds;
+
+    /** Keys of the objects the plan depends on, or {@code null} if the plan should not be cached. */
+    private final Set<PlanObjectKey> objectKeys;
+
     public Plan(
         Map<UUID, PartitionIdSet> partMap,
         List<PlanNode> fragments,
         List<PlanFragmentMapping> fragmentMappings,
         Map<Integer, Integer> outboundEdgeMap,
         Map<Integer, Integer> inboundEdgeMap,
-        Map<Integer, Integer> inboundEdgeMemberCountMap
+        Map<Integer, Integer> inboundEdgeMemberCountMap,
+        Set<PlanObjectKey> objectKeys
     ) {
         this.partMap = partMap;
         this.fragments = fragments;
@@ -62,6 +73,9 @@ public class Plan implements SqlPlan {
         this.outboundEdgeMap = outboundEdgeMap;
         this.inboundEdgeMap = inboundEdgeMap;
         this.inboundEdgeMemberCountMap = inboundEdgeMemberCountMap;
+        this.objectKeys = objectKeys;
+
+        memberIds = resolveMemberIds(partMap, fragmentMappings);
     }
 
     @Override
@@ -69,12 +83,22 @@ public class Plan implements SqlPlan {
         return SqlPlanType.IMDG;
     }
 
+    @Override
+    public boolean isPlanValid(PlanCheckContext context) {
+        return context.isValid(objectKeys, partMap);
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return objectKeys != null;
+    }
+
     public Map<UUID, PartitionIdSet> getPartitionMap() {
         return partMap;
     }
 
     public Collection<UUID> getMemberIds() {
-        return partMap.keySet();
+        return memberIds;
     }
 
     public int getFragmentCount() {
@@ -100,4 +124,33 @@ public class Plan implements SqlPlan {
     public Map<Integer, Integer> getInboundEdgeMemberCountMap() {
         return inboundEdgeMemberCountMap;
     }
+
+    public Set<PlanObjectKey> getObjectKeys() {
+        return objectKeys;
+    }
+
+    /**
+     * Get the members which execute at least one fragment. Fragments deployed to data members involve all members from
+     * the partition mapping, while fragments with explicit mapping (e.g. a lookup by keys) involve only the given members.
+     */
+    private static Collection<UUID> resolveMemberIds(
+        Map<UUID, PartitionIdSet> partMap,
+        List<PlanFragmentMapping> fragmentMappings
+    ) {
+        if (partMap == null || fragmentMappings == null) {
+            return partMap != null ? partMap.keySet() : null;
+        }
+
+        Set<UUID> res = new LinkedHashSet<>();
+
+        for (PlanFragmentMapping fragmentMapping : fragmentMappings) {
+            if (fragmentMapping.isDataMembers()) {
+                return partMap.keySet();
+            }
+
+            res.addAll(fragmentMapping.getMemberIds());
+        }
+
+        return res;
+    }
 }
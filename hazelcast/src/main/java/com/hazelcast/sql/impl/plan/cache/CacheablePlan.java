@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.sql.impl.optimizer.SqlPlan;
+
+/**
+ * Plan which could be put into the {@link PlanCache}.
+ */
+public abstract class CacheablePlan implements SqlPlan {
+    /** Time when the plan was used for the last time. */
+    private volatile long planLastUsed;
+
+    /**
+     * Check whether the plan is still valid for the current state of the objects and partitions.
+     *
+     * @param context Check context.
+     * @return {@code true} if the plan could be reused.
+     */
+    public abstract boolean isPlanValid(PlanCheckContext context);
+
+    /**
+     * @return {@code true} if the plan could be put into the cache.
+     */
+    public abstract boolean isCacheable();
+
+    public void onPlanUsed() {
+        planLastUsed = System.nanoTime();
+    }
+
+    public long getPlanLastUsed() {
+        return planLastUsed;
+    }
+}
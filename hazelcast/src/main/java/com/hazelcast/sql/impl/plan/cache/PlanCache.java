@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_EVICTIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_INVALIDATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_MISSES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_SIZE;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Member-local cache of query plans.
+ * <p>
+ * The cache is bounded: when the maximum size is exceeded, the least recently used plans are removed. Plans which are no
+ * longer valid for the current state of objects and partitions are removed by {@link #invalidate(PlanCacheKey, CacheablePlan)}
+ * when they are found stale on reuse, and by {@link #check(PlanCheckContext)}, which is invoked periodically by the
+ * {@link PlanCacheChecker}.
+ */
+public class PlanCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<PlanCacheKey, CacheablePlan> plans = new ConcurrentHashMap<>();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_HITS)
+    private final MwCounter hits = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_MISSES)
+    private final MwCounter misses = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_EVICTIONS)
+    private final MwCounter evictions = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_INVALIDATIONS)
+    private final MwCounter invalidations = newMwCounter();
+
+    public PlanCache(int maxSize) {
+        assert maxSize > 0;
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the plan for the given key.
+     *
+     * @param key Key.
+     * @return Plan or {@code null} if there is no cached plan for the key.
+     */
+    public CacheablePlan get(PlanCacheKey key) {
+        CacheablePlan plan = plans.get(key);
+
+        if (plan != null) {
+            plan.onPlanUsed();
+
+            hits.inc();
+        } else {
+            misses.inc();
+        }
+
+        return plan;
+    }
+
+    public void put(PlanCacheKey key, CacheablePlan plan) {
+        plan.onPlanUsed();
+
+        plans.put(key, plan);
+
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Remove the plan which was found to be not valid anymore.
+     *
+     * @param key Key.
+     * @param plan Plan.
+     */
+    public void invalidate(PlanCacheKey key, CacheablePlan plan) {
+        if (plans.remove(key, plan)) {
+            invalidations.inc();
+        }
+    }
+
+    /**
+     * Remove plans which are not valid for the given context.
+     *
+     * @param context Context.
+     */
+    public void check(PlanCheckContext context) {
+        for (Map.Entry<PlanCacheKey, CacheablePlan> entry : plans.entrySet()) {
+            if (!entry.getValue().isPlanValid(context) && plans.remove(entry.getKey(), entry.getValue())) {
+                invalidations.inc();
+            }
+        }
+    }
+
+    public void clear() {
+        plans.clear();
+    }
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_SIZE)
+    public int size() {
+        return plans.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    private void shrinkIfNeeded() {
+        int oversize = plans.size() - maxSize;
+
+        if (oversize <= 0) {
+            return;
+        }
+
+        // Remove the least recently used plans. Usage time is copied, since it could be changed concurrently.
+        List<EvictionCandidate> candidates = new ArrayList<>(plans.size());
+
+        for (Map.Entry<PlanCacheKey, CacheablePlan> entry : plans.entrySet()) {
+            candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+        }
+
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.planLastUsed));
+
+        for (int i = 0; i < oversize && i < candidates.size(); i++) {
+            EvictionCandidate candidate = candidates.get(i);
+
+            if (plans.remove(candidate.key, candidate.plan)) {
+                evictions.inc();
+            }
+        }
+    }
+
+    private static final class EvictionCandidate {
+
+        private final PlanCacheKey key;
+        private final CacheablePlan plan;
+        private final long planLastUsed;
+
+        private EvictionCandidate(PlanCacheKey key, CacheablePlan plan) {
+            this.key = key;
+            this.plan = plan;
+
+            planLastUsed = plan.getPlanLastUsed();
+        }
+    }
+}
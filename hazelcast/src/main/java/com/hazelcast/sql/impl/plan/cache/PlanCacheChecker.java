@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.QueryUtils;
+import com.hazelcast.sql.impl.schema.Table;
+import com.hazelcast.sql.impl.schema.TableResolver;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTableResolver;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Removes plans which are no longer valid from the {@link PlanCache}.
+ * <p>
+ * A plan is invalidated when the schema of any of its objects changes (e.g. an index is added or a map is destroyed),
+ * or when the partition distribution changes. Every cached plan is validated with {@link #isReusable(CacheablePlan)}
+ * before it is reused, while the periodic {@link #check()} removes the stale plans nobody asks for anymore.
+ */
+public class PlanCacheChecker implements Runnable {
+
+    private final NodeEngine nodeEngine;
+    private final PlanCache planCache;
+    private final TableResolver tableResolver;
+
+    /** Partition distribution cached until the partition state version changes. */
+    private volatile PartitionMapSnapshot partitionMapSnapshot;
+
+    public PlanCacheChecker(NodeEngine nodeEngine, PlanCache planCache) {
+        this.nodeEngine = nodeEngine;
+        this.planCache = planCache;
+
+        tableResolver = new PartitionedMapTableResolver(nodeEngine);
+    }
+
+    @Override
+    public void run() {
+        check();
+    }
+
+    public void check() {
+        if (planCache.size() == 0) {
+            return;
+        }
+
+        Set<PlanObjectKey> objectKeys = new HashSet<>();
+
+        for (Table table : tableResolver.getTables()) {
+            PlanObjectKey objectKey = table.getObjectKey();
+
+            if (objectKey != null) {
+                objectKeys.add(objectKey);
+            }
+        }
+
+        Map<UUID, PartitionIdSet> partitionMap;
+
+        try {
+            partitionMap = QueryUtils.getPartitionMap(nodeEngine);
+        } catch (QueryException e) {
+            // Partition distribution is not stable at the moment, cached plans cannot be validated.
+            planCache.clear();
+
+            return;
+        }
+
+        planCache.check(new PlanCheckContext(objectKeys, partitionMap));
+    }
+
+    /**
+     * Check whether the plan found in the cache could be reused for the current state of its objects and partitions.
+     *
+     * @param plan Plan.
+     * @return {@code true} if the plan is still valid.
+     */
+    public boolean isReusable(CacheablePlan plan) {
+        Map<UUID, PartitionIdSet> partitionMap = getPartitionMap();
+
+        if (partitionMap == null) {
+            // Partition distribution is not stable at the moment, let the optimizer report it.
+            return false;
+        }
+
+        return plan.isPlanValid(new PlanCheckContext(nodeEngine, partitionMap));
+    }
+
+    private Map<UUID, PartitionIdSet> getPartitionMap() {
+        // The version is read before the partitions, so a concurrent change leaves a snapshot which is never reused.
+        int version = nodeEngine.getPartitionService().getPartitionStateVersion();
+
+        PartitionMapSnapshot snapshot = partitionMapSnapshot;
+
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.partitionMap;
+        }
+
+        Map<UUID, PartitionIdSet> partitionMap;
+
+        try {
+            partitionMap = QueryUtils.getPartitionMap(nodeEngine);
+        } catch (QueryException e) {
+            return null;
+        }
+
+        partitionMapSnapshot = new PartitionMapSnapshot(version, partitionMap);
+
+        return partitionMap;
+    }
+
+    private static final class PartitionMapSnapshot {
+
+        private final int version;
+        private final Map<UUID, PartitionIdSet> partitionMap;
+
+        private PartitionMapSnapshot(int version, Map<UUID, PartitionIdSet> partitionMap) {
+            this.version = version;
+            this.partitionMap = partitionMap;
+        }
+    }
+}
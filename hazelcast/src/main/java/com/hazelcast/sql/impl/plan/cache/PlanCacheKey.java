@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Key of the plan in the {@link PlanCache}.
+ * <p>
+ * The plan is identified by the query text and the search paths which were used to resolve the objects. Query
+ * parameters are not a part of the key because they are not supported by the parser at the moment.
+ */
+public final class PlanCacheKey {
+
+    private final List<List<String>> searchPaths;
+    private final String sql;
+
+    public PlanCacheKey(List<List<String>> searchPaths, String sql) {
+        this.searchPaths = searchPaths;
+        this.sql = sql;
+    }
+
+    public List<List<String>> getSearchPaths() {
+        return searchPaths;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        PlanCacheKey that = (PlanCacheKey) o;
+
+        return Objects.equals(searchPaths, that.searchPaths) && sql.equals(that.sql);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(searchPaths) + sql.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PlanCacheKey{searchPaths=" + searchPaths + ", sql=" + sql + '}';
+    }
+}
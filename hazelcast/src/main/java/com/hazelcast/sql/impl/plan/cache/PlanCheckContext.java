@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.spi.impl.NodeEngine;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Current state of the objects and partitions the cached plans are validated against.
+ */
+public class PlanCheckContext {
+    /** Keys of the current versions of the objects, or {@code null} if the keys are checked one by one. */
+    private final Set<PlanObjectKey> objectKeys;
+
+    /** Node engine the keys are checked against when the current keys are not collected upfront. */
+    private final NodeEngine nodeEngine;
+
+    /** Current distribution of partitions between members. */
+    private final Map<UUID, PartitionIdSet> partitionMap;
+
+    public PlanCheckContext(Set<PlanObjectKey> objectKeys, Map<UUID, PartitionIdSet> partitionMap) {
+        this.objectKeys = objectKeys;
+        this.partitionMap = partitionMap;
+
+        nodeEngine = null;
+    }
+
+    public PlanCheckContext(NodeEngine nodeEngine, Map<UUID, PartitionIdSet> partitionMap) {
+        this.nodeEngine = nodeEngine;
+        this.partitionMap = partitionMap;
+
+        objectKeys = null;
+    }
+
+    public boolean isValid(Set<PlanObjectKey> planObjectKeys, Map<UUID, PartitionIdSet> planPartitionMap) {
+        if (!partitionMap.equals(planPartitionMap)) {
+            return false;
+        }
+
+        if (objectKeys != null) {
+            return objectKeys.containsAll(planObjectKeys);
+        }
+
+        for (PlanObjectKey planObjectKey : planObjectKeys) {
+            if (!planObjectKey.isCurrent(nodeEngine)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
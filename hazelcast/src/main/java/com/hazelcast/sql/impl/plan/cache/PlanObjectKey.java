@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.spi.impl.NodeEngine;
+
+/**
+ * Version of an object which was used to create the plan, such as a table.
+ * <p>
+ * Implementations must include all properties of the object the plan depends on into {@code equals} and
+ * {@code hashCode}: the plan remains valid only while an equal key could be obtained for the current state of the
+ * object.
+ */
+public interface PlanObjectKey {
+    /**
+     * Check whether the object still matches the key. Invoked when a cached plan is about to be reused, so the check
+     * must be cheap and must not create the object.
+     *
+     * @param nodeEngine Node engine.
+     * @return {@code true} if an equal key could be obtained for the current state of the object.
+     */
+    default boolean isCurrent(NodeEngine nodeEngine) {
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hash join node. The right input is the build side, the left input is the probe side.
+ */
+public class HashJoinPlanNode extends BiInputPlanNode implements IdentifiedDataSerializable {
+    /** Indexes of join key columns in the left input. */
+    private List<Integer> leftHashKeys;
+
+    /** Indexes of join key columns in the right input. */
+    private List<Integer> rightHashKeys;
+
+    /** Whether left rows without a match should be emitted with nulls on the right side. */
+    private boolean outer;
+
+    public HashJoinPlanNode() {
+        // No-op.
+    }
+
+    public HashJoinPlanNode(
+        int id,
+        PlanNode left,
+        PlanNode right,
+        List<Integer> leftHashKeys,
+        List<Integer> rightHashKeys,
+        boolean outer
+    ) {
+        super(id, left, right);
+
+        this.leftHashKeys = leftHashKeys;
+        this.rightHashKeys = rightHashKeys;
+        this.outer = outer;
+    }
+
+    public List<Integer> getLeftHashKeys() {
+        return leftHashKeys;
+    }
+
+    public List<Integer> getRightHashKeys() {
+        return rightHashKeys;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onHashJoinNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_HASH_JOIN;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        SerializationUtil.writeList(leftHashKeys, out);
+        SerializationUtil.writeList(rightHashKeys, out);
+        out.writeBoolean(outer);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        leftHashKeys = SerializationUtil.readList(in);
+        rightHashKeys = SerializationUtil.readList(in);
+        outer = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, leftHashKeys, rightHashKeys, outer, left, right);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HashJoinPlanNode that = (HashJoinPlanNode) o;
+
+        return id == that.id && leftHashKeys.equals(that.leftHashKeys) && rightHashKeys.equals(that.rightHashKeys)
+            && outer == that.outer && left.equals(that.left) && right.equals(that.right);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", leftHashKeys=" + leftHashKeys + ", rightHashKeys="
+            + rightHashKeys + ", outer=" + outer + ", left=" + left + ", right=" + right + '}';
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sort node. If the fetch is set, only the top {@code offset + fetch} rows are retained.
+ */
+public class SortPlanNode extends UniInputPlanNode implements IdentifiedDataSerializable {
+    /** Indexes of the sort columns in the input row. */
+    private List<Integer> columnIndexes;
+
+    /** Whether the sort column is in ascending order. */
+    private List<Boolean> ascs;
+
+    /** Maximum number of rows to return, or negative value if not limited. */
+    private long fetch;
+
+    /** Number of rows to skip. */
+    private long offset;
+
+    public SortPlanNode() {
+        // No-op.
+    }
+
+    public SortPlanNode(int id, PlanNode upstream, List<Integer> columnIndexes, List<Boolean> ascs, long fetch, long offset) {
+        super(id, upstream);
+
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    public List<Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public List<Boolean> getAscs() {
+        return ascs;
+    }
+
+    public long getFetch() {
+        return fetch;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onSortNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_SORT;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        SerializationUtil.writeList(columnIndexes, out);
+        SerializationUtil.writeList(ascs, out);
+        out.writeLong(fetch);
+        out.writeLong(offset);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        columnIndexes = SerializationUtil.readList(in);
+        ascs = SerializationUtil.readList(in);
+        fetch = in.readLong();
+        offset = in.readLong();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, columnIndexes, ascs, fetch, offset, upstream);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SortPlanNode that = (SortPlanNode) o;
+
+        return id == that.id && columnIndexes.equals(that.columnIndexes) && ascs.equals(that.ascs) && fetch == that.fetch
+            && offset == that.offset && upstream.equals(that.upstream);
+    }
+}
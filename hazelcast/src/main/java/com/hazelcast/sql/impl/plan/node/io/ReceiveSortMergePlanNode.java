@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node.io;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
+import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
+import com.hazelcast.sql.impl.plan.node.ZeroInputPlanNode;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Physical node which receives sorted streams from remote stripes and merges them into a single sorted stream. The
+ * offset and fetch are applied to the merged stream.
+ */
+public class ReceiveSortMergePlanNode extends ZeroInputPlanNode implements EdgeAwarePlanNode, IdentifiedDataSerializable {
+    /** Edge ID. */
+    private int edgeId;
+
+    /** Field types. */
+    private List<QueryDataType> fieldTypes;
+
+    /** Indexes of the sort columns. */
+    private List<Integer> columnIndexes;
+
+    /** Whether the sort column is in ascending order. */
+    private List<Boolean> ascs;
+
+    /** Maximum number of rows to return, or negative value if not limited. */
+    private long fetch;
+
+    /** Number of rows to skip. */
+    private long offset;
+
+    public ReceiveSortMergePlanNode() {
+        // No-op.
+    }
+
+    public ReceiveSortMergePlanNode(
+        int id,
+        int edgeId,
+        List<QueryDataType> fieldTypes,
+        List<Integer> columnIndexes,
+        List<Boolean> ascs,
+        long fetch,
+        long offset
+    ) {
+        super(id);
+
+        this.edgeId = edgeId;
+        this.fieldTypes = fieldTypes;
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    @Override
+    public int getEdgeId() {
+        return edgeId;
+    }
+
+    @Override
+    public boolean isSender() {
+        return false;
+    }
+
+    public List<Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public List<Boolean> getAscs() {
+        return ascs;
+    }
+
+    public long getFetch() {
+        return fetch;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void visit(PlanNodeVisitor visitor) {
+        visitor.onReceiveSortMergeNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_RECEIVE_SORT_MERGE;
+    }
+
+    @Override
+    public PlanNodeSchema getSchema0() {
+        return new PlanNodeSchema(fieldTypes);
+    }
+
+    @Override
+    public void writeData0(ObjectDataOutput out) throws IOException {
+        out.writeInt(edgeId);
+        SerializationUtil.writeList(fieldTypes, out);
+        SerializationUtil.writeList(columnIndexes, out);
+        SerializationUtil.writeList(ascs, out);
+        out.writeLong(fetch);
+        out.writeLong(offset);
+    }
+
+    @Override
+    public void readData0(ObjectDataInput in) throws IOException {
+        edgeId = in.readInt();
+        fieldTypes = SerializationUtil.readList(in);
+        columnIndexes = SerializationUtil.readList(in);
+        ascs = SerializationUtil.readList(in);
+        fetch = in.readLong();
+        offset = in.readLong();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, edgeId, fieldTypes, columnIndexes, ascs, fetch, offset);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ReceiveSortMergePlanNode that = (ReceiveSortMergePlanNode) o;
+
+        return id == that.id && edgeId == that.edgeId && fieldTypes.equals(that.fieldTypes)
+            && columnIndexes.equals(that.columnIndexes) && ascs.equals(that.ascs) && fetch == that.fetch
+            && offset == that.offset;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", edgeId=" + edgeId + ", fieldTypes=" + fieldTypes
+            + ", columnIndexes=" + columnIndexes + ", ascs=" + ascs + ", fetch=" + fetch + ", offset=" + offset + '}';
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+/**
+ * Column vector with values stored in a primitive array.
+ */
+public class BooleanColumnVector implements ColumnVector {
+    /** Values. */
+    private final boolean[] values;
+
+    /** Null flags, created on the first null value. */
+    private boolean[] nulls;
+
+    public BooleanColumnVector(int capacity) {
+        values = new boolean[capacity];
+    }
+
+    @Override
+    public int getCapacity() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(int position) {
+        return isNull(position) ? null : values[position];
+    }
+
+    @Override
+    public boolean isNull(int position) {
+        assert position >= 0 && position < values.length;
+
+        return nulls != null && nulls[position];
+    }
+
+    /**
+     * Get the value at the given position. The result is undefined if the value is {@code null}.
+     *
+     * @param position Position.
+     * @return Value.
+     */
+    public boolean getBoolean(int position) {
+        assert position >= 0 && position < values.length;
+
+        return values[position];
+    }
+
+    public void set(int position, boolean value) {
+        assert position >= 0 && position < values.length;
+
+        values[position] = value;
+    }
+
+    public void setNull(int position) {
+        assert position >= 0 && position < values.length;
+
+        if (nulls == null) {
+            nulls = new boolean[values.length];
+        }
+
+        nulls[position] = true;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+/**
+ * Column of a {@link ColumnarRowBatch}. Values are addressed by the physical position in the batch.
+ */
+public interface ColumnVector {
+    /**
+     * @return Number of positions in the vector.
+     */
+    int getCapacity();
+
+    /**
+     * Get the value at the given position.
+     *
+     * @param position Position.
+     * @return Value or {@code null}.
+     */
+    Object get(int position);
+
+    /**
+     * @param position Position.
+     * @return {@code true} if the value at the given position is {@code null}.
+     */
+    boolean isNull(int position);
+}
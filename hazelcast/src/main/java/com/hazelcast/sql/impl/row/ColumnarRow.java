@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+/**
+ * Row which exposes a single position of a {@link ColumnarRowBatch}. The row is mutable and is not used by parent
+ * operators.
+ */
+public final class ColumnarRow implements Row {
+
+    private final ColumnarRowBatch batch;
+    private int position;
+
+    public ColumnarRow(ColumnarRowBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Set the current position.
+     *
+     * @param position Physical position in the batch.
+     */
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(int index) {
+        return (T) batch.getColumn(index).get(position);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return batch.getColumnCount();
+    }
+}
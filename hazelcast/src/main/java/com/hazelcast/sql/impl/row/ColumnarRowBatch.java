@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+/**
+ * Batch where values are organized in columns.
+ * <p>
+ * Rows of the batch are addressed through the selection vector, which contains physical positions of the rows in the
+ * columns in ascending order. When there is no selection vector, all positions are selected. Operators which remove
+ * rows, such as filters, produce a new selection vector without copying the columns.
+ * <p>
+ * Columnar batches are processed by operators locally. When a row is requested, it is materialized into a
+ * {@link HeapRow}, so that operators which work with individual rows continue to work unchanged.
+ */
+public final class ColumnarRowBatch implements RowBatch {
+    /** Columns. */
+    private final ColumnVector[] columns;
+
+    /** Selected positions, or {@code null} if all positions are selected. */
+    private final int[] selection;
+
+    /** Number of selected rows. */
+    private final int rowCount;
+
+    public ColumnarRowBatch(ColumnVector[] columns, int rowCount) {
+        this(columns, null, rowCount);
+    }
+
+    public ColumnarRowBatch(ColumnVector[] columns, int[] selection, int rowCount) {
+        assert selection == null || selection.length >= rowCount;
+
+        this.columns = columns;
+        this.selection = selection;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public Row getRow(int index) {
+        assert index >= 0 && index < rowCount : index;
+
+        int position = getPosition(index);
+
+        HeapRow row = new HeapRow(columns.length);
+
+        for (int i = 0; i < columns.length; i++) {
+            row.set(i, columns[i].get(position));
+        }
+
+        return row;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public ColumnVector getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Get the physical position of the row.
+     *
+     * @param index Index of the row.
+     * @return Physical position of the row in the columns.
+     */
+    public int getPosition(int index) {
+        return selection != null ? selection[index] : index;
+    }
+
+    /**
+     * @return Number of physical positions covered by the batch. Vectors produced for the batch must be at least of
+     * this size.
+     */
+    public int getPositionCount() {
+        if (selection == null) {
+            return rowCount;
+        }
+
+        return rowCount == 0 ? 0 : selection[rowCount - 1] + 1;
+    }
+
+    /**
+     * Create a batch with the same rows and different columns.
+     *
+     * @param columns Columns, produced for the positions of this batch.
+     * @return New batch.
+     */
+    public ColumnarRowBatch withColumns(ColumnVector[] columns) {
+        return new ColumnarRowBatch(columns, selection, rowCount);
+    }
+
+    /**
+     * Create a batch with rows for which the predicate is {@code true}. Rows for which the predicate is {@code false}
+     * or {@code null} are removed.
+     *
+     * @param predicate Value of the predicate for every position of this batch.
+     * @return New batch.
+     */
+    public ColumnarRowBatch select(ColumnVector predicate) {
+        int[] newSelection = new int[rowCount];
+        int newRowCount = 0;
+
+        if (predicate instanceof BooleanColumnVector) {
+            BooleanColumnVector predicate0 = (BooleanColumnVector) predicate;
+
+            for (int i = 0; i < rowCount; i++) {
+                int position = getPosition(i);
+
+                if (!predicate0.isNull(position) && predicate0.getBoolean(position)) {
+                    newSelection[newRowCount++] = position;
+                }
+            }
+        } else {
+            for (int i = 0; i < rowCount; i++) {
+                int position = getPosition(i);
+
+                if (Boolean.TRUE.equals(predicate.get(position))) {
+                    newSelection[newRowCount++] = position;
+                }
+            }
+        }
+
+        return new ColumnarRowBatch(columns, newSelection, newRowCount);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+/**
+ * Column vector with values stored as objects.
+ */
+public class ObjectColumnVector implements ColumnVector {
+    /** Values. */
+    private final Object[] values;
+
+    public ObjectColumnVector(int capacity) {
+        values = new Object[capacity];
+    }
+
+    @Override
+    public int getCapacity() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(int position) {
+        assert position >= 0 && position < values.length;
+
+        return values[position];
+    }
+
+    @Override
+    public boolean isNull(int position) {
+        return get(position) == null;
+    }
+
+    public void set(int position, Object value) {
+        assert position >= 0 && position < values.length;
+
+        values[position] = value;
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.schema;
 
+import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
+
 import java.util.List;
 
 /**
@@ -52,7 +54,19 @@ public abstract class Table {
         return (T) fields.get(index);
     }
 
+    protected List<TableField> getFields() {
+        return fields;
+    }
+
     public TableStatistics getStatistics() {
         return statistics;
     }
+
+    /**
+     * Get the key of the current version of the table. Plans which use the table remain valid only while the
+     * table has an equal key.
+     *
+     * @return Key or {@code null} if the plans with this table should not be cached.
+     */
+    public abstract PlanObjectKey getObjectKey();
 }
@@ -18,10 +18,12 @@ package com.hazelcast.sql.impl.schema.map;
 
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.TableStatistics;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -50,7 +52,8 @@ public abstract class AbstractMapTable extends Table {
     }
 
     protected AbstractMapTable(String schemaName, String name, QueryException exception) {
-        super(schemaName, name, null, null);
+        // Statistics are still required by the optimizer, even if the table cannot be used.
+        super(schemaName, name, Collections.emptyList(), new ConstantTableStatistics(0));
 
         this.keyDescriptor = null;
         this.valueDescriptor = null;
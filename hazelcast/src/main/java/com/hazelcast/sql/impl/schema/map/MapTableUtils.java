@@ -17,11 +17,23 @@
 package com.hazelcast.sql.impl.schema.map;
 
 import com.hazelcast.cluster.memberselector.MemberSelectors;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.IndexUtils;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Utility methods for schema resolution.
@@ -54,4 +66,51 @@ public final class MapTableUtils {
 
         return entryCount * memberCount;
     }
+
+    /**
+     * Get indexes of the map which could be used by the SQL engine. Only non-composite SORTED and HASH indexes on the
+     * attributes exposed as table fields are returned.
+     *
+     * @param mapContainer Map container.
+     * @param fields Fields of the table.
+     * @return Indexes.
+     */
+    public static List<MapTableIndex> getPartitionedMapIndexes(MapContainer mapContainer, List<TableField> fields) {
+        Map<String, Integer> attributeToOrdinal = new HashMap<>();
+
+        for (int i = 0; i < fields.size(); i++) {
+            QueryPath path = ((MapTableField) fields.get(i)).getPath();
+
+            attributeToOrdinal.put(getIndexAttribute(path), i);
+        }
+
+        List<MapTableIndex> res = new ArrayList<>();
+
+        for (IndexConfig indexConfig : mapContainer.getIndexDefinitions().values()) {
+            if (indexConfig.getType() == IndexType.BITMAP || indexConfig.getType() == IndexType.TEXT
+                    || indexConfig.getType() == IndexType.SPATIAL || indexConfig.getAttributes().size() != 1) {
+                continue;
+            }
+
+            String attribute = IndexUtils.canonicalizeAttribute(indexConfig.getAttributes().get(0));
+
+            Integer ordinal = attributeToOrdinal.get(attribute);
+
+            if (ordinal == null) {
+                continue;
+            }
+
+            res.add(new MapTableIndex(indexConfig.getName(), indexConfig.getType(), Collections.singletonList(ordinal)));
+        }
+
+        return res;
+    }
+
+    private static String getIndexAttribute(QueryPath path) {
+        if (path.isKey()) {
+            return path.isTop() ? QueryPath.KEY : QueryPath.KEY + "." + path.getPath();
+        } else {
+            return path.isTop() ? QueryPath.VALUE : path.getPath();
+        }
+    }
 }
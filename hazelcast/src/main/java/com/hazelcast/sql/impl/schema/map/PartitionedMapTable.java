@@ -16,27 +16,154 @@
 
 package com.hazelcast.sql.impl.schema.map;
 
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.TableStatistics;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import static com.hazelcast.sql.impl.QueryUtils.SCHEMA_NAME_PARTITIONED;
 
 public class PartitionedMapTable extends AbstractMapTable {
+    /** Ordinal of the distribution field when the map is not partitioned by any of its fields. */
+    public static final int DISTRIBUTION_FIELD_ORDINAL_NONE = -1;
+
+    private final List<MapTableIndex> indexes;
+    private final int distributionFieldOrdinal;
+
     public PartitionedMapTable(
         String name,
         List<TableField> fields,
         TableStatistics statistics,
         QueryTargetDescriptor keyDescriptor,
-        QueryTargetDescriptor valueDescriptor
+        QueryTargetDescriptor valueDescriptor,
+        List<MapTableIndex> indexes,
+        int distributionFieldOrdinal
     ) {
         super(SCHEMA_NAME_PARTITIONED, name, fields, statistics, keyDescriptor, valueDescriptor);
+
+        this.indexes = indexes;
+        this.distributionFieldOrdinal = distributionFieldOrdinal;
     }
 
     public PartitionedMapTable(String name, QueryException exception) {
         super(SCHEMA_NAME_PARTITIONED, name, exception);
+
+        indexes = Collections.emptyList();
+        distributionFieldOrdinal = DISTRIBUTION_FIELD_ORDINAL_NONE;
+    }
+
+    public List<MapTableIndex> getIndexes() {
+        checkException();
+
+        return indexes;
+    }
+
+    /**
+     * Get the ordinal of the field which defines the partition of the entry. Entries of different maps having equal
+     * values of their distribution fields are located in the same partition.
+     *
+     * @return Ordinal of the distribution field or {@link #DISTRIBUTION_FIELD_ORDINAL_NONE}.
+     */
+    public int getDistributionFieldOrdinal() {
+        checkException();
+
+        return distributionFieldOrdinal;
+    }
+
+    @Override
+    public PlanObjectKey getObjectKey() {
+        if (getException() != null) {
+            return null;
+        }
+
+        return new PartitionedMapPlanObjectKey(
+            getName(),
+            getFields(),
+            getKeyDescriptor(),
+            getValueDescriptor(),
+            indexes,
+            distributionFieldOrdinal
+        );
+    }
+
+    /**
+     * Version of the map schema: fields, indexes and distribution. Statistics are not included, since a plan remains
+     * correct when the number of entries changes.
+     */
+    static final class PartitionedMapPlanObjectKey implements PlanObjectKey {
+
+        private final String name;
+        private final List<TableField> fields;
+        private final QueryTargetDescriptor keyDescriptor;
+        private final QueryTargetDescriptor valueDescriptor;
+        private final List<MapTableIndex> indexes;
+        private final int distributionFieldOrdinal;
+
+        PartitionedMapPlanObjectKey(
+            String name,
+            List<TableField> fields,
+            QueryTargetDescriptor keyDescriptor,
+            QueryTargetDescriptor valueDescriptor,
+            List<MapTableIndex> indexes,
+            int distributionFieldOrdinal
+        ) {
+            this.name = name;
+            this.fields = fields;
+            this.keyDescriptor = keyDescriptor;
+            this.valueDescriptor = valueDescriptor;
+            this.indexes = indexes;
+            this.distributionFieldOrdinal = distributionFieldOrdinal;
+        }
+
+        /**
+         * Only the indexes are checked, since they are the only part of the schema which changes without the map
+         * being destroyed. Other changes are caught by the periodic check.
+         */
+        @Override
+        public boolean isCurrent(NodeEngine nodeEngine) {
+            MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+
+            // Do not use getMapContainer(), it would create the container of a destroyed map.
+            MapContainer mapContainer = mapService.getMapServiceContext().getMapContainers().get(name);
+
+            if (mapContainer == null) {
+                return indexes.isEmpty();
+            }
+
+            return indexes.equals(MapTableUtils.getPartitionedMapIndexes(mapContainer, fields));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            PartitionedMapPlanObjectKey that = (PartitionedMapPlanObjectKey) o;
+
+            return distributionFieldOrdinal == that.distributionFieldOrdinal
+                && name.equals(that.name)
+                && fields.equals(that.fields)
+                && Objects.equals(keyDescriptor, that.keyDescriptor)
+                && Objects.equals(valueDescriptor, that.valueDescriptor)
+                && indexes.equals(that.indexes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, fields, keyDescriptor, valueDescriptor, indexes, distributionFieldOrdinal);
+        }
     }
 }
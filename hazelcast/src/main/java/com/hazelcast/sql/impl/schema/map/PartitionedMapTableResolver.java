@@ -29,6 +29,7 @@ import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryUtils;
+import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
@@ -110,9 +111,11 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
 
             MapConfig config = mapContainer.getMapConfig();
 
-            // HD maps are not supported at the moment.
-            if (config.getInMemoryFormat() == InMemoryFormat.NATIVE) {
-                throw QueryException.error("IMap with InMemoryFormat.NATIVE is not supported: " + name);
+            // HD, off-heap and compact maps are not supported at the moment, their storage is confined to partition threads.
+            InMemoryFormat inMemoryFormat = config.getInMemoryFormat();
+            if (inMemoryFormat == InMemoryFormat.NATIVE || inMemoryFormat == InMemoryFormat.OFF_HEAP
+                    || inMemoryFormat == InMemoryFormat.COMPACT) {
+                throw QueryException.error("IMap with InMemoryFormat." + inMemoryFormat + " is not supported: " + name);
             }
 
             boolean binary = config.getInMemoryFormat() == InMemoryFormat.BINARY;
@@ -153,13 +156,17 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
 
                 long estimatedRowCount = MapTableUtils.estimatePartitionedMapRowCount(nodeEngine, context, name);
 
+                List<MapTableIndex> indexes = MapTableUtils.getPartitionedMapIndexes(mapContainer, fields);
+
                 // Done.
                 return new PartitionedMapTable(
                     name,
                     fields,
                     new ConstantTableStatistics(estimatedRowCount),
                     keyMetadata.getDescriptor(),
-                    valueMetadata.getDescriptor()
+                    valueMetadata.getDescriptor(),
+                    indexes,
+                    getDistributionFieldOrdinal(mapContainer, fields)
                 );
             }
 
@@ -173,6 +180,25 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
         }
     }
 
+    /**
+     * Entries are distributed by the key unless a custom partitioning strategy is configured.
+     */
+    private static int getDistributionFieldOrdinal(MapContainer mapContainer, List<TableField> fields) {
+        if (mapContainer.getPartitioningStrategy() != null) {
+            return PartitionedMapTable.DISTRIBUTION_FIELD_ORDINAL_NONE;
+        }
+
+        for (int i = 0; i < fields.size(); i++) {
+            TableField field = fields.get(i);
+
+            if (field instanceof MapTableField && QueryPath.KEY_PATH.equals(((MapTableField) field).getPath())) {
+                return i;
+            }
+        }
+
+        return PartitionedMapTable.DISTRIBUTION_FIELD_ORDINAL_NONE;
+    }
+
     private static PartitionedMapTable emptyMap(String mapName) {
         QueryException error = QueryException.error(
             "Cannot resolve IMap schema because it doesn't have entries on the local member: " + mapName
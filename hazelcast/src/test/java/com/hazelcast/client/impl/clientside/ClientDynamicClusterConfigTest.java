@@ -17,12 +17,17 @@
 package com.hazelcast.client.impl.clientside;
 
 import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.dynamicconfig.DynamicConfigTest;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.After;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
@@ -43,6 +48,24 @@ public class ClientDynamicClusterConfigTest extends DynamicConfigTest {
         return factory.newHazelcastClient();
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMapConfig_whenIndexWithIncludedAttributes_thenUnsupported() {
+        MapConfig mapConfig = new MapConfig(randomName())
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "name").addIncludedAttribute("age"));
+
+        getDriver().getConfig().addMapConfig(mapConfig);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMapConfig_whenQueryCacheIndexWithIncludedAttributes_thenUnsupported() {
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig(randomName())
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "name").addIncludedAttribute("age"));
+        MapConfig mapConfig = new MapConfig(randomName())
+                .addQueryCacheConfig(queryCacheConfig);
+
+        getDriver().getConfig().addMapConfig(mapConfig);
+    }
+
     @After
     public void tearDown() {
         factory.terminateAll();
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.connection.tcp;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getConnectionManager;
+import static com.hazelcast.test.starter.ReflectionUtils.getFieldValueReflectively;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientCompressionTest extends ClientTestSupport {
+
+    @After
+    public void cleanup() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void whenCompressionEnabled_thenClientConnectionCompressed() throws Exception {
+        HazelcastInstance member = Hazelcast.newHazelcastInstance();
+
+        ClientConfig config = new ClientConfig();
+        config.setProperty(ClientProperty.SOCKET_COMPRESSION_ENABLED.getName(), "true");
+        config.setProperty(ClientProperty.SOCKET_COMPRESSION_THRESHOLD.getName(), "100");
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(config);
+
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            value.append("value").append(i % 10);
+        }
+        IMap<Integer, String> map = client.getMap(randomMapName());
+        map.put(1, value.toString());
+
+        assertEquals(value.toString(), map.get(1));
+        Counter compressionBytesRead = getFieldValueReflectively(getConnectionManager(member), "compressionBytesRead");
+        Counter compressionRawBytesRead = getFieldValueReflectively(getConnectionManager(member), "compressionRawBytesRead");
+        assertTrue(compressionBytesRead.get() > 0);
+        assertTrue(compressionBytesRead.get() < compressionRawBytesRead.get());
+    }
+}
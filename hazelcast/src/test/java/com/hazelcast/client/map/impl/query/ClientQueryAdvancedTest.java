@@ -18,6 +18,7 @@ package com.hazelcast.client.map.impl.query;
 
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
@@ -73,6 +74,15 @@ public class ClientQueryAdvancedTest extends HazelcastTestSupport {
         assertThat(emptyFieldValues, contains(valueWithNull));
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void addIndex_whenIncludedAttributes_thenUnsupported() {
+        hazelcastFactory.newHazelcastInstance(getConfig());
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(getClientConfig());
+        IMap<Integer, SampleTestObjects.Value> map = client.getMap("default");
+
+        map.addIndex(new IndexConfig(IndexType.SORTED, "name").addIncludedAttribute("type"));
+    }
+
     protected ClientConfig getClientConfig() {
         return new ClientConfig();
     }
@@ -300,6 +300,9 @@ public abstract class AbstractConfigBuilderTest extends HazelcastTestSupport {
     @Test
     public abstract void testIndexesConfig();
 
+    @Test
+    public abstract void testIndexesConfig_withIncludedAttributes();
+
     @Test
     public abstract void testAttributeConfig();
 
@@ -1461,6 +1461,21 @@ public class ConfigXmlGeneratorTest extends HazelcastTestSupport {
         ConfigCompatibilityChecker.checkMapConfig(expectedConfig, actualConfig);
     }
 
+    @Test
+    public void testMapIndexConfig_withIncludedAttributes() {
+        IndexConfig indexConfig = new IndexConfig(IndexType.SORTED, "age")
+                .setIncludedAttributes(asList("name", "address.city"));
+        MapConfig expectedConfig = new MapConfig("people")
+                .addIndexConfig(indexConfig);
+
+        Config config = new Config()
+                .addMapConfig(expectedConfig);
+
+        Config xmlConfig = getNewConfigViaXMLGenerator(config);
+
+        assertEquals(singletonList(indexConfig), xmlConfig.getMapConfig("people").getIndexConfigs());
+    }
+
     @Test
     public void testMapNearCacheConfig() {
         NearCacheConfig expectedConfig = new NearCacheConfig()
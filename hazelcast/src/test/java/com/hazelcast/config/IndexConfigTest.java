@@ -17,14 +17,21 @@
 package com.hazelcast.config;
 
 import com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation;
+import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.query.QueryConstants;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.version.Version;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -32,6 +39,7 @@ import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -69,6 +77,55 @@ public class IndexConfigTest {
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name2"), false);
     }
 
+    @Test
+    public void testIncludedAttributesEquality() {
+        IndexConfig config1 = new IndexConfig(IndexType.SORTED, "col1").addIncludedAttribute("col2");
+        IndexConfig config2 = new IndexConfig(IndexType.SORTED, "col1").addIncludedAttribute("col2");
+        assertEquals(config1, config2);
+        assertEquals(config1.hashCode(), config2.hashCode());
+        assertEquals(config1, new IndexConfig(config1));
+
+        config2.setIncludedAttributes(Collections.singletonList("col3"));
+        assertNotEquals(config1, config2);
+        assertNotEquals(config1, new IndexConfig(IndexType.SORTED, "col1"));
+    }
+
+    @Test
+    public void testIncludedAttributesSerialized_whenVersion41() throws IOException {
+        IndexConfig config = new IndexConfig(IndexType.SORTED, "col1").addIncludedAttribute("col2");
+
+        IndexConfig copy = serializeWithVersion(config, Versions.V4_1);
+
+        assertEquals(config, copy);
+    }
+
+    @Test
+    public void testIncludedAttributesNotSerialized_whenVersion40() throws IOException {
+        IndexConfig config = new IndexConfig(IndexType.SORTED, "col1").addIncludedAttribute("col2");
+
+        IndexConfig copy = serializeWithVersion(config, Versions.V4_0);
+
+        assertEquals(config.getAttributes(), copy.getAttributes());
+        assertTrue(copy.getIncludedAttributes().isEmpty());
+    }
+
+    private static IndexConfig serializeWithVersion(IndexConfig config, Version version) throws IOException {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.setVersion(version);
+        config.writeData(out);
+
+        byte[] bytes = out.toByteArray();
+        BufferObjectDataInput in = serializationService.createObjectDataInput(bytes);
+        in.setVersion(version);
+        IndexConfig copy = new IndexConfig();
+        copy.readData(in);
+        // reader and writer must agree on the format for the given version
+        assertEquals(bytes.length, in.position());
+        return copy;
+    }
+
     private void checkIndexQuality(IndexConfig config1, IndexConfig config2, boolean expected) {
         assertEquals(expected, config1.equals(config2));
         assertEquals(expected, config1.hashCode() == config2.hashCode());
@@ -125,4 +182,14 @@ public class IndexConfigTest {
         new IndexConfig().addAttribute("");
     }
 
+    @Test(expected = NullPointerException.class)
+    public void testIncludedAttributesNull() {
+        new IndexConfig().setIncludedAttributes(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncludedAttributeEmptyAdd() {
+        new IndexConfig().addIncludedAttribute("");
+    }
+
 }
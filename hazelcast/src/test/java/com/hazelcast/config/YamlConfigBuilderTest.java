@@ -2406,6 +2406,27 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertIndexEqual("age", true, mapConfig.getIndexConfigs().get(1));
     }
 
+    @Override
+    @Test
+    public void testIndexesConfig_withIncludedAttributes() {
+        String yaml = ""
+                + "hazelcast:\n"
+                + "  map:\n"
+                + "    people:\n"
+                + "      indexes:\n"
+                + "        - attributes:\n"
+                + "          - \"age\"\n"
+                + "          included-attributes:\n"
+                + "          - \"name\"\n"
+                + "          - \"address.city\"\n";
+
+        Config config = buildConfig(yaml);
+        IndexConfig indexConfig = config.getMapConfig("people").getIndexConfigs().get(0);
+
+        assertIndexEqual("age", true, indexConfig);
+        assertEquals(Arrays.asList("name", "address.city"), indexConfig.getIncludedAttributes());
+    }
+
     @Override
     @Test
     public void testAttributeConfig() {
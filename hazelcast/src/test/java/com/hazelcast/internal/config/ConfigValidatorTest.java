@@ -39,8 +39,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.config.InMemoryFormat.COMPACT;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
+import static com.hazelcast.config.InMemoryFormat.OFF_HEAP;
 import static com.hazelcast.internal.config.ConfigValidator.checkCPSubsystemConfig;
 import static com.hazelcast.internal.config.ConfigValidator.checkCacheConfig;
 import static com.hazelcast.internal.config.ConfigValidator.checkMapConfig;
@@ -91,6 +93,27 @@ public class ConfigValidatorTest extends HazelcastTestSupport {
         checkMapConfig(getMapConfig(NATIVE), nativeMemoryConfig, splitBrainMergePolicyProvider, properties);
     }
 
+    @Test
+    public void checkMapConfig_OFF_HEAP() {
+        checkMapConfig(getMapConfig(OFF_HEAP), nativeMemoryConfig, splitBrainMergePolicyProvider, properties);
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void checkMapConfig_OFF_HEAP_withUsedHeapSizeMaxSizePolicy() {
+        MapConfig mapConfig = getMapConfig(OFF_HEAP);
+        mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE);
+
+        checkMapConfig(mapConfig, nativeMemoryConfig, splitBrainMergePolicyProvider, properties);
+    }
+
+    @Test
+    public void checkMapConfig_COMPACT_withUsedHeapSizeMaxSizePolicy() {
+        MapConfig mapConfig = getMapConfig(COMPACT);
+        mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE);
+
+        checkMapConfig(mapConfig, nativeMemoryConfig, splitBrainMergePolicyProvider, properties);
+    }
+
     private MapConfig getMapConfig(InMemoryFormat inMemoryFormat) {
         return new MapConfig()
                 .setInMemoryFormat(inMemoryFormat);
@@ -118,6 +141,28 @@ public class ConfigValidatorTest extends HazelcastTestSupport {
         checkCacheConfig(cacheSimpleConfig, splitBrainMergePolicyProvider);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void checkCacheConfig_withEntryCountMaxSizePolicy_OFF_HEAP() {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT);
+        CacheSimpleConfig cacheSimpleConfig = new CacheSimpleConfig()
+                .setInMemoryFormat(OFF_HEAP)
+                .setEvictionConfig(evictionConfig);
+
+        checkCacheConfig(cacheSimpleConfig, splitBrainMergePolicyProvider);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkCacheConfig_withEntryCountMaxSizePolicy_COMPACT() {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT);
+        CacheSimpleConfig cacheSimpleConfig = new CacheSimpleConfig()
+                .setInMemoryFormat(COMPACT)
+                .setEvictionConfig(evictionConfig);
+
+        checkCacheConfig(cacheSimpleConfig, splitBrainMergePolicyProvider);
+    }
+
     @Test
     public void checkNearCacheNativeMemoryConfig_shouldNotNeedNativeMemoryConfig_BINARY_onOS() {
         checkNearCacheNativeMemoryConfig(BINARY, null, false);
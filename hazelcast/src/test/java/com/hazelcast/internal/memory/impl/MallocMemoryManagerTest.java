@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MallocMemoryManagerTest {
+
+    private static final int BLOCK_SIZE = 64;
+
+    @Rule
+    public final TestRule ignoreRule = new TestIgnoreRuleAccordingToUnsafeAvailability();
+
+    private MallocMemoryManager memMgr;
+    private MemoryAllocator malloc;
+    private MemoryAccessor mem;
+
+    @Before
+    public void setUp() {
+        memMgr = new MallocMemoryManager();
+        malloc = memMgr.getAllocator();
+        mem = memMgr.getAccessor();
+    }
+
+    @After
+    public void tearDown() {
+        memMgr.dispose();
+    }
+
+    @Test
+    public void when_allocate_then_blockIsZeroed() {
+        long address = malloc.allocate(BLOCK_SIZE);
+        for (int offset = 0; offset < BLOCK_SIZE; offset++) {
+            assertEquals(0, mem.getByte(address + offset));
+        }
+        malloc.free(address, BLOCK_SIZE);
+    }
+
+    @Test
+    public void when_allocateTwoBlocks_then_eachAddressIsIndependent() {
+        long address1 = malloc.allocate(BLOCK_SIZE);
+        long address2 = malloc.allocate(BLOCK_SIZE);
+        assertNotEquals(address1, address2);
+        for (int offset = 0; offset < BLOCK_SIZE; offset += 8) {
+            mem.putLong(address1 + offset, offset);
+            mem.putLong(address2 + offset, offset + 1);
+        }
+        for (int offset = 0; offset < BLOCK_SIZE; offset += 8) {
+            assertEquals(offset, mem.getLong(address1 + offset));
+            assertEquals(offset + 1, mem.getLong(address2 + offset));
+        }
+        malloc.free(address1, BLOCK_SIZE);
+        malloc.free(address2, BLOCK_SIZE);
+    }
+
+    @Test
+    public void when_reallocateToLargerSize_then_contentsPreservedAndExtensionZeroed() {
+        long address = malloc.allocate(BLOCK_SIZE);
+        for (int offset = 0; offset < BLOCK_SIZE; offset++) {
+            mem.putByte(address + offset, (byte) offset);
+        }
+
+        address = malloc.reallocate(address, BLOCK_SIZE, 2 * BLOCK_SIZE);
+
+        for (int offset = 0; offset < BLOCK_SIZE; offset++) {
+            assertEquals((byte) offset, mem.getByte(address + offset));
+        }
+        for (int offset = BLOCK_SIZE; offset < 2 * BLOCK_SIZE; offset++) {
+            assertEquals(0, mem.getByte(address + offset));
+        }
+        malloc.free(address, 2 * BLOCK_SIZE);
+    }
+
+    @Test
+    public void usedMemory_tracksAllocations() {
+        long address1 = malloc.allocate(BLOCK_SIZE);
+        long address2 = malloc.allocate(2 * BLOCK_SIZE);
+        assertEquals(3 * BLOCK_SIZE, memMgr.getUsedMemory());
+
+        address1 = malloc.reallocate(address1, BLOCK_SIZE, 4 * BLOCK_SIZE);
+        assertEquals(6 * BLOCK_SIZE, memMgr.getUsedMemory());
+
+        malloc.free(address1, 4 * BLOCK_SIZE);
+        malloc.free(address2, 2 * BLOCK_SIZE);
+        assertEquals(0, memMgr.getUsedMemory());
+    }
+}
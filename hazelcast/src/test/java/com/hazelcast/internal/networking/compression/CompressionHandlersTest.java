@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelOptions;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
+import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.compression.CompressionEncoder.HEADER_LENGTH;
+import static com.hazelcast.internal.networking.compression.CompressionEncoder.MAX_FRAME_LENGTH;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompressionHandlersTest extends HazelcastTestSupport {
+
+    private static final int THRESHOLD = 100;
+
+    private final Counter rawBytesWritten = SwCounter.newSwCounter();
+    private final Counter bytesWritten = SwCounter.newSwCounter();
+    private final Counter bytesRead = SwCounter.newSwCounter();
+    private final Counter rawBytesRead = SwCounter.newSwCounter();
+
+    @Test
+    public void whenCompressible() {
+        byte[] bytes = compressible(10000);
+
+        assertArrayEquals(bytes, roundTrip(bytes, 1000));
+        assertTrue(bytesWritten.get() < bytes.length / 2);
+        assertCounters(bytes.length);
+    }
+
+    @Test
+    public void whenBelowThreshold() {
+        byte[] bytes = compressible(THRESHOLD - 1);
+
+        assertArrayEquals(bytes, roundTrip(bytes, 1000));
+        assertEquals(bytes.length + HEADER_LENGTH, bytesWritten.get());
+        assertCounters(bytes.length);
+    }
+
+    @Test
+    public void whenIncompressible() {
+        byte[] bytes = new byte[10000];
+        new Random(42).nextBytes(bytes);
+
+        assertArrayEquals(bytes, roundTrip(bytes, 1000));
+        assertEquals(bytes.length + HEADER_LENGTH, bytesWritten.get());
+        assertCounters(bytes.length);
+    }
+
+    @Test
+    public void whenMultipleFrames_andSmallBuffers() {
+        byte[] bytes = compressible(3 * MAX_FRAME_LENGTH + 123);
+
+        assertArrayEquals(bytes, roundTrip(bytes, 16));
+        assertCounters(bytes.length);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void whenMalformedFrame() throws Exception {
+        CompressionDecoder decoder = new CompressionDecoder(bytesRead, rawBytesRead);
+        ByteBuffer src = ByteBuffer.allocate(100);
+        src.put((byte) 5).putInt(10).putInt(10);
+        decoder.src(src);
+        decoder.dst(ByteBuffer.allocate(100));
+
+        decoder.onRead();
+    }
+
+    @Test
+    public void whenChannelClosed_thenCompressionResourcesReleased() throws Exception {
+        Channel channel = mockChannel(false);
+        CompressionEncoder encoder = new CompressionEncoder(THRESHOLD, rawBytesWritten, bytesWritten);
+        CompressionDecoder decoder = new CompressionDecoder(bytesRead, rawBytesRead);
+        encoder.setChannel(channel).handlerAdded();
+        decoder.setChannel(channel).handlerAdded();
+
+        verify(channel).addCloseListener(encoder);
+        verify(channel).addCloseListener(decoder);
+
+        encoder.onClose(channel);
+        decoder.onClose(channel);
+
+        assertReleased(encoder, decoder);
+    }
+
+    @Test
+    public void whenChannelClosedBeforeHandlersAdded_thenCompressionResourcesReleased() throws Exception {
+        Channel channel = mockChannel(true);
+        CompressionEncoder encoder = new CompressionEncoder(THRESHOLD, rawBytesWritten, bytesWritten);
+        CompressionDecoder decoder = new CompressionDecoder(bytesRead, rawBytesRead);
+        encoder.setChannel(channel).handlerAdded();
+        decoder.setChannel(channel).handlerAdded();
+
+        assertReleased(encoder, decoder);
+    }
+
+    @Test
+    public void whenChannelClosedWhileCompressing_thenFramesWrittenAsIs() throws Exception {
+        Channel channel = mockChannel(false);
+        CompressionEncoder encoder = new CompressionEncoder(THRESHOLD, rawBytesWritten, bytesWritten);
+        encoder.setChannel(channel).handlerAdded();
+        byte[] bytes = compressible(10 * MAX_FRAME_LENGTH);
+        ByteBuffer dst = ByteBuffer.allocate(HEADER_LENGTH + MAX_FRAME_LENGTH);
+        encoder.dst(dst);
+
+        // the close listeners run on another thread than the IO thread writing the frames
+        Future closer = spawn(() -> encoder.onClose(channel));
+        while (!closer.isDone()) {
+            encoder.src(ByteBuffer.wrap(bytes));
+            writeAll(encoder, dst);
+        }
+        closer.get();
+
+        long written = bytesWritten.get();
+        encoder.src(ByteBuffer.wrap(bytes));
+        writeAll(encoder, dst);
+        assertEquals(bytes.length + 10 * HEADER_LENGTH, bytesWritten.get() - written);
+    }
+
+    /**
+     * A released deflater isn't used anymore, so the encoder writes the
+     * frames as is, and a released inflater drops the deflated frames.
+     */
+    private void assertReleased(CompressionEncoder encoder, CompressionDecoder decoder) throws Exception {
+        byte[] bytes = compressible(1000);
+        ByteBuffer frame = ByteBuffer.allocate(2000);
+        frame.flip();
+        encoder.src(ByteBuffer.wrap(bytes));
+        encoder.dst(frame);
+        encoder.onWrite();
+        assertEquals(bytes.length + HEADER_LENGTH, frame.remaining());
+
+        // a deflated frame written by a live encoder
+        CompressionEncoder liveEncoder = new CompressionEncoder(THRESHOLD, rawBytesWritten, bytesWritten);
+        frame.clear().flip();
+        liveEncoder.src(ByteBuffer.wrap(bytes));
+        liveEncoder.dst(frame);
+        liveEncoder.onWrite();
+        assertTrue(frame.remaining() < bytes.length);
+
+        ByteBuffer decoderSrc = ByteBuffer.allocate(2000);
+        ByteBuffer decoderDst = ByteBuffer.allocate(2000);
+        CompressionEncoder.copy(frame, decoderSrc);
+        decoder.src(decoderSrc);
+        decoder.dst(decoderDst);
+        decoder.onRead();
+        assertEquals(0, decoderDst.position());
+    }
+
+    /**
+     * Writes the src of the encoder completely, discarding the frames.
+     */
+    private static void writeAll(CompressionEncoder encoder, ByteBuffer dst) {
+        do {
+            dst.clear().flip();
+        } while (encoder.onWrite() != CLEAN);
+    }
+
+    private static Channel mockChannel(boolean closed) {
+        ChannelOptions options = mock(ChannelOptions.class);
+        when(options.getOption(SO_SNDBUF)).thenReturn(1000);
+        when(options.getOption(SO_RCVBUF)).thenReturn(1000);
+        when(options.getOption(DIRECT_BUF)).thenReturn(false);
+        Channel channel = mock(Channel.class);
+        when(channel.options()).thenReturn(options);
+        when(channel.isClosed()).thenReturn(closed);
+        return channel;
+    }
+
+    private void assertCounters(int length) {
+        assertEquals(length, rawBytesWritten.get());
+        assertEquals(length, rawBytesRead.get());
+        assertEquals(bytesWritten.get(), bytesRead.get());
+    }
+
+    private static byte[] compressible(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + i % 7);
+        }
+        return bytes;
+    }
+
+    /**
+     * Passes the bytes through the encoder and the decoder, using buffers
+     * of the given size between them.
+     */
+    private byte[] roundTrip(byte[] bytes, int bufferSize) {
+        CompressionEncoder encoder = new CompressionEncoder(THRESHOLD, rawBytesWritten, bytesWritten);
+        CompressionDecoder decoder = new CompressionDecoder(bytesRead, rawBytesRead);
+
+        ByteBuffer encoderDst = ByteBuffer.allocate(bufferSize);
+        encoderDst.flip();
+        encoder.src(ByteBuffer.wrap(bytes));
+        encoder.dst(encoderDst);
+
+        ByteBuffer decoderSrc = ByteBuffer.allocate(bufferSize);
+        ByteBuffer decoderDst = ByteBuffer.allocate(bufferSize);
+        decoder.src(decoderSrc);
+        decoder.dst(decoderDst);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            while (out.size() < bytes.length) {
+                encoder.onWrite();
+                CompressionEncoder.copy(encoderDst, decoderSrc);
+
+                decoder.onRead();
+                decoderDst.flip();
+                out.write(decoderDst.array(), decoderDst.position(), decoderDst.remaining());
+                decoderDst.clear();
+            }
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        return out.toByteArray();
+    }
+}
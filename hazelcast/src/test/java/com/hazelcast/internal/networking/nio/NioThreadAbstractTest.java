@@ -35,11 +35,15 @@ import java.nio.channels.spi.SelectorProvider;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
@@ -174,12 +178,106 @@ public abstract class NioThreadAbstractTest extends HazelcastTestSupport {
         verify(errorHandler).onError((Channel) isNull(), any(OutOfMemoryError.class));
     }
 
+    @Test
+    public void whenTaskAddedWhileSelectorBlocked_thenTaskRunsPromptly() {
+        startThread();
+        waitUntilSelectorBlocked();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        thread.addTaskAndWakeup(latch::countDown);
+
+        assertRunsPromptly(latch);
+    }
+
+    @Test
+    public void whenTaskAddedRightBeforeSelectorBlocks_thenTaskRunsPromptly() {
+        // the NioThread has checked the task queue, but it hasn't blocked on the selector yet
+        CountDownLatch latch = new CountDownLatch(1);
+        selector.beforeSelect.set(() -> thread.addTaskAndWakeup(latch::countDown));
+        startThread();
+
+        assertRunsPromptly(latch);
+    }
+
+    @Test
+    public void whenTaskAddedRightAfterSelectorUnblocks_thenTaskRunsPromptly() {
+        // the NioThread has returned from the selector, but it hasn't reset the wakeup flag yet
+        CountDownLatch latch = new CountDownLatch(1);
+        selector.afterSelect.set(() -> thread.addTaskAndWakeup(latch::countDown));
+        startThread();
+        selector.wakeup();
+
+        assertRunsPromptly(latch);
+    }
+
+    @Test
+    public void whenTaskAddedWhileTasksProcessed_thenTaskRunsPromptly() {
+        startThread();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        thread.addTaskAndWakeup(() -> thread.addTaskAndWakeup(latch::countDown));
+
+        assertRunsPromptly(latch);
+    }
+
+    @Test
+    public void whenTaskAddedWhileSelectorBlocked_thenWakeupCounted() {
+        startThread();
+
+        for (int i = 1; i <= 3; i++) {
+            waitUntilSelectorBlocked();
+            CountDownLatch latch = new CountDownLatch(1);
+            thread.addTaskAndWakeup(latch::countDown);
+            assertRunsPromptly(latch);
+
+            assertEquals(selectorMode() == SelectorMode.SELECT_NOW ? 0 : i, thread.wakeupCount());
+            assertEquals(thread.wakeupCount(), selector.wakeupCount.get());
+        }
+    }
+
+    @Test
+    public void whenBurstOfTasksAdded_thenSelectorWokenUpOnce() {
+        int taskCount = 10;
+        CountDownLatch latch = new CountDownLatch(taskCount);
+        // added by the NioThread itself, so it can't run any of them in between
+        selector.beforeSelect.set(() -> {
+            for (int i = 0; i < taskCount; i++) {
+                thread.addTaskAndWakeup(latch::countDown);
+            }
+        });
+        startThread();
+
+        assertRunsPromptly(latch);
+        assertEquals(selectorMode() == SelectorMode.SELECT_NOW ? 0 : 1, thread.wakeupCount());
+        assertEquals(thread.wakeupCount(), selector.wakeupCount.get());
+    }
+
     @Test
     public void testToString() {
         startThread();
         assertEquals(thread.getName(), thread.toString());
     }
 
+    private void waitUntilSelectorBlocked() {
+        if (selectorMode() == SelectorMode.SELECT_NOW) {
+            // never blocks on the selector
+            return;
+        }
+        assertTrueEventually(() -> assertTrue(selector.blocked));
+    }
+
+    /**
+     * Asserts that the task counting down the latch runs well before the NioThread would wake up
+     * from the selector by itself.
+     */
+    private static void assertRunsPromptly(CountDownLatch latch) {
+        try {
+            assertTrue("the task didn't run promptly", latch.await(2, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     public void assertStillRunning() {
         // we verify that the thread is still running by scheduling a selection-key event and checking if the
         // handler is being called.
@@ -200,6 +298,11 @@ public abstract class NioThreadAbstractTest extends HazelcastTestSupport {
 
     class MockSelector extends Selector {
         final BlockingQueue<SelectorAction> actionQueue = new LinkedBlockingQueue<SelectorAction>();
+        // one-off hooks run on the NioThread when it's about to call or has returned from the selector
+        final AtomicReference<Runnable> beforeSelect = new AtomicReference<>();
+        final AtomicReference<Runnable> afterSelect = new AtomicReference<>();
+        final AtomicInteger wakeupCount = new AtomicInteger();
+        volatile boolean blocked;
         Set<SelectionKey> pendingKeys;
 
         void scheduleSelectAction(SelectionKey selectionKey) {
@@ -250,8 +353,16 @@ public abstract class NioThreadAbstractTest extends HazelcastTestSupport {
 
         @Override
         public int select(long timeout) throws IOException {
+            runHook(beforeSelect);
             try {
-                SelectorAction action = actionQueue.poll(timeout, TimeUnit.MILLISECONDS);
+                SelectorAction action;
+                blocked = timeout > 0;
+                try {
+                    action = actionQueue.poll(timeout, TimeUnit.MILLISECONDS);
+                } finally {
+                    blocked = false;
+                }
+                runHook(afterSelect);
                 if (action == null) {
                     // there was a timeout.
                     return 0;
@@ -281,10 +392,18 @@ public abstract class NioThreadAbstractTest extends HazelcastTestSupport {
 
         @Override
         public Selector wakeup() {
+            wakeupCount.incrementAndGet();
             actionQueue.add(new SelectorAction());
             return this;
         }
 
+        private void runHook(AtomicReference<Runnable> hook) {
+            Runnable runnable = hook.getAndSet(null);
+            if (runnable != null) {
+                runnable.run();
+            }
+        }
+
         @Override
         public void close() {
         }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the latency of handing tasks over to a {@link NioThread} blocked
+ * on its selector, either one at a time or in bursts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NioThreadWakeupBenchmark {
+
+    @Param({"SELECT", "SELECT_WITH_FIX"})
+    private SelectorMode selectorMode;
+
+    @Param({"1", "64"})
+    private int burstSize;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final Runnable task = completed::incrementAndGet;
+
+    private NioThread thread;
+    private long added;
+
+    @Setup
+    public void setup() {
+        ILogger logger = Logger.getLogger(NioThreadWakeupBenchmark.class);
+        thread = new NioThread("NioThreadWakeupBenchmark", logger, (channel, error) -> logger.severe(error),
+                selectorMode, null);
+        thread.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        thread.shutdown();
+    }
+
+    @Benchmark
+    public long addTaskAndWakeup() {
+        for (int i = 0; i < burstSize; i++) {
+            thread.addTaskAndWakeup(task);
+        }
+        added += burstSize;
+
+        long done;
+        do {
+            done = completed.get();
+        } while (done < added);
+        return done;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // @formatter:off
+        Options opt = new OptionsBuilder()
+                .include(NioThreadWakeupBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .threads(1)
+                .build();
+        // @formatter:on
+
+        new Runner(opt).run();
+    }
+}
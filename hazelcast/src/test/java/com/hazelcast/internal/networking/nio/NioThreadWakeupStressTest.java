@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.util.concurrent.AdaptiveIdleStrategy;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestThread;
+import com.hazelcast.test.annotation.NightlyTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.channels.Selector;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Adds tasks to a NioThread blocking on a real selector at random moments, so they hit every part
+ * of the window in which the NioThread goes to sleep on and wakes up from the selector. A lost
+ * wakeup leaves a task waiting for the select timeout of 5 seconds.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(NightlyTest.class)
+public class NioThreadWakeupStressTest extends HazelcastTestSupport {
+
+    private static final long DURATION_SECONDS = 30;
+    private static final long MAX_TASK_LATENCY_MILLIS = 1000;
+
+    private final AtomicBoolean stop = new AtomicBoolean();
+    private NioThread thread;
+
+    @After
+    public void tearDown() {
+        if (thread != null) {
+            thread.shutdown();
+        }
+    }
+
+    @Test
+    public void test_select_singleProducer() throws Exception {
+        test(SelectorMode.SELECT, null, 1);
+    }
+
+    @Test
+    public void test_select_multipleProducers() throws Exception {
+        test(SelectorMode.SELECT, null, 4);
+    }
+
+    @Test
+    public void test_selectWithFix_multipleProducers() throws Exception {
+        test(SelectorMode.SELECT_WITH_FIX, null, 4);
+    }
+
+    @Test
+    public void test_select_adaptive_multipleProducers() throws Exception {
+        test(SelectorMode.SELECT, new AdaptiveIdleStrategy(10, 10, MICROSECONDS.toNanos(1), MICROSECONDS.toNanos(100)), 4);
+    }
+
+    private void test(SelectorMode selectorMode, IdleStrategy idleStrategy, int producerCount) throws Exception {
+        thread = new NioThread("nio", Logger.getLogger(NioThread.class), mock(ChannelErrorHandler.class), selectorMode,
+                Selector.open(), idleStrategy);
+        thread.start();
+
+        List<ProducerThread> producers = new LinkedList<>();
+        for (int k = 0; k < producerCount; k++) {
+            ProducerThread producer = new ProducerThread(k);
+            producer.start();
+            producers.add(producer);
+        }
+        sleepAndStop(stop, DURATION_SECONDS);
+
+        long taskCount = 0;
+        for (ProducerThread producer : producers) {
+            producer.assertSucceedsEventually();
+            taskCount += producer.taskCount;
+        }
+        assertTrue(thread.wakeupCount() <= taskCount);
+    }
+
+    class ProducerThread extends TestThread {
+
+        private long taskCount;
+
+        ProducerThread(int id) {
+            super("Producer-" + id);
+        }
+
+        @Override
+        public void doRun() throws Exception {
+            Random random = new Random();
+            while (!stop.get()) {
+                // a random pause so the task gets added at a random moment of the select cycle
+                long pauseNanos = random.nextInt((int) MICROSECONDS.toNanos(200));
+                long end = System.nanoTime() + pauseNanos;
+                while (System.nanoTime() < end) {
+                    // busy spin
+                }
+
+                CountDownLatch latch = new CountDownLatch(1);
+                long startNanos = System.nanoTime();
+                thread.addTaskAndWakeup(latch::countDown);
+                assertTrue(getName() + " task didn't run within " + MAX_TASK_LATENCY_MILLIS + " ms",
+                        latch.await(MAX_TASK_LATENCY_MILLIS, MILLISECONDS));
+                taskCount++;
+
+                if (taskCount % 100000 == 0) {
+                    System.out.println(getName() + " at " + taskCount + ", last latency "
+                            + NANOSECONDS.toMicros(System.nanoTime() - startNanos) + " us");
+                }
+            }
+        }
+    }
+}
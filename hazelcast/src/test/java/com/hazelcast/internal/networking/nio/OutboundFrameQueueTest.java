@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.OutboundFrame;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OutboundFrameQueueTest extends HazelcastTestSupport {
+
+    private final OutboundFrameQueue queue = new OutboundFrameQueue(4);
+
+    @Test
+    public void whenEmpty() {
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.bytesPending());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void whenRingOverflows_thenOrderIsKept() {
+        List<OutboundFrame> frames = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Frame frame = new Frame(i + 1);
+            frames.add(frame);
+            assertTrue(queue.offer(frame));
+        }
+
+        assertEquals(10, queue.size());
+        assertEquals(55, queue.bytesPending());
+        assertEquals(frames, new ArrayList<>(queue));
+
+        // frames offered while the overflow queue isn't empty don't overtake it
+        assertSame(frames.get(0), queue.poll());
+        Frame frame = new Frame(100);
+        frames.add(frame);
+        queue.offer(frame);
+
+        for (int i = 1; i < frames.size(); i++) {
+            assertSame(frames.get(i), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.bytesPending());
+    }
+
+    @Test
+    public void whenOverflowDrained_thenRingIsUsedAgain() {
+        for (int i = 0; i < 6; i++) {
+            queue.offer(new Frame(1));
+        }
+        for (int i = 0; i < 6; i++) {
+            queue.poll();
+        }
+
+        Frame frame = new Frame(1);
+        queue.offer(frame);
+
+        assertFalse(queue.isEmpty());
+        assertEquals(1, queue.size());
+        assertSame(frame, queue.peek());
+        assertSame(frame, queue.poll());
+    }
+
+    private static class Frame implements OutboundFrame {
+        private final int length;
+
+        Frame(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public boolean isUrgent() {
+            return false;
+        }
+
+        @Override
+        public int getFrameLength() {
+            return length;
+        }
+    }
+}
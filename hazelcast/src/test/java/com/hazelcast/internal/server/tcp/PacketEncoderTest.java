@@ -90,6 +90,38 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenGatheringWrites_thenLargePayloadHandedOver() {
+        Packet small = new Packet(serializationService.toBytes("foobar"));
+        Packet large = new Packet(serializationService.toBytes(new byte[PacketEncoder.GATHERING_WRITE_MIN_SIZE]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(small);
+        src.queue.add(large);
+        src.queue.add(small);
+
+        encoder.dst(dst);
+        encoder.src(src);
+        encoder.setGatheringWritesEnabled(true);
+
+        // the large payload is handed over right after its header
+        assertEquals(DIRTY, encoder.onWrite());
+        ByteBuffer payload = encoder.payload();
+        assertEquals(large.totalSize(), payload.remaining());
+
+        ByteBuffer written = ByteBuffer.allocate(dst.remaining() + payload.remaining());
+        written.put(dst).put(payload).flip();
+        PacketIOHelper reader = new PacketIOHelper();
+        assertEquals(small, reader.readFrom(written));
+        assertEquals(large, reader.readFrom(written));
+
+        // once the payload is written, the encoder continues
+        assertEquals(CLEAN, encoder.onWrite());
+        assertEquals(small, reader.readFrom(dst));
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<Packet>();
 
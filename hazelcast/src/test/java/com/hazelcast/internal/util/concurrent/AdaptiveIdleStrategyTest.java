@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveIdleStrategyTest {
+
+    // 2 spins, 2 yields and parks of 1, 2 and 4 nanos, so at most 7 idle rounds
+    private final AdaptiveIdleStrategy strat = new AdaptiveIdleStrategy(2, 2, 1, 4);
+
+    @Test
+    public void test_createAdaptiveIdleStrategy() {
+        AdaptiveIdleStrategy idleStrategy = AdaptiveIdleStrategy.createAdaptiveIdleStrategy("adaptive,1,2,10,15");
+        assertEquals(1, idleStrategy.idleRounds());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_createAdaptiveIdleStrategy_invalidConfig() {
+        AdaptiveIdleStrategy.createAdaptiveIdleStrategy("adaptive,1");
+    }
+
+    @Test
+    public void when_workArrivesBeforeBlocking_then_idleRoundsGrowUpToMax() {
+        long[] expected = {2, 4, 7, 7};
+        for (long rounds : expected) {
+            assertFalse(strat.idle(0));
+            assertEquals(rounds, strat.idleRounds());
+        }
+    }
+
+    @Test
+    public void when_blocking_then_idleRoundsShrink() {
+        // grow to the max first
+        for (int i = 0; i < 3; i++) {
+            strat.idle(0);
+        }
+        assertEquals(7, strat.idleRounds());
+
+        assertEquals(7, idleUntilBlocking());
+        assertEquals(3, idleUntilBlocking());
+        assertEquals(1, idleUntilBlocking());
+        assertEquals(1, idleUntilBlocking());
+
+        // work arriving before blocking makes it grow again
+        strat.idle(0);
+        strat.idle(0);
+        assertEquals(2, strat.idleRounds());
+    }
+
+    // returns the number of rounds idled before the strategy asked to block
+    private long idleUntilBlocking() {
+        for (long n = 0; ; n++) {
+            if (strat.idle(n)) {
+                return n;
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.junit.runners.Parameterized.Parameters;
 
 import java.util.Collection;
 
+import static com.hazelcast.internal.util.concurrent.IdleStrategyTest.StrategyToTest.ADAPTIVE;
 import static com.hazelcast.internal.util.concurrent.IdleStrategyTest.StrategyToTest.BACK_OFF;
 import static com.hazelcast.internal.util.concurrent.IdleStrategyTest.StrategyToTest.BUSY_SPIN;
 import static com.hazelcast.internal.util.concurrent.IdleStrategyTest.StrategyToTest.NO_OP;
@@ -43,7 +44,7 @@ public class IdleStrategyTest {
 
     @Parameters(name = "manyToOne == {0}")
     public static Collection<Object[]> params() {
-        return asList(new Object[][]{{NO_OP}, {BUSY_SPIN}, {BACK_OFF}});
+        return asList(new Object[][]{{NO_OP}, {BUSY_SPIN}, {BACK_OFF}, {ADAPTIVE}});
     }
 
     @Parameter
@@ -71,6 +72,11 @@ public class IdleStrategyTest {
             IdleStrategy create() {
                 return new BackoffIdleStrategy(1, 1, 1, 2);
             }
+        },
+        ADAPTIVE {
+            IdleStrategy create() {
+                return new AdaptiveIdleStrategy(1, 1, 1, 2);
+            }
         };
 
         abstract IdleStrategy create();
@@ -70,6 +70,16 @@ public class MPSCQueueStressTest extends HazelcastTestSupport {
         test(10, new BackoffIdleStrategy(100, 1000, 1000, MILLISECONDS.toNanos(1)));
     }
 
+    @Test
+    public void test_singleProducer_adaptive() throws Exception {
+        test(1, new AdaptiveIdleStrategy(100, 1000, 1000, MILLISECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void test_multipleProducers_adaptive() throws Exception {
+        test(10, new AdaptiveIdleStrategy(100, 1000, 1000, MILLISECONDS.toNanos(1)));
+    }
+
     public void test(int producerCount, IdleStrategy idleStrategy) throws Exception {
         MPSCQueue<Item> queue = new MPSCQueue<Item>(idleStrategy);
         ConsumerThread consumers = new ConsumerThread(queue, producerCount);
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactMapTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void basicOperations() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap(randomMapName());
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals("value42", map.get(42));
+        assertTrue(map.containsKey(42));
+        assertTrue(map.containsValue("value42"));
+
+        assertEquals("value42", map.replace(42, "replaced"));
+        assertEquals("replaced", map.get(42));
+        assertEquals("value43", map.putIfAbsent(43, "ignored"));
+        assertEquals("value44", map.remove(44));
+        assertNull(map.get(44));
+        assertEquals(ENTRY_COUNT - 1, map.size());
+
+        Set<Integer> keys = new HashSet<>();
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            assertTrue(keys.add(entry.getKey()));
+        }
+        assertEquals(ENTRY_COUNT - 1, keys.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void expiration() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap(randomMapName());
+
+        map.put(1, "value", 1, TimeUnit.SECONDS);
+        map.put(2, "value");
+
+        assertTrueEventually(() -> assertFalse(map.containsKey(1)));
+        assertTrue(map.containsKey(2));
+    }
+
+    @Test
+    public void queryAndEntryProcessor_withIndex() {
+        String mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName).addIndexConfig(new IndexConfig(IndexType.SORTED, "this"));
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(10, map.values(Predicates.greaterEqual("this", ENTRY_COUNT - 10)).size());
+
+        Map<Integer, Object> results = map.executeOnEntries(entry -> {
+            entry.setValue(entry.getValue() + ENTRY_COUNT);
+            return true;
+        }, Predicates.lessThan("this", 10));
+
+        assertEquals(10, results.size());
+        assertEquals(ENTRY_COUNT + 5, (int) map.get(5));
+        assertEquals(20, map.values(Predicates.greaterEqual("this", ENTRY_COUNT - 10)).size());
+    }
+
+    @Test
+    public void eviction_withPerPartitionMaxSizePolicy() {
+        String mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName).getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(1);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertTrue(map.size() < ENTRY_COUNT);
+    }
+
+    @Test
+    public void dataSurvives_whenMemberLeaves() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        String mapName = randomMapName();
+        HazelcastInstance hz1 = factory.newHazelcastInstance(getConfig());
+        HazelcastInstance hz2 = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = hz1.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+
+        // migrations to the new member and promotions of the backups of the leaving one
+        HazelcastInstance hz3 = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(hz1, hz2, hz3);
+        hz1.shutdown();
+        waitAllForSafeState(hz2, hz3);
+
+        IMap<Integer, String> remaining = hz3.getMap(mapName);
+        assertEquals(ENTRY_COUNT, remaining.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value" + i, remaining.get(i));
+        }
+    }
+
+    @Test
+    public void statistics() {
+        String mapName = randomMapName();
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+        map.get(1);
+        map.get(1);
+
+        LocalMapStats stats = map.getLocalMapStats();
+        assertEquals(ENTRY_COUNT, stats.getOwnedEntryCount());
+        assertEquals(2, stats.getHits());
+        assertTrue(stats.getHeapCost() > 0);
+        assertEquals(2, map.getEntryView(1).getHits());
+
+        map.put(1, "updated");
+        assertEquals(1, map.getEntryView(1).getVersion());
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void nearCache_notSupported() {
+        String mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName).setNearCacheConfig(new NearCacheConfig().setInMemoryFormat(InMemoryFormat.COMPACT));
+
+        createHazelcastInstance(config).getMap(mapName);
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = smallInstanceConfig();
+        config.addMapConfig(new MapConfig("default").setInMemoryFormat(InMemoryFormat.COMPACT));
+        return config;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapIndexSlicedBuildTest extends HazelcastTestSupport {
+
+    private static final int ENTRIES = 2000;
+
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.PARTITION_COUNT.getName(), "3");
+        config.setProperty(ClusterProperty.INDEX_BUILD_SLICE_SIZE.getName(), "10");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+
+        for (int i = 0; i < ENTRIES; ++i) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void testIndexIsBuilt() {
+        map.addIndex(IndexType.SORTED, "this");
+
+        assertIndexUsed();
+        assertQuery(Predicates.between("this", 100, 199), 100, 199);
+    }
+
+    @Test
+    public void testMutationsDuringBuild() {
+        map.addIndex(IndexType.SORTED, "this");
+        for (int i = 0; i < ENTRIES; i += 2) {
+            map.put(i, -i);
+        }
+        for (int i = 1; i < ENTRIES; i += 4) {
+            map.remove(i);
+        }
+        for (int i = ENTRIES; i < ENTRIES + 100; ++i) {
+            map.put(i, i);
+        }
+
+        assertIndexUsed();
+
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 3; i < ENTRIES; i += 4) {
+            if (i >= 1000) {
+                expected.add(i);
+            }
+        }
+        for (int i = ENTRIES; i < ENTRIES + 100; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, new HashSet<>(map.keySet(Predicates.greaterEqual("this", 1000))));
+
+        assertEquals(ENTRIES / 2, map.keySet(Predicates.lessEqual("this", 0)).size());
+    }
+
+    private void assertIndexUsed() {
+        assertTrueEventually(() -> {
+            long indexedQueryCount = map.getLocalMapStats().getIndexedQueryCount();
+            map.keySet(Predicates.equal("this", 1));
+            assertTrue(map.getLocalMapStats().getIndexedQueryCount() > indexedQueryCount);
+        });
+    }
+
+    private void assertQuery(Predicate<Integer, Integer> predicate, int from, int to) {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = from; i <= to; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, new HashSet<>(map.keySet(predicate)));
+    }
+
+}
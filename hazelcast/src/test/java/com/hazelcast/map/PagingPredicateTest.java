@@ -200,6 +200,75 @@ public class PagingPredicateTest extends HazelcastTestSupport {
         assertEquals(0, values.size());
     }
 
+    @Test
+    public void testNaturalOrderPagingUsingSortedKeyIndex() {
+        map.addIndex(IndexType.SORTED, "__key");
+        Predicate<Integer, Integer> greaterEqual = Predicates.greaterEqual("this", 3);
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(greaterEqual, pageSize);
+
+        predicate.setPage(4);
+        assertIterableEquals(map.keySet(predicate), 23, 24, 25, 26, 27);
+
+        predicate.setPage(0);
+        int expected = 3;
+        Set<Integer> keySet = map.keySet(predicate);
+        while (!keySet.isEmpty()) {
+            for (Integer key : keySet) {
+                assertEquals(expected++, (int) key);
+            }
+            predicate.nextPage();
+            keySet = map.keySet(predicate);
+        }
+        assertEquals(size, expected);
+    }
+
+    @Test
+    public void testNaturalOrderPagingWithDuplicateValuesUsingSortedValueIndex() {
+        map.addIndex(IndexType.SORTED, "this");
+        for (int i = 0; i < size; i++) {
+            map.put(i, i % 10);
+        }
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(pageSize);
+
+        List<Integer> values = new ArrayList<>(size);
+        Collection<Integer> page = map.values(predicate);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= pageSize);
+            values.addAll(page);
+            predicate.nextPage();
+            page = map.values(predicate);
+        }
+
+        assertEquals(size, values.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i / (size / 10), (int) values.get(i));
+        }
+    }
+
+    @Test
+    public void testNaturalOrderPagingWithMixedNumericValuesUsingSortedValueIndex() {
+        IMap<Integer, Number> mixedMap = remote.getMap(randomString());
+        mixedMap.addIndex(IndexType.SORTED, "this");
+        for (int i = 0; i < size; i++) {
+            // equal values of different types end the pages
+            mixedMap.put(i, i % 2 == 0 ? (Number) (i / 2) : (Number) (long) (i / 2));
+        }
+        PagingPredicate<Integer, Number> predicate = Predicates.pagingPredicate(pageSize);
+
+        List<Number> values = new ArrayList<>(size);
+        Collection<Number> page = mixedMap.values(predicate);
+        while (!page.isEmpty()) {
+            values.addAll(page);
+            predicate.nextPage();
+            page = mixedMap.values(predicate);
+        }
+
+        assertEquals(size, values.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i / 2, values.get(i).longValue());
+        }
+    }
+
     @Test
     public void testKeyPaging() {
         map.clear();
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashSet;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpatialIndexTest extends HazelcastTestSupport {
+
+    private IMap<Integer, Location> map;
+    private IMap<Integer, Location> unindexedMap;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("map").addIndexConfig(new IndexConfig(IndexType.SPATIAL, "x", "y"));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        map = instance.getMap("map");
+        unindexedMap = instance.getMap("unindexedMap");
+
+        for (int i = 0; i < 500; ++i) {
+            Double x = i % 50 == 0 ? null : (i % 37 - 18) * 1.5;
+            put(i, new Location(x, i % 23 - 11));
+        }
+    }
+
+    @Test
+    public void testBoxes() {
+        check(and(between("x", -3, 6), between("y", 0, 5)));
+        check(and(between("y", -11, -10), between("x", -27, 27)));
+        check(and(greaterThan("x", 0), lessEqual("y", 0)));
+        check(and(between("x", 0.5, 0.7), between("y", 0, 5)));
+        check(and(between("x", -0.0, 0.0), equal("y", 3)));
+        check(and(between("x", 10, -10), between("y", 0, 5)));
+        check(and(between("x", -100, 100), between("y", -100, 100), equal("x", 3)));
+        check(Predicates.or(and(between("x", 1, 2), between("y", 1, 2)), equal("y", 7)));
+    }
+
+    @Test
+    public void testUpdatesAndRemovals() {
+        for (int i = 0; i < 500; i += 3) {
+            put(i, new Location(i % 2 == 0 ? null : i * 0.25, -i));
+        }
+        for (int i = 1; i < 500; i += 7) {
+            map.remove(i);
+            unindexedMap.remove(i);
+        }
+
+        check(and(between("x", -3, 6), between("y", 0, 5)));
+        check(and(between("x", 0, 100), between("y", -300, -100)));
+    }
+
+    private void put(int key, Location value) {
+        map.put(key, value);
+        unindexedMap.put(key, value);
+    }
+
+    private void check(Predicate<Integer, Location> predicate) {
+        assertEquals(predicate.toString(), new HashSet<>(unindexedMap.keySet(predicate)), new HashSet<>(map.keySet(predicate)));
+    }
+
+    public static class Location implements Serializable {
+
+        private final Double x;
+        private final int y;
+
+        Location(Double x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public Double getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+    }
+
+}
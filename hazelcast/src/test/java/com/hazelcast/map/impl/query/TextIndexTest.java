@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TextIndexTest extends HazelcastTestSupport {
+
+    private static final String[] PATTERNS = {
+            "%foo%", "foo%", "%bar", "%o_b%", "%OBA%", "%%", "%", "_", "f%r", "%50\\%%", "%a\\_b%", "%zzz%", "fo", "foobar",
+    };
+
+    private IMap<Integer, String> map;
+    private IMap<Integer, String> bitmapMap;
+    private IMap<Integer, String> unindexedMap;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("map").addIndexConfig(new IndexConfig(IndexType.TEXT, "this"));
+        config.getMapConfig("bitmapMap")
+                .addIndexConfig(new IndexConfig(IndexType.BITMAP, "this"))
+                .addIndexConfig(new IndexConfig(IndexType.TEXT, "this"));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        map = instance.getMap("map");
+        bitmapMap = instance.getMap("bitmapMap");
+        unindexedMap = instance.getMap("unindexedMap");
+
+        String[] values = {
+                "foobar", "FooBar", "barfoo", "fo", "f", "", "50% off", "50 off", "a_b", "axb", "f\u00f6ob\u00e4r", "foo bar",
+        };
+        for (int i = 0; i < 100; ++i) {
+            put(i, values[i % values.length] + (i % 3 == 0 ? "" : i));
+        }
+    }
+
+    @Test
+    public void testLike() {
+        for (String pattern : PATTERNS) {
+            check(Predicates.like("this", pattern));
+        }
+    }
+
+    @Test
+    public void testILike() {
+        for (String pattern : PATTERNS) {
+            check(Predicates.ilike("this", pattern));
+        }
+    }
+
+    @Test
+    public void testUpdatesAndRemovals() {
+        for (int i = 0; i < 100; i += 2) {
+            put(i, "updated" + i);
+        }
+        for (int i = 1; i < 100; i += 4) {
+            map.remove(i);
+            unindexedMap.remove(i);
+        }
+
+        check(Predicates.like("this", "%date%"));
+        check(Predicates.like("this", "%foo%"));
+        check(Predicates.ilike("this", "%BAR%"));
+    }
+
+    @Test
+    public void testTextAndBitmapIndexesOnSameAttribute() {
+        for (String pattern : PATTERNS) {
+            check(bitmapMap, Predicates.like("this", pattern));
+        }
+        check(bitmapMap, Predicates.equal("this", "foobar"));
+        check(bitmapMap, Predicates.equal("this", "fo1"));
+        check(bitmapMap, Predicates.in("this", "fo", "a_b2", "zzz"));
+        check(bitmapMap, Predicates.notEqual("this", "foobar"));
+    }
+
+    private void put(int key, String value) {
+        map.put(key, value);
+        bitmapMap.put(key, value);
+        unindexedMap.put(key, value);
+    }
+
+    private void check(Predicate<Integer, String> predicate) {
+        check(map, predicate);
+    }
+
+    private void check(IMap<Integer, String> indexedMap, Predicate<Integer, String> predicate) {
+        assertEquals(predicate.toString(), new HashSet<>(unindexedMap.values(predicate)),
+                new HashSet<>(indexedMap.values(predicate)));
+    }
+
+}
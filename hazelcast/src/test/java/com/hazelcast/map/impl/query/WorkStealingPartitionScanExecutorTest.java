@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.internal.util.executor.NamedThreadPoolExecutor;
+import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WorkStealingPartitionScanExecutorTest extends HazelcastTestSupport {
+
+    private static final int ENTRIES = 5000;
+
+    private IMap<Integer, Integer> map;
+    private MapServiceContext mapServiceContext;
+    private InternalSerializationService serializationService;
+    private NamedThreadPoolExecutor pool;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.PARTITION_COUNT.getName(), "3");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRIES; ++i) {
+            map.put(i, i);
+        }
+
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        mapServiceContext = mapService.getMapServiceContext();
+        serializationService = getSerializationService(instance);
+
+        PoolExecutorThreadFactory threadFactory = new PoolExecutorThreadFactory(UUID.randomUUID().toString(),
+                currentThread().getContextClassLoader());
+        pool = new NamedThreadPoolExecutor(UUID.randomUUID().toString(), 2, 2, 100, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(100), threadFactory);
+    }
+
+    @After
+    public void after() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void execute_scansAllSlices() {
+        PartitionScanExecutor executor = executor(new PartitionScanRunner(mapServiceContext));
+
+        assertScan(executor, Predicates.greaterEqual("this", ENTRIES / 2), ENTRIES / 2, ENTRIES);
+        assertScan(executor, Predicates.alwaysTrue(), 0, ENTRIES);
+        assertScan(executor, Predicates.alwaysFalse(), 0, 0);
+    }
+
+    @Test(expected = QueryException.class)
+    public void execute_fail() {
+        PartitionScanRunner runner = new PartitionScanRunner(mapServiceContext) {
+            @Override
+            public MapKeysWithCursor fetchSlice(String mapName, int partitionId, IterationPointer[] pointers, int size) {
+                if (pointers != null) {
+                    throw new QueryException();
+                }
+                return super.fetchSlice(mapName, partitionId, pointers, size);
+            }
+        };
+
+        assertScan(executor(runner), Predicates.alwaysTrue(), 0, ENTRIES);
+    }
+
+    @Test(expected = RetryableHazelcastException.class)
+    public void execute_fail_retryable() {
+        PartitionScanRunner runner = new PartitionScanRunner(mapServiceContext) {
+            @Override
+            public MapKeysWithCursor fetchSlice(String mapName, int partitionId, IterationPointer[] pointers, int size) {
+                if (partitionId == 1) {
+                    throw new RetryableHazelcastException();
+                }
+                return super.fetchSlice(mapName, partitionId, pointers, size);
+            }
+        };
+
+        assertScan(executor(runner), Predicates.alwaysTrue(), 0, ENTRIES);
+    }
+
+    @Test
+    public void execute_timeout() {
+        PartitionScanRunner runner = new PartitionScanRunner(mapServiceContext) {
+            @Override
+            public MapKeysWithCursor fetchSlice(String mapName, int partitionId, IterationPointer[] pointers, int size) {
+                sleepMillis(50);
+                return super.fetchSlice(mapName, partitionId, pointers, size);
+            }
+        };
+        PartitionScanExecutor executor = new WorkStealingPartitionScanExecutor(runner, pool, 100, 16, 0);
+        QueryResult result = new QueryResult(IterationType.KEY, null, serializationService, Long.MAX_VALUE, false);
+
+        // scanning all the slices takes seconds, but the caller has to give up at the timeout
+        long startNanos = System.nanoTime();
+        try {
+            executor.execute(map.getName(), Predicates.alwaysTrue(), asList(0, 1, 2), result);
+            fail("the scan didn't time out");
+        } catch (HazelcastException e) {
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        }
+        assertTrue(NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 3000);
+    }
+
+    private PartitionScanExecutor executor(PartitionScanRunner runner) {
+        // tiny slices and no time budget, so the partitions are split and the workers yield after every slice
+        return new WorkStealingPartitionScanExecutor(runner, pool, 60000, 16, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertScan(PartitionScanExecutor executor, Predicate predicate, int from, int to) {
+        QueryResult result = new QueryResult(IterationType.KEY, null, serializationService, Long.MAX_VALUE, false);
+        executor.execute(map.getName(), predicate, asList(0, 1, 2), result);
+
+        Set<Integer> expected = new HashSet<>();
+        for (int i = from; i < to; ++i) {
+            expected.add(i);
+        }
+        Set<Integer> actual = new HashSet<>();
+        for (QueryResultRow row : result.getRows()) {
+            actual.add(serializationService.toObject(row.getKey()));
+        }
+        assertEquals(expected, actual);
+        assertEquals(to - from, result.getRows().size());
+        assertEquals(3, result.getPartitionIds().size());
+    }
+
+}
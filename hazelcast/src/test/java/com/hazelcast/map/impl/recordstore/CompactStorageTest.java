@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.CompactRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReaderWriter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.HazelcastTestSupport.assertThrows;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactStorageTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private SerializationService ss;
+    private CompactRecordFactory recordFactory;
+    private CompactStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new CompactRecordFactory(new MapConfig().setStatisticsEnabled(false), ss);
+        storage = new CompactStorage(ss, false);
+    }
+
+    @Test
+    public void put_then_get() {
+        Record record = recordFactory.newRecord("value");
+        record.setVersion(3);
+        record.setHits(5);
+        record.setTtl(60000);
+        record.setMaxIdle(30000);
+        record.setCreationTime(System.currentTimeMillis());
+        storage.put(key(1), record);
+
+        Record stored = storage.get(key(1));
+        assertEquals("value", ss.toObject(stored.getValue()));
+        assertEquals(3, stored.getVersion());
+        assertEquals(5, stored.getHits());
+        assertEquals(60000, stored.getTtl());
+        assertEquals(30000, stored.getMaxIdle());
+        assertEquals(record.getCreationTime(), stored.getCreationTime());
+        assertEquals(RecordReaderWriter.DATA_RECORD_READER_WRITER, stored.getMatchingRecordReaderWriter());
+        assertEquals(1, storage.size());
+        assertTrue(storage.containsKey(key(1)));
+        assertNull(storage.get(key(2)));
+    }
+
+    @Test
+    public void expirationTime_isKept_whenStatisticsEnabled() {
+        recordFactory = new CompactRecordFactory(new MapConfig().setStatisticsEnabled(true), ss);
+        storage = new CompactStorage(ss, true);
+        long expirationTime = System.currentTimeMillis() + 60000;
+        Record record = recordFactory.newRecord("value");
+        record.setExpirationTime(expirationTime);
+        storage.put(key(1), record);
+
+        Record stored = storage.get(key(1));
+        assertEquals(record.getExpirationTime(), stored.getExpirationTime());
+        assertEquals(RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER, stored.getMatchingRecordReaderWriter());
+    }
+
+    @Test
+    public void recordStateIsShared_betweenFlyweights() {
+        Record record = recordFactory.newRecord("value");
+        storage.put(key(1), record);
+
+        record.onAccess(System.currentTimeMillis());
+
+        assertEquals(1, storage.get(key(1)).getHits());
+        assertEquals(record, storage.get(key(1)));
+    }
+
+    @Test
+    public void unusedMetadata_takesNoMemory() {
+        putEntries(ENTRY_COUNT);
+        Record record = storage.get(key(0));
+        long costWithoutMetadata = record.getCost();
+
+        record.setTtl(60000);
+
+        assertTrue(record.getCost() > costWithoutMetadata);
+        assertEquals(60000, record.getTtl());
+        assertEquals(0, storage.get(key(1)).getTtl());
+    }
+
+    @Test
+    public void updateRecordValue_replacesValue() {
+        storage.put(key(1), recordFactory.newRecord("value"));
+        long estimate = storage.getEntryCostEstimator().getEstimate();
+
+        storage.updateRecordValue(key(1), storage.get(key(1)), "a much longer value than before");
+
+        assertEquals("a much longer value than before", ss.toObject(storage.get(key(1)).getValue()));
+        assertTrue(storage.getEntryCostEstimator().getEstimate() > estimate);
+    }
+
+    @Test
+    public void put_replacesExistingEntry() {
+        storage.put(key(1), recordFactory.newRecord("value1"));
+        Record previous = storage.get(key(1));
+
+        storage.put(key(1), recordFactory.newRecord("value2"));
+
+        assertEquals(1, storage.size());
+        assertEquals("value2", ss.toObject(storage.get(key(1)).getValue()));
+        // the replaced entry remains readable until the deferred slots are released
+        assertEquals("value1", ss.toObject(previous.getValue()));
+        storage.disposeDeferredBlocks();
+        // then the record follows its key
+        assertEquals("value2", ss.toObject(previous.getValue()));
+    }
+
+    @Test
+    public void recordOfReplacedEntry_followsItsKey_whenSlotIsReused() {
+        storage.put(key(1), recordFactory.newRecord("value1"));
+        Record previous = storage.get(key(1));
+        storage.put(key(1), recordFactory.newRecord("value2"));
+        storage.disposeDeferredBlocks();
+        // reuses the slot of the replaced entry
+        storage.put(key(2), recordFactory.newRecord("value3"));
+        int lastAccessTime = storage.get(key(2)).getRawLastAccessTime();
+
+        previous.onAccessSafe(System.currentTimeMillis() + HOURS.toMillis(1));
+
+        assertEquals("value2", ss.toObject(previous.getValue()));
+        assertEquals(previous.getLastAccessTime(), storage.get(key(1)).getLastAccessTime());
+        assertEquals("value3", ss.toObject(storage.get(key(2)).getValue()));
+        assertEquals(lastAccessTime, storage.get(key(2)).getRawLastAccessTime());
+    }
+
+    @Test
+    public void recordOfRemovedEntry_isDetached_whenSlotIsReused() {
+        storage.put(key(1), recordFactory.newRecord("value1"));
+        Record removed = storage.get(key(1));
+        storage.removeRecord(key(1), removed);
+        storage.disposeDeferredBlocks();
+        // reuses the slot of the removed entry
+        storage.put(key(2), recordFactory.newRecord("value2"));
+        int lastAccessTime = storage.get(key(2)).getRawLastAccessTime();
+
+        removed.onAccessSafe(System.currentTimeMillis() + HOURS.toMillis(1));
+        removed.setVersion(7);
+
+        assertNull(removed.getValue());
+        assertEquals(7, removed.getVersion());
+        Record reused = storage.get(key(2));
+        assertEquals("value2", ss.toObject(reused.getValue()));
+        assertEquals(lastAccessTime, reused.getRawLastAccessTime());
+        assertEquals(0, reused.getVersion());
+    }
+
+    @Test
+    public void statisticsOnlyFields_areUnsupported_whenStatisticsDisabled() {
+        storage.put(key(1), recordFactory.newRecord("value"));
+        Record record = storage.get(key(1));
+
+        UnsupportedOperationException e = assertThrows(UnsupportedOperationException.class, record::getRawExpirationTime);
+        assertEquals("CompactRecord#getRawExpirationTime without statistics", e.getMessage());
+    }
+
+    @Test
+    public void releasedSlots_areReused() {
+        putEntries(ENTRY_COUNT);
+        long estimate = storage.getEntryCostEstimator().getEstimate();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.removeRecord(key(i), storage.get(key(i)));
+        }
+        storage.disposeDeferredBlocks();
+        assertTrue(storage.getEntryCostEstimator().getEstimate() < estimate);
+
+        putEntries(ENTRY_COUNT);
+
+        // the slab has not grown
+        assertEquals(ENTRY_COUNT, storage.size());
+        assertEquals(estimate, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void removeRecord() {
+        putEntries(ENTRY_COUNT);
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            storage.removeRecord(key(i), storage.get(key(i)));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT / 2, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i % 2 != 0, storage.containsKey(key(i)));
+            if (i % 2 != 0) {
+                assertEquals("value" + i, ss.toObject(storage.get(key(i)).getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void clear_keepsObtainedRecordsReadable() {
+        putEntries(ENTRY_COUNT);
+        Record record = storage.get(key(1));
+        long estimate = storage.getEntryCostEstimator().getEstimate();
+
+        storage.clear(false);
+
+        assertTrue(storage.isEmpty());
+        assertFalse(storage.containsKey(key(1)));
+        assertEquals("value1", ss.toObject(record.getValue()));
+        assertTrue(storage.getEntryCostEstimator().getEstimate() < estimate);
+    }
+
+    @Test
+    public void mutationTolerantIterator_toleratesRemovals() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            int key = ss.toObject(entry.getKey());
+            assertEquals("value" + key, ss.toObject(entry.getValue().getValue()));
+            assertTrue(seen.add(key));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+            storage.disposeDeferredBlocks();
+        }
+
+        assertEquals(ENTRY_COUNT, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void fetchKeys_returnsEveryKeyOnce() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Integer> seen = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor cursor = storage.fetchKeys(pointers, 100);
+            for (Data key : cursor.getBatch()) {
+                assertTrue(seen.add(ss.toObject(key)));
+            }
+            pointers = cursor.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(ENTRY_COUNT, seen.size());
+    }
+
+    @Test
+    public void fetchEntries_returnsEveryRemainingEntryOnce_whenMutatedDuringIteration() {
+        putEntries(ENTRY_COUNT);
+
+        Map<Integer, String> seen = new HashMap<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        int extraKey = ENTRY_COUNT;
+        do {
+            MapEntriesWithCursor cursor = storage.fetchEntries(pointers, 100);
+            for (Map.Entry<Data, Data> entry : cursor.getBatch()) {
+                int key = ss.toObject(entry.getKey());
+                if (key < ENTRY_COUNT) {
+                    assertNull(seen.put(key, ss.toObject(entry.getValue())));
+                }
+            }
+            pointers = cursor.getIterationPointers();
+            // remove and add entries between the batches, so that slots are released and reused
+            for (int i = 0; i < 10; i++) {
+                Data removedKey = key(extraKey - ENTRY_COUNT / 2);
+                storage.removeRecord(removedKey, storage.get(removedKey));
+                storage.disposeDeferredBlocks();
+                storage.put(key(extraKey), recordFactory.newRecord("value" + extraKey));
+                extraKey++;
+            }
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (storage.containsKey(key(i))) {
+                assertEquals("value" + i, seen.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void getRandomSamples() {
+        putEntries(ENTRY_COUNT);
+
+        int sampleCount = 0;
+        for (Object sample : storage.getRandomSamples(15)) {
+            LazyEvictableEntryView entryView = (LazyEvictableEntryView) sample;
+            Data key = storage.extractDataKeyFromLazy(entryView);
+            assertTrue(storage.containsKey(key));
+            assertSame(key, storage.extractDataKeyFromLazy(entryView));
+            sampleCount++;
+        }
+
+        assertTrue(sampleCount >= 15);
+        assertFalse(storage.getRandomSamples(0).iterator().hasNext());
+    }
+
+    private void putEntries(int count) {
+        for (int i = 0; i < count; i++) {
+            storage.put(key(i), recordFactory.newRecord("value" + i));
+        }
+    }
+
+    private Data key(int i) {
+        return ss.toData(i);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.impl.TestIgnoreRuleAccordingToUnsafeAvailability;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Rule
+    public final TestRule ignoreRule = new TestIgnoreRuleAccordingToUnsafeAvailability();
+
+    private SerializationService ss;
+    private OffHeapRecordFactory recordFactory;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new OffHeapRecordFactory(ss);
+        storage = new OffHeapStorage(ss);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+        assertEquals(0, storage.getUsedMemory());
+    }
+
+    @Test
+    public void put_then_get() {
+        Record record = recordFactory.newRecord("value");
+        record.setVersion(3);
+        record.setHits(5);
+        record.setTtl(60000);
+        record.setMaxIdle(30000);
+        record.setCreationTime(System.currentTimeMillis());
+        storage.put(key(1), record);
+
+        Record stored = storage.get(key(1));
+        assertEquals("value", ss.toObject(stored.getValue()));
+        assertEquals(3, stored.getVersion());
+        assertEquals(5, stored.getHits());
+        assertEquals(60000, stored.getTtl());
+        assertEquals(30000, stored.getMaxIdle());
+        assertEquals(record.getCreationTime(), stored.getCreationTime());
+        assertEquals(1, storage.size());
+        assertTrue(storage.containsKey(key(1)));
+        assertNull(storage.get(key(2)));
+    }
+
+    @Test
+    public void recordStateIsShared_betweenFlyweights() {
+        Record record = recordFactory.newRecord("value");
+        storage.put(key(1), record);
+
+        record.onAccess(System.currentTimeMillis());
+
+        assertEquals(1, storage.get(key(1)).getHits());
+    }
+
+    @Test
+    public void updateRecordValue_replacesValue() {
+        storage.put(key(1), recordFactory.newRecord("value"));
+
+        storage.updateRecordValue(key(1), storage.get(key(1)), "a much longer value than before");
+
+        assertEquals("a much longer value than before", ss.toObject(storage.get(key(1)).getValue()));
+    }
+
+    @Test
+    public void put_replacesExistingEntry() {
+        storage.put(key(1), recordFactory.newRecord("value1"));
+        Record previous = storage.get(key(1));
+
+        storage.put(key(1), recordFactory.newRecord("value2"));
+
+        assertEquals(1, storage.size());
+        assertEquals("value2", ss.toObject(storage.get(key(1)).getValue()));
+        // the replaced entry remains readable until the deferred blocks are disposed
+        assertEquals("value1", ss.toObject(previous.getValue()));
+        storage.disposeDeferredBlocks();
+    }
+
+    @Test
+    public void removeRecord() {
+        putEntries(ENTRY_COUNT);
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            storage.removeRecord(key(i), storage.get(key(i)));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT / 2, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i % 2 != 0, storage.containsKey(key(i)));
+        }
+    }
+
+    @Test
+    public void clear_freesEntries() {
+        putEntries(ENTRY_COUNT);
+        long usedMemory = storage.getUsedMemory();
+
+        storage.clear(false);
+
+        assertTrue(storage.isEmpty());
+        assertTrue(storage.getUsedMemory() < usedMemory);
+        assertEquals(storage.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void mutationTolerantIterator_toleratesRemovals() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            int key = ss.toObject(entry.getKey());
+            assertEquals("value" + key, ss.toObject(entry.getValue().getValue()));
+            assertTrue(seen.add(key));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+            storage.disposeDeferredBlocks();
+        }
+
+        assertEquals(ENTRY_COUNT, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void fetchKeys_returnsEveryKeyOnce() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Integer> seen = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor cursor = storage.fetchKeys(pointers, 100);
+            for (Data key : cursor.getBatch()) {
+                assertTrue(seen.add(ss.toObject(key)));
+            }
+            pointers = cursor.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(ENTRY_COUNT, seen.size());
+    }
+
+    @Test
+    public void fetchEntries_returnsEveryEntryOnce_whenResizedDuringIteration() {
+        putEntries(ENTRY_COUNT);
+
+        Map<Integer, String> seen = new HashMap<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        int extraKey = ENTRY_COUNT;
+        do {
+            MapEntriesWithCursor cursor = storage.fetchEntries(pointers, 100);
+            for (Map.Entry<Data, Data> entry : cursor.getBatch()) {
+                int key = ss.toObject(entry.getKey());
+                if (key < ENTRY_COUNT) {
+                    assertNull(seen.put(key, ss.toObject(entry.getValue())));
+                }
+            }
+            pointers = cursor.getIterationPointers();
+            // grow the storage between the batches to force resizes
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                storage.put(key(extraKey), recordFactory.newRecord("value" + extraKey));
+                extraKey++;
+            }
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(ENTRY_COUNT, seen.size());
+        for (Map.Entry<Integer, String> entry : seen.entrySet()) {
+            assertEquals("value" + entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Test
+    public void getRandomSamples() {
+        putEntries(ENTRY_COUNT);
+
+        int sampleCount = 0;
+        for (Object sample : storage.getRandomSamples(15)) {
+            Data key = storage.extractDataKeyFromLazy((LazyEvictableEntryView) sample);
+            assertTrue(storage.containsKey(key));
+            sampleCount++;
+        }
+
+        assertTrue(sampleCount >= 15);
+        assertFalse(storage.getRandomSamples(0).iterator().hasNext());
+    }
+
+    private void putEntries(int count) {
+        for (int i = 0; i < count; i++) {
+            storage.put(key(i), recordFactory.newRecord("value" + i));
+        }
+    }
+
+    private Data key(int i) {
+        return ss.toData(i);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.CompositeIndexesBenchmark.Pojo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
+
+/**
+ * Measures the throughput of the puts updating the global indexes shared by
+ * all the partition threads, the throughput is expected to scale with the
+ * partition thread count since the index stores are not locked as a whole
+ * by the updates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(16)
+public class IndexedPutBenchmark {
+
+    private static final int KEY_COUNT = 100000;
+
+    @Param({"1", "2", "4", "8"})
+    int partitionThreadCount;
+
+    IMap<Integer, Pojo> map;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), Integer.toString(partitionThreadCount));
+        MapConfig mapConfig = config.getMapConfig("map");
+
+        mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "f1"));
+        mapConfig.addIndexConfig(new IndexConfig(IndexType.SORTED, "f2"));
+        mapConfig.addIndexConfig(new IndexConfig(IndexType.SORTED, "f3", "f4"));
+
+        this.map = Hazelcast.newHazelcastInstance(config).getMap("map");
+        for (int i = 0; i < KEY_COUNT; ++i) {
+            this.map.put(i, new Pojo(i % 100, i, i % 100, i, 0, 0, 0, 0));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Benchmark
+    public void benchmarkPut() {
+        int key = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+        int value = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+        map.set(key, new Pojo(value % 100, value, value % 100, value, 0, 0, 0, 0));
+    }
+
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestThread;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.config.IndexType.HASH;
+import static com.hazelcast.config.IndexType.SORTED;
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Updates a single-value index store from several threads, the way the
+ * partition threads of a member update a global index, while other threads
+ * query and clear it.
+ */
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BaseSingleValueIndexStoreConcurrencyTest extends HazelcastTestSupport {
+
+    private static final int WRITER_COUNT = 4;
+    private static final int KEYS_PER_WRITER = 64;
+    private static final int UPDATES_PER_WRITER = 50000;
+    private static final int QUERY_THREAD_COUNT = 2;
+    private static final int CLEAR_ROUNDS = 100;
+    private static final int UPDATES_PER_CLEAR_ROUND = 1000;
+
+    /**
+     * The values of the keys are spread over this many buckets. A key is
+     * either moving between {@code bucket} and {@code bucket + BUCKET_COUNT},
+     * rewritten in place with {@code bucket + 2 * BUCKET_COUNT} or stable at
+     * {@code bucket}.
+     */
+    private static final int BUCKET_COUNT = 8;
+    private static final int VALUE_COUNT = 3 * BUCKET_COUNT;
+    private static final int STABLE_KEY_COUNT = 2 * BUCKET_COUNT;
+    private static final int KEY_COUNT = WRITER_COUNT * KEYS_PER_WRITER + STABLE_KEY_COUNT;
+
+    @Parameters(name = "indexType: {0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{{SORTED}, {HASH}});
+    }
+
+    @Parameter
+    public IndexType indexType;
+
+    private BaseSingleValueIndexStore store;
+    private QueryableEntry[] entries;
+    private Integer[][] writerValues;
+
+    @Before
+    public void before() {
+        store = indexType == SORTED
+                ? new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ)
+                : new UnorderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        Extractors extractors = Extractors.newBuilder(ss).build();
+        entries = new QueryableEntry[KEY_COUNT];
+        for (int key = 0; key < KEY_COUNT; ++key) {
+            entries[key] = new QueryEntry(ss, ss.toData(key), key, extractors);
+        }
+        writerValues = new Integer[WRITER_COUNT][KEYS_PER_WRITER];
+    }
+
+    @Test
+    public void testConcurrentUpdatesAndQueries() throws InterruptedException {
+        for (int key = 0; key < KEY_COUNT; ++key) {
+            store.insert(initialValue(key), entries[key], EMPTY);
+        }
+
+        for (int i = 0; i < WRITER_COUNT; ++i) {
+            for (int j = 0; j < KEYS_PER_WRITER; ++j) {
+                writerValues[i][j] = initialValue(STABLE_KEY_COUNT + i * KEYS_PER_WRITER + j);
+            }
+        }
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<TestThread> writers = startWriters(false, UPDATES_PER_WRITER, new AtomicInteger());
+        List<TestThread> queriers = new ArrayList<>(QUERY_THREAD_COUNT);
+        for (int i = 0; i < QUERY_THREAD_COUNT; ++i) {
+            TestThread querier = new TestThread("querier-" + i) {
+                @Override
+                public void doRun() {
+                    Random random = new Random();
+                    while (writing.get()) {
+                        int value = random.nextInt(VALUE_COUNT);
+                        assertRecordsConsistent(value, store.getRecords(value));
+
+                        // each writer has at most one of its entries removed at any moment
+                        long entryCount = store.getEntryCount();
+                        assertTrue("entry count " + entryCount,
+                                entryCount >= KEY_COUNT - WRITER_COUNT && entryCount <= KEY_COUNT);
+                    }
+                }
+            };
+            querier.start();
+            queriers.add(querier);
+        }
+
+        for (TestThread writer : writers) {
+            assertSucceeds(writer);
+        }
+        writing.set(false);
+        for (TestThread querier : queriers) {
+            assertSucceeds(querier);
+        }
+
+        assertEquals(KEY_COUNT, store.getEntryCount());
+        assertEquals(KEY_COUNT, countAllRecords());
+    }
+
+    @Test
+    public void testConcurrentUpdatesAndClear() throws InterruptedException {
+        // A clear resets the entry count, so only a clear racing with the
+        // updates that follow it can leave the count wrong. Run many rounds
+        // having a single clear in the middle of the updates each.
+        for (int round = 0; round < CLEAR_ROUNDS; ++round) {
+            AtomicInteger progress = new AtomicInteger();
+            List<TestThread> writers = startWriters(true, UPDATES_PER_CLEAR_ROUND, progress);
+            TestThread clearer = new TestThread("clearer") {
+                @Override
+                public void doRun() {
+                    while (progress.get() < WRITER_COUNT * UPDATES_PER_CLEAR_ROUND / 2) {
+                        Thread.yield();
+                    }
+                    store.clear();
+                }
+            };
+            clearer.start();
+
+            for (TestThread writer : writers) {
+                assertSucceeds(writer);
+            }
+            assertSucceeds(clearer);
+
+            assertEquals("round " + round, countAllRecords(), store.getEntryCount());
+        }
+    }
+
+    /**
+     * Starts the writers, each writer owns its own keys as a partition
+     * thread owns the keys of its partitions.
+     *
+     * @param insertAndRemove {@code true} if the writers should also insert
+     *                        and remove their keys, {@code false} if they
+     *                        should only update the keys inserted upfront.
+     * @param updateCount     the number of updates performed by each writer.
+     * @param progress        counts the updates performed by all the writers.
+     */
+    private List<TestThread> startWriters(boolean insertAndRemove, int updateCount, AtomicInteger progress) {
+        List<TestThread> writers = new ArrayList<>(WRITER_COUNT);
+        for (int i = 0; i < WRITER_COUNT; ++i) {
+            int firstKey = STABLE_KEY_COUNT + i * KEYS_PER_WRITER;
+            Integer[] values = writerValues[i];
+            TestThread writer = new TestThread("writer-" + i) {
+                @Override
+                public void doRun() {
+                    Random random = new Random();
+                    for (int j = 0; j < updateCount; ++j) {
+                        int index = random.nextInt(KEYS_PER_WRITER);
+                        int key = firstKey + index;
+                        Integer oldValue = values[index];
+                        Integer newValue = nextValue(key, oldValue);
+
+                        // a concurrent clear may have removed the old value already, that's fine
+                        if (oldValue == null) {
+                            store.insert(newValue, entries[key], EMPTY);
+                        } else if (insertAndRemove && random.nextInt(4) == 0) {
+                            store.remove(oldValue, entries[key].getKeyData(), null, EMPTY);
+                            newValue = null;
+                        } else {
+                            store.update(oldValue, newValue, entries[key], EMPTY);
+                        }
+                        values[index] = newValue;
+                        progress.incrementAndGet();
+                    }
+                }
+            };
+            writer.start();
+            writers.add(writer);
+        }
+        return writers;
+    }
+
+    private static void assertSucceeds(TestThread thread) throws InterruptedException {
+        thread.join();
+        assertNull(thread.getName() + " failed: " + thread.getError(), thread.getError());
+    }
+
+    private void assertRecordsConsistent(int value, Set<QueryableEntry> records) {
+        Set<Integer> keys = new HashSet<>();
+        for (QueryableEntry record : records) {
+            int key = (Integer) record.getKey();
+            assertTrue("duplicate key " + key + " for value " + value, keys.add(key));
+            assertTrue("key " + key + " never had value " + value, canHaveValue(key, value));
+        }
+
+        // the stable and the rewritten in place keys are never missing
+        for (int key = 0; key < KEY_COUNT; ++key) {
+            if ((isStable(key) || isRewrittenInPlace(key)) && initialValue(key) == value) {
+                assertTrue("key " + key + " is missing for value " + value, keys.contains(key));
+            }
+        }
+    }
+
+    private int countAllRecords() {
+        int count = 0;
+        for (int value = 0; value < VALUE_COUNT; ++value) {
+            count += store.getRecords(value).size();
+        }
+        return count;
+    }
+
+    private static boolean isStable(int key) {
+        return key < STABLE_KEY_COUNT;
+    }
+
+    private static boolean isRewrittenInPlace(int key) {
+        return !isStable(key) && key % 2 == 1;
+    }
+
+    private static int bucket(int key) {
+        return key % BUCKET_COUNT;
+    }
+
+    private static int initialValue(int key) {
+        return isRewrittenInPlace(key) ? bucket(key) + 2 * BUCKET_COUNT : bucket(key);
+    }
+
+    private static Integer nextValue(int key, Integer oldValue) {
+        if (oldValue == null || isRewrittenInPlace(key)) {
+            return initialValue(key);
+        }
+        return oldValue == bucket(key) ? bucket(key) + BUCKET_COUNT : bucket(key);
+    }
+
+    private static boolean canHaveValue(int key, int value) {
+        if (isStable(key) || isRewrittenInPlace(key)) {
+            return value == initialValue(key);
+        }
+        return value == bucket(key) || value == bucket(key) + BUCKET_COUNT;
+    }
+
+}
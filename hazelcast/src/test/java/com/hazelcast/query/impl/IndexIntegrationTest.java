@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
@@ -34,6 +35,7 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projections;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.PredicateBuilder.EntryObject;
 import com.hazelcast.query.Predicates;
@@ -56,6 +58,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.test.Accessors.getNode;
 import static org.hamcrest.Matchers.hasSize;
@@ -218,6 +221,33 @@ public class IndexIntegrationTest extends HazelcastTestSupport {
         assertThat(values, hasSize(1));
     }
 
+    @Test
+    public void projectionQuery_whenAttributesAreIncluded_thenValuesAreNotDeserialized() {
+        IndexConfig indexConfig = new IndexConfig(IndexType.SORTED, "count").addIncludedAttribute("name");
+
+        MapConfig mapConfig = new MapConfig("map");
+        mapConfig.setCacheDeserializedValues(CacheDeserializedValues.NEVER);
+        mapConfig.addIndexConfig(indexConfig);
+
+        Config config = new Config();
+        config.addMapConfig(mapConfig);
+
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, CountingValue> map = instance.getMap("map");
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, new CountingValue("value" + i, i));
+        }
+
+        CountingValue.DESERIALIZATIONS.set(0);
+        Collection<Object[]> result = map.project(Projections.multiAttribute("count", "name"), Predicates.greaterEqual("count", 5));
+
+        assertThat(result, hasSize(5));
+        for (Object[] row : result) {
+            assertEquals("value" + row[0], row[1]);
+        }
+        assertEquals(0, CountingValue.DESERIALIZATIONS.get());
+    }
+
     private static List<Index> getIndexOfAttributeForMap(HazelcastInstance instance, String mapName, String attribute) {
         Node node = getNode(instance);
         MapService service = node.nodeEngine.getService(MapService.SERVICE_NAME);
@@ -341,6 +371,35 @@ public class IndexIntegrationTest extends HazelcastTestSupport {
         }
     }
 
+    static class CountingValue implements DataSerializable {
+
+        static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+        String name;
+        int count;
+
+        CountingValue() {
+        }
+
+        CountingValue(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(name);
+            out.writeInt(count);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            DESERIALIZATIONS.incrementAndGet();
+            name = in.readUTF();
+            count = in.readInt();
+        }
+    }
+
     static class DummyLoader implements MapLoader<String, Trade> {
 
         long amount;
@@ -54,6 +54,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -63,6 +64,7 @@ import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Parameterized.class)
 @UseParametersRunnerFactory(HazelcastSerialParametersRunnerFactory.class)
@@ -93,6 +95,94 @@ public class IndexTest {
         testIt(false);
     }
 
+    @Test
+    public void testRecordIterators() {
+        testRecordIterators(true);
+        testRecordIterators(false);
+    }
+
+    private void testRecordIterators(boolean ordered) {
+        IndexType type = ordered ? IndexType.SORTED : IndexType.HASH;
+        IndexConfig config = IndexUtils.createTestIndexConfig(type, QueryConstants.THIS_ATTRIBUTE_NAME.value());
+        IndexImpl index = new IndexImpl(config, ss, newExtractor(), copyBehavior, PerIndexStats.EMPTY);
+
+        assertEquals(0, toSet(index.getRecordIterator(0L)).size());
+
+        for (long i = 0; i < 100; ++i) {
+            index.putEntry(newRecord(i, i % 10), null, Index.OperationSource.USER);
+        }
+
+        assertEquals(index.getRecords(5L), toSet(index.getRecordIterator(5L)));
+        assertEquals(index.getRecords(Comparison.LESS, 5L), toSet(index.getRecordIterator(Comparison.LESS, 5L)));
+        assertEquals(index.getRecords(Comparison.GREATER_OR_EQUAL, 5L),
+                toSet(index.getRecordIterator(Comparison.GREATER_OR_EQUAL, 5L)));
+        assertEquals(index.getRecords(2L, true, 7L, false), toSet(index.getRecordIterator(2L, true, 7L, false)));
+        assertEquals(10, toSet(index.getRecordIterator(5L, true, 5L, true)).size());
+        assertEquals(0, toSet(index.getRecordIterator(5L, false, 5L, true)).size());
+        assertEquals(0, toSet(index.getRecordIterator(7L, true, 2L, true)).size());
+
+        if (ordered) {
+            // ordered indexes produce the entries in the order of the attribute values
+            long previous = Long.MIN_VALUE;
+            Iterator<QueryableEntry> iterator = index.getRecordIterator(Comparison.GREATER, 0L);
+            while (iterator.hasNext()) {
+                long current = (Long) iterator.next().getValue();
+                assertTrue(current >= previous);
+                previous = current;
+            }
+        }
+    }
+
+    @Test
+    public void testCardinalityEstimations() {
+        testCardinalityEstimations(true);
+        testCardinalityEstimations(false);
+    }
+
+    private void testCardinalityEstimations(boolean ordered) {
+        IndexType type = ordered ? IndexType.SORTED : IndexType.HASH;
+        IndexConfig config = IndexUtils.createTestIndexConfig(type, QueryConstants.THIS_ATTRIBUTE_NAME.value());
+        IndexImpl index = new IndexImpl(config, ss, newExtractor(), copyBehavior, PerIndexStats.EMPTY);
+
+        assertEquals(0, index.estimateCardinality(5L));
+        assertEquals(0, index.estimateCardinality(Comparison.GREATER, 5L));
+
+        for (long i = 0; i < 1000; ++i) {
+            index.putEntry(newRecord(i, i % 100), null, Index.OperationSource.USER);
+        }
+
+        // the per-value cardinalities are exact
+        assertEquals(10, index.estimateCardinality(5L));
+        assertEquals(0, index.estimateCardinality(500L));
+        assertEquals(10, index.estimateCardinality(5L, true, 5L, true));
+        assertEquals(0, index.estimateCardinality(5L, false, 5L, true));
+
+        if (ordered) {
+            // narrow ranges are counted exactly, wide ones are interpolated
+            assertEquals(50, index.estimateCardinality(2L, true, 7L, false));
+            assertEquals(50, index.estimateCardinality(Comparison.LESS, 5L));
+            long estimation = index.estimateCardinality(Comparison.GREATER_OR_EQUAL, 50L);
+            assertTrue(String.valueOf(estimation), estimation >= 400 && estimation <= 600);
+            assertEquals(0, index.estimateCardinality(7L, true, 2L, true));
+        } else {
+            // unordered indexes have to scan all the values to evaluate a range
+            assertEquals(1000, index.estimateCardinality(2L, true, 7L, false));
+            assertEquals(1000, index.estimateCardinality(Comparison.LESS, 5L));
+        }
+
+        index.clear();
+        assertEquals(0, index.estimateCardinality(5L));
+        assertEquals(0, index.estimateCardinality(Comparison.GREATER, 5L));
+    }
+
+    private static Set<QueryableEntry> toSet(Iterator<QueryableEntry> iterator) {
+        Set<QueryableEntry> result = new HashSet<QueryableEntry>();
+        while (iterator.hasNext()) {
+            assertTrue(result.add(iterator.next()));
+        }
+        return result;
+    }
+
     private QueryRecord newRecord(Object key, final Comparable attributeValue) {
         return new QueryRecord(toData(key), attributeValue);
     }
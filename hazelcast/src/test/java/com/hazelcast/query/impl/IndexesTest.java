@@ -29,6 +29,7 @@ import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
 import com.hazelcast.query.impl.predicates.SqlPredicate;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -237,4 +238,35 @@ public class IndexesTest {
         assertNull(matched);
     }
 
+    @Test
+    public void testTextAndBitmapIndexesOnSameAttribute_textFirst() {
+        Indexes indexes = Indexes.newBuilder(serializationService, copyBehavior).build();
+
+        Index textIndex = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.TEXT, "a"), null);
+        Index bitmapIndex = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.BITMAP, "a"), null);
+
+        assertTextAndBitmapMatched(indexes, textIndex, bitmapIndex);
+    }
+
+    @Test
+    public void testTextAndBitmapIndexesOnSameAttribute_bitmapFirst() {
+        Indexes indexes = Indexes.newBuilder(serializationService, copyBehavior).build();
+
+        Index bitmapIndex = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.BITMAP, "a"), null);
+        Index textIndex = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.TEXT, "a"), null);
+
+        assertTextAndBitmapMatched(indexes, textIndex, bitmapIndex);
+    }
+
+    private static void assertTextAndBitmapMatched(Indexes indexes, Index textIndex, Index bitmapIndex) {
+        Index matched = indexes.matchIndex("a", LikePredicate.class, IndexMatchHint.PREFER_UNORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        assertSame(textIndex, matched);
+        matched = indexes.matchIndex("a", EqualPredicate.class, IndexMatchHint.PREFER_UNORDERED, SKIP_PARTITIONS_COUNT_CHECK);
+        assertSame(bitmapIndex, matched);
+        matched = indexes.matchIndex("a", GreaterLessPredicate.class, IndexMatchHint.PREFER_UNORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        assertNull(matched);
+    }
+
 }
@@ -17,6 +17,8 @@
 package com.hazelcast.query.impl;
 
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -32,11 +34,15 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class OrResultSetTest extends HazelcastTestSupport {
 
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private int nextKey;
+
     @Test
     public void size() {
         int size = 100000;
@@ -58,6 +64,54 @@ public class OrResultSetTest extends HazelcastTestSupport {
         assertEquals(2 * size, sizeMethod);
     }
 
+    @Test
+    public void iterator_overlappingResults() {
+        Set<QueryableEntry> entries1 = generateEntries(100);
+        Set<QueryableEntry> entries2 = generateEntries(100);
+        entries2.addAll(entries1);
+        List<Set<QueryableEntry>> indexedResults = new ArrayList<Set<QueryableEntry>>();
+        indexedResults.add(entries1);
+        indexedResults.add(entries2);
+
+        OrResultSet resultSet = new OrResultSet(indexedResults);
+
+        Set<QueryableEntry> iterated = new HashSet<QueryableEntry>();
+        for (QueryableEntry queryableEntry : resultSet) {
+            assertTrue(iterated.add(queryableEntry));
+        }
+
+        assertEquals(entries2, iterated);
+        assertEquals(200, resultSet.size());
+    }
+
+    @Test
+    public void iterator_overlappingResultsHavingDistinctEntryInstances() {
+        // the indexes copy their entries, so each result has its own instances
+        Set<QueryableEntry> entries1 = generateEntries(100);
+        Set<QueryableEntry> entries2 = generateEntries(100);
+        Set<QueryableEntry> entries3 = generateEntries(100);
+        for (QueryableEntry entry : entries1) {
+            entries2.add(new DummyEntry(entry.getKeyData()));
+        }
+        for (QueryableEntry entry : entries2) {
+            entries3.add(new DummyEntry(entry.getKeyData()));
+        }
+        List<Set<QueryableEntry>> indexedResults = new ArrayList<Set<QueryableEntry>>();
+        indexedResults.add(entries1);
+        indexedResults.add(entries2);
+        indexedResults.add(entries3);
+
+        OrResultSet resultSet = new OrResultSet(indexedResults);
+
+        Set<Data> iteratedKeys = new HashSet<Data>();
+        for (QueryableEntry queryableEntry : resultSet) {
+            assertTrue(iteratedKeys.add(queryableEntry.getKeyData()));
+        }
+
+        assertEquals(300, iteratedKeys.size());
+        assertEquals(300, resultSet.size());
+    }
+
     @Test
     public void contains() {
         int size = 100000;
@@ -87,6 +141,17 @@ public class OrResultSetTest extends HazelcastTestSupport {
     }
 
     private class DummyEntry extends QueryableEntry {
+
+        private final Data keyData;
+
+        DummyEntry() {
+            this.keyData = ss.toData(nextKey++);
+        }
+
+        DummyEntry(Data keyData) {
+            this.keyData = keyData;
+        }
+
         @Override
         public Object getValue() {
             return null;
@@ -114,7 +179,7 @@ public class OrResultSetTest extends HazelcastTestSupport {
 
         @Override
         public Data getKeyData() {
-            return null;
+            return keyData;
         }
 
         @Override
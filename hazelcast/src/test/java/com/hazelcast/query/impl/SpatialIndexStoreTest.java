@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.lessThan;
+import static com.hazelcast.query.impl.TypeConverters.IDENTITY_CONVERTER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpatialIndexStoreTest {
+
+    private final Random random = new Random();
+
+    private InternalSerializationService ss;
+    private Extractors extractors;
+    private SpatialIndexStore store;
+
+    /**
+     * The entries currently in the store, the expected results are computed
+     * by evaluating the predicates against them directly.
+     */
+    private Map<Integer, QueryableEntry> entries;
+
+    @Before
+    public void before() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        extractors = Extractors.newBuilder(ss).build();
+        store = new SpatialIndexStore();
+        entries = new HashMap<>();
+    }
+
+    @Test
+    public void testNegativeCoordinates() {
+        for (int key = 0; key < 500; ++key) {
+            put(key, -random.nextDouble() * 100, -random.nextDouble() * 100);
+        }
+
+        check(and(between("x", -50, -10), between("y", -90, -40)));
+        check(and(between("x", -100, -99), between("y", -100, 0)));
+        check(and(greaterThan("x", -20), lessThan("y", -80)));
+        check(and(between("x", -1e-3, -1e-9), between("y", -100, 0)));
+        check(and(between("x", 10, 50), between("y", -100, 0)));
+        check(and(between("x", -10, -50), between("y", -100, 0)));
+    }
+
+    @Test
+    public void testMixedIntAndDoubleCoordinates() {
+        for (int key = 0; key < 500; ++key) {
+            int x = random.nextInt(41) - 20;
+            int y = random.nextInt(41) - 20;
+            switch (key % 4) {
+                case 0:
+                    put(key, x, y);
+                    break;
+                case 1:
+                    put(key, (double) x, (double) y);
+                    break;
+                case 2:
+                    put(key, (long) x, (float) y);
+                    break;
+                default:
+                    put(key, x + 0.25, y - 0.25);
+                    break;
+            }
+        }
+
+        // the bounds are integral, so they convert to the type of every coordinate exactly
+        check(and(between("x", -5, 5), between("y", -5.0, 5.0)));
+        check(and(between("x", 3.0, 3L), between("y", -20, 20)));
+        check(and(greaterThan("x", 7), lessEqual("y", -7)));
+        check(and(greaterEqual("x", 7.0), lessThan("y", -7L)));
+        check(and(equal("x", 0), equal("y", 0.0)));
+    }
+
+    @Test
+    public void testBoxesCrossingSignBoundary() {
+        for (int key = 0; key < 500; ++key) {
+            put(key, random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+        }
+        put(500, 0.0, 0.0);
+        put(501, -0.0, -0.0);
+        put(502, -0.0, 0.0);
+        put(503, Double.MIN_VALUE, -Double.MIN_VALUE);
+        put(504, -1.0, 1.0);
+        put(505, 1.0, -1.0);
+
+        check(and(between("x", -1, 1), between("y", -1, 1)));
+        check(and(between("x", -0.5, 0.5), between("y", -10, 10)));
+        check(and(between("x", -0.0, 0.0), between("y", -0.0, 0.0)));
+        check(and(between("x", -1e-300, 1e-300), between("y", -1e-300, 1e-300)));
+        check(and(greaterThan("x", -3), lessThan("y", 3)));
+        check(and(greaterThan("x", -0.0), lessEqual("y", 0.0)));
+        check(and(between("x", -10, 10), between("y", -10, 10)));
+        check(and(between("x", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY), between("y", -2, 2)));
+    }
+
+    @Test
+    public void testNullAndNaNCoordinates() {
+        for (int key = 0; key < 100; ++key) {
+            put(key, random.nextInt(21) - 10, random.nextInt(21) - 10);
+        }
+        put(100, null, 1);
+        put(101, 1, null);
+        put(102, null, null);
+        put(103, Double.NaN, 1);
+        put(104, 1, Double.NaN);
+
+        check(and(between("x", -10, 10), between("y", -10, 10)));
+        check(and(between("x", 0, 2), between("y", 0, 2)));
+        check(and(greaterThan("x", 0), lessThan("y", 5)));
+        check(and(equal("x", 1), equal("y", 1)));
+    }
+
+    @Test
+    public void testNonNumericCoordinates() {
+        // a predicate can't compare the values of an attribute having
+        // different types, so every x is a string here
+        for (int key = 0; key < 100; ++key) {
+            put(key, String.valueOf((char) ('a' + random.nextInt(26))), random.nextInt(21) - 10);
+        }
+
+        check(and(between("x", "c", "k"), between("y", -5, 5)));
+        check(and(greaterThan("x", "m"), lessEqual("y", 0)));
+        check(and(equal("x", "a"), between("y", -10, 10)));
+    }
+
+    @Test
+    public void testRemoveAndUpdate() {
+        for (int key = 0; key < 300; ++key) {
+            put(key, random.nextInt(21) - 10, random.nextDouble() * 20 - 10);
+        }
+
+        // move the points across the sign boundary and between the placed and the unplaced ones
+        for (int key = 0; key < 300; key += 3) {
+            Comparable x = key % 2 == 0 ? -(Integer) entryX(key) : null;
+            put(key, x, -random.nextDouble() * 10);
+        }
+        for (int key = 0; key < 300; key += 9) {
+            put(key, (double) key / 30, 1);
+        }
+        for (int key = 1; key < 300; key += 7) {
+            remove(key);
+        }
+
+        check(and(between("x", -10, 10), between("y", -10, 10)));
+        check(and(between("x", -5, 0), between("y", -10, 0)));
+        check(and(between("x", 0, 10), equal("y", 1)));
+
+        // points sharing the coordinates are removed independently
+        put(1000, 3, 3);
+        put(1001, 3.0, 3.0);
+        remove(1000);
+        check(and(equal("x", 3), equal("y", 3)));
+        remove(1001);
+        check(and(equal("x", 3), equal("y", 3)));
+
+        store.clear();
+        entries.clear();
+        check(and(between("x", -10, 10), between("y", -10, 10)));
+    }
+
+    private void put(int key, Comparable x, Comparable y) {
+        QueryableEntry entry = new QueryEntry(ss, ss.toData(key), new Location(x, y), extractors);
+        QueryableEntry oldEntry = entries.put(key, entry);
+        if (oldEntry == null) {
+            store.insert(valueOf(entry), entry, EMPTY);
+        } else {
+            store.update(valueOf(oldEntry), valueOf(entry), entry, EMPTY);
+        }
+    }
+
+    private void remove(int key) {
+        QueryableEntry entry = entries.remove(key);
+        store.remove(valueOf(entry), entry.getKeyData(), entry.getValue(), EMPTY);
+    }
+
+    private Comparable entryX(int key) {
+        return ((Location) entries.get(key).getValue()).getX();
+    }
+
+    private static CompositeValue valueOf(QueryableEntry entry) {
+        Location location = (Location) entry.getValue();
+        return new CompositeValue(new Comparable[]{location.getX(), location.getY()});
+    }
+
+    @SuppressWarnings("unchecked")
+    private void check(Predicate predicate) {
+        Set<Integer> expected = new HashSet<>();
+        for (Map.Entry<Integer, QueryableEntry> entry : entries.entrySet()) {
+            if (predicate.apply(entry.getValue())) {
+                expected.add(entry.getKey());
+            }
+        }
+
+        Set<Integer> actual = new HashSet<>();
+        for (QueryableEntry entry : store.evaluate(predicate, IDENTITY_CONVERTER)) {
+            assertTrue("duplicate " + entry.getKey(), actual.add((Integer) entry.getKey()));
+        }
+
+        assertEquals(predicate.toString(), expected, actual);
+    }
+
+    public static class Location {
+
+        private final Comparable x;
+        private final Comparable y;
+
+        Location(Comparable x, Comparable y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public Comparable getX() {
+            return x;
+        }
+
+        public Comparable getY() {
+            return y;
+        }
+
+    }
+
+}
@@ -42,6 +42,7 @@ import java.util.Random;
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.RAW;
 import static com.hazelcast.query.Predicates.and;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.in;
 import static com.hazelcast.query.Predicates.not;
 import static com.hazelcast.query.Predicates.or;
 
@@ -122,6 +123,28 @@ public class BitmapIndexQueriesBenchmark {
         personsHash.entrySet(or(equal("habits[any]", random.nextInt(DOMAIN)), equal("habits[any]", random.nextInt(DOMAIN))));
     }
 
+    @Benchmark
+    public void bitmapQueriesAnd3() {
+        personsBitmap.entrySet(and(equal("habits[any]", random.nextInt(DOMAIN)), equal("habits[any]", random.nextInt(DOMAIN)),
+                equal("habits[any]", random.nextInt(DOMAIN))));
+    }
+
+    @Benchmark
+    public void hashQueriesAnd3() {
+        personsHash.entrySet(and(equal("habits[any]", random.nextInt(DOMAIN)), equal("habits[any]", random.nextInt(DOMAIN)),
+                equal("habits[any]", random.nextInt(DOMAIN))));
+    }
+
+    @Benchmark
+    public void bitmapQueriesIn() {
+        personsBitmap.entrySet(in("habits[any]", random.nextInt(DOMAIN), random.nextInt(DOMAIN), random.nextInt(DOMAIN)));
+    }
+
+    @Benchmark
+    public void hashQueriesIn() {
+        personsHash.entrySet(in("habits[any]", random.nextInt(DOMAIN), random.nextInt(DOMAIN), random.nextInt(DOMAIN)));
+    }
+
     @Benchmark
     public void bitmapQueriesNot() {
         personsBitmap.entrySet(not(equal("habits[any]", random.nextInt(DOMAIN))));
@@ -38,9 +38,16 @@ public class SparseBitSetIterateBenchmark {
     private static final long MEMBER_MASK = 0x00000000000FFFFFL;
 
     private final SparseBitSet bitSet = new SparseBitSet();
+    private final SparseBitSet otherBitSet = new SparseBitSet();
+    private final SparseBitSet sequentialBitSet = new SparseBitSet();
     private final Roaring64NavigableMap roaringBitmap = new Roaring64NavigableMap();
 
     private AscendingLongIterator iterator;
+    private AscendingLongIterator sequentialIterator;
+    private AscendingLongIterator andIterator;
+    private AscendingLongIterator andChunkedIterator;
+    private AscendingLongIterator orIterator;
+    private AscendingLongIterator orChunkedIterator;
     private LongIterator iteratorRoaring;
 
     @Setup
@@ -52,6 +59,17 @@ public class SparseBitSetIterateBenchmark {
         }
         iterator = bitSet.iterator();
 
+        for (int i = 0; i < SIZE; ++i) {
+            long v = random.nextLong() & MEMBER_MASK;
+            otherBitSet.add(v);
+            sequentialBitSet.add(i);
+        }
+        sequentialIterator = sequentialBitSet.iterator();
+        andIterator = and();
+        andChunkedIterator = andChunked();
+        orIterator = or();
+        orChunkedIterator = orChunked();
+
         random = new Random(404);
         for (int i = 0; i < SIZE; ++i) {
             long v = random.nextLong() & MEMBER_MASK;
@@ -73,6 +91,56 @@ public class SparseBitSetIterateBenchmark {
         return member;
     }
 
+    @Benchmark
+    public long iterateSequential() {
+        long member = sequentialIterator.advance();
+        if (member == AscendingLongIterator.END) {
+            sequentialIterator = sequentialBitSet.iterator();
+            member = sequentialIterator.advance();
+        }
+        return member;
+    }
+
+    @Benchmark
+    public long iterateAnd() {
+        long member = andIterator.advance();
+        if (member == AscendingLongIterator.END) {
+            andIterator = and();
+            member = andIterator.advance();
+        }
+        return member;
+    }
+
+    @Benchmark
+    public long iterateAndChunked() {
+        long member = andChunkedIterator.advance();
+        if (member == AscendingLongIterator.END) {
+            andChunkedIterator = andChunked();
+            member = andChunkedIterator.advance();
+        }
+        return member;
+    }
+
+    @Benchmark
+    public long iterateOr() {
+        long member = orIterator.advance();
+        if (member == AscendingLongIterator.END) {
+            orIterator = or();
+            member = orIterator.advance();
+        }
+        return member;
+    }
+
+    @Benchmark
+    public long iterateOrChunked() {
+        long member = orChunkedIterator.advance();
+        if (member == AscendingLongIterator.END) {
+            orChunkedIterator = orChunked();
+            member = orChunkedIterator.advance();
+        }
+        return member;
+    }
+
     @Benchmark
     public long iterateRoaring() {
         if (!iteratorRoaring.hasNext()) {
@@ -81,6 +149,22 @@ public class SparseBitSetIterateBenchmark {
         return iteratorRoaring.next();
     }
 
+    private AscendingLongIterator and() {
+        return BitmapAlgorithms.and(new AscendingLongIterator[]{bitSet.iterator(), otherBitSet.iterator()});
+    }
+
+    private AscendingLongIterator andChunked() {
+        return SparseBitSet.and(new SparseBitSet[]{bitSet, otherBitSet});
+    }
+
+    private AscendingLongIterator or() {
+        return BitmapAlgorithms.or(new AscendingLongIterator[]{bitSet.iterator(), otherBitSet.iterator()});
+    }
+
+    private AscendingLongIterator orChunked() {
+        return SparseBitSet.or(new SparseBitSet[]{bitSet, otherBitSet});
+    }
+
     public static void main(String[] args) throws RunnerException {
         // @formatter:off
         Options opt = new OptionsBuilder()
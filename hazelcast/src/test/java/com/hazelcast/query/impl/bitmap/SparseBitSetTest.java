@@ -24,11 +24,13 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.util.NavigableSet;
+import java.util.Random;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE;
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_32_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.RUN_STORAGE_16_MAX_SIZE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -264,6 +266,107 @@ public class SparseBitSetTest {
         }
     }
 
+    @Test
+    public void testRunStorage16FragmentationAndDowngrade() {
+        long prefix = ((long) Integer.MAX_VALUE * 2 + 1);
+
+        // upgrade to a run storage
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE * 2; ++i) {
+            set(prefix + i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // split the run until the run storage is downgraded
+        for (long i = 1; i <= RUN_STORAGE_16_MAX_SIZE + 10; ++i) {
+            clear(prefix + i * 3);
+            verify();
+        }
+        verifyAdvanceAtLeastTo();
+
+        // join the runs back
+        for (long i = 1; i <= RUN_STORAGE_16_MAX_SIZE + 10; ++i) {
+            set(prefix + i * 3);
+        }
+        verify();
+
+        // empty the storage
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE * 2; ++i) {
+            clear(prefix + i);
+        }
+        verify();
+    }
+
+    @Test
+    public void testFullStorage16() {
+        long size = 1 << Short.SIZE;
+
+        // fill the storage in a non-sequential order to upgrade through the bit set storage
+        for (long i = 0; i < size; ++i) {
+            set(size + i * 7 % size);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 0; i < size; i += 2) {
+            clear(size + i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+    }
+
+    @Test
+    public void testAndOr() {
+        Random random = new Random(2020);
+        SparseBitSet[] bitSets = new SparseBitSet[4];
+        NavigableSet<Long> and = null;
+        NavigableSet<Long> or = new TreeSet<>();
+        for (int i = 0; i < bitSets.length; ++i) {
+            SparseBitSet bitSet = new SparseBitSet();
+            NavigableSet<Long> members = new TreeSet<>();
+            for (int j = 0; j < 100000; ++j) {
+                long member;
+                switch (j % 4) {
+                    case 0:
+                        // dense, upgrades to bit set storages
+                        member = random.nextInt(1 << 18);
+                        break;
+                    case 1:
+                        // sequential, upgrades to run storages
+                        member = (1 << 20) + j;
+                        break;
+                    case 2:
+                        // sparse, stays in array storages
+                        member = random.nextInt(Integer.MAX_VALUE) * 64L;
+                        break;
+                    default:
+                        // distinct 32-bit prefixes
+                        member = ((long) random.nextInt(4) << Integer.SIZE) + random.nextInt(1 << 17);
+                        break;
+                }
+                bitSet.add(member);
+                members.add(member);
+            }
+            bitSets[i] = bitSet;
+
+            if (and == null) {
+                and = new TreeSet<>(members);
+            } else {
+                and.retainAll(members);
+            }
+            or.addAll(members);
+        }
+
+        verify(SparseBitSet.and(bitSets), and);
+        verify(SparseBitSet.or(bitSets), or);
+
+        expected.addAll(and);
+        verifyAdvanceAtLeastTo(SparseBitSet.and(bitSets), 1000);
+        expected.clear();
+        expected.addAll(or);
+        verifyAdvanceAtLeastTo(SparseBitSet.or(bitSets), 1000);
+    }
+
     @Test
     public void testIteratorAdvanceAtLeastTo() {
         // try empty set
@@ -18,6 +18,7 @@ package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -25,6 +26,8 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.Collections;
+
 import static com.hazelcast.query.Predicates.and;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createDelegatingVisitor;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockNegatablePredicate;
@@ -35,8 +38,13 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -120,4 +128,26 @@ public class AndPredicateTest {
 
         assertThat(result, sameInstance(delegate));
     }
+
+    @Test
+    public void filter_whenCostsAreKnown_thenOnlyTheCheapestConjunctIsLookedUp() {
+        QueryContext queryContext = mock(QueryContext.class);
+        CostAwarePredicate unselective = createMockCostAwarePredicate(queryContext, 1000);
+        CostAwarePredicate selective = createMockCostAwarePredicate(queryContext, 10);
+        when(selective.filter(queryContext)).thenReturn(Collections.emptySet());
+
+        AndPredicate andPredicate = new AndPredicate(unselective, selective);
+        assertNotNull(andPredicate.filter(queryContext));
+        assertEquals(10, andPredicate.estimateCost(queryContext));
+
+        verify(selective).filter(queryContext);
+        verify(unselective, never()).filter(queryContext);
+    }
+
+    private static CostAwarePredicate createMockCostAwarePredicate(QueryContext queryContext, long cost) {
+        CostAwarePredicate predicate = mock(CostAwarePredicate.class);
+        when(predicate.isIndexed(queryContext)).thenReturn(true);
+        when(predicate.estimateCost(queryContext)).thenReturn(cost);
+        return predicate;
+    }
 }
@@ -24,8 +24,10 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.plan.Plan;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.ObjectColumnVector;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.state.QueryStateCallback;
@@ -88,6 +90,16 @@ public class SqlTestSupport extends HazelcastTestSupport {
         return new ListRowBatch(rows);
     }
 
+    public static ColumnarRowBatch createMonotonicColumnarBatch(int startValue, int size) {
+        ObjectColumnVector column = new ObjectColumnVector(size);
+
+        for (int i = 0; i < size; i++) {
+            column.set(i, startValue + i);
+        }
+
+        return new ColumnarRowBatch(new ObjectColumnVector[] { column }, size);
+    }
+
     public static void checkMonotonicBatch(RowBatch batch, int startValue, int size) {
         assertEquals(size, batch.getRowCount());
 
@@ -135,7 +147,8 @@ public class SqlTestSupport extends HazelcastTestSupport {
             Collections.emptyList(),
             Collections.emptyMap(),
             Collections.emptyMap(),
-            Collections.emptyMap()
+            Collections.emptyMap(),
+            Collections.emptySet()
         );
     }
 
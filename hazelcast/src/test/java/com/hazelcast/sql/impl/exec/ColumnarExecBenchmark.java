@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.ObjectColumnVector;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares row-by-row and columnar processing of a filter followed by a projection, as produced by a map scan.
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("rawtypes")
+public class ColumnarExecBenchmark {
+
+    private static final int BATCH_COUNT = 100;
+    private static final int BATCH_SIZE = 1024;
+
+    private final RowBatch[] rowBatches = new RowBatch[BATCH_COUNT];
+    private final RowBatch[] columnarBatches = new RowBatch[BATCH_COUNT];
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < BATCH_COUNT; i++) {
+            List<Row> rows = new ArrayList<>(BATCH_SIZE);
+            ObjectColumnVector column0 = new ObjectColumnVector(BATCH_SIZE);
+            ObjectColumnVector column1 = new ObjectColumnVector(BATCH_SIZE);
+            ObjectColumnVector column2 = new ObjectColumnVector(BATCH_SIZE);
+
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                int value = i * BATCH_SIZE + j;
+                String value1 = j % 2 == 0 ? null : "value-" + value;
+                long value2 = value;
+
+                rows.add(HeapRow.of(value, value1, value2));
+                column0.set(j, value);
+                column1.set(j, value1);
+                column2.set(j, value2);
+            }
+
+            rowBatches[i] = new ListRowBatch(rows);
+            columnarBatches[i] = new ColumnarRowBatch(new ObjectColumnVector[] { column0, column1, column2 }, BATCH_SIZE);
+        }
+    }
+
+    @Benchmark
+    public long rows() {
+        return run(rowBatches);
+    }
+
+    @Benchmark
+    public long columnar() {
+        return run(columnarBatches);
+    }
+
+    /**
+     * Execute {@code SELECT f2, f0 FROM t WHERE f1 IS NULL} over the given batches, and read the values of the result.
+     */
+    private static long run(RowBatch[] batches) {
+        Exec upstream = new ReplayExec(batches);
+
+        FilterExec filter = new FilterExec(2, upstream, IsNullPredicate.create(ColumnExpression.create(1, QueryDataType.VARCHAR)));
+
+        List<Expression> projects = Arrays.asList(
+            ColumnExpression.create(2, QueryDataType.BIGINT),
+            ColumnExpression.create(0, QueryDataType.INT)
+        );
+
+        ProjectExec project = new ProjectExec(3, filter, projects);
+        project.setup(SqlTestSupport.emptyFragmentContext());
+
+        long res = 0;
+
+        while (true) {
+            IterationResult result = project.advance();
+            RowBatch batch = project.currentBatch();
+
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                long value = batch.getRow(i).get(0);
+
+                res += value;
+            }
+
+            if (result == IterationResult.FETCHED_DONE) {
+                return res;
+            }
+        }
+    }
+
+    /**
+     * Executor which returns the given batches.
+     */
+    private static final class ReplayExec extends AbstractExec {
+
+        private final RowBatch[] batches;
+        private int index = -1;
+
+        private ReplayExec(RowBatch[] batches) {
+            super(1);
+
+            this.batches = batches;
+        }
+
+        @Override
+        protected IterationResult advance0() {
+            index++;
+
+            return index == batches.length - 1 ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+        }
+
+        @Override
+        protected RowBatch currentBatch0() {
+            return batches[index];
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // @formatter:off
+        Options opt = new OptionsBuilder()
+                .include(ColumnarExecBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .threads(1)
+                .build();
+        // @formatter:on
+
+        new Runner(opt).run();
+    }
+}
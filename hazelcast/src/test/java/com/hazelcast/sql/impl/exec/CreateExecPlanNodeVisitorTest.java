@@ -27,20 +27,37 @@ import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.agg.AggregateExec;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import com.hazelcast.sql.impl.exec.io.BroadcastSendExec;
 import com.hazelcast.sql.impl.exec.io.Inbox;
 import com.hazelcast.sql.impl.exec.io.Outbox;
 import com.hazelcast.sql.impl.exec.io.ReceiveExec;
+import com.hazelcast.sql.impl.exec.io.ReceiveSortMergeExec;
 import com.hazelcast.sql.impl.exec.io.SendExec;
+import com.hazelcast.sql.impl.exec.io.StripedInbox;
+import com.hazelcast.sql.impl.exec.io.UnicastSendExec;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControl;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
+import com.hazelcast.sql.impl.exec.join.HashJoinExec;
 import com.hazelcast.sql.impl.exec.root.RootExec;
 import com.hazelcast.sql.impl.exec.root.RootResultConsumer;
+import com.hazelcast.sql.impl.exec.scan.MapIndexScanExec;
 import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.sort.SortExec;
 import com.hazelcast.sql.impl.expression.ConstantPredicateExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.compiler.DisabledExpressionCompiler;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
@@ -48,8 +65,12 @@ import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
@@ -65,6 +86,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -77,6 +99,7 @@ import static com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapp
 import static com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapping.EXPLICIT;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -260,6 +283,69 @@ public class CreateExecPlanNodeVisitorTest extends SqlTestSupport {
         assertEquals(0, visitor.getOutboxes().size());
     }
 
+    @Test
+    public void testReceiveSortMerge() {
+        ReceiveSortMergePlanNode receiveNode = new ReceiveSortMergePlanNode(
+            nextNodeId(),
+            EDGE_1_ID,
+            Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR),
+            Collections.singletonList(0),
+            Collections.singletonList(false),
+            10,
+            5
+        );
+
+        DownstreamNode downstreamNode = new DownstreamNode(
+            nextNodeId(),
+            receiveNode
+        );
+
+        QueryExecuteOperationFragment sendFragment = new QueryExecuteOperationFragment(
+            null,
+            DATA_MEMBERS,
+            partitionMapping.keySet()
+        );
+
+        QueryExecuteOperationFragment receiveFragment = new QueryExecuteOperationFragment(
+            downstreamNode,
+            EXPLICIT,
+            Collections.singletonList(membedId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Arrays.asList(sendFragment, receiveFragment),
+            Collections.singletonMap(EDGE_1_ID, 0),
+            Collections.singletonMap(EDGE_1_ID, 1),
+            Collections.singletonMap(EDGE_1_ID, EDGE_1_INITIAL_MEMORY)
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, receiveFragment);
+
+        DownstreamExec downstreamExec = (DownstreamExec) visitor.pop();
+        assertEquals(downstreamNode.getId(), downstreamExec.getId());
+
+        ReceiveSortMergeExec receiveExec = (ReceiveSortMergeExec) downstreamExec.getUpstream();
+        assertEquals(receiveNode.getId(), receiveExec.getId());
+        assertEquals(receiveNode.getColumnIndexes(), receiveExec.getColumnIndexes());
+        assertEquals(receiveNode.getAscs(), receiveExec.getAscs());
+        assertEquals(receiveNode.getFetch(), receiveExec.getFetch());
+        assertEquals(receiveNode.getOffset(), receiveExec.getOffset());
+
+        StripedInbox inbox = receiveExec.getInbox();
+        assertEquals(QUERY_ID, inbox.getQueryId());
+        assertEquals(EDGE_1_ID, inbox.getEdgeId());
+        assertEquals(receiveNode.getSchema().getEstimatedRowSize(), inbox.getRowWidth());
+        assertEquals(membedId1, inbox.getLocalMemberId());
+        assertEquals(partitionMapping.size(), inbox.getRemainingStreams());
+        assertEquals(partitionMapping.size(), inbox.getStripeCount());
+        assertEquals(EDGE_1_INITIAL_MEMORY, ((SimpleFlowControl) inbox.getFlowControl()).getMaxMemory());
+
+        assertEquals(1, visitor.getInboxes().size());
+        assertSame(inbox, visitor.getInboxes().get(EDGE_1_ID));
+
+        assertEquals(0, visitor.getOutboxes().size());
+    }
+
     @Test
     public void testProject() {
         UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
@@ -293,6 +379,49 @@ public class CreateExecPlanNodeVisitorTest extends SqlTestSupport {
         assertEquals(upstreamNode.getId(), upstreamExec.getId());
     }
 
+    @Test
+    public void testCompileExpressions() {
+        UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
+
+        FilterPlanNode filterNode = new FilterPlanNode(
+            nextNodeId(),
+            upstreamNode,
+            new ConstantPredicateExpression(true)
+        );
+
+        ProjectPlanNode projectNode = new ProjectPlanNode(
+            nextNodeId(),
+            filterNode,
+            Collections.singletonList(ColumnExpression.create(0, QueryDataType.INT))
+        );
+
+        QueryExecuteOperationFragment rootFragment = new QueryExecuteOperationFragment(
+            projectNode,
+            EXPLICIT,
+            Collections.singletonList(membedId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Collections.singletonList(rootFragment),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap()
+        );
+
+        List<Expression<?>> compiledExpressions = new ArrayList<>();
+
+        visit(operation, rootFragment, new ExpressionCompiler() {
+            @Override
+            public <T> Expression<T> compile(Expression<T> expression) {
+                compiledExpressions.add(expression);
+
+                return expression;
+            }
+        });
+
+        assertEquals(Arrays.asList(filterNode.getFilter(), projectNode.getProjects().get(0)), compiledExpressions);
+    }
+
     @Test
     public void testFilter() {
         UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
@@ -326,6 +455,212 @@ public class CreateExecPlanNodeVisitorTest extends SqlTestSupport {
         assertEquals(upstreamNode.getId(), upstreamExec.getId());
     }
 
+    @Test
+    public void testAggregate() {
+        UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
+
+        AggregatePlanNode aggregateNode = new AggregatePlanNode(
+            nextNodeId(),
+            upstreamNode,
+            Collections.singletonList(0),
+            Collections.singletonList(CountAggregateExpression.create(null)),
+            AggregatePhase.LOCAL
+        );
+
+        QueryExecuteOperationFragment rootFragment = new QueryExecuteOperationFragment(
+            aggregateNode,
+            EXPLICIT,
+            Collections.singletonList(membedId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Collections.singletonList(rootFragment),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap()
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, rootFragment);
+
+        AggregateExec aggregateExec = (AggregateExec) visitor.pop();
+        assertEquals(aggregateNode.getId(), aggregateExec.getId());
+        assertEquals(aggregateNode.getGroupKey(), aggregateExec.getGroupKey());
+        assertEquals(aggregateNode.getExpressions(), aggregateExec.getExpressions());
+        assertEquals(aggregateNode.getPhase(), aggregateExec.getPhase());
+
+        UpstreamExec upstreamExec = (UpstreamExec) aggregateExec.getUpstream();
+        assertEquals(upstreamNode.getId(), upstreamExec.getId());
+    }
+
+    @Test
+    public void testSort() {
+        UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
+
+        SortPlanNode sortNode = new SortPlanNode(
+            nextNodeId(),
+            upstreamNode,
+            Collections.singletonList(0),
+            Collections.singletonList(true),
+            10,
+            5
+        );
+
+        QueryExecuteOperationFragment rootFragment = new QueryExecuteOperationFragment(
+            sortNode,
+            EXPLICIT,
+            Collections.singletonList(membedId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Collections.singletonList(rootFragment),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap()
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, rootFragment);
+
+        SortExec sortExec = (SortExec) visitor.pop();
+        assertEquals(sortNode.getId(), sortExec.getId());
+        assertEquals(sortNode.getColumnIndexes(), sortExec.getColumnIndexes());
+        assertEquals(sortNode.getAscs(), sortExec.getAscs());
+        assertEquals(sortNode.getFetch(), sortExec.getFetch());
+        assertEquals(sortNode.getOffset(), sortExec.getOffset());
+
+        UpstreamExec upstreamExec = (UpstreamExec) sortExec.getUpstream();
+        assertEquals(upstreamNode.getId(), upstreamExec.getId());
+    }
+
+    @Test
+    public void testHashJoin() {
+        UpstreamNode leftNode = new UpstreamNode(nextNodeId());
+        UpstreamNode rightNode = new UpstreamNode(nextNodeId());
+
+        HashJoinPlanNode joinNode = new HashJoinPlanNode(
+            nextNodeId(),
+            leftNode,
+            rightNode,
+            Collections.singletonList(0),
+            Collections.singletonList(1),
+            true
+        );
+
+        QueryExecuteOperationFragment rootFragment = new QueryExecuteOperationFragment(
+            joinNode,
+            EXPLICIT,
+            Collections.singletonList(membedId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Collections.singletonList(rootFragment),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap()
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, rootFragment);
+
+        HashJoinExec joinExec = (HashJoinExec) visitor.pop();
+        assertEquals(joinNode.getId(), joinExec.getId());
+        assertEquals(joinNode.getLeftHashKeys(), joinExec.getLeftHashKeys());
+        assertEquals(joinNode.getRightHashKeys(), joinExec.getRightHashKeys());
+        assertEquals(joinNode.isOuter(), joinExec.isOuter());
+        assertEquals(HashJoinExec.DEFAULT_MEMORY_LIMIT, joinExec.getMemoryLimit());
+
+        assertEquals(leftNode.getId(), joinExec.getLeft().getId());
+        assertEquals(rightNode.getId(), joinExec.getRight().getId());
+    }
+
+    @Test
+    public void testBroadcastSend() {
+        UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
+        BroadcastSendPlanNode sendNode = new BroadcastSendPlanNode(nextNodeId(), upstreamNode, EDGE_1_ID);
+
+        QueryExecuteOperationFragment sendFragment = new QueryExecuteOperationFragment(
+            sendNode,
+            DATA_MEMBERS,
+            null
+        );
+
+        QueryExecuteOperationFragment receiveFragment = new QueryExecuteOperationFragment(
+            null,
+            DATA_MEMBERS,
+            null
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Arrays.asList(sendFragment, receiveFragment),
+            Collections.singletonMap(EDGE_1_ID, 0),
+            Collections.singletonMap(EDGE_1_ID, 1),
+            Collections.singletonMap(EDGE_1_ID, EDGE_1_INITIAL_MEMORY)
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, sendFragment);
+
+        BroadcastSendExec sendExec = (BroadcastSendExec) visitor.getExec();
+        assertEquals(sendNode.getId(), sendExec.getId());
+        assertEquals(partitionMapping.size(), sendExec.getOutboxes().length);
+
+        for (Outbox outbox : sendExec.getOutboxes()) {
+            assertEquals(EDGE_1_ID, outbox.getEdgeId());
+            assertSame(outbox, visitor.getOutboxes().get(EDGE_1_ID).get(outbox.getTargetMemberId()));
+        }
+
+        UpstreamExec upstreamExec = (UpstreamExec) sendExec.getUpstream();
+        assertEquals(upstreamNode.getId(), upstreamExec.getId());
+    }
+
+    @Test
+    public void testUnicastSend() {
+        Map<UUID, PartitionIdSet> partitionMapping = new HashMap<>();
+        partitionMapping.put(membedId1, createPartitionIdSet(PARTITION_COUNT, 0, 2));
+        partitionMapping.put(MEMBER_ID_2, createPartitionIdSet(PARTITION_COUNT, 1, 3));
+
+        UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
+        UnicastSendPlanNode sendNode = new UnicastSendPlanNode(
+            nextNodeId(),
+            upstreamNode,
+            EDGE_1_ID,
+            Collections.singletonList(0)
+        );
+
+        QueryExecuteOperationFragment sendFragment = new QueryExecuteOperationFragment(
+            sendNode,
+            DATA_MEMBERS,
+            null
+        );
+
+        QueryExecuteOperationFragment receiveFragment = new QueryExecuteOperationFragment(
+            null,
+            DATA_MEMBERS,
+            null
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Arrays.asList(sendFragment, receiveFragment),
+            Collections.singletonMap(EDGE_1_ID, 0),
+            Collections.singletonMap(EDGE_1_ID, 1),
+            Collections.singletonMap(EDGE_1_ID, EDGE_1_INITIAL_MEMORY),
+            partitionMapping
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, sendFragment);
+
+        UnicastSendExec sendExec = (UnicastSendExec) visitor.getExec();
+        assertEquals(sendNode.getId(), sendExec.getId());
+        assertEquals(sendNode.getPartitioningColumnIndexes(), sendExec.getPartitioningColumnIndexes());
+
+        Outbox[] outboxes = sendExec.getOutboxes();
+        int[] partitionOutboxIndexes = sendExec.getPartitionOutboxIndexes();
+        assertEquals(PARTITION_COUNT, partitionOutboxIndexes.length);
+
+        for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+            UUID owner = outboxes[partitionOutboxIndexes[partition]].getTargetMemberId();
+
+            assertTrue(partitionMapping.get(owner).contains(partition));
+        }
+    }
+
     @Test
     public void testMapScan() {
         // Map with data.
@@ -396,11 +731,92 @@ public class CreateExecPlanNodeVisitorTest extends SqlTestSupport {
         }
     }
 
+    @Test
+    public void testMapIndexScan() {
+        // Map with data.
+        checkMapIndexScan(MAP_NAME, partitionMapping, false);
+
+        // Map with data, but no partitions.
+        Map<UUID, PartitionIdSet> partitionMapping = new HashMap<>();
+        partitionMapping.put(membedId1, createPartitionIdSet(PARTITION_COUNT));
+        partitionMapping.put(MEMBER_ID_2, createPartitionIdSet(PARTITION_COUNT, PARTITIONS_MEMBER_2));
+
+        checkMapIndexScan(MAP_NAME, partitionMapping, true);
+
+        // Not started map.
+        checkMapIndexScan(UUID.randomUUID().toString(), CreateExecPlanNodeVisitorTest.partitionMapping, true);
+    }
+
+    private void checkMapIndexScan(String mapName, Map<UUID, PartitionIdSet> partitionMapping, boolean expectedEmpty) {
+        MapIndexScanPlanNode scanNode = new MapIndexScanPlanNode(
+            nextNodeId(),
+            mapName,
+            GenericQueryTargetDescriptor.INSTANCE,
+            GenericQueryTargetDescriptor.INSTANCE,
+            Arrays.asList(valuePath("field1"), valuePath("field2")),
+            Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR),
+            Arrays.asList(0, 1),
+            "index",
+            new IndexEqualsFilter(1),
+            new ConstantPredicateExpression(true)
+        );
+
+        DownstreamNode downstreamNode = new DownstreamNode(
+            nextNodeId(),
+            scanNode
+        );
+
+        QueryExecuteOperationFragment fragment = new QueryExecuteOperationFragment(
+            downstreamNode,
+            EXPLICIT,
+            Collections.singletonList(membedId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Collections.singletonList(fragment),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            partitionMapping
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, fragment);
+
+        DownstreamExec downstreamExec = (DownstreamExec) visitor.pop();
+        assertEquals(downstreamNode.getId(), downstreamExec.getId());
+
+        if (expectedEmpty) {
+            EmptyExec scanExec = (EmptyExec) downstreamExec.getUpstream();
+
+            assertEquals(scanNode.getId(), scanExec.getId());
+        } else {
+            MapIndexScanExec scanExec = (MapIndexScanExec) downstreamExec.getUpstream();
+
+            assertEquals(scanNode.getId(), scanExec.getId());
+            assertEquals(scanNode.getMapName(), scanExec.getMap().getName());
+            assertEquals(scanNode.getFieldPaths(), scanExec.getFieldPaths());
+            assertEquals(scanNode.getFieldTypes(), scanExec.getFieldTypes());
+            assertEquals(scanNode.getProjects(), scanExec.getProjects());
+            assertEquals(scanNode.getIndexName(), scanExec.getIndexName());
+            assertEquals(scanNode.getIndexFilter(), scanExec.getIndexFilter());
+            assertEquals(scanNode.getFilter(), scanExec.getFilter());
+        }
+    }
+
     private static CreateExecPlanNodeVisitor visit(QueryExecuteOperation operation, QueryExecuteOperationFragment fragment) {
+        return visit(operation, fragment, DisabledExpressionCompiler.INSTANCE);
+    }
+
+    private static CreateExecPlanNodeVisitor visit(
+        QueryExecuteOperation operation,
+        QueryExecuteOperationFragment fragment,
+        ExpressionCompiler expressionCompiler
+    ) {
         CreateExecPlanNodeVisitor res = new CreateExecPlanNodeVisitor(
             new LoggingQueryOperationHandler(),
             nodeServiceProvider,
             new DefaultSerializationServiceBuilder().build(),
+            expressionCompiler,
             membedId1,
             operation,
             SimpleFlowControlFactory.INSTANCE,
@@ -82,6 +82,45 @@ public class FilterExecTest extends SqlTestSupport {
         checkBatch(exec.currentBatch(), 4 * BATCH_SIZE, BATCH_SIZE / 2);
     }
 
+    @Test
+    public void testFilterColumnar() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        FilterExec exec = new FilterExec(2, upstream, new FunctionalPredicateExpression((row) -> {
+            int val = row.get(0);
+
+            return val % 2 == 0 ? true : null;
+        }));
+        exec.setup(emptyFragmentContext());
+
+        // Every columnar batch is filtered at once.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicColumnarBatch(0, BATCH_SIZE / 2));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkBatch(exec.currentBatch(), 0, BATCH_SIZE / 4);
+
+        // Batch without matching rows is skipped.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicColumnarBatch(1, 1));
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicColumnarBatch(BATCH_SIZE / 2, 4));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), BATCH_SIZE / 2, 2);
+    }
+
+    @Test
+    public void testFilterColumnarAfterRows() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        FilterExec exec = new FilterExec(2, upstream, new FunctionalPredicateExpression((row) -> {
+            int val = row.get(0);
+
+            return val % 2 == 0;
+        }));
+        exec.setup(emptyFragmentContext());
+
+        // Pending rows of the previous batch are combined with the rows of the columnar batch.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicBatch(0, 4));
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicColumnarBatch(4, 4));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), 0, 4);
+    }
+
     private static void checkBatch(RowBatch batch, int startValue, int size) {
         assertEquals(size, batch.getRowCount());
 
@@ -20,6 +20,7 @@ import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.UpstreamExec;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
@@ -34,6 +35,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -72,6 +75,25 @@ public class ProjectExecTest extends SqlTestSupport {
         assertEquals(0, exec.currentBatch().getRowCount());
     }
 
+    @Test
+    public void testProjectColumnar() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        ProjectExec exec = createExec(upstream);
+
+        ColumnarRowBatch upstreamBatch = createMonotonicColumnarBatch(0, 100);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, upstreamBatch);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+        checkBatch(batch, 0, 100);
+
+        // Column references share the columns of the upstream batch.
+        assertTrue(batch instanceof ColumnarRowBatch);
+        assertSame(upstreamBatch.getColumn(0), ((ColumnarRowBatch) batch).getColumn(0));
+        assertSame(upstreamBatch.getColumn(0), ((ColumnarRowBatch) batch).getColumn(1));
+    }
+
     @SuppressWarnings("rawtypes")
     private static ProjectExec createExec(UpstreamExec upstream) {
         ColumnExpression<?> expression = ColumnExpression.create(0, QueryDataType.INT);
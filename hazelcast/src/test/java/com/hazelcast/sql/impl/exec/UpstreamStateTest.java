@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.exec;
 
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.ListRowBatch;
@@ -109,6 +110,39 @@ public class UpstreamStateTest extends SqlTestSupport {
         assertEquals(1, exec.advanceCalled);
     }
 
+    @Test
+    public void testTryConsumeColumnarBatch() {
+        UpstreamExec exec = new UpstreamExec();
+        UpstreamState state = new UpstreamState(exec);
+        state.setup(emptyFragmentContext());
+
+        // Row batch cannot be consumed as a columnar batch.
+        exec.update(IterationResult.FETCHED, createMonotonicBatch(0, 2));
+
+        assertTrue(state.advance());
+        assertNull(state.tryConsumeColumnarBatch());
+        assertTrue(state.iterator().hasNext());
+
+        // Partially consumed columnar batch cannot be consumed as a whole.
+        ColumnarRowBatch batch = createMonotonicColumnarBatch(0, 2);
+
+        state = new UpstreamState(exec);
+        exec.update(IterationResult.FETCHED, batch);
+
+        assertTrue(state.advance());
+        state.nextIfExists();
+        assertNull(state.tryConsumeColumnarBatch());
+
+        // Columnar batch is consumed as a whole.
+        state = new UpstreamState(exec);
+        exec.update(IterationResult.FETCHED_DONE, batch);
+
+        assertTrue(state.advance());
+        assertSame(batch, state.tryConsumeColumnarBatch());
+        assertFalse(state.iterator().hasNext());
+        assertTrue(state.isDone());
+    }
+
     private void checkCannotConsume(UpstreamState state) {
         try {
             state.consumeBatch();
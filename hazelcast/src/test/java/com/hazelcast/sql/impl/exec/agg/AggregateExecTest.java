@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MaxAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("rawtypes")
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregateExecTest extends SqlTestSupport {
+    @Test
+    public void testGlobal() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.emptyList(), AggregatePhase.COMPLETE);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, createBatch(row(1, 1), row(2, 2), row(1, null)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createBatch(row(2, 3)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+        assertEquals(1, batch.getRowCount());
+        checkRow(batch.getRow(0), 4L, 3L, 6L, 2, 1, 3);
+    }
+
+    @Test
+    public void testGlobalEmpty() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.emptyList(), AggregatePhase.COMPLETE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+        assertEquals(1, batch.getRowCount());
+        checkRow(batch.getRow(0), 0L, 0L, null, null, null, null);
+    }
+
+    @Test
+    public void testGroupBy() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.singletonList(0), AggregatePhase.COMPLETE);
+
+        upstream.addResult(
+            IterationResult.FETCHED_DONE,
+            createBatch(row(1, 1), row(2, 2), row(1, 3), row(null, 4), row(null, null))
+        );
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        Map<Object, Row> rows = collectRows(exec.currentBatch(), 0);
+        assertEquals(3, rows.size());
+
+        checkRow(rows.get(1), 1, 2L, 2L, 4L, 2, 1, 3);
+        checkRow(rows.get(2), 2, 1L, 1L, 2L, 2, 2, 2);
+        checkRow(rows.get(null), null, 2L, 1L, 4L, 4, 4, 4);
+    }
+
+    @Test
+    public void testGroupByMultipleColumns() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Arrays.asList(0, 1), AggregatePhase.COMPLETE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createBatch(row(1, 1), row(1, 2), row(1, 1)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+        assertEquals(2, batch.getRowCount());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+            int value = row.get(1);
+
+            assertEquals(value == 1 ? 2L : 1L, (long) row.get(2));
+        }
+    }
+
+    @Test
+    public void testBatching() {
+        int groupCount = AggregateExec.BATCH_SIZE + 1;
+
+        List<Row> inputRows = new ArrayList<>(groupCount);
+
+        for (int i = 0; i < groupCount; i++) {
+            inputRows.add(row(i, i));
+        }
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.singletonList(0), AggregatePhase.COMPLETE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(inputRows));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertEquals(AggregateExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(1, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testLocalAndFinal() {
+        UpstreamExec localUpstream1 = new UpstreamExec(1);
+        UpstreamExec localUpstream2 = new UpstreamExec(1);
+
+        AggregateExec local1 = createExec(localUpstream1, Collections.singletonList(0), AggregatePhase.LOCAL);
+        AggregateExec local2 = createExec(localUpstream2, Collections.singletonList(0), AggregatePhase.LOCAL);
+
+        localUpstream1.addResult(IterationResult.FETCHED_DONE, createBatch(row(1, 1), row(2, 2)));
+        localUpstream2.addResult(IterationResult.FETCHED_DONE, createBatch(row(1, 3), row(1, null)));
+
+        assertEquals(IterationResult.FETCHED_DONE, local1.advance());
+        assertEquals(IterationResult.FETCHED_DONE, local2.advance());
+
+        List<Row> intermediateRows = new ArrayList<>();
+
+        for (RowBatch batch : Arrays.asList(local1.currentBatch(), local2.currentBatch())) {
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                intermediateRows.add(batch.getRow(i));
+            }
+        }
+
+        UpstreamExec finalUpstream = new UpstreamExec(1);
+        AggregateExec finalExec = createExec(finalUpstream, Collections.singletonList(0), AggregatePhase.FINAL);
+
+        finalUpstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(intermediateRows));
+        assertEquals(IterationResult.FETCHED_DONE, finalExec.advance());
+
+        Map<Object, Row> rows = collectRows(finalExec.currentBatch(), 0);
+        assertEquals(2, rows.size());
+
+        checkRow(rows.get(1), 1, 3L, 2L, 4L, 2, 1, 3);
+        checkRow(rows.get(2), 2, 1L, 1L, 2L, 2, 2, 2);
+    }
+
+    @Test
+    public void testNoGroupingColumnsAndLocalPhase() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.emptyList(), AggregatePhase.LOCAL);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        Row row = exec.currentBatch().getRow(0);
+        assertEquals(6, row.getColumnCount());
+
+        for (int i = 0; i < row.getColumnCount(); i++) {
+            assertTrue(row.get(i) instanceof AggregateCollector);
+        }
+    }
+
+    /**
+     * Creates an aggregate over the input rows with two INT columns. The first column is used as a group key, the
+     * second column is the operand of COUNT(*), COUNT, SUM, AVG, MIN and MAX.
+     */
+    private static AggregateExec createExec(UpstreamExec upstream, List<Integer> groupKey, AggregatePhase phase) {
+        List<AggregateExpression> expressions = new ArrayList<>();
+
+        if (phase == AggregatePhase.FINAL) {
+            // Intermediate collectors follow the group key columns in the input of the final phase.
+            int index = groupKey.size();
+
+            expressions.add(CountAggregateExpression.create(ColumnExpression.create(index++, QueryDataType.OBJECT)));
+            expressions.add(CountAggregateExpression.create(ColumnExpression.create(index++, QueryDataType.OBJECT)));
+            expressions.add(SumAggregateExpression.create(ColumnExpression.create(index++, QueryDataType.OBJECT),
+                QueryDataType.BIGINT));
+            expressions.add(AvgAggregateExpression.create(ColumnExpression.create(index++, QueryDataType.OBJECT),
+                QueryDataType.INT));
+            expressions.add(MinAggregateExpression.create(ColumnExpression.create(index++, QueryDataType.OBJECT),
+                QueryDataType.INT));
+            expressions.add(MaxAggregateExpression.create(ColumnExpression.create(index, QueryDataType.OBJECT),
+                QueryDataType.INT));
+        } else {
+            ColumnExpression<?> operand = ColumnExpression.create(1, QueryDataType.INT);
+
+            expressions.add(CountAggregateExpression.create(null));
+            expressions.add(CountAggregateExpression.create(operand));
+            expressions.add(SumAggregateExpression.create(operand, QueryDataType.BIGINT));
+            expressions.add(AvgAggregateExpression.create(operand, QueryDataType.INT));
+            expressions.add(MinAggregateExpression.create(operand, QueryDataType.INT));
+            expressions.add(MaxAggregateExpression.create(operand, QueryDataType.INT));
+        }
+
+        AggregateExec exec = new AggregateExec(2, upstream, groupKey, expressions, phase);
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static ListRowBatch createBatch(Row... rows) {
+        return new ListRowBatch(Arrays.asList(rows));
+    }
+
+    private static Row row(Integer key, Integer value) {
+        return HeapRow.of(key, value);
+    }
+
+    private static Map<Object, Row> collectRows(RowBatch batch, int keyIndex) {
+        Map<Object, Row> res = new HashMap<>();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            res.put(row.get(keyIndex), row);
+        }
+
+        return res;
+    }
+
+    private static void checkRow(Row row, Object... expectedValues) {
+        assertEquals(expectedValues.length, row.getColumnCount());
+
+        for (int i = 0; i < expectedValues.length; i++) {
+            if (expectedValues[i] == null) {
+                assertNull(row.get(i));
+            } else {
+                assertEquals(expectedValues[i], row.get(i));
+            }
+        }
+    }
+}
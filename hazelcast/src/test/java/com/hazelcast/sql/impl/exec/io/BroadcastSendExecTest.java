@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.operation.QueryBatchExchangeOperation;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BroadcastSendExecTest extends SqlTestSupport {
+
+    private static final QueryId QUERY_ID = QueryId.create(UUID.randomUUID());
+    private static final int EDGE_ID = 1;
+    private static final UUID LOCAL_MEMBER_ID = UUID.randomUUID();
+    private static final UUID TARGET_MEMBER_ID_1 = UUID.randomUUID();
+    private static final UUID TARGET_MEMBER_ID_2 = UUID.randomUUID();
+
+    private static final int ROW_WIDTH = 100;
+    private static final int ROWS_IN_BATCH = 4;
+    private static final int ROWS_IN_REMAINING_MEMORY = 8;
+
+    @Test
+    public void testAdvance() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+        Outbox outbox1 = createOutbox(operationHandler, TARGET_MEMBER_ID_1);
+        Outbox outbox2 = createOutbox(operationHandler, TARGET_MEMBER_ID_2);
+
+        BroadcastSendExec exec = new BroadcastSendExec(2, upstream, new Outbox[] { outbox1, outbox2 });
+        exec.setup(emptyFragmentContext());
+
+        // Wait on empty state.
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // The second outbox could not accept rows.
+        outbox2.onFlowControl(0);
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, ROWS_IN_REMAINING_MEMORY + 2));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Return memory to the second outbox, the first outbox still has rows pending.
+        outbox2.onFlowControl(ROW_WIDTH * (ROWS_IN_REMAINING_MEMORY + 2));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Return memory to the first outbox, now all rows should be sent to both members.
+        outbox1.onFlowControl(ROW_WIDTH * ROWS_IN_REMAINING_MEMORY);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        Map<UUID, List<Row>> rows = collectRows(operationHandler, LOCAL_MEMBER_ID);
+
+        assertEquals(2, rows.size());
+        checkMonotonicBatch(new ListRowBatch(rows.get(TARGET_MEMBER_ID_1)), 0, ROWS_IN_REMAINING_MEMORY + 2);
+        checkMonotonicBatch(new ListRowBatch(rows.get(TARGET_MEMBER_ID_2)), 0, ROWS_IN_REMAINING_MEMORY + 2);
+    }
+
+    private static Outbox createOutbox(LoggingQueryOperationHandler operationHandler, UUID targetMemberId) {
+        return new Outbox(
+            operationHandler,
+            QUERY_ID,
+            EDGE_ID,
+            ROW_WIDTH,
+            LOCAL_MEMBER_ID,
+            targetMemberId,
+            ROW_WIDTH * ROWS_IN_BATCH,
+            ROW_WIDTH * ROWS_IN_REMAINING_MEMORY
+        );
+    }
+
+    static Map<UUID, List<Row>> collectRows(LoggingQueryOperationHandler operationHandler, UUID localMemberId) {
+        Map<UUID, List<Row>> res = new HashMap<>();
+
+        while (true) {
+            LoggingQueryOperationHandler.SubmitInfo submitInfo = operationHandler.tryPollSubmitInfo();
+
+            if (submitInfo == null) {
+                break;
+            }
+
+            assertEquals(localMemberId, submitInfo.getSourceMemberId());
+
+            QueryBatchExchangeOperation operation = submitInfo.getOperation();
+
+            RowBatch batch = operation.getBatch();
+            List<Row> rows = res.computeIfAbsent(submitInfo.getMemberId(), k -> new ArrayList<>());
+
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                rows.add(batch.getRow(i));
+            }
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.LoggingFlowControl;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReceiveSortMergeExecTest extends SqlTestSupport {
+
+    private static final int EDGE_ID = 1;
+
+    private final QueryId queryId = QueryId.create(UUID.randomUUID());
+    private final UUID localMemberId = UUID.randomUUID();
+    private final UUID senderId1 = UUID.randomUUID();
+    private final UUID senderId2 = UUID.randomUUID();
+    private final LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+    @Test
+    public void testMerge() {
+        LoggingFlowControl flowControl = createFlowControl();
+        StripedInbox inbox = createInbox(flowControl);
+
+        ReceiveSortMergeExec exec = new ReceiveSortMergeExec(1, inbox, Collections.singletonList(0),
+            Collections.singletonList(true), -1, 0);
+
+        // Test setup.
+        exec.setup(emptyFragmentContext());
+
+        assertTrue(flowControl.isSetupInvoked());
+        assertEquals(2, inbox.getStripeCount());
+
+        // Advance on empty.
+        assertEquals(IterationResult.WAIT, exec.advance());
+        checkBatch(exec);
+
+        // Only one sender produced rows, so the merge cannot proceed.
+        inbox.onBatch(new InboundBatch(createBatch(1, 4, 6), false, senderId1), 100L);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+        checkBatch(exec);
+
+        // Rows of the first sender are returned until the current row of the second sender becomes the smallest one.
+        inbox.onBatch(new InboundBatch(createBatch(2, 5), false, senderId2), 100L);
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkBatch(exec, 1, 2, 4, 5);
+
+        // The second sender is done, the first one still has a row.
+        inbox.onBatch(new InboundBatch(createBatch(), true, senderId2), 100L);
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkBatch(exec, 6);
+
+        inbox.onBatch(new InboundBatch(createBatch(7, 8), true, senderId1), 100L);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec, 7, 8);
+
+        // Re-check after close.
+        assertThrows(IllegalStateException.class, exec::advance);
+    }
+
+    @Test
+    public void testMergeDescending() {
+        StripedInbox inbox = createInbox(createFlowControl());
+
+        ReceiveSortMergeExec exec = new ReceiveSortMergeExec(1, inbox, Collections.singletonList(0),
+            Collections.singletonList(false), -1, 0);
+
+        exec.setup(emptyFragmentContext());
+
+        inbox.onBatch(new InboundBatch(createBatch(null, 5, 3), true, senderId1), 100L);
+        inbox.onBatch(new InboundBatch(createBatch(null, 4, 1), true, senderId2), 100L);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec, null, null, 5, 4, 3, 1);
+    }
+
+    @Test
+    public void testFetchOffset() {
+        StripedInbox inbox = createInbox(createFlowControl());
+
+        ReceiveSortMergeExec exec = new ReceiveSortMergeExec(1, inbox, Collections.singletonList(0),
+            Collections.singletonList(true), 3, 2);
+
+        exec.setup(emptyFragmentContext());
+
+        inbox.onBatch(new InboundBatch(createBatch(1, 3, 5, 7), false, senderId1), 100L);
+        inbox.onBatch(new InboundBatch(createBatch(2, 4, 6, 8), false, senderId2), 100L);
+
+        // Fetch is satisfied before the streams are closed.
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec, 3, 4, 5);
+    }
+
+    @Test
+    public void testMultipleBatches() {
+        int rowCount = ReceiveSortMergeExec.BATCH_SIZE + 1;
+
+        List<Integer> values1 = new ArrayList<>(rowCount);
+        List<Integer> values2 = new ArrayList<>(rowCount);
+
+        for (int i = 0; i < rowCount; i++) {
+            values1.add(i * 2);
+            values2.add(i * 2 + 1);
+        }
+
+        StripedInbox inbox = createInbox(createFlowControl());
+
+        ReceiveSortMergeExec exec = new ReceiveSortMergeExec(1, inbox, Collections.singletonList(0),
+            Collections.singletonList(true), -1, 0);
+
+        exec.setup(emptyFragmentContext());
+
+        inbox.onBatch(new InboundBatch(createBatch(values1.toArray(new Integer[0])), true, senderId1), 100L);
+        inbox.onBatch(new InboundBatch(createBatch(values2.toArray(new Integer[0])), true, senderId2), 100L);
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), 0, ReceiveSortMergeExec.BATCH_SIZE);
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), ReceiveSortMergeExec.BATCH_SIZE, ReceiveSortMergeExec.BATCH_SIZE);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), ReceiveSortMergeExec.BATCH_SIZE * 2, 2);
+    }
+
+    private LoggingFlowControl createFlowControl() {
+        return new LoggingFlowControl(queryId, EDGE_ID, localMemberId, operationHandler);
+    }
+
+    private StripedInbox createInbox(LoggingFlowControl flowControl) {
+        return new StripedInbox(
+            operationHandler,
+            queryId,
+            EDGE_ID,
+            100,
+            localMemberId,
+            Arrays.asList(senderId1, senderId2),
+            flowControl
+        );
+    }
+
+    private static ListRowBatch createBatch(Integer... values) {
+        List<Row> rows = new ArrayList<>(values.length);
+
+        for (Integer value : values) {
+            rows.add(HeapRow.of(value));
+        }
+
+        return new ListRowBatch(rows);
+    }
+
+    private static void checkBatch(ReceiveSortMergeExec exec, Integer... expectedValues) {
+        assertEquals(expectedValues.length, exec.currentBatch().getRowCount());
+
+        for (int i = 0; i < expectedValues.length; i++) {
+            Object value = exec.currentBatch().getRow(i).get(0);
+
+            assertEquals(expectedValues[i], value);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.internal.util.HashUtil;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class UnicastSendExecTest extends SqlTestSupport {
+
+    private static final QueryId QUERY_ID = QueryId.create(UUID.randomUUID());
+    private static final int EDGE_ID = 1;
+    private static final UUID LOCAL_MEMBER_ID = UUID.randomUUID();
+    private static final UUID[] TARGET_MEMBER_IDS = new UUID[] { UUID.randomUUID(), UUID.randomUUID() };
+
+    private static final int ROW_WIDTH = 100;
+    private static final int ROW_COUNT = 100;
+
+    /** Partitions 0 and 3 are owned by the first member, partitions 1 and 2 by the second one. */
+    private static final int[] PARTITION_OUTBOX_INDEXES = new int[] { 0, 1, 1, 0 };
+
+    @Test
+    public void testAdvance() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+        Outbox[] outboxes = new Outbox[TARGET_MEMBER_IDS.length];
+
+        for (int i = 0; i < outboxes.length; i++) {
+            outboxes[i] = new Outbox(
+                operationHandler,
+                QUERY_ID,
+                EDGE_ID,
+                ROW_WIDTH,
+                LOCAL_MEMBER_ID,
+                TARGET_MEMBER_IDS[i],
+                ROW_WIDTH * ROW_COUNT,
+                ROW_WIDTH * ROW_COUNT
+            );
+        }
+
+        UnicastSendExec exec = new UnicastSendExec(
+            2,
+            upstream,
+            outboxes,
+            Collections.singletonList(0),
+            PARTITION_OUTBOX_INDEXES
+        );
+
+        exec.setup(emptyFragmentContext());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, ROW_COUNT));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        Map<UUID, List<Row>> rows = BroadcastSendExecTest.collectRows(operationHandler, LOCAL_MEMBER_ID);
+
+        int rowCount = 0;
+
+        for (int i = 0; i < TARGET_MEMBER_IDS.length; i++) {
+            List<Row> memberRows = rows.get(TARGET_MEMBER_IDS[i]);
+
+            for (Row row : memberRows) {
+                int value = row.get(0);
+
+                assertEquals(i, expectedOutboxIndex(value));
+            }
+
+            rowCount += memberRows.size();
+        }
+
+        assertEquals(ROW_COUNT, rowCount);
+    }
+
+    private static int expectedOutboxIndex(int value) {
+        int partition = HashUtil.hashToIndex(31 + Integer.hashCode(value), PARTITION_OUTBOX_INDEXES.length);
+
+        return PARTITION_OUTBOX_INDEXES[partition];
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HashJoinExecTest extends SqlTestSupport {
+
+    private static final int ROW_WIDTH = 16;
+
+    @Test
+    public void testInner() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, Collections.singletonList(0), false, HashJoinExec.DEFAULT_MEMORY_LIMIT);
+
+        // The right input is consumed first.
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        right.addResult(IterationResult.FETCHED, createBatch(HeapRow.of(1, "r1"), HeapRow.of(2, "r2")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        right.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "r3"), HeapRow.of(null, "r4")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        left.addResult(IterationResult.FETCHED, createBatch(HeapRow.of(1, "l1"), HeapRow.of(3, "l2")));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+
+        List<Row> rows = rows(exec.currentBatch());
+        assertEquals(2, rows.size());
+        checkRow(rows.get(0), 1, "l1", 1, "r1");
+        checkRow(rows.get(1), 1, "l1", 1, "r3");
+
+        left.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(null, "l3"), HeapRow.of(2, "l4")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        rows = rows(exec.currentBatch());
+        assertEquals(1, rows.size());
+        checkRow(rows.get(0), 2, "l4", 2, "r2");
+    }
+
+    @Test
+    public void testOuter() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, Collections.singletonList(0), true, HashJoinExec.DEFAULT_MEMORY_LIMIT);
+
+        right.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "r1"), HeapRow.of(null, "r2")));
+        left.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "l1"), HeapRow.of(2, "l2"),
+            HeapRow.of(null, "l3")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        List<Row> rows = rows(exec.currentBatch());
+        assertEquals(3, rows.size());
+        checkRow(rows.get(0), 1, "l1", 1, "r1");
+        checkRow(rows.get(1), 2, "l2", null, null);
+        checkRow(rows.get(2), null, "l3", null, null);
+    }
+
+    @Test
+    public void testMultipleKeyColumns() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, Arrays.asList(0, 1), false, HashJoinExec.DEFAULT_MEMORY_LIMIT);
+
+        right.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "a"), HeapRow.of(1, "b"),
+            HeapRow.of(1, null)));
+        left.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "b"), HeapRow.of(2, "a"),
+            HeapRow.of(1, null)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        List<Row> rows = rows(exec.currentBatch());
+        assertEquals(1, rows.size());
+        checkRow(rows.get(0), 1, "b", 1, "b");
+    }
+
+    @Test
+    public void testEmptyRight() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, Collections.singletonList(0), false, HashJoinExec.DEFAULT_MEMORY_LIMIT);
+
+        right.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        left.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "l1")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(0, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testBatching() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, Collections.singletonList(0), false, HashJoinExec.DEFAULT_MEMORY_LIMIT);
+
+        List<Row> leftRows = new ArrayList<>();
+
+        for (int i = 0; i < HashJoinExec.BATCH_SIZE + 1; i++) {
+            leftRows.add(HeapRow.of(1, "l" + i));
+        }
+
+        right.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "r1")));
+        left.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(leftRows));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertEquals(HashJoinExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(1, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testMemoryLimit() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, Collections.singletonList(0), false, ROW_WIDTH);
+
+        right.addResult(IterationResult.FETCHED_DONE, createBatch(HeapRow.of(1, "r1"), HeapRow.of(2, "r2")));
+
+        QueryException exception = assertThrows(QueryException.class, exec::advance);
+        assertEquals(SqlErrorCode.MEMORY_LIMIT_EXCEEDED, exception.getCode());
+    }
+
+    private static HashJoinExec createExec(
+        UpstreamExec left,
+        UpstreamExec right,
+        List<Integer> hashKeys,
+        boolean outer,
+        long memoryLimit
+    ) {
+        HashJoinExec exec = new HashJoinExec(3, left, right, hashKeys, hashKeys, outer, 2, ROW_WIDTH, memoryLimit);
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static ListRowBatch createBatch(Row... rows) {
+        return new ListRowBatch(Arrays.asList(rows));
+    }
+
+    private static List<Row> rows(RowBatch batch) {
+        List<Row> res = new ArrayList<>(batch.getRowCount());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            res.add(batch.getRow(i));
+        }
+
+        return res;
+    }
+
+    private static void checkRow(Row row, Object... expectedValues) {
+        assertEquals(expectedValues.length, row.getColumnCount());
+
+        for (int i = 0; i < expectedValues.length; i++) {
+            if (expectedValues[i] == null) {
+                assertNull(row.get(i));
+            } else {
+                assertEquals(expectedValues[i], row.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexRangeFilter;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapIndexScanExecTest extends SqlTestSupport {
+
+    private static final int PARTITION_COUNT = 10;
+    private static final int ENTRY_COUNT = MapIndexScanExec.BATCH_SIZE * 3 / 2;
+
+    private static final String MAP_SORTED = "sorted";
+    private static final String MAP_HASH = "hash";
+    private static final String INDEX_NAME = "index";
+
+    private static final TestHazelcastInstanceFactory FACTORY = new TestHazelcastInstanceFactory(1);
+
+    private static HazelcastInstance instance;
+
+    @BeforeClass
+    public static void beforeClass() {
+        Config config = new Config().setProperty("hazelcast.partition.count", Integer.toString(PARTITION_COUNT));
+
+        config.addMapConfig(new MapConfig(MAP_SORTED)
+            .addIndexConfig(new IndexConfig(IndexType.SORTED, "val").setName(INDEX_NAME)));
+        config.addMapConfig(new MapConfig(MAP_HASH)
+            .addIndexConfig(new IndexConfig(IndexType.HASH, "val").setName(INDEX_NAME)));
+
+        instance = FACTORY.newHazelcastInstance(config);
+
+        for (String mapName : Arrays.asList(MAP_SORTED, MAP_HASH)) {
+            IMap<Integer, TestValue> map = instance.getMap(mapName);
+
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                map.put(i, new TestValue(i));
+            }
+        }
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        FACTORY.shutdownAll();
+    }
+
+    @Test
+    public void testEquals() {
+        checkScan(MAP_SORTED, new IndexEqualsFilter(10), null, range(10, 10));
+        checkScan(MAP_HASH, new IndexEqualsFilter(10), null, range(10, 10));
+        checkScan(MAP_HASH, new IndexEqualsFilter(-1), null, new TreeSet<>());
+    }
+
+    @Test
+    public void testRange() {
+        checkScan(MAP_SORTED, new IndexRangeFilter(10, true, 20, false), null, range(10, 19));
+        checkScan(MAP_SORTED, new IndexRangeFilter(10, false, null, false), null, range(11, ENTRY_COUNT - 1));
+        checkScan(MAP_SORTED, new IndexRangeFilter(null, false, 20, true), null, range(0, 20));
+    }
+
+    @Test
+    public void testRemainderFilter() {
+        checkScan(MAP_SORTED, new IndexRangeFilter(10, true, 20, false), new EvenFilter(), new TreeSet<>(
+            Arrays.asList(10, 12, 14, 16, 18)
+        ));
+    }
+
+    @Test
+    public void testPartitions() {
+        PartitionIdSet partitions = new PartitionIdSet(PARTITION_COUNT);
+        partitions.add(0);
+
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (instance.getPartitionService().getPartition(i).getPartitionId() == 0) {
+                expected.add(i);
+            }
+        }
+
+        assertEquals(expected, scan(MAP_SORTED, partitions, new IndexRangeFilter(0, true, null, false), null));
+    }
+
+    @Test
+    public void testMissingIndex() {
+        MapIndexScanExec exec = create(MAP_SORTED, allPartitions(), "missing", new IndexEqualsFilter(1), null);
+
+        QueryException exception = assertThrows(QueryException.class, () -> exec.setup(emptyFragmentContext()));
+        assertEquals(SqlErrorCode.INDEX_INVALID, exception.getCode());
+    }
+
+    private void checkScan(String mapName, IndexFilter indexFilter, Expression<Boolean> filter, TreeSet<Integer> expected) {
+        assertEquals(expected, scan(mapName, allPartitions(), indexFilter, filter));
+    }
+
+    private TreeSet<Integer> scan(
+        String mapName,
+        PartitionIdSet partitions,
+        IndexFilter indexFilter,
+        Expression<Boolean> filter
+    ) {
+        MapIndexScanExec exec = create(mapName, partitions, INDEX_NAME, indexFilter, filter);
+
+        exec.setup(emptyFragmentContext());
+
+        TreeSet<Integer> res = new TreeSet<>();
+
+        while (true) {
+            IterationResult iterationResult = exec.advance();
+
+            RowBatch batch = exec.currentBatch();
+
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                int key = batch.getRow(i).get(0);
+                int val = batch.getRow(i).get(1);
+
+                assertEquals(key, val);
+
+                res.add(key);
+            }
+
+            if (iterationResult == IterationResult.FETCHED_DONE) {
+                break;
+            }
+        }
+
+        return res;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MapIndexScanExec create(
+        String mapName,
+        PartitionIdSet partitions,
+        String indexName,
+        IndexFilter indexFilter,
+        Expression<Boolean> filter
+    ) {
+        MapProxyImpl<Integer, TestValue> mapProxy = (MapProxyImpl<Integer, TestValue>) instance.<Integer, TestValue>getMap(
+            mapName
+        );
+        MapContainer mapContainer = mapProxy.getService().getMapServiceContext().getMapContainer(mapName);
+
+        return new MapIndexScanExec(
+            1,
+            mapContainer,
+            partitions,
+            GenericQueryTargetDescriptor.INSTANCE,
+            GenericQueryTargetDescriptor.INSTANCE,
+            Arrays.asList(keyPath(null), valuePath("val")),
+            Arrays.asList(QueryDataType.INT, QueryDataType.INT),
+            Arrays.asList(0, 1),
+            indexName,
+            indexFilter,
+            filter,
+            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService()
+        );
+    }
+
+    private static PartitionIdSet allPartitions() {
+        PartitionIdSet res = new PartitionIdSet(PARTITION_COUNT);
+
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            res.add(i);
+        }
+
+        return res;
+    }
+
+    private static TreeSet<Integer> range(int from, int to) {
+        TreeSet<Integer> res = new TreeSet<>();
+
+        for (int i = from; i <= to; i++) {
+            res.add(i);
+        }
+
+        return res;
+    }
+
+    private static class EvenFilter implements Expression<Boolean> {
+        @Override
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            return row.<Integer>get(1) % 2 == 0;
+        }
+
+        @Override
+        public QueryDataType getType() {
+            return QueryDataType.BOOLEAN;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) {
+            // No-op.
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) {
+            // No-op.
+        }
+    }
+
+    public static class TestValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int val;
+
+        public TestValue() {
+            // No-op.
+        }
+
+        public TestValue(int val) {
+            this.val = val;
+        }
+
+        public int getVal() {
+            return val;
+        }
+    }
+}
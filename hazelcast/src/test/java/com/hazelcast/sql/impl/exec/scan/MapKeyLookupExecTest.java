@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapKeyLookupExecTest extends SqlTestSupport {
+
+    private static final int PARTITION_COUNT = 10;
+    private static final int ENTRY_COUNT = 100;
+
+    private static final String MAP_NAME = "map";
+
+    private static final TestHazelcastInstanceFactory FACTORY = new TestHazelcastInstanceFactory(1);
+
+    private static HazelcastInstance instance;
+
+    @BeforeClass
+    public static void beforeClass() {
+        Config config = new Config().setProperty("hazelcast.partition.count", Integer.toString(PARTITION_COUNT));
+
+        instance = FACTORY.newHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        FACTORY.shutdownAll();
+    }
+
+    @Test
+    public void testLookup() {
+        assertEquals(new TreeSet<>(Collections.singletonList(10)), lookup(allPartitions(), Collections.singletonList(10), null));
+        assertEquals(new TreeSet<>(Arrays.asList(1, 2, 3)), lookup(allPartitions(), Arrays.asList(1, 2, 3), null));
+    }
+
+    @Test
+    public void testMissingKeys() {
+        assertEquals(new TreeSet<>(), lookup(allPartitions(), Collections.singletonList(-1), null));
+        assertEquals(new TreeSet<>(Collections.singletonList(1)), lookup(allPartitions(), Arrays.asList(-1, 1), null));
+    }
+
+    @Test
+    public void testRemainderFilter() {
+        assertEquals(new TreeSet<>(Arrays.asList(2, 4)), lookup(allPartitions(), Arrays.asList(1, 2, 3, 4), new EvenFilter()));
+    }
+
+    @Test
+    public void testPartitions() {
+        PartitionIdSet partitions = new PartitionIdSet(PARTITION_COUNT);
+        partitions.add(0);
+
+        TreeSet<Integer> expected = new TreeSet<>();
+        List<Object> keys = new ArrayList<>();
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            keys.add(i);
+
+            if (instance.getPartitionService().getPartition(i).getPartitionId() == 0) {
+                expected.add(i);
+            }
+        }
+
+        assertEquals(expected, lookup(partitions, keys, null));
+    }
+
+    private TreeSet<Integer> lookup(PartitionIdSet partitions, List<Object> keys, Expression<Boolean> filter) {
+        MapKeyLookupExec exec = create(partitions, keys, filter);
+
+        exec.setup(emptyFragmentContext());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+
+        TreeSet<Integer> res = new TreeSet<>();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int key = batch.getRow(i).get(0);
+            int val = batch.getRow(i).get(1);
+
+            assertEquals(key, val);
+
+            res.add(key);
+        }
+
+        return res;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MapKeyLookupExec create(PartitionIdSet partitions, List<Object> keys, Expression<Boolean> filter) {
+        MapProxyImpl<Integer, Integer> mapProxy = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap(MAP_NAME);
+        MapContainer mapContainer = mapProxy.getService().getMapServiceContext().getMapContainer(MAP_NAME);
+
+        return new MapKeyLookupExec(
+            1,
+            mapContainer,
+            partitions,
+            GenericQueryTargetDescriptor.INSTANCE,
+            GenericQueryTargetDescriptor.INSTANCE,
+            Arrays.asList(keyPath(null), valuePath(null)),
+            Arrays.asList(QueryDataType.INT, QueryDataType.INT),
+            Arrays.asList(0, 1),
+            keys,
+            filter,
+            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService()
+        );
+    }
+
+    private static PartitionIdSet allPartitions() {
+        PartitionIdSet res = new PartitionIdSet(PARTITION_COUNT);
+
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            res.add(i);
+        }
+
+        return res;
+    }
+
+    private static class EvenFilter implements Expression<Boolean> {
+        @Override
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            return row.<Integer>get(1) % 2 == 0;
+        }
+
+        @Override
+        public QueryDataType getType() {
+            return QueryDataType.BOOLEAN;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) {
+            // No-op.
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) {
+            // No-op.
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan.index;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexFilterTest extends SqlTestSupport {
+    @Test
+    public void testEqualsFilter() {
+        IndexEqualsFilter filter = new IndexEqualsFilter(1);
+
+        assertEquals(1, filter.getValue());
+
+        checkEquals(filter, new IndexEqualsFilter(1), true);
+        checkEquals(filter, new IndexEqualsFilter(2), false);
+
+        IndexEqualsFilter restored = serializeAndCheck(filter, SqlDataSerializerHook.INDEX_FILTER_EQUALS);
+
+        checkEquals(filter, restored, true);
+    }
+
+    @Test
+    public void testRangeFilter() {
+        IndexRangeFilter filter = new IndexRangeFilter(1, true, 2, false);
+
+        assertEquals(1, filter.getFrom());
+        assertTrue(filter.isFromInclusive());
+        assertEquals(2, filter.getTo());
+        assertFalse(filter.isToInclusive());
+
+        checkEquals(filter, new IndexRangeFilter(1, true, 2, false), true);
+        checkEquals(filter, new IndexRangeFilter(0, true, 2, false), false);
+        checkEquals(filter, new IndexRangeFilter(1, false, 2, false), false);
+        checkEquals(filter, new IndexRangeFilter(1, true, 3, false), false);
+        checkEquals(filter, new IndexRangeFilter(1, true, 2, true), false);
+
+        IndexRangeFilter restored = serializeAndCheck(filter, SqlDataSerializerHook.INDEX_FILTER_RANGE);
+
+        checkEquals(filter, restored, true);
+    }
+
+    @Test
+    public void testRangeFilter_openBound() {
+        IndexRangeFilter filter = new IndexRangeFilter(null, false, 2, true);
+
+        assertNull(filter.getFrom());
+
+        IndexRangeFilter restored = serializeAndCheck(filter, SqlDataSerializerHook.INDEX_FILTER_RANGE);
+
+        checkEquals(filter, restored, true);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortExecTest extends SqlTestSupport {
+    @Test
+    public void testSort() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Arrays.asList(true, false), -1, 0);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, createBatch(row(2, 1), row(null, 1), row(1, 1)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createBatch(row(1, 2), row(2, null)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(exec.currentBatch(), row(1, 2), row(1, 1), row(2, null), row(2, 1), row(null, 1));
+    }
+
+    @Test
+    public void testSortEmpty() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Arrays.asList(true, true), -1, 0);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        assertEquals(0, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testFetchOffset() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Arrays.asList(false, true), 2, 1);
+
+        upstream.addResult(IterationResult.FETCHED, createBatch(row(3, 0), row(5, 0), row(1, 0)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createBatch(row(4, 0), row(2, 0)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(exec.currentBatch(), row(4, 0), row(3, 0));
+    }
+
+    @Test
+    public void testFetchZero() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Arrays.asList(true, true), 0, 0);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createBatch(row(1, 0), row(2, 0)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        assertEquals(0, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testMultipleBatches() {
+        int rowCount = SortExec.BATCH_SIZE * 2 + 1;
+
+        List<Row> rows = new ArrayList<>(rowCount);
+
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(row(i, 0));
+        }
+
+        Collections.shuffle(rows);
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Arrays.asList(true, true), -1, 0);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(rows));
+
+        int expected = 0;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i == 2 ? IterationResult.FETCHED_DONE : IterationResult.FETCHED, exec.advance());
+
+            RowBatch batch = exec.currentBatch();
+
+            for (int j = 0; j < batch.getRowCount(); j++) {
+                assertEquals(expected++, (int) batch.getRow(j).get(0));
+            }
+        }
+
+        assertEquals(rowCount, expected);
+    }
+
+    private static SortExec createExec(UpstreamExec upstream, List<Boolean> ascs, long fetch, long offset) {
+        SortExec exec = new SortExec(2, upstream, Arrays.asList(0, 1), ascs, fetch, offset);
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static ListRowBatch createBatch(Row... rows) {
+        return new ListRowBatch(Arrays.asList(rows));
+    }
+
+    private static Row row(Integer value1, Integer value2) {
+        return HeapRow.of(value1, value2);
+    }
+
+    private static void checkRows(RowBatch batch, Row... expectedRows) {
+        assertEquals(expectedRows.length, batch.getRowCount());
+
+        for (int i = 0; i < expectedRows.length; i++) {
+            for (int j = 0; j < expectedRows[i].getColumnCount(); j++) {
+                Object expectedValue = expectedRows[i].get(j);
+                Object value = batch.getRow(i).get(j);
+
+                assertEquals(expectedValue, value);
+            }
+        }
+    }
+}
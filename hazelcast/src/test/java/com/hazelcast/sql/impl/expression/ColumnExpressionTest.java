@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -45,6 +46,13 @@ public class ColumnExpressionTest extends SqlTestSupport {
         assertSame(row.get(index), expression.eval(row, SimpleExpressionEvalContext.create()));
     }
 
+    @Test
+    public void testEvalBatch() {
+        ColumnarRowBatch batch = createMonotonicColumnarBatch(0, 10);
+
+        assertSame(batch.getColumn(0), ColumnExpression.create(0, QueryDataType.INT).evalBatch(batch, null));
+    }
+
     @Test
     public void testEquality() {
         checkEquals(ColumnExpression.create(1, QueryDataType.INT), ColumnExpression.create(1, QueryDataType.INT), true);
@@ -20,6 +20,10 @@ import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.SimpleExpressionEvalContext;
+import com.hazelcast.sql.impl.row.BooleanColumnVector;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.ObjectColumnVector;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -28,6 +32,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -42,6 +47,26 @@ public class IsNullPredicateTest extends SqlTestSupport {
         assertTrue(predicate.eval(row(new Object[] { null }), SimpleExpressionEvalContext.create()));
     }
 
+    @Test
+    public void testIsNullPredicateBatch() {
+        ObjectColumnVector column = new ObjectColumnVector(3);
+        column.set(0, "test");
+        column.set(2, "test");
+
+        ObjectColumnVector selection = new ObjectColumnVector(3);
+        selection.set(1, true);
+        selection.set(2, true);
+
+        ColumnarRowBatch batch = new ColumnarRowBatch(new ColumnVector[] { column }, 3).select(selection);
+
+        IsNullPredicate predicate = IsNullPredicate.create(ColumnExpression.create(0, QueryDataType.VARCHAR));
+        ColumnVector res = predicate.evalBatch(batch, SimpleExpressionEvalContext.create());
+
+        assertTrue(res instanceof BooleanColumnVector);
+        assertEquals(true, res.get(1));
+        assertEquals(false, res.get(2));
+    }
+
     @Test
     public void testEquality() {
         ColumnExpression<?> column1 = ColumnExpression.create(1, QueryDataType.VARCHAR);
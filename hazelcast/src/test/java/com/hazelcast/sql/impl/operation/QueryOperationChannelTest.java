@@ -27,6 +27,7 @@ import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.TestClockProvider;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
+import com.hazelcast.sql.impl.expression.compiler.DisabledExpressionCompiler;
 import com.hazelcast.sql.impl.state.QueryStateRegistry;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -66,6 +67,7 @@ public class QueryOperationChannelTest extends SqlTestSupport {
             "test",
             serviceProvider,
             new DefaultSerializationServiceBuilder().build(),
+            DisabledExpressionCompiler.INSTANCE,
             new QueryStateRegistry(TestClockProvider.createDefault()),
             1000,
             SimpleFlowControlFactory.INSTANCE,
@@ -33,7 +33,10 @@ import com.hazelcast.sql.impl.exec.CreateExecPlanNodeVisitorCallback;
 import com.hazelcast.sql.impl.exec.Exec;
 import com.hazelcast.sql.impl.exec.IterationResult;
 import com.hazelcast.sql.impl.exec.root.BlockingRootResultConsumer;
+import com.hazelcast.sql.impl.expression.compiler.DisabledExpressionCompiler;
 import com.hazelcast.sql.impl.plan.Plan;
+import com.hazelcast.sql.impl.plan.PlanFragmentMapping;
+import com.hazelcast.sql.impl.plan.node.MockPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.UniInputPlanNode;
@@ -497,11 +500,12 @@ public class QueryOperationHandlerTest extends SqlTestSupport {
     private State startQueryOnInitiator(long timeout) {
         Plan plan = new Plan(
             partitionMap,
-            Collections.emptyList(),
-            Collections.emptyList(),
+            Collections.singletonList(new MockPlanNode()),
+            Collections.singletonList(new PlanFragmentMapping(Collections.emptyList(), true)),
             Collections.emptyMap(),
             Collections.emptyMap(),
-            Collections.emptyMap()
+            Collections.emptyMap(),
+            Collections.emptySet()
         );
 
         QueryId queryId = initiatorService.getStateRegistry().onInitiatorQueryStarted(
@@ -591,6 +595,7 @@ public class QueryOperationHandlerTest extends SqlTestSupport {
             instanceName,
             nodeServiceProvider,
             serializationService,
+            DisabledExpressionCompiler.INSTANCE,
             Runtime.getRuntime().availableProcessors(),
             Runtime.getRuntime().availableProcessors(),
             1000,
@@ -27,7 +27,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -53,7 +56,8 @@ public class PlanTest extends SqlTestSupport {
             fragmentMappings,
             outboundEdgeMap,
             inboundEdgeMap,
-            inboundEdgeMemberCountMap
+            inboundEdgeMemberCountMap,
+            Collections.emptySet()
         );
 
         assertSame(partitionMap, plan.getPartitionMap());
@@ -65,5 +69,34 @@ public class PlanTest extends SqlTestSupport {
         assertSame(outboundEdgeMap, plan.getOutboundEdgeMap());
         assertSame(inboundEdgeMap, plan.getInboundEdgeMap());
         assertSame(inboundEdgeMemberCountMap, plan.getInboundEdgeMemberCountMap());
+
+        assertEquals(partitionMap.keySet(), plan.getMemberIds());
+    }
+
+    @Test
+    public void testMemberIdsExplicit() {
+        UUID member1 = UUID.randomUUID();
+        UUID member2 = UUID.randomUUID();
+        UUID member3 = UUID.randomUUID();
+
+        Map<UUID, PartitionIdSet> partitionMap = new HashMap<>();
+        partitionMap.put(member1, new PartitionIdSet(1));
+        partitionMap.put(member2, new PartitionIdSet(1));
+        partitionMap.put(member3, new PartitionIdSet(1));
+
+        Plan plan = new Plan(
+            partitionMap,
+            Arrays.asList(new MockPlanNode(), new MockPlanNode()),
+            Arrays.asList(
+                new PlanFragmentMapping(Collections.singletonList(member1), false),
+                new PlanFragmentMapping(Collections.singletonList(member2), false)
+            ),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptySet()
+        );
+
+        assertEquals(new HashSet<>(Arrays.asList(member1, member2)), new HashSet<>(plan.getMemberIds()));
     }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.optimizer.SqlPlanType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PlanCacheTest extends SqlTestSupport {
+    @Test
+    public void testGetPut() {
+        PlanCache cache = new PlanCache(10);
+
+        PlanCacheKey key = new PlanCacheKey(null, "sql");
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        TestPlan plan = new TestPlan(Collections.emptySet(), Collections.emptyMap());
+        cache.put(key, plan);
+
+        assertEquals(1, cache.size());
+        assertSame(plan, cache.get(new PlanCacheKey(null, "sql")));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        assertNull(cache.get(new PlanCacheKey(Collections.singletonList(Collections.singletonList("schema")), "sql")));
+        assertEquals(2, cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        PlanCache cache = new PlanCache(2);
+
+        PlanCacheKey key1 = new PlanCacheKey(null, "sql1");
+        PlanCacheKey key2 = new PlanCacheKey(null, "sql2");
+        PlanCacheKey key3 = new PlanCacheKey(null, "sql3");
+
+        cache.put(key1, new TestPlan(Collections.emptySet(), Collections.emptyMap()));
+        Thread.sleep(1);
+        cache.put(key2, new TestPlan(Collections.emptySet(), Collections.emptyMap()));
+        Thread.sleep(1);
+
+        // Touch the first plan, so that the second one becomes the least recently used.
+        cache.get(key1);
+        Thread.sleep(1);
+
+        cache.put(key3, new TestPlan(Collections.emptySet(), Collections.emptyMap()));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(key2));
+    }
+
+    @Test
+    public void testCheck() {
+        PlanCache cache = new PlanCache(10);
+
+        PlanObjectKey objectKey1 = new TestObjectKey(1);
+        PlanObjectKey objectKey2 = new TestObjectKey(2);
+
+        Map<UUID, PartitionIdSet> partitionMap1 = Collections.singletonMap(UUID.randomUUID(), new PartitionIdSet(1));
+        Map<UUID, PartitionIdSet> partitionMap2 = Collections.singletonMap(UUID.randomUUID(), new PartitionIdSet(1));
+
+        PlanCacheKey key1 = new PlanCacheKey(null, "sql1");
+        PlanCacheKey key2 = new PlanCacheKey(null, "sql2");
+
+        cache.put(key1, new TestPlan(Collections.singleton(objectKey1), partitionMap1));
+        cache.put(key2, new TestPlan(Collections.singleton(objectKey2), partitionMap1));
+
+        Set<PlanObjectKey> objectKeys = new HashSet<>();
+        objectKeys.add(objectKey1);
+        objectKeys.add(objectKey2);
+
+        // All objects and partitions are the same.
+        cache.check(new PlanCheckContext(objectKeys, partitionMap1));
+        assertEquals(2, cache.size());
+
+        // The second object changed.
+        cache.check(new PlanCheckContext(Collections.singleton(objectKey1), partitionMap1));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getInvalidations());
+        assertNull(cache.get(key2));
+
+        // Partitions changed.
+        cache.check(new PlanCheckContext(objectKeys, partitionMap2));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getInvalidations());
+    }
+
+    @Test
+    public void testInvalidate() {
+        PlanCache cache = new PlanCache(10);
+
+        PlanCacheKey key = new PlanCacheKey(null, "sql");
+        TestPlan plan = new TestPlan(Collections.emptySet(), Collections.emptyMap());
+        cache.put(key, plan);
+
+        // A plan which has been replaced already is not removed.
+        cache.invalidate(key, new TestPlan(Collections.emptySet(), Collections.emptyMap()));
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getInvalidations());
+
+        cache.invalidate(key, plan);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidations());
+        assertNull(cache.get(key));
+    }
+
+    private static final class TestPlan extends CacheablePlan {
+
+        private final Set<PlanObjectKey> objectKeys;
+        private final Map<UUID, PartitionIdSet> partitionMap;
+
+        private TestPlan(Set<PlanObjectKey> objectKeys, Map<UUID, PartitionIdSet> partitionMap) {
+            this.objectKeys = objectKeys;
+            this.partitionMap = partitionMap;
+        }
+
+        @Override
+        public boolean isPlanValid(PlanCheckContext context) {
+            return context.isValid(objectKeys, partitionMap);
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
+
+        @Override
+        public SqlPlanType getType() {
+            return SqlPlanType.IMDG;
+        }
+    }
+
+    private static final class TestObjectKey implements PlanObjectKey {
+
+        private final int id;
+
+        private TestObjectKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TestObjectKey && id == ((TestObjectKey) o).id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+}
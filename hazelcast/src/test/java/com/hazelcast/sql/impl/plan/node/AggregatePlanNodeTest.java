@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("rawtypes")
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregatePlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.INT, QueryDataType.BIGINT, QueryDataType.DOUBLE);
+        List<Integer> groupKey = Collections.singletonList(2);
+        List<AggregateExpression> expressions = Arrays.asList(
+            CountAggregateExpression.create(null),
+            SumAggregateExpression.create(ColumnExpression.create(1, QueryDataType.BIGINT), QueryDataType.BIGINT)
+        );
+
+        AggregatePlanNode node = new AggregatePlanNode(2, upstream, groupKey, expressions, AggregatePhase.COMPLETE);
+
+        assertEquals(2, node.getId());
+        assertEquals(upstream, node.getUpstream());
+        assertEquals(groupKey, node.getGroupKey());
+        assertEquals(expressions, node.getExpressions());
+        assertEquals(AggregatePhase.COMPLETE, node.getPhase());
+        assertEquals(
+            new PlanNodeSchema(Arrays.asList(QueryDataType.DOUBLE, QueryDataType.BIGINT, QueryDataType.BIGINT)),
+            node.getSchema()
+        );
+
+        AggregatePlanNode localNode = new AggregatePlanNode(2, upstream, groupKey, expressions, AggregatePhase.LOCAL);
+
+        assertEquals(
+            new PlanNodeSchema(Arrays.asList(QueryDataType.DOUBLE, QueryDataType.OBJECT, QueryDataType.OBJECT)),
+            localNode.getSchema()
+        );
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode upstream1 = MockPlanNode.create(3, QueryDataType.INT, QueryDataType.BIGINT);
+        MockPlanNode upstream2 = MockPlanNode.create(3, QueryDataType.INT, QueryDataType.DOUBLE);
+
+        List<Integer> groupKey1 = Collections.singletonList(0);
+        List<Integer> groupKey2 = Collections.singletonList(1);
+
+        List<AggregateExpression> expressions1 = Collections.singletonList(CountAggregateExpression.create(null));
+        List<AggregateExpression> expressions2 =
+            Collections.singletonList(CountAggregateExpression.create(ColumnExpression.create(0, QueryDataType.INT)));
+
+        AggregatePhase phase1 = AggregatePhase.COMPLETE;
+        AggregatePhase phase2 = AggregatePhase.LOCAL;
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase1),
+            true
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase1),
+            new AggregatePlanNode(id2, upstream1, groupKey1, expressions1, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase1),
+            new AggregatePlanNode(id1, upstream2, groupKey1, expressions1, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey2, expressions1, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions2, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, phase2),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.INT);
+        List<AggregateExpression> expressions = Arrays.asList(
+            CountAggregateExpression.create(null),
+            SumAggregateExpression.create(ColumnExpression.create(0, QueryDataType.INT), QueryDataType.BIGINT)
+        );
+
+        AggregatePlanNode original =
+            new AggregatePlanNode(2, upstream, Collections.singletonList(0), expressions, AggregatePhase.FINAL);
+        AggregatePlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_AGGREGATE);
+
+        checkEquals(original, restored, true);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexRangeFilter;
+import com.hazelcast.sql.impl.expression.ConstantPredicateExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapIndexScanPlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        int id = 1;
+        String mapName = "map";
+        List<QueryPath> fieldPaths = Collections.singletonList(valuePath("field"));
+        List<QueryDataType> fieldTypes = Collections.singletonList(QueryDataType.INT);
+        List<Integer> projects = Collections.singletonList(0);
+        String indexName = "index";
+        IndexFilter indexFilter = new IndexEqualsFilter(1);
+        Expression<Boolean> filter = new ConstantPredicateExpression(true);
+
+        MapIndexScanPlanNode node = new MapIndexScanPlanNode(
+            id,
+            mapName,
+            GenericQueryTargetDescriptor.INSTANCE,
+            GenericQueryTargetDescriptor.INSTANCE,
+            fieldPaths,
+            fieldTypes,
+            projects,
+            indexName,
+            indexFilter,
+            filter
+        );
+
+        assertEquals(id, node.getId());
+        assertEquals(mapName, node.getMapName());
+        assertEquals(GenericQueryTargetDescriptor.INSTANCE, node.getKeyDescriptor());
+        assertEquals(GenericQueryTargetDescriptor.INSTANCE, node.getValueDescriptor());
+        assertEquals(fieldPaths, node.getFieldPaths());
+        assertEquals(fieldTypes, node.getFieldTypes());
+        assertEquals(projects, node.getProjects());
+        assertEquals(indexName, node.getIndexName());
+        assertEquals(indexFilter, node.getIndexFilter());
+        assertEquals(filter, node.getFilter());
+    }
+
+    @Test
+    public void testEquality() {
+        MapIndexScanPlanNode node = create(1, "index1", new IndexEqualsFilter(1), new ConstantPredicateExpression(true));
+
+        checkEquals(node, create(1, "index1", new IndexEqualsFilter(1), new ConstantPredicateExpression(true)), true);
+        checkEquals(node, create(2, "index1", new IndexEqualsFilter(1), new ConstantPredicateExpression(true)), false);
+        checkEquals(node, create(1, "index2", new IndexEqualsFilter(1), new ConstantPredicateExpression(true)), false);
+        checkEquals(node, create(1, "index1", new IndexEqualsFilter(2), new ConstantPredicateExpression(true)), false);
+        checkEquals(node, create(1, "index1", new IndexEqualsFilter(1), new ConstantPredicateExpression(false)), false);
+        checkEquals(node, create(1, "index1", new IndexEqualsFilter(1), null), false);
+    }
+
+    @Test
+    public void testSerialization() {
+        MapIndexScanPlanNode original = create(1, "index", new IndexRangeFilter(1, true, 2, false), null);
+        MapIndexScanPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_MAP_INDEX_SCAN);
+
+        checkEquals(original, restored, true);
+    }
+
+    private static MapIndexScanPlanNode create(int id, String indexName, IndexFilter indexFilter, Expression<Boolean> filter) {
+        return new MapIndexScanPlanNode(
+            id,
+            "map",
+            GenericQueryTargetDescriptor.INSTANCE,
+            GenericQueryTargetDescriptor.INSTANCE,
+            Collections.singletonList(valuePath("field")),
+            Collections.singletonList(QueryDataType.INT),
+            Collections.singletonList(0),
+            indexName,
+            indexFilter,
+            filter
+        );
+    }
+}
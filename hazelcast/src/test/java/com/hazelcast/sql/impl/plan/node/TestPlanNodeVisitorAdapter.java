@@ -16,8 +16,11 @@
 
 package com.hazelcast.sql.impl.plan.node;
 
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 public abstract class TestPlanNodeVisitorAdapter implements PlanNodeVisitor {
     @Override
@@ -30,11 +33,26 @@ public abstract class TestPlanNodeVisitorAdapter implements PlanNodeVisitor {
         // No-op.
     }
 
+    @Override
+    public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
+        // No-op.
+    }
+
     @Override
     public void onRootSendNode(RootSendPlanNode node) {
         // No-op.
     }
 
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        // No-op.
+    }
+
     @Override
     public void onProjectNode(ProjectPlanNode node) {
         // No-op.
@@ -50,6 +68,31 @@ public abstract class TestPlanNodeVisitorAdapter implements PlanNodeVisitor {
         // No-op.
     }
 
+    @Override
+    public void onMapIndexScanNode(MapIndexScanPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onMapKeyLookupNode(MapKeyLookupPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        // No-op.
+    }
+
     @Override
     public void onOtherNode(PlanNode node) {
         // No-op.
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarRowBatchTest extends SqlTestSupport {
+    @Test
+    public void testColumnarRowBatch() {
+        ColumnarRowBatch batch = createBatch();
+
+        assertEquals(4, batch.getRowCount());
+        assertEquals(2, batch.getColumnCount());
+        assertEquals(4, batch.getPositionCount());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, batch.getPosition(i));
+            assertEquals(HeapRow.of(i, "v" + i), batch.getRow(i));
+        }
+    }
+
+    @Test
+    public void testSelect() {
+        ColumnarRowBatch batch = createBatch();
+
+        BooleanColumnVector predicate = new BooleanColumnVector(4);
+        predicate.set(1, true);
+        predicate.set(2, false);
+        predicate.set(3, true);
+        predicate.setNull(3);
+
+        ColumnarRowBatch selected = batch.select(predicate);
+
+        assertEquals(1, selected.getRowCount());
+        assertEquals(2, selected.getPositionCount());
+        assertEquals(HeapRow.of(1, "v1"), selected.getRow(0));
+        assertSame(batch.getColumn(0), selected.getColumn(0));
+
+        // Selection of the batch with a selection vector.
+        ObjectColumnVector predicate2 = new ObjectColumnVector(4);
+        predicate2.set(1, true);
+
+        ColumnarRowBatch selected2 = batch.select(predicate).select(predicate2);
+
+        assertEquals(1, selected2.getRowCount());
+        assertEquals(1, selected2.getPosition(0));
+        assertEquals(HeapRow.of(1, "v1"), selected2.getRow(0));
+
+        predicate2.set(1, null);
+        assertEquals(0, selected.select(predicate2).getRowCount());
+        assertEquals(0, selected.select(predicate2).getPositionCount());
+    }
+
+    @Test
+    public void testWithColumns() {
+        ColumnarRowBatch batch = createBatch();
+
+        ObjectColumnVector predicate = new ObjectColumnVector(4);
+        predicate.set(3, true);
+
+        ColumnarRowBatch projected = batch.select(predicate).withColumns(new ColumnVector[] { batch.getColumn(1) });
+
+        assertEquals(1, projected.getRowCount());
+        assertEquals(1, projected.getColumnCount());
+        assertEquals(HeapRow.of("v3"), projected.getRow(0));
+    }
+
+    @Test
+    public void testColumnarRow() {
+        ColumnarRowBatch batch = createBatch();
+
+        ColumnarRow row = new ColumnarRow(batch);
+        row.setPosition(2);
+
+        assertEquals(2, row.getColumnCount());
+        assertEquals(2, (int) row.get(0));
+        assertEquals("v2", row.get(1));
+    }
+
+    @Test
+    public void testBooleanColumnVector() {
+        BooleanColumnVector vector = new BooleanColumnVector(2);
+        vector.set(0, true);
+
+        assertEquals(2, vector.getCapacity());
+        assertTrue(vector.getBoolean(0));
+        assertEquals(true, vector.get(0));
+        assertFalse(vector.isNull(0));
+        assertEquals(false, vector.get(1));
+
+        vector.setNull(1);
+        assertTrue(vector.isNull(1));
+        assertNull(vector.get(1));
+    }
+
+    private static ColumnarRowBatch createBatch() {
+        ObjectColumnVector column0 = new ObjectColumnVector(4);
+        ObjectColumnVector column1 = new ObjectColumnVector(4);
+
+        for (int i = 0; i < 4; i++) {
+            column0.set(i, i);
+            column1.set(i, "v" + i);
+        }
+
+        return new ColumnarRowBatch(new ColumnVector[] { column0, column1 }, 4);
+    }
+}
@@ -38,7 +38,7 @@ public class QueryInitiatorStateTest {
     @Test
     public void testInitiatorState() {
         QueryId queryId = QueryId.create(UUID.randomUUID());
-        Plan plan = new Plan(null, null, null, null, null, null);
+        Plan plan = new Plan(null, null, null, null, null, null, null);
         QueryResultProducer resultProducer = new BlockingRootResultConsumer();
         long timeout = 1000L;
 